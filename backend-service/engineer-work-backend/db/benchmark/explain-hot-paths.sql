@@ -0,0 +1,72 @@
+-- Query plans of the hot repository queries before and after V2__hot_path_indexes, on
+-- stand-in data in a scratch PostgreSQL database:
+--
+--   createdb ewp_bench
+--   psql -d ewp_bench -f db/benchmark/explain-hot-paths.sql > explain.txt
+--
+-- The script applies V1 through V1_2, loads the data, explains every query, applies V2 and
+-- explains them again, so each query appears twice in the output. Loading takes a minute or two.
+
+\set ON_ERROR_STOP on
+\timing off
+\pset pager off
+
+\ir ../../src/main/resources/db/migration/V1__baseline_schema.sql
+\ir ../../src/main/resources/db/migration/V1_1__generation_jobs.sql
+\ir ../../src/main/resources/db/migration/V1_2__summary_source.sql
+
+-- 1 leader, 40 managers, 1960 engineers
+INSERT INTO users (username, email, first_name, last_name, role, manager_id, is_enabled,
+                   github_username, slack_user_id, jira_username, google_email, microsoft_email, created_at)
+SELECT 'user' || i, 'user' || i || '@example.com', 'First' || i, 'Last' || i,
+       CASE WHEN i = 1 THEN 'LEADER' WHEN i <= 41 THEN 'MANAGER' ELSE 'ENGINEER' END,
+       CASE WHEN i = 1 THEN NULL WHEN i <= 41 THEN 1 ELSE 2 + (i % 40) END,
+       true, 'gh-user' || i, 'U' || lpad(i::text, 8, '0'), 'jira' || i,
+       'user' || i || '@gmail.example.com', 'user' || i || '@outlook.example.com', now()
+FROM generate_series(1, 2000) AS i;
+
+-- One daily summary per engineer and weekday for half a year
+INSERT INTO work_summaries (user_id, summary_date, summary_type, summary_source, ai_generated_summary,
+                            github_commits, productivity_score, collaboration_score, created_at)
+SELECT u.id, d::date, 'DAILY', CASE WHEN random() < 0.02 THEN 'TEMPLATE' ELSE 'AI' END,
+       repeat('Reviewed pull requests and closed tickets. ', 8), repeat('- Fix flaky test (backend)', 6),
+       (random() * 100)::int, (random() * 100)::int, now()
+FROM users u
+CROSS JOIN generate_series(current_date - 180, current_date - 1, interval '1 day') AS d
+WHERE u.role = 'ENGINEER' AND extract(isodow FROM d) < 6;
+
+INSERT INTO meeting_minutes (meeting_id, meeting_title, meeting_date, meeting_platform, is_processed, created_at)
+SELECT 'mtg-' || i, 'Meeting ' || i, now() - (random() * interval '365 days'),
+       (ARRAY['ZOOM', 'MICROSOFT_TEAMS', 'GOOGLE_MEET'])[1 + i % 3], true, now()
+FROM generate_series(1, 50000) AS i;
+
+INSERT INTO meeting_participants (meeting_id, user_id)
+SELECT DISTINCT m.id, 42 + ((m.id * 7 + p * 131) % 1959)
+FROM meeting_minutes m CROSS JOIN generate_series(1, 4) AS p;
+
+INSERT INTO report_schedules (user_id, schedule_name, report_type, frequency, recipient_email,
+                              is_active, include_team_summary, next_scheduled, created_at)
+SELECT i, 'Schedule ' || i, 'INDIVIDUAL_SUMMARY', 'DAILY', 'user' || i || '@example.com',
+       i % 10 <> 0, false, now() + (random() * interval '1 day'), now()
+FROM generate_series(1, 2000) AS i;
+
+INSERT INTO generation_jobs (user_id, summary_type, target_date, status, attempts, created_at)
+SELECT 42 + (i % 1959), 'DAILY', current_date - (i % 180), 'SUCCEEDED', 1, now()
+FROM generate_series(1, 100000) AS i;
+
+ANALYZE;
+
+\set engineer 1234
+\set manager 17
+SELECT (current_date - 30)::text AS from_date, (current_date - 1)::text AS to_date \gset
+
+\echo
+\echo ==================== before V2 ====================
+\ir explain-queries.sql
+
+\ir ../../src/main/resources/db/migration/V2__hot_path_indexes.sql
+ANALYZE;
+
+\echo
+\echo ==================== after V2 ====================
+\ir explain-queries.sql
@@ -0,0 +1,87 @@
+-- The SQL Hibernate issues for each hot repository method; included by explain-hot-paths.sql.
+
+\echo '--- WorkSummaryRepository.findByUserAndSummaryDateAndSummaryType'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM work_summaries
+WHERE user_id = :engineer AND summary_date = :'to_date'::date AND summary_type = 'DAILY';
+
+\echo '--- WorkSummaryRepository.findListItemsByUserAndDateRange'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT w.id, w.user_id, u.username, w.summary_date, w.summary_type, w.summary_source,
+       substring(w.ai_generated_summary, 1, 200), w.productivity_score, w.collaboration_score,
+       w.created_at, w.updated_at
+FROM work_summaries w JOIN users u ON u.id = w.user_id
+WHERE w.user_id = :engineer AND w.summary_date BETWEEN :'from_date'::date AND :'to_date'::date
+ORDER BY w.summary_date DESC, w.id DESC;
+
+\echo '--- WorkSummaryRepository.findListItemsByManagerAndDateRange'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT w.id, w.user_id, u.username, w.summary_date, w.summary_type, w.summary_source,
+       substring(w.ai_generated_summary, 1, 200), w.productivity_score, w.collaboration_score,
+       w.created_at, w.updated_at
+FROM work_summaries w JOIN users u ON u.id = w.user_id
+WHERE u.manager_id = :manager AND w.summary_date BETWEEN :'from_date'::date AND :'to_date'::date
+ORDER BY w.summary_date DESC, u.username, w.id DESC;
+
+\echo '--- WorkSummaryRepository.findFirstByUserAndSummaryTypeAndSummaryDateBeforeOrderBySummaryDateDesc'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM work_summaries
+WHERE user_id = :engineer AND summary_type = 'DAILY' AND summary_date < current_date
+ORDER BY summary_date DESC
+LIMIT 1;
+
+\echo '--- WorkSummaryRepository.findUserIdsWithSummary'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT user_id FROM work_summaries WHERE summary_date = :'to_date'::date AND summary_type = 'DAILY';
+
+\echo '--- WorkSummaryRepository.findTop20BySummarySourceOrderByIdAsc'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM work_summaries WHERE summary_source = 'TEMPLATE' ORDER BY id LIMIT 20;
+
+\echo '--- UserRepository.findDirectReports'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM users WHERE manager_id = :manager;
+
+\echo '--- UserRepository.countManagerInChain'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+WITH RECURSIVE chain(id, manager_id, depth) AS (
+    SELECT id, manager_id, 0 FROM users WHERE id = :engineer
+    UNION ALL
+    SELECT u.id, u.manager_id, c.depth + 1 FROM users u JOIN chain c ON u.id = c.manager_id WHERE c.depth < 32
+) SELECT COUNT(*) FROM chain WHERE manager_id = 1;
+
+\echo '--- UserRepository.findByGithubUsername'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM users WHERE github_username = 'gh-user1234';
+
+\echo '--- UserRepository.findBySlackUserId'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM users WHERE slack_user_id = 'U00001234';
+
+\echo '--- MeetingMinutesRepository.findByParticipantIdAndDateRange'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT m.* FROM meeting_minutes m JOIN meeting_participants p ON m.id = p.meeting_id
+WHERE p.user_id = :engineer AND m.meeting_date BETWEEN :'from_date'::date AND :'to_date'::date;
+
+\echo '--- MeetingMinutesRepository.findByMeetingDateBetween'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM meeting_minutes WHERE meeting_date BETWEEN :'to_date'::date AND :'to_date'::date + 1;
+
+\echo '--- MeetingMinutesRepository.findByMeetingIdAndMeetingPlatform'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM meeting_minutes WHERE meeting_id = 'mtg-4242' AND meeting_platform = 'GOOGLE_MEET';
+
+\echo '--- ReportScheduleRepository.lockSchedulesDueForExecution'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM report_schedules
+WHERE is_active = true AND next_scheduled <= now() + interval '1 hour'
+ORDER BY next_scheduled, id
+LIMIT 50
+FOR UPDATE SKIP LOCKED;
+
+\echo '--- GenerationJobRepository.findFirstByUserAndSummaryTypeAndTargetDateAndStatusIn'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM generation_jobs
+WHERE user_id = :engineer AND summary_type = 'DAILY' AND target_date = :'to_date'::date
+  AND status IN ('QUEUED', 'RUNNING')
+LIMIT 1;
@@ -0,0 +1,52 @@
+package com.engineerplatform.backend.cache;
+
+import com.engineerplatform.backend.model.CacheInvalidation;
+import com.engineerplatform.backend.model.Team;
+import com.engineerplatform.backend.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that shares user and team changes with the other nodes once their
+ * transaction has committed. Inserts matter too: other nodes may have cached an empty lookup.
+ */
+@Component
+public class CacheInvalidationListener {
+    
+    private final ObjectProvider<EntityCacheCoordinator> coordinator;
+    
+    @Autowired
+    public CacheInvalidationListener(ObjectProvider<EntityCacheCoordinator> coordinator) {
+        this.coordinator = coordinator;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void entityChanged(Object entity) {
+        if (entity instanceof User user) {
+            afterCommit(CacheInvalidation.EntityType.USER, user.getId());
+        } else if (entity instanceof Team team) {
+            afterCommit(CacheInvalidation.EntityType.TEAM, team.getId());
+        }
+    }
+    
+    private void afterCommit(CacheInvalidation.EntityType type, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            coordinator.ifAvailable(c -> c.publish(type, id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                coordinator.ifAvailable(c -> c.publish(type, id));
+            }
+        });
+    }
+}
@@ -0,0 +1,222 @@
+package com.engineerplatform.backend.cache;
+
+import com.engineerplatform.backend.model.CacheInvalidation;
+import com.engineerplatform.backend.model.Team;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Keeps the Hibernate second-level cache of users and teams coherent. Hibernate updates entity
+ * entries and drops cached queries itself on writes through this node; this class evicts what it
+ * cannot track (the inverse collections) and, with app.cache.cluster.enabled, shares every change
+ * through the cache_invalidations table so other nodes evict their copies too.
+ * <p>
+ * Ids are taken when a row is inserted, not when it commits, so a row can become visible after
+ * rows with higher ids. Each poll therefore reads again from lookback-ids below the highest id
+ * seen and skips the rows it has already applied.
+ */
+@Component
+public class EntityCacheCoordinator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheCoordinator.class);
+    
+    private static final String USER_DIRECT_REPORTS = User.class.getName() + ".directReports";
+    private static final String USER_TEAMS = User.class.getName() + ".teams";
+    private static final String TEAM_MEMBERS = Team.class.getName() + ".members";
+    
+    private static final List<String> REGIONS = List.of("users", "users-direct-reports", "users-teams", "teams", "teams-members");
+    
+    private final SessionFactory sessionFactory;
+    private final CacheInvalidationRepository invalidationRepository;
+    private final TransactionTemplate publishTransaction;
+    private final TransactionTemplate pollTransaction;
+    private final boolean clusterEnabled;
+    private final String nodeId;
+    private final int batchSize;
+    private final Duration retention;
+    private final long lookbackIds;
+    private final NavigableSet<Long> seenIds = new TreeSet<>();
+    private long lastSeenId;
+    private LocalDateTime lastCleanup = LocalDateTime.now();
+    
+    @Autowired
+    public EntityCacheCoordinator(EntityManagerFactory entityManagerFactory,
+                                  CacheInvalidationRepository invalidationRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.cache.cluster.enabled:false}") boolean clusterEnabled,
+                                  @Value("${app.cache.cluster.node-id:}") String nodeId,
+                                  @Value("${app.cache.cluster.batch-size:500}") int batchSize,
+                                  @Value("${app.cache.cluster.retention:PT10M}") Duration retention,
+                                  @Value("${app.cache.cluster.lookback-ids:1000}") long lookbackIds) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.invalidationRepository = invalidationRepository;
+        // Invalidations are written after the change commits, outside its transaction
+        this.publishTransaction = new TransactionTemplate(transactionManager);
+        this.publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pollTransaction = new TransactionTemplate(transactionManager);
+        this.clusterEnabled = clusterEnabled;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.lookbackIds = lookbackIds;
+        
+        // Caches start empty, so earlier invalidations have nothing left to evict
+        if (clusterEnabled) {
+            this.lastSeenId = invalidationRepository.findMaxId();
+        }
+        
+        Statistics statistics = sessionFactory.getStatistics();
+        for (String region : REGIONS) {
+            Gauge.builder("hibernate.cache.hit.ratio", statistics, s -> hitRatio(s.getDomainDataRegionStatistics(region)))
+                .tag("region", region)
+                .register(meterRegistry);
+        }
+        Gauge.builder("hibernate.cache.hit.ratio", statistics,
+                      s -> ratio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()))
+            .tag("region", "query")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Evicts the direct-report collections of the given managers once the current transaction
+     * commits. The collection is the inverse side of User.manager, which Hibernate does not
+     * refresh when a report moves.
+     */
+    public void evictDirectReports(Long... managerIds) {
+        afterCommit(() -> {
+            for (Long managerId : managerIds) {
+                if (managerId != null) {
+                    cache().evictCollectionData(USER_DIRECT_REPORTS, managerId);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Records a committed user or team change for the other nodes. Does nothing unless the
+     * cluster hook is enabled.
+     */
+    public void publish(CacheInvalidation.EntityType type, Long id) {
+        if (!clusterEnabled || id == null) {
+            return;
+        }
+        try {
+            publishTransaction.executeWithoutResult(status ->
+                invalidationRepository.save(new CacheInvalidation(type, id, nodeId)));
+        } catch (RuntimeException e) {
+            // The change itself is committed; other nodes catch up when their entries expire
+            logger.warn("Failed to publish cache invalidation for {} {}: {}", type, id, e.getMessage());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.cache.cluster.poll-interval:PT2S}", initialDelayString = "${app.cache.cluster.poll-interval:PT2S}")
+    public void applyRemoteInvalidations() {
+        if (!clusterEnabled) {
+            return;
+        }
+        List<CacheInvalidation> invalidations;
+        long afterId = lastSeenId - lookbackIds;
+        do {
+            long from = afterId;
+            invalidations = pollTransaction.execute(status ->
+                invalidationRepository.findFromOtherNodesAfter(from, nodeId, PageRequest.of(0, batchSize)));
+            if (invalidations == null || invalidations.isEmpty()) {
+                break;
+            }
+            int applied = 0;
+            for (CacheInvalidation invalidation : invalidations) {
+                if (seenIds.add(invalidation.getId())) {
+                    evict(invalidation);
+                    applied++;
+                }
+            }
+            if (applied > 0) {
+                // Update timestamps are local to each node, so cached queries cannot tell the data changed
+                cache().evictQueryRegions();
+                logger.debug("Applied {} cache invalidations from other nodes", applied);
+            }
+            afterId = invalidations.get(invalidations.size() - 1).getId();
+            lastSeenId = Math.max(lastSeenId, afterId);
+        } while (invalidations.size() == batchSize);
+        seenIds.headSet(lastSeenId - lookbackIds, true).clear();
+        
+        if (lastCleanup.plus(retention).isBefore(LocalDateTime.now())) {
+            lastCleanup = LocalDateTime.now();
+            Integer deleted = pollTransaction.execute(status ->
+                invalidationRepository.deleteCreatedBefore(lastCleanup.minus(retention)));
+            logger.debug("Deleted {} expired cache invalidations", deleted);
+        }
+    }
+    
+    private void evict(CacheInvalidation invalidation) {
+        Cache cache = cache();
+        Long id = invalidation.getEntityId();
+        switch (invalidation.getEntityType()) {
+            case USER -> {
+                cache.evictEntityData(User.class, id);
+                cache.evictCollectionData(USER_DIRECT_REPORTS, id);
+                cache.evictCollectionData(USER_TEAMS, id);
+                // The row does not say which managers the user moved between
+                cache.evictCollectionData(USER_DIRECT_REPORTS);
+            }
+            case TEAM -> {
+                cache.evictEntityData(Team.class, id);
+                cache.evictCollectionData(TEAM_MEMBERS, id);
+                cache.evictCollectionData(USER_TEAMS);
+            }
+        }
+    }
+    
+    private Cache cache() {
+        return sessionFactory.getCache();
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static double hitRatio(CacheRegionStatistics region) {
+        return region != null ? ratio(region.getHitCount(), region.getMissCount()) : 0;
+    }
+    
+    private static double ratio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests > 0 ? (double) hits / requests : 0;
+    }
+}
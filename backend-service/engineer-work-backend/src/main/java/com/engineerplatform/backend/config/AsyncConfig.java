@@ -0,0 +1,95 @@
+package com.engineerplatform.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+    
+    // Declared explicitly because any other Executor bean makes Boot skip its default one,
+    // which Spring MVC uses for async and streaming responses
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    @Primary
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+    
+    // Only the chunk calls of interactive meeting map-reduce, so they never queue behind batch work
+    @Bean(name = "llmTaskExecutor")
+    public ThreadPoolTaskExecutor llmTaskExecutor(@Value("${app.ollama.map-reduce.parallelism:2}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("llm-task-");
+        return executor;
+    }
+    
+    // Fan-out of BATCH model work: missing dailies of weekly rollups and team summaries. The
+    // scheduler's BATCH lane limits the model calls; the bounded queue rejects work beyond it
+    @Bean(name = "llmBatchExecutor")
+    public ThreadPoolTaskExecutor llmBatchExecutor(@Value("${app.ollama.batch-fan-out.threads:4}") int threads,
+                                                   @Value("${app.ollama.batch-fan-out.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("llm-batch-");
+        return executor;
+    }
+    
+    // Model warmup, the template backfill and late fill-ins of model text; rejected fill-ins are
+    // left to the backfill
+    @Bean(name = "llmBackgroundExecutor")
+    public ThreadPoolTaskExecutor llmBackgroundExecutor(@Value("${app.ollama.background.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("llm-background-");
+        return executor;
+    }
+    
+    @Bean(name = "generationJobExecutor")
+    public ThreadPoolTaskExecutor generationJobExecutor(@Value("${app.jobs.worker-threads:4}") int workerThreads,
+                                                        @Value("${app.jobs.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("generation-job-");
+        return executor;
+    }
+    
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor(@Value("${app.reports.render-threads:4}") int renderThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(renderThreads);
+        executor.setMaxPoolSize(renderThreads);
+        executor.setThreadNamePrefix("report-render-");
+        return executor;
+    }
+    
+    // Runs the nightly daily-summary batch, which can take hours, away from the scheduler threads
+    @Bean(name = "dailyBatchExecutor")
+    public ThreadPoolTaskExecutor dailyBatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("daily-batch-");
+        return executor;
+    }
+    
+    // One thread, so index updates and rebuilds never interleave
+    @Bean(name = "searchIndexExecutor")
+    public ThreadPoolTaskExecutor searchIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("search-index-");
+        return executor;
+    }
+}
@@ -1,19 +1,33 @@
 package com.engineerplatform.backend.controller;
 
+import com.engineerplatform.backend.dto.KeysetPage;
+import com.engineerplatform.backend.dto.MeetingListItemDto;
+import com.engineerplatform.backend.dto.MeetingSearchHitDto;
+import com.engineerplatform.backend.exception.LlmCapacityExceededException;
 import com.engineerplatform.backend.model.MeetingMinutes;
 import com.engineerplatform.backend.model.User;
 import com.engineerplatform.backend.service.MeetingMinutesService;
 import com.engineerplatform.backend.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -24,33 +38,43 @@ public class MeetingController {
     
     private static final Logger logger = LoggerFactory.getLogger(MeetingController.class);
     
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    
+    private static final int MAX_PAGE_LIMIT = 500;
+    
     private final MeetingMinutesService meetingMinutesService;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public MeetingController(MeetingMinutesService meetingMinutesService, UserService userService) {
+    public MeetingController(MeetingMinutesService meetingMinutesService, UserService userService, ObjectMapper objectMapper) {
         this.meetingMinutesService = meetingMinutesService;
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
     
     @GetMapping("/my-meetings")
     public ResponseEntity<?> getMyMeetings(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
             Authentication authentication) {
         
         logger.debug("Fetching meetings for user {} from {} to {}", 
                     authentication.getName(), startDate, endDate);
         
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return invalidLimit();
+        }
+        
         try {
             User user = userService.getUserByUsername(authentication.getName());
-            List<MeetingMinutes> meetings = meetingMinutesService.getUserMeetings(user.getId(), startDate, endDate);
-            
-            return ResponseEntity.ok(Map.of(
-                "meetings", meetings,
-                "totalCount", meetings.size()
-            ));
+            KeysetPage<MeetingListItemDto> meetings = meetingMinutesService.getUserMeetingPage(
+                user.getId(), startDate, endDate, cursor, limit);
             
+            return ResponseEntity.ok(pageBody(meetings));
+        
         } catch (Exception e) {
             logger.error("Error fetching meetings for user {}: {}", 
                         authentication.getName(), e.getMessage(), e);
@@ -59,25 +83,50 @@ public class MeetingController {
         }
     }
     
+    @GetMapping(value = "/my-meetings/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMyMeetings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        
+        logger.debug("Streaming meetings for user {} from {} to {}", 
+                    authentication.getName(), startDate, endDate);
+        
+        try {
+            User user = userService.getUserByUsername(authentication.getName());
+            return NdjsonResponses.stream(objectMapper,
+                rows -> meetingMinutesService.streamUserMeetings(user.getId(), startDate, endDate, rows));
+        
+        } catch (Exception e) {
+            logger.error("Error streaming meetings for user {}: {}", 
+                        authentication.getName(), e.getMessage(), e);
+            return NdjsonResponses.error(objectMapper, HttpStatus.BAD_REQUEST, "Failed to stream meetings: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/team-meetings")
     @PreAuthorize("hasAnyRole('MANAGER', 'LEADER', 'ADMIN')")
     public ResponseEntity<?> getTeamMeetings(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
             Authentication authentication) {
         
         logger.debug("Fetching team meetings for manager {} from {} to {}", 
                     authentication.getName(), startDate, endDate);
         
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return invalidLimit();
+        }
+        
         try {
             User manager = userService.getUserByUsername(authentication.getName());
-            List<MeetingMinutes> meetings = meetingMinutesService.getTeamMeetings(manager.getId(), startDate, endDate);
-            
-            return ResponseEntity.ok(Map.of(
-                "meetings", meetings,
-                "totalCount", meetings.size()
-            ));
+            KeysetPage<MeetingListItemDto> meetings = meetingMinutesService.getTeamMeetingPage(
+                manager.getId(), startDate, endDate, cursor, limit);
             
+            return ResponseEntity.ok(pageBody(meetings));
+        
         } catch (Exception e) {
             logger.error("Error fetching team meetings for manager {}: {}", 
                         authentication.getName(), e.getMessage(), e);
@@ -86,6 +135,28 @@ public class MeetingController {
         }
     }
     
+    @GetMapping(value = "/team-meetings/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('MANAGER', 'LEADER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamTeamMeetings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        
+        logger.debug("Streaming team meetings for manager {} from {} to {}", 
+                    authentication.getName(), startDate, endDate);
+        
+        try {
+            User manager = userService.getUserByUsername(authentication.getName());
+            return NdjsonResponses.stream(objectMapper,
+                rows -> meetingMinutesService.streamTeamMeetings(manager.getId(), startDate, endDate, rows));
+        
+        } catch (Exception e) {
+            logger.error("Error streaming team meetings for manager {}: {}", 
+                        authentication.getName(), e.getMessage(), e);
+            return NdjsonResponses.error(objectMapper, HttpStatus.BAD_REQUEST, "Failed to stream team meetings: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/{meetingId}")
     public ResponseEntity<?> getMeetingById(
             @PathVariable Long meetingId,
@@ -103,7 +174,7 @@ public class MeetingController {
             }
             
             return ResponseEntity.ok(meeting);
-            
+        
         } catch (Exception e) {
             logger.error("Error fetching meeting {} for user {}: {}", 
                         meetingId, authentication.getName(), e.getMessage(), e);
@@ -117,21 +188,34 @@ public class MeetingController {
             @RequestParam String query,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         
         logger.debug("Searching meetings for user {} with query: {}", authentication.getName(), query);
         
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "page must be at least 0 and size between 1 and " + MAX_SEARCH_PAGE_SIZE));
+        }
+        
         try {
             User user = userService.getUserByUsername(authentication.getName());
-            List<MeetingMinutes> meetings = meetingMinutesService.searchUserMeetings(
-                user.getId(), query, startDate, endDate);
+            Page<MeetingSearchHitDto> hits = meetingMinutesService.searchUserMeetings(
+                user.getId(), query, startDate, endDate, PageRequest.of(page, size));
+            // List rows in rank order, as in my-meetings; hits carry the scores and highlighted fragments
+            List<MeetingListItemDto> meetings = meetingMinutesService.getListItemsInOrder(
+                hits.getContent().stream().map(MeetingSearchHitDto::getMeetingId).toList());
             
             return ResponseEntity.ok(Map.of(
                 "meetings", meetings,
-                "totalCount", meetings.size(),
+                "hits", hits.getContent(),
+                "totalCount", hits.getTotalElements(),
+                "page", page,
+                "size", size,
                 "query", query
             ));
-            
+        
         } catch (Exception e) {
             logger.error("Error searching meetings for user {} with query {}: {}", 
                         authentication.getName(), query, e.getMessage(), e);
@@ -158,13 +242,19 @@ public class MeetingController {
                     .body(Map.of("error", "Access denied: You cannot regenerate this meeting"));
             }
             
-            MeetingMinutes regeneratedMeeting = meetingMinutesService.regenerateMeetingMinutes(meetingId);
+            MeetingMinutes regeneratedMeeting = meetingMinutesService.regenerateMeetingMinutes(
+                meetingId, authentication.getName());
             
             return ResponseEntity.ok(Map.of(
                 "message", "Meeting minutes regenerated successfully",
                 "meeting", regeneratedMeeting
             ));
-            
+        
+        } catch (LlmCapacityExceededException e) {
+            logger.warn("Rejected meeting minutes regeneration for meeting {} by user {}: {}", 
+                       meetingId, authentication.getName(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error regenerating meeting minutes for meeting {} by user {}: {}", 
                         meetingId, authentication.getName(), e.getMessage(), e);
@@ -172,4 +262,55 @@ public class MeetingController {
                 .body(Map.of("error", "Failed to regenerate meeting minutes: " + e.getMessage()));
         }
     }
+    
+    @PostMapping(value = "/{meetingId}/regenerate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('MANAGER', 'LEADER', 'ADMIN')")
+    public Flux<ServerSentEvent<Map<String, String>>> streamRegeneratedMeetingMinutes(
+            @PathVariable Long meetingId,
+            Authentication authentication) {
+        
+        logger.info("Streaming regenerated meeting minutes for meeting {} by user {}", 
+                   meetingId, authentication.getName());
+        
+        try {
+            User user = userService.getUserByUsername(authentication.getName());
+            MeetingMinutes meeting = meetingMinutesService.getMeetingById(meetingId);
+            
+            if (!meetingMinutesService.canUserAccessMeeting(user, meeting)) {
+                return Flux.just(ServerSentEvent.builder(
+                    Map.of("error", "Access denied: You cannot regenerate this meeting")).event("error").build());
+            }
+            
+            return meetingMinutesService.streamRegeneratedMeetingMinutes(meetingId, authentication.getName())
+                .map(token -> ServerSentEvent.builder(Map.of("token", token)).event("token").build())
+                .concatWith(Mono.fromSupplier(() -> 
+                    ServerSentEvent.builder(Map.of("status", "completed")).event("done").build()))
+                .onErrorResume(e -> {
+                    logger.error("Error streaming meeting minutes for meeting {} by user {}: {}", 
+                                meetingId, authentication.getName(), e.getMessage(), e);
+                    return Flux.just(ServerSentEvent.builder(
+                        Map.of("error", "Failed to regenerate meeting minutes: " + e.getMessage())).event("error").build());
+                });
+        
+        } catch (Exception e) {
+            logger.error("Error streaming meeting minutes for meeting {} by user {}: {}", 
+                        meetingId, authentication.getName(), e.getMessage(), e);
+            return Flux.just(ServerSentEvent.builder(
+                Map.of("error", "Failed to regenerate meeting minutes: " + e.getMessage())).event("error").build());
+        }
+    }
+    
+    private ResponseEntity<?> invalidLimit() {
+        return ResponseEntity.badRequest()
+            .body(Map.of("error", "limit must be between 1 and " + MAX_PAGE_LIMIT));
+    }
+    
+    // nextCursor is null on the last page, which Map.of does not allow
+    private Map<String, Object> pageBody(KeysetPage<MeetingListItemDto> page) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("meetings", page.getItems());
+        body.put("nextCursor", page.getNextCursor());
+        body.put("hasMore", page.hasMore());
+        return body;
+    }
 }
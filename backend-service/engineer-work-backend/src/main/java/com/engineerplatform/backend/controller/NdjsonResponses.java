@@ -0,0 +1,44 @@
+package com.engineerplatform.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Newline-delimited JSON list responses. Rows are written as the query produces them, so the
+ * response can be any length while the server holds one row at a time.
+ */
+final class NdjsonResponses {
+    
+    private NdjsonResponses() {}
+    
+    static ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper, Consumer<Consumer<Object>> rows) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> {
+            rows.accept(row -> {
+                try {
+                    out.write(writer.writeValueAsBytes(row));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    // Streaming handlers must declare a StreamingResponseBody, so errors are written through one too
+    static ResponseEntity<StreamingResponseBody> error(ObjectMapper objectMapper, HttpStatus status, String message) {
+        StreamingResponseBody body = out -> objectMapper.writeValue(out, Map.of("error", message));
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,92 @@
+package com.engineerplatform.backend.controller;
+
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.search.WorkspaceSearchIndex;
+import com.engineerplatform.backend.search.WorkspaceSearchService;
+import com.engineerplatform.backend.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class SearchController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    private final WorkspaceSearchService workspaceSearchService;
+    private final UserService userService;
+    
+    @Autowired
+    public SearchController(WorkspaceSearchService workspaceSearchService, UserService userService) {
+        this.workspaceSearchService = workspaceSearchService;
+        this.userService = userService;
+    }
+    
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam String query,
+            @RequestParam(required = false) Set<WorkspaceSearchIndex.DocumentType> types,
+            @RequestParam(required = false) String user,
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        logger.debug("Searching the workspace for user {} with query: {}", authentication.getName(), query);
+        
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "page must be at least 0 and size between 1 and " + MAX_PAGE_SIZE));
+        }
+        
+        try {
+            User caller = userService.getUserByUsername(authentication.getName());
+            WorkspaceSearchIndex.Results results = workspaceSearchService.search(caller, query,
+                new WorkspaceSearchIndex.Filters(types, user, team, startDate, endDate), PageRequest.of(page, size));
+            
+            return ResponseEntity.ok(Map.of(
+                "hits", results.getHits().getContent(),
+                "totalCount", results.getHits().getTotalElements(),
+                "facets", results.getFacets(),
+                "page", page,
+                "size", size,
+                "query", query
+            ));
+        
+        } catch (Exception e) {
+            logger.error("Error searching the workspace for user {} with query {}: {}", 
+                        authentication.getName(), query, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to search: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuild(Authentication authentication) {
+        logger.info("Search index rebuild requested by {}", authentication.getName());
+        
+        if (!workspaceSearchService.requestRebuild()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "A search index rebuild is already running or indexing is disabled"));
+        }
+        return ResponseEntity.accepted().body(Map.of("status", "REBUILDING"));
+    }
+}
@@ -105,7 +105,7 @@ public class UserController {
         
         try {
             User manager = userService.getUserByUsername(authentication.getName());
-            User targetUser = userService.getUserById(userId);
+            User targetUser = userService.getUserWithManagerById(userId);
             
             if (!userService.canManagerAccessUser(manager, targetUser)) {
                 return ResponseEntity.status(403)
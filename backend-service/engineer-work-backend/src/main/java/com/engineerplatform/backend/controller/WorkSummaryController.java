@@ -1,22 +1,45 @@
 package com.engineerplatform.backend.controller;
 
+import com.engineerplatform.backend.dto.KeysetPage;
 import com.engineerplatform.backend.dto.WorkSummaryDto;
+import com.engineerplatform.backend.dto.WorkSummaryListItemDto;
+import com.engineerplatform.backend.exception.ResourceNotFoundException;
+import com.engineerplatform.backend.model.GenerationJob;
+import com.engineerplatform.backend.model.ScoreRollup;
+import com.engineerplatform.backend.model.TeamSummary;
 import com.engineerplatform.backend.model.User;
 import com.engineerplatform.backend.model.WorkSummary;
+import com.engineerplatform.backend.service.GenerationJobService;
+import com.engineerplatform.backend.service.ScoreRollupService;
+import com.engineerplatform.backend.service.TeamSummaryService;
 import com.engineerplatform.backend.service.UserService;
 import com.engineerplatform.backend.service.WorkSummaryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/work-summary")
@@ -25,29 +48,43 @@ public class WorkSummaryController {
     
     private static final Logger logger = LoggerFactory.getLogger(WorkSummaryController.class);
     
+    private static final int JOB_POLL_INTERVAL_SECONDS = 2;
+    
+    private static final int MAX_PAGE_LIMIT = 500;
+    
     private final WorkSummaryService workSummaryService;
     private final UserService userService;
+    private final GenerationJobService generationJobService;
+    private final TeamSummaryService teamSummaryService;
+    private final ScoreRollupService scoreRollupService;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public WorkSummaryController(WorkSummaryService workSummaryService, UserService userService) {
+    public WorkSummaryController(WorkSummaryService workSummaryService, UserService userService,
+                                 GenerationJobService generationJobService, TeamSummaryService teamSummaryService,
+                                 ScoreRollupService scoreRollupService, ObjectMapper objectMapper) {
         this.workSummaryService = workSummaryService;
         this.userService = userService;
+        this.generationJobService = generationJobService;
+        this.teamSummaryService = teamSummaryService;
+        this.scoreRollupService = scoreRollupService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping("/generate/daily")
     public ResponseEntity<?> generateDailySummary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication authentication) {
         
-        logger.info("Generating daily summary for user {} on date {}", authentication.getName(), date);
+        logger.info("Queueing daily summary for user {} on date {}", authentication.getName(), date);
         
         try {
             User user = userService.getUserByUsername(authentication.getName());
-            WorkSummary summary = workSummaryService.generateDailySummary(user.getId(), date);
-            WorkSummaryDto dto = workSummaryService.convertToDto(summary);
-            
-            return ResponseEntity.ok(dto);
+            GenerationJob job = generationJobService.submit(user, WorkSummary.SummaryType.DAILY, date, idempotencyKey);
             
+            return acceptedJob(job);
+        
         } catch (Exception e) {
             logger.error("Error generating daily summary for user {} on date {}: {}", 
                         authentication.getName(), date, e.getMessage(), e);
@@ -56,21 +93,50 @@ public class WorkSummaryController {
         }
     }
     
+    @PostMapping(value = "/generate/daily/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Map<String, String>>> streamDailySummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            Authentication authentication) {
+        
+        logger.info("Streaming daily summary for user {} on date {}", authentication.getName(), date);
+        
+        try {
+            User user = userService.getUserByUsername(authentication.getName());
+            
+            return workSummaryService.streamDailySummary(user.getId(), date)
+                .map(token -> ServerSentEvent.builder(Map.of("token", token)).event("token").build())
+                .concatWith(Mono.fromSupplier(() -> 
+                    ServerSentEvent.builder(Map.of("status", "completed")).event("done").build()))
+                .onErrorResume(e -> {
+                    logger.error("Error streaming daily summary for user {} on date {}: {}", 
+                                authentication.getName(), date, e.getMessage(), e);
+                    return Flux.just(ServerSentEvent.builder(
+                        Map.of("error", "Failed to generate daily summary: " + e.getMessage())).event("error").build());
+                });
+        
+        } catch (Exception e) {
+            logger.error("Error streaming daily summary for user {} on date {}: {}", 
+                        authentication.getName(), date, e.getMessage(), e);
+            return Flux.just(ServerSentEvent.builder(
+                Map.of("error", "Failed to generate daily summary: " + e.getMessage())).event("error").build());
+        }
+    }
+    
     @PostMapping("/generate/weekly")
     public ResponseEntity<?> generateWeeklySummary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStartDate,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication authentication) {
         
-        logger.info("Generating weekly summary for user {} starting from {}", 
+        logger.info("Queueing weekly summary for user {} starting from {}", 
                    authentication.getName(), weekStartDate);
         
         try {
             User user = userService.getUserByUsername(authentication.getName());
-            WorkSummary summary = workSummaryService.generateWeeklySummary(user.getId(), weekStartDate);
-            WorkSummaryDto dto = workSummaryService.convertToDto(summary);
-            
-            return ResponseEntity.ok(dto);
+            GenerationJob job = generationJobService.submit(user, WorkSummary.SummaryType.WEEKLY, weekStartDate, idempotencyKey);
             
+            return acceptedJob(job);
+        
         } catch (Exception e) {
             logger.error("Error generating weekly summary for user {} starting from {}: {}", 
                         authentication.getName(), weekStartDate, e.getMessage(), e);
@@ -79,22 +145,105 @@ public class WorkSummaryController {
         }
     }
     
+    @PostMapping("/generate/monthly")
+    public ResponseEntity<?> generateMonthlySummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate month,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Authentication authentication) {
+        
+        LocalDate monthStartDate = month.withDayOfMonth(1);
+        logger.info("Queueing monthly summary for user {} for month starting {}", 
+                   authentication.getName(), monthStartDate);
+        
+        try {
+            User user = userService.getUserByUsername(authentication.getName());
+            GenerationJob job = generationJobService.submit(user, WorkSummary.SummaryType.MONTHLY, monthStartDate, idempotencyKey);
+            
+            return acceptedJob(job);
+        
+        } catch (Exception e) {
+            logger.error("Error generating monthly summary for user {} for month starting {}: {}", 
+                        authentication.getName(), monthStartDate, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to generate monthly summary: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable Long jobId, Authentication authentication) {
+        logger.debug("Fetching generation job {} for user {}", jobId, authentication.getName());
+        
+        try {
+            User user = userService.getUserByUsername(authentication.getName());
+            GenerationJob job = generationJobService.getJobForUser(jobId, user);
+            
+            return ResponseEntity.ok(generationJobService.convertToDto(job));
+        
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching generation job {} for user {}: {}", 
+                        jobId, authentication.getName(), e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to fetch job: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/jobs/{jobId}/result")
+    public ResponseEntity<?> getJobResult(@PathVariable Long jobId, Authentication authentication) {
+        logger.debug("Fetching result of generation job {} for user {}", jobId, authentication.getName());
+        
+        try {
+            User user = userService.getUserByUsername(authentication.getName());
+            GenerationJob job = generationJobService.getJobForUser(jobId, user);
+            
+            if (job.getStatus() == GenerationJob.Status.FAILED) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Failed to generate summary: " + job.getErrorMessage()));
+            }
+            if (job.getStatus() != GenerationJob.Status.SUCCEEDED) {
+                return ResponseEntity.accepted()
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(JOB_POLL_INTERVAL_SECONDS))
+                    .body(generationJobService.convertToDto(job));
+            }
+            
+            WorkSummary summary = workSummaryService.getSummaryById(job.getResultSummaryId());
+            return ResponseEntity.ok(workSummaryService.convertToDto(summary));
+        
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching result of generation job {} for user {}: {}", 
+                        jobId, authentication.getName(), e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to fetch job result: " + e.getMessage()));
+        }
+    }
+    
     @GetMapping("/my-summaries")
     public ResponseEntity<?> getMySummaries(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
             Authentication authentication) {
         
         logger.debug("Fetching summaries for user {} from {} to {}", 
                     authentication.getName(), startDate, endDate);
         
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return invalidLimit();
+        }
+        
         try {
             User user = userService.getUserByUsername(authentication.getName());
-            List<WorkSummary> summaries = workSummaryService.getUserSummaries(user.getId(), startDate, endDate);
-            List<WorkSummaryDto> dtos = workSummaryService.convertToDtoList(summaries);
-            
-            return ResponseEntity.ok(dtos);
+            KeysetPage<WorkSummaryListItemDto> summaries = workSummaryService.getUserSummaryPage(
+                user.getId(), startDate, endDate, cursor, limit);
             
+            return ResponseEntity.ok(pageBody(summaries));
+        
         } catch (Exception e) {
             logger.error("Error fetching summaries for user {} from {} to {}: {}", 
                         authentication.getName(), startDate, endDate, e.getMessage(), e);
@@ -103,23 +252,50 @@ public class WorkSummaryController {
         }
     }
     
+    @GetMapping(value = "/my-summaries/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMySummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        
+        logger.debug("Streaming summaries for user {} from {} to {}", 
+                    authentication.getName(), startDate, endDate);
+        
+        try {
+            User user = userService.getUserByUsername(authentication.getName());
+            return NdjsonResponses.stream(objectMapper,
+                rows -> workSummaryService.streamUserSummaryList(user.getId(), startDate, endDate, rows));
+        
+        } catch (Exception e) {
+            logger.error("Error streaming summaries for user {} from {} to {}: {}", 
+                        authentication.getName(), startDate, endDate, e.getMessage(), e);
+            return NdjsonResponses.error(objectMapper, HttpStatus.BAD_REQUEST, "Failed to stream summaries: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/team-summaries")
     @PreAuthorize("hasAnyRole('MANAGER', 'LEADER', 'ADMIN')")
     public ResponseEntity<?> getTeamSummaries(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
             Authentication authentication) {
         
         logger.debug("Fetching team summaries for manager {} from {} to {}", 
                     authentication.getName(), startDate, endDate);
         
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return invalidLimit();
+        }
+        
         try {
             User manager = userService.getUserByUsername(authentication.getName());
-            List<WorkSummary> summaries = workSummaryService.getTeamSummaries(manager.getId(), startDate, endDate);
-            List<WorkSummaryDto> dtos = workSummaryService.convertToDtoList(summaries);
-            
-            return ResponseEntity.ok(dtos);
+            KeysetPage<WorkSummaryListItemDto> summaries = workSummaryService.getTeamSummaryPage(
+                manager.getId(), startDate, endDate, cursor, limit);
             
+            return ResponseEntity.ok(pageBody(summaries));
+        
         } catch (Exception e) {
             logger.error("Error fetching team summaries for manager {} from {} to {}: {}", 
                         authentication.getName(), startDate, endDate, e.getMessage(), e);
@@ -128,17 +304,83 @@ public class WorkSummaryController {
         }
     }
     
+    @GetMapping(value = "/team-summaries/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('MANAGER', 'LEADER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamTeamSummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        
+        logger.debug("Streaming team summaries for manager {} from {} to {}", 
+                    authentication.getName(), startDate, endDate);
+        
+        try {
+            User manager = userService.getUserByUsername(authentication.getName());
+            return NdjsonResponses.stream(objectMapper,
+                rows -> workSummaryService.streamTeamSummaryList(manager.getId(), startDate, endDate, rows));
+        
+        } catch (Exception e) {
+            logger.error("Error streaming team summaries for manager {} from {} to {}: {}", 
+                        authentication.getName(), startDate, endDate, e.getMessage(), e);
+            return NdjsonResponses.error(objectMapper, HttpStatus.BAD_REQUEST, "Failed to stream team summaries: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/team-summary")
+    @PreAuthorize("hasAnyRole('MANAGER', 'LEADER', 'ADMIN')")
+    public ResponseEntity<?> getTeamSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "endDate must not be before startDate"));
+        }
+        
+        try {
+            User manager = userService.getUserByUsername(authentication.getName());
+            TeamSummary summary = teamSummaryService.request(manager, startDate, endDate);
+            if (summary.getStatus() == TeamSummary.Status.READY) {
+                return ResponseEntity.ok(teamSummaryService.convertToDto(summary, manager));
+            }
+            if (summary.getStatus() == TeamSummary.Status.FAILED) {
+                long retryAfter = Math.max(Duration.between(LocalDateTime.now(), summary.getNextAttemptAt()).toSeconds(), 1);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(Map.of("status", "FAILED",
+                                 "error", "Failed to generate team summary: " + summary.getLastError()));
+            }
+            
+            // Generation fans out over the whole reporting tree, so the client polls this URL for the result
+            return ResponseEntity.accepted()
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(JOB_POLL_INTERVAL_SECONDS * 5))
+                .body(Map.of("status", "GENERATING"));
+        
+        } catch (Exception e) {
+            logger.error("Error generating team summary for manager {} from {} to {}: {}", 
+                        authentication.getName(), startDate, endDate, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to generate team summary: " + e.getMessage()));
+        }
+    }
+    
     @GetMapping("/user/{userId}/summaries")
     @PreAuthorize("hasAnyRole('MANAGER', 'LEADER', 'ADMIN')")
     public ResponseEntity<?> getUserSummaries(
             @PathVariable Long userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
             Authentication authentication) {
         
         logger.debug("Fetching summaries for user {} by manager {} from {} to {}", 
                     userId, authentication.getName(), startDate, endDate);
         
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return invalidLimit();
+        }
+        
         try {
             User manager = userService.getUserByUsername(authentication.getName());
             User targetUser = userService.getUserById(userId);
@@ -148,11 +390,11 @@ public class WorkSummaryController {
                     .body(Map.of("error", "Access denied: You cannot view this user's summaries"));
             }
             
-            List<WorkSummary> summaries = workSummaryService.getUserSummaries(userId, startDate, endDate);
-            List<WorkSummaryDto> dtos = workSummaryService.convertToDtoList(summaries);
-            
-            return ResponseEntity.ok(dtos);
+            KeysetPage<WorkSummaryListItemDto> summaries = workSummaryService.getUserSummaryPage(
+                userId, startDate, endDate, cursor, limit);
             
+            return ResponseEntity.ok(pageBody(summaries));
+        
         } catch (Exception e) {
             logger.error("Error fetching summaries for user {} by manager {} from {} to {}: {}", 
                         userId, authentication.getName(), startDate, endDate, e.getMessage(), e);
@@ -161,6 +403,35 @@ public class WorkSummaryController {
         }
     }
     
+    @GetMapping(value = "/user/{userId}/summaries/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('MANAGER', 'LEADER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamUserSummaries(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        
+        logger.debug("Streaming summaries for user {} by manager {} from {} to {}", 
+                    userId, authentication.getName(), startDate, endDate);
+        
+        try {
+            User manager = userService.getUserByUsername(authentication.getName());
+            User targetUser = userService.getUserById(userId);
+            
+            if (!userService.canManagerAccessUser(manager, targetUser)) {
+                return NdjsonResponses.error(objectMapper, HttpStatus.FORBIDDEN, "Access denied: You cannot view this user's summaries");
+            }
+            
+            return NdjsonResponses.stream(objectMapper,
+                rows -> workSummaryService.streamUserSummaryList(userId, startDate, endDate, rows));
+        
+        } catch (Exception e) {
+            logger.error("Error streaming summaries for user {} by manager {} from {} to {}: {}", 
+                        userId, authentication.getName(), startDate, endDate, e.getMessage(), e);
+            return NdjsonResponses.error(objectMapper, HttpStatus.BAD_REQUEST, "Failed to stream user summaries: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/summary/{summaryId}")
     public ResponseEntity<?> getSummaryById(
             @PathVariable Long summaryId,
@@ -180,7 +451,7 @@ public class WorkSummaryController {
             
             WorkSummaryDto dto = workSummaryService.convertToDto(summary);
             return ResponseEntity.ok(dto);
-            
+        
         } catch (Exception e) {
             logger.error("Error fetching summary {} for user {}: {}", 
                         summaryId, authentication.getName(), e.getMessage(), e);
@@ -200,8 +471,22 @@ public class WorkSummaryController {
             List<WorkSummary> summaries = workSummaryService.getUserSummaries(user.getId(), today, today);
             
             if (summaries.isEmpty()) {
-                WorkSummary todaySummary = workSummaryService.generateDailySummary(user.getId(), today);
-                summaries = List.of(todaySummary);
+                // Today's summary is generated by the nightly batch or on request via /generate/daily;
+                // until then show the latest pre-generated one rather than calling the model from a read
+                Optional<WorkSummary> latest = workSummaryService.getLatestDailySummary(user, today);
+                if (latest.isPresent()) {
+                    return ResponseEntity.ok(Map.of(
+                        "summaries", List.of(),
+                        "date", today,
+                        "user", user.getUsername(),
+                        "latestSummary", workSummaryService.convertToDto(latest.get())
+                    ));
+                }
+                return ResponseEntity.ok(Map.of(
+                    "summaries", List.of(),
+                    "date", today,
+                    "user", user.getUsername()
+                ));
             }
             
             List<WorkSummaryDto> dtos = workSummaryService.convertToDtoList(summaries);
@@ -210,7 +495,7 @@ public class WorkSummaryController {
                 "date", today,
                 "user", user.getUsername()
             ));
-            
+        
         } catch (Exception e) {
             logger.error("Error fetching today's dashboard for user {}: {}", 
                         authentication.getName(), e.getMessage(), e);
@@ -228,16 +513,15 @@ public class WorkSummaryController {
             LocalDate today = LocalDate.now();
             LocalDate weekStart = today.minusDays(today.getDayOfWeek().getValue() - 1);
             
-            List<WorkSummary> summaries = workSummaryService.getUserSummaries(user.getId(), weekStart, today);
-            List<WorkSummaryDto> dtos = workSummaryService.convertToDtoList(summaries);
+            List<WorkSummaryListItemDto> summaries = workSummaryService.getUserSummaryList(user.getId(), weekStart, today);
             
             return ResponseEntity.ok(Map.of(
-                "summaries", dtos,
+                "summaries", summaries,
                 "weekStart", weekStart,
                 "weekEnd", today,
                 "user", user.getUsername()
             ));
-            
+        
         } catch (Exception e) {
             logger.error("Error fetching this week's dashboard for user {}: {}", 
                         authentication.getName(), e.getMessage(), e);
@@ -245,4 +529,115 @@ public class WorkSummaryController {
                 .body(Map.of("error", "Failed to fetch week dashboard: " + e.getMessage()));
         }
     }
+    
+    @GetMapping("/analytics/my-scores")
+    public ResponseEntity<?> getMyScores(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "WEEK") ScoreRollup.Period period,
+            Authentication authentication) {
+        
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "endDate must not be before startDate"));
+        }
+        
+        try {
+            User user = userService.getUserByUsername(authentication.getName());
+            return ResponseEntity.ok(scoreRollupService.getTrend(
+                ScoreRollup.Scope.USER, user.getId(), period, startDate, endDate));
+        
+        } catch (Exception e) {
+            logger.error("Error fetching scores for user {} from {} to {}: {}", 
+                        authentication.getName(), startDate, endDate, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to fetch scores: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/analytics/team-scores")
+    @PreAuthorize("hasAnyRole('MANAGER', 'LEADER', 'ADMIN')")
+    public ResponseEntity<?> getTeamScores(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "WEEK") ScoreRollup.Period period,
+            @RequestParam(defaultValue = "TEAM") ScoreRollup.Scope scope,
+            Authentication authentication) {
+        
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "endDate must not be before startDate"));
+        }
+        if (scope == ScoreRollup.Scope.USER) {
+            return ResponseEntity.badRequest().body(Map.of("error", "scope must be TEAM or SUBTREE"));
+        }
+        
+        try {
+            User manager = userService.getUserByUsername(authentication.getName());
+            return ResponseEntity.ok(scoreRollupService.getTrend(
+                scope, manager.getId(), period, startDate, endDate));
+        
+        } catch (Exception e) {
+            logger.error("Error fetching team scores for manager {} from {} to {}: {}", 
+                        authentication.getName(), startDate, endDate, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to fetch team scores: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/analytics/user/{userId}/scores")
+    @PreAuthorize("hasAnyRole('MANAGER', 'LEADER', 'ADMIN')")
+    public ResponseEntity<?> getUserScores(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "WEEK") ScoreRollup.Period period,
+            Authentication authentication) {
+        
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "endDate must not be before startDate"));
+        }
+        
+        try {
+            User manager = userService.getUserByUsername(authentication.getName());
+            User targetUser = userService.getUserById(userId);
+            
+            if (!userService.canManagerAccessUser(manager, targetUser)) {
+                return ResponseEntity.status(403)
+                    .body(Map.of("error", "Access denied: You cannot view this user's scores"));
+            }
+            
+            return ResponseEntity.ok(scoreRollupService.getTrend(
+                ScoreRollup.Scope.USER, userId, period, startDate, endDate));
+        
+        } catch (Exception e) {
+            logger.error("Error fetching scores for user {} by manager {} from {} to {}: {}", 
+                        userId, authentication.getName(), startDate, endDate, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to fetch user scores: " + e.getMessage()));
+        }
+    }
+    
+    private ResponseEntity<?> invalidLimit() {
+        return ResponseEntity.badRequest()
+            .body(Map.of("error", "limit must be between 1 and " + MAX_PAGE_LIMIT));
+    }
+    
+    // nextCursor is null on the last page, which Map.of does not allow
+    private Map<String, Object> pageBody(KeysetPage<WorkSummaryListItemDto> page) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("summaries", page.getItems());
+        body.put("nextCursor", page.getNextCursor());
+        body.put("hasMore", page.hasMore());
+        return body;
+    }
+    
+    private ResponseEntity<?> acceptedJob(GenerationJob job) {
+        URI statusUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+            .path("/api/work-summary/jobs/{jobId}")
+            .buildAndExpand(job.getId())
+            .toUri();
+        return ResponseEntity.accepted()
+            .location(statusUri)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(JOB_POLL_INTERVAL_SECONDS))
+            .body(generationJobService.convertToDto(job));
+    }
 }
@@ -0,0 +1,77 @@
+package com.engineerplatform.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * The primary pool from spring.datasource and, with app.datasource.replica.enabled, a read-only
+ * pool on a streaming replica that serves @Transactional(readOnly = true) methods.
+ */
+@Configuration
+public class DataSourceConfig {
+    
+    // Zero while the replica has replayed everything it received, so an idle primary does not read as lag
+    private static final String POSTGRES_LAG_QUERY =
+        "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                      MeterRegistry meterRegistry,
+                                                      @Value("${app.datasource.replica.enabled:false}") boolean replicaEnabled,
+                                                      @Value("${app.datasource.replica.url:}") String url,
+                                                      @Value("${app.datasource.replica.username:}") String username,
+                                                      @Value("${app.datasource.replica.password:}") String password,
+                                                      @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+                                                      @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+                                                      @Value("${app.datasource.replica.lag-query:" + POSTGRES_LAG_QUERY + "}") String lagQuery) {
+        HikariDataSource replica = null;
+        if (replicaEnabled) {
+            replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(url);
+            replica.setUsername(username.isBlank() ? primaryDataSource.getUsername() : username);
+            replica.setPassword(password.isBlank() ? primaryDataSource.getPassword() : password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            // Fail the lag check quickly instead of holding up reads that fall back to the primary
+            replica.setConnectionTimeout(Duration.ofSeconds(5).toMillis());
+            replica.setMetricRegistry(meterRegistry);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replica, maxLag, lagQuery, meterRegistry);
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer writeTrackingCustomizer(ReplicaRoutingDataSource routingDataSource) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                                            new WriteTrackingStatementInspector(routingDataSource));
+    }
+    
+    // Connections are only fetched for the first statement, after the transaction's read-only
+    // flag is set, so the routing data source can see it
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,192 @@
+package com.engineerplatform.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Reads stay on
+ * the primary while the replica lags more than max-lag or cannot be reached, and for max-lag
+ * after a user's last write, so users always see what they just saved. Work outside a request
+ * (schedulers, job workers, the search indexer) also reads from the primary: it usually reads
+ * rows it has just written.
+ * <p>
+ * Last writes are kept in this instance's memory. With several instances behind a load balancer,
+ * read-your-writes only holds when a user's requests stay on one instance (sticky sessions);
+ * otherwise a read on another instance can go to the replica within max-lag of the write.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    private static final Object WRITE_KEY = new Object();
+    
+    enum Target { PRIMARY, REPLICA }
+    
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+    private boolean lagChecked;
+    
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag, String lagQuery,
+                                    MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        setDefaultTargetDataSource(primary);
+        setTargetDataSources(replica != null
+            ? Map.of(Target.PRIMARY, primary, Target.REPLICA, replica)
+            : Map.of(Target.PRIMARY, primary));
+        
+        this.primaryReads = Counter.builder("datasource.routing.reads").tag("target", "primary").register(meterRegistry);
+        this.replicaReads = Counter.builder("datasource.routing.reads").tag("target", "replica").register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, r -> r.lagSeconds)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicaLag();
+    }
+    
+    /**
+     * Keeps the given user's reads on the primary for max-lag. Writes made in a request are
+     * recorded when their transaction commits; call this for writes made on a user's behalf
+     * elsewhere, such as a background generation job.
+     */
+    public void recordWrite(String username) {
+        if (replica != null && username != null) {
+            lastWrites.put(username, System.nanoTime());
+        }
+    }
+    
+    /**
+     * Called for every insert, update and delete the current transaction sends. The request's
+     * user is recorded once the transaction commits, so transactions that only read, or that
+     * roll back, leave the user's reads on the replica.
+     */
+    void statementWrote() {
+        if (replica == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_KEY)) {
+            return;
+        }
+        String username = currentUsername();
+        if (username == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_KEY, username);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(username);
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_KEY);
+            }
+        });
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replica == null) {
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        
+        String username = currentUsername();
+        if (username == null || !replicaUsable || wroteRecently(username)) {
+            primaryReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}",
+               initialDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+    public void checkReplicaLag() {
+        if (replica == null) {
+            return;
+        }
+        boolean usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            result.next();
+            lagSeconds = result.getDouble(1);
+            usable = lagSeconds * 1000 <= maxLag.toMillis();
+            if (!usable && (replicaUsable || !lagChecked)) {
+                logger.warn("Replica is {}s behind the primary, reading from the primary until it catches up", lagSeconds);
+            }
+        } catch (SQLException | RuntimeException e) {
+            usable = false;
+            lagSeconds = Double.NaN;
+            if (replicaUsable || !lagChecked) {
+                logger.warn("Replica lag check failed, reading from the primary: {}", e.getMessage());
+            }
+        }
+        if (usable && !replicaUsable) {
+            logger.info("Routing read-only transactions to the replica");
+        }
+        replicaUsable = usable;
+        lagChecked = true;
+        
+        long cutoff = System.nanoTime() - maxLag.toNanos();
+        lastWrites.values().removeIf(writtenAt -> writtenAt - cutoff < 0);
+    }
+    
+    @Override
+    public void close() {
+        if (replica instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close the replica pool: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private boolean wroteRecently(String username) {
+        Long writtenAt = lastWrites.get(username);
+        return writtenAt != null && System.nanoTime() - writtenAt < maxLag.toNanos();
+    }
+    
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,48 @@
+package com.engineerplatform.backend.datasource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+
+/**
+ * Tells the routing data source when a transaction sends an insert, update or delete, so only
+ * transactions that changed rows keep their user's reads on the primary. Statements are seen
+ * when Hibernate prepares them, which for entity changes is at flush.
+ */
+class WriteTrackingStatementInspector implements StatementInspector {
+    
+    private final ReplicaRoutingDataSource routingDataSource;
+    
+    WriteTrackingStatementInspector(ReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        if (isWrite(sql)) {
+            routingDataSource.statementWrote();
+        }
+        return sql;
+    }
+    
+    static boolean isWrite(String sql) {
+        String statement = sql.stripLeading();
+        // hibernate.use_sql_comments puts a comment in front of the statement
+        while (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            if (end < 0) {
+                return false;
+            }
+            statement = statement.substring(end + 2).stripLeading();
+        }
+        String lower = statement.toLowerCase(Locale.ROOT);
+        return startsWithKeyword(lower, "insert") || startsWithKeyword(lower, "update")
+            || startsWithKeyword(lower, "delete") || startsWithKeyword(lower, "merge");
+    }
+    
+    private static boolean startsWithKeyword(String statement, String keyword) {
+        return statement.startsWith(keyword)
+            && (statement.length() == keyword.length() || !Character.isLetterOrDigit(statement.charAt(keyword.length()))
+                && statement.charAt(keyword.length()) != '_');
+    }
+}
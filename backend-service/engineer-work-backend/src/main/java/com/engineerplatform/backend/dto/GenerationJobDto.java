@@ -0,0 +1,56 @@
+package com.engineerplatform.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class GenerationJobDto {
+    
+    private Long id;
+    private String summaryType;
+    private LocalDate targetDate;
+    private String status;
+    private Long resultSummaryId;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    
+    public GenerationJobDto() {}
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getSummaryType() { return summaryType; }
+    public void setSummaryType(String summaryType) { this.summaryType = summaryType; }
+    
+    public LocalDate getTargetDate() { return targetDate; }
+    public void setTargetDate(LocalDate targetDate) { this.targetDate = targetDate; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public Long getResultSummaryId() { return resultSummaryId; }
+    public void setResultSummaryId(Long resultSummaryId) { this.resultSummaryId = resultSummaryId; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    
+    @Override
+    public String toString() {
+        return "GenerationJobDto{" +
+                "id=" + id +
+                ", summaryType='" + summaryType + '\'' +
+                ", targetDate=" + targetDate +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package com.engineerplatform.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list ordered newest first by (date, id). The next page is requested with
+ * nextCursor, which marks the last row returned; it is null on the last page. Cursors are opaque
+ * to clients and stay valid when rows are added, unlike offsets.
+ */
+public class KeysetPage<T> {
+    
+    private final List<T> items;
+    private final String nextCursor;
+    
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    /**
+     * Builds a page from up to limit + 1 rows; the extra row only signals that more follow.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Cursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, limit));
+        return new KeysetPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+    
+    public List<T> getItems() { return items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    
+    public boolean hasMore() { return nextCursor != null; }
+    
+    /**
+     * Position of a row in the (date, id) order: an ISO date or date-time and the row id.
+     */
+    public static class Cursor {
+        
+        private final String position;
+        private final long id;
+        
+        public Cursor(Object position, long id) {
+            this.position = position.toString();
+            this.id = id;
+        }
+        
+        public static Cursor decode(String cursor) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                return new Cursor(decoded.substring(0, separator), Long.parseLong(decoded.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((position + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+        
+        public LocalDate date() {
+            try {
+                return LocalDate.parse(position);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        
+        public LocalDateTime dateTime() {
+            try {
+                return LocalDateTime.parse(position);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        
+        public long getId() { return id; }
+    }
+}
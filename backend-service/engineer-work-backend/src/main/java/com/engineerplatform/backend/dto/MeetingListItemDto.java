@@ -0,0 +1,90 @@
+package com.engineerplatform.backend.dto;
+
+import com.engineerplatform.backend.model.MeetingMinutes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of a meeting list, filled directly by a JPQL constructor query. Has the meeting's own
+ * columns without the participants, so list rows never load users, and a short preview of the
+ * summary instead of the transcript and minutes; those are served by the detail endpoint.
+ */
+public class MeetingListItemDto {
+    
+    public static final int PREVIEW_LENGTH = 200;
+    
+    private Long id;
+    private String meetingTitle;
+    private LocalDateTime meetingDate;
+    private String meetingPlatform;
+    private String meetingId;
+    private Integer durationMinutes;
+    private String summaryPreview;
+    private String attendees;
+    private String recordingUrl;
+    private boolean processed;
+    private LocalDateTime processedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    public MeetingListItemDto() {}
+    
+    public MeetingListItemDto(Long id, String meetingTitle, LocalDateTime meetingDate,
+                              MeetingMinutes.MeetingPlatform meetingPlatform, String meetingId,
+                              Integer durationMinutes, String summaryPreview, String attendees, String recordingUrl,
+                              boolean processed, LocalDateTime processedAt, LocalDateTime createdAt,
+                              LocalDateTime updatedAt) {
+        this.id = id;
+        this.meetingTitle = meetingTitle;
+        this.meetingDate = meetingDate;
+        this.meetingPlatform = meetingPlatform != null ? meetingPlatform.name() : null;
+        this.meetingId = meetingId;
+        this.durationMinutes = durationMinutes;
+        this.summaryPreview = summaryPreview;
+        this.attendees = attendees;
+        this.recordingUrl = recordingUrl;
+        this.processed = processed;
+        this.processedAt = processedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getMeetingTitle() { return meetingTitle; }
+    public void setMeetingTitle(String meetingTitle) { this.meetingTitle = meetingTitle; }
+    
+    public LocalDateTime getMeetingDate() { return meetingDate; }
+    public void setMeetingDate(LocalDateTime meetingDate) { this.meetingDate = meetingDate; }
+    
+    public String getMeetingPlatform() { return meetingPlatform; }
+    public void setMeetingPlatform(String meetingPlatform) { this.meetingPlatform = meetingPlatform; }
+    
+    public String getMeetingId() { return meetingId; }
+    public void setMeetingId(String meetingId) { this.meetingId = meetingId; }
+    
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
+    
+    public String getSummaryPreview() { return summaryPreview; }
+    public void setSummaryPreview(String summaryPreview) { this.summaryPreview = summaryPreview; }
+    
+    public String getAttendees() { return attendees; }
+    public void setAttendees(String attendees) { this.attendees = attendees; }
+    
+    public String getRecordingUrl() { return recordingUrl; }
+    public void setRecordingUrl(String recordingUrl) { this.recordingUrl = recordingUrl; }
+    
+    public boolean isProcessed() { return processed; }
+    public void setProcessed(boolean processed) { this.processed = processed; }
+    
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,32 @@
+package com.engineerplatform.backend.dto;
+
+import java.util.Map;
+
+/**
+ * One ranked search result. Highlights are keyed by field (meetingTitle, keyPoints, aiSummary)
+ * and hold only the fields that matched; the text is HTML-escaped with matches wrapped in
+ * &lt;mark&gt; tags.
+ */
+public class MeetingSearchHitDto {
+    
+    private Long meetingId;
+    private double score;
+    private Map<String, String> highlights;
+    
+    public MeetingSearchHitDto() {}
+    
+    public MeetingSearchHitDto(Long meetingId, double score, Map<String, String> highlights) {
+        this.meetingId = meetingId;
+        this.score = score;
+        this.highlights = highlights;
+    }
+    
+    public Long getMeetingId() { return meetingId; }
+    public void setMeetingId(Long meetingId) { this.meetingId = meetingId; }
+    
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+    
+    public Map<String, String> getHighlights() { return highlights; }
+    public void setHighlights(Map<String, String> highlights) { this.highlights = highlights; }
+}
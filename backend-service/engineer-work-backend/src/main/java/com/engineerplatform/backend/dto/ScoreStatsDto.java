@@ -0,0 +1,75 @@
+package com.engineerplatform.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Score statistics of the daily summaries in one rollup period, or over a date range, in which
+ * case periodStart is the first day with a summary. Averages and bounds are null when no
+ * summary has that score.
+ */
+public class ScoreStatsDto {
+    
+    private Long ownerId;
+    private LocalDate periodStart;
+    private long summaryCount;
+    private Double averageProductivityScore;
+    private Integer minProductivityScore;
+    private Integer maxProductivityScore;
+    private Double averageCollaborationScore;
+    private Integer minCollaborationScore;
+    private Integer maxCollaborationScore;
+    
+    public ScoreStatsDto() {}
+    
+    // Takes the stored sums and counts, so rollup rows and sums over them map the same way
+    public ScoreStatsDto(Long ownerId, LocalDate periodStart, Long summaryCount,
+                         Long productivitySum, Long productivityCount, Integer minProductivityScore, Integer maxProductivityScore,
+                         Long collaborationSum, Long collaborationCount, Integer minCollaborationScore, Integer maxCollaborationScore) {
+        this.ownerId = ownerId;
+        this.periodStart = periodStart;
+        this.summaryCount = summaryCount != null ? summaryCount : 0;
+        this.averageProductivityScore = average(productivitySum, productivityCount);
+        this.minProductivityScore = minProductivityScore;
+        this.maxProductivityScore = maxProductivityScore;
+        this.averageCollaborationScore = average(collaborationSum, collaborationCount);
+        this.minCollaborationScore = minCollaborationScore;
+        this.maxCollaborationScore = maxCollaborationScore;
+    }
+    
+    public static ScoreStatsDto empty(Long ownerId) {
+        ScoreStatsDto stats = new ScoreStatsDto();
+        stats.setOwnerId(ownerId);
+        return stats;
+    }
+    
+    private static Double average(Long sum, Long count) {
+        return sum != null && count != null && count > 0 ? (double) sum / count : null;
+    }
+    
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+    
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+    
+    public long getSummaryCount() { return summaryCount; }
+    public void setSummaryCount(long summaryCount) { this.summaryCount = summaryCount; }
+    
+    public Double getAverageProductivityScore() { return averageProductivityScore; }
+    public void setAverageProductivityScore(Double averageProductivityScore) { this.averageProductivityScore = averageProductivityScore; }
+    
+    public Integer getMinProductivityScore() { return minProductivityScore; }
+    public void setMinProductivityScore(Integer minProductivityScore) { this.minProductivityScore = minProductivityScore; }
+    
+    public Integer getMaxProductivityScore() { return maxProductivityScore; }
+    public void setMaxProductivityScore(Integer maxProductivityScore) { this.maxProductivityScore = maxProductivityScore; }
+    
+    public Double getAverageCollaborationScore() { return averageCollaborationScore; }
+    public void setAverageCollaborationScore(Double averageCollaborationScore) { this.averageCollaborationScore = averageCollaborationScore; }
+    
+    public Integer getMinCollaborationScore() { return minCollaborationScore; }
+    public void setMinCollaborationScore(Integer minCollaborationScore) { this.minCollaborationScore = minCollaborationScore; }
+    
+    public Integer getMaxCollaborationScore() { return maxCollaborationScore; }
+    public void setMaxCollaborationScore(Integer maxCollaborationScore) { this.maxCollaborationScore = maxCollaborationScore; }
+}
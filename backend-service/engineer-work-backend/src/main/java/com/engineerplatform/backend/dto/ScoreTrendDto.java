@@ -0,0 +1,43 @@
+package com.engineerplatform.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Scores of a user or a team over a date range: exact totals for the range and one point per
+ * day, week or month. Points cover whole periods, so the first and last week or month can
+ * include days outside the range.
+ */
+public class ScoreTrendDto {
+    
+    private String scope;
+    private Long ownerId;
+    private String period;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private ScoreStatsDto totals;
+    private List<ScoreStatsDto> points;
+    
+    public ScoreTrendDto() {}
+    
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+    
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+    
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public ScoreStatsDto getTotals() { return totals; }
+    public void setTotals(ScoreStatsDto totals) { this.totals = totals; }
+    
+    public List<ScoreStatsDto> getPoints() { return points; }
+    public void setPoints(List<ScoreStatsDto> points) { this.points = points; }
+}
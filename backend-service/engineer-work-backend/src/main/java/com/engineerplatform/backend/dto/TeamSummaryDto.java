@@ -0,0 +1,53 @@
+package com.engineerplatform.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class TeamSummaryDto {
+    
+    private Long managerId;
+    private String managerName;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private String summary;
+    private int memberCount;
+    private int subTeamCount;
+    private LocalDateTime generatedAt;
+    
+    public TeamSummaryDto() {}
+    
+    public Long getManagerId() { return managerId; }
+    public void setManagerId(Long managerId) { this.managerId = managerId; }
+    
+    public String getManagerName() { return managerName; }
+    public void setManagerName(String managerName) { this.managerName = managerName; }
+    
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+    
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(LocalDate periodEnd) { this.periodEnd = periodEnd; }
+    
+    public String getSummary() { return summary; }
+    public void setSummary(String summary) { this.summary = summary; }
+    
+    public int getMemberCount() { return memberCount; }
+    public void setMemberCount(int memberCount) { this.memberCount = memberCount; }
+    
+    public int getSubTeamCount() { return subTeamCount; }
+    public void setSubTeamCount(int subTeamCount) { this.subTeamCount = subTeamCount; }
+    
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+    
+    @Override
+    public String toString() {
+        return "TeamSummaryDto{" +
+                "managerId=" + managerId +
+                ", periodStart=" + periodStart +
+                ", periodEnd=" + periodEnd +
+                ", memberCount=" + memberCount +
+                ", subTeamCount=" + subTeamCount +
+                '}';
+    }
+}
@@ -11,6 +11,7 @@ public class WorkSummaryDto {
     private LocalDate summaryDate;
     private String summaryType;
     private String aiGeneratedSummary;
+    private String summarySource;
     private String keyAchievements;
     private Integer productivityScore;
     private Integer collaborationScore;
@@ -37,6 +38,9 @@ public class WorkSummaryDto {
     public String getAiGeneratedSummary() { return aiGeneratedSummary; }
     public void setAiGeneratedSummary(String aiGeneratedSummary) { this.aiGeneratedSummary = aiGeneratedSummary; }
     
+    public String getSummarySource() { return summarySource; }
+    public void setSummarySource(String summarySource) { this.summarySource = summarySource; }
+    
     public String getKeyAchievements() { return keyAchievements; }
     public void setKeyAchievements(String keyAchievements) { this.keyAchievements = keyAchievements; }
     
@@ -0,0 +1,90 @@
+package com.engineerplatform.backend.dto;
+
+import com.engineerplatform.backend.model.WorkSummary;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Row of a summary list, filled directly by a JPQL constructor query. Carries a short preview
+ * instead of the generated text; the full summary is served by the detail endpoint.
+ */
+public class WorkSummaryListItemDto {
+    
+    public static final int PREVIEW_LENGTH = 200;
+    
+    private Long id;
+    private Long userId;
+    private String username;
+    private LocalDate summaryDate;
+    private String summaryType;
+    private String summarySource;
+    private String summaryPreview;
+    private Integer productivityScore;
+    private Integer collaborationScore;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    public WorkSummaryListItemDto() {}
+    
+    public WorkSummaryListItemDto(Long id, Long userId, String username, LocalDate summaryDate,
+                                  WorkSummary.SummaryType summaryType, WorkSummary.SummarySource summarySource,
+                                  String summaryPreview, Integer productivityScore, Integer collaborationScore,
+                                  LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.username = username;
+        this.summaryDate = summaryDate;
+        this.summaryType = summaryType != null ? summaryType.name() : null;
+        // Rows written before the template fallback existed were all model output
+        this.summarySource = summarySource != null ? summarySource.name() : WorkSummary.SummarySource.AI.name();
+        this.summaryPreview = summaryPreview;
+        this.productivityScore = productivityScore;
+        this.collaborationScore = collaborationScore;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    
+    public LocalDate getSummaryDate() { return summaryDate; }
+    public void setSummaryDate(LocalDate summaryDate) { this.summaryDate = summaryDate; }
+    
+    public String getSummaryType() { return summaryType; }
+    public void setSummaryType(String summaryType) { this.summaryType = summaryType; }
+    
+    public String getSummarySource() { return summarySource; }
+    public void setSummarySource(String summarySource) { this.summarySource = summarySource; }
+    
+    public String getSummaryPreview() { return summaryPreview; }
+    public void setSummaryPreview(String summaryPreview) { this.summaryPreview = summaryPreview; }
+    
+    public Integer getProductivityScore() { return productivityScore; }
+    public void setProductivityScore(Integer productivityScore) { this.productivityScore = productivityScore; }
+    
+    public Integer getCollaborationScore() { return collaborationScore; }
+    public void setCollaborationScore(Integer collaborationScore) { this.collaborationScore = collaborationScore; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    @Override
+    public String toString() {
+        return "WorkSummaryListItemDto{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", summaryDate=" + summaryDate +
+                ", summaryType='" + summaryType + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.engineerplatform.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One result of the cross-entity search: a work summary or a meeting, identified by type and id.
+ * Users are the summary's owner or the meeting's participants. Highlights hold the matching
+ * title and body fragments, HTML-escaped with matches wrapped in &lt;mark&gt; tags.
+ */
+public class WorkspaceSearchHitDto {
+
+    private String type;
+    private Long id;
+    private String title;
+    private LocalDate date;
+    private List<String> users;
+    private double score;
+    private Map<String, String> highlights;
+
+    public WorkspaceSearchHitDto() {}
+
+    public WorkspaceSearchHitDto(String type, Long id, String title, LocalDate date, List<String> users,
+                                 double score, Map<String, String> highlights) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.date = date;
+        this.users = users;
+        this.score = score;
+        this.highlights = highlights;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public List<String> getUsers() { return users; }
+    public void setUsers(List<String> users) { this.users = users; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public Map<String, String> getHighlights() { return highlights; }
+    public void setHighlights(Map<String, String> highlights) { this.highlights = highlights; }
+}
@@ -0,0 +1,12 @@
+package com.engineerplatform.backend.exception;
+
+public class LlmCapacityExceededException extends RuntimeException {
+    
+    public LlmCapacityExceededException(String message) {
+        super(message);
+    }
+    
+    public LlmCapacityExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,17 +1,24 @@
 package com.engineerplatform.backend.integration;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.engineerplatform.backend.llm.LlmCallType;
+import com.engineerplatform.backend.llm.LlmTelemetry;
+import com.engineerplatform.backend.llm.OllamaNodeRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -19,89 +26,297 @@ public class OllamaIntegrationService {
     
     private static final Logger logger = LoggerFactory.getLogger(OllamaIntegrationService.class);
     
-    private final WebClient webClient;
+    private static final Map<String, Object> MEETING_MINUTES_SCHEMA = Map.of(
+        "type", "object",
+        "properties", Map.of(
+            "summary", Map.of("type", "string"),
+            "keyPoints", Map.of("type", "array", "items", Map.of("type", "string")),
+            "actionItems", Map.of("type", "array", "items", Map.of("type", "string")),
+            "decisions", Map.of("type", "array", "items", Map.of("type", "string"))
+        ),
+        "required", List.of("summary", "keyPoints", "actionItems", "decisions")
+    );
+    
+    // Ollama reports load_duration on every call; anything above this means the model was not resident
+    public static final Duration COLD_LOAD_THRESHOLD = Duration.ofMillis(500);
+    
+    private final OllamaNodeRouter nodeRouter;
     private final ObjectMapper objectMapper;
+    private final LlmTelemetry telemetry;
     
     @Value("${app.ollama.model}")
     private String model;
     
-    public OllamaIntegrationService(@Value("${app.ollama.base-url}") String baseUrl) {
-        this.webClient = WebClient.builder()
-                .baseUrl(baseUrl)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .build();
+    @Value("${app.ollama.keep-alive:30m}")
+    private String keepAlive;
+    
+    public OllamaIntegrationService(OllamaNodeRouter nodeRouter, LlmTelemetry telemetry) {
+        this.nodeRouter = nodeRouter;
         this.objectMapper = new ObjectMapper();
+        this.telemetry = telemetry;
+    }
+    
+    public String getModel() {
+        return model;
+    }
+    
+    public Duration loadModel() {
+        logger.debug("Loading Ollama model: {}", model);
+        
+        // A generate request without a prompt only loads the model and refreshes its keep-alive
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("keep_alive", keepAlive);
+        
+        // Every node that can serve the model gets it loaded; report the slowest
+        Duration slowest = Duration.ZERO;
+        for (OllamaNodeRouter.Lease lease : nodeRouter.acquireAll(model)) {
+            try (lease) {
+                long start = System.nanoTime();
+                lease.client().post()
+                        .uri("/api/generate")
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .block();
+                Duration loadDuration = Duration.ofNanos(System.nanoTime() - start);
+                if (loadDuration.compareTo(slowest) > 0) {
+                    slowest = loadDuration;
+                }
+            } catch (RuntimeException e) {
+                lease.markFailed(e);
+                logger.warn("Failed to load model {} on Ollama node {}: {}", model, lease.baseUrl(), e.getMessage());
+            }
+        }
+        return slowest;
     }
     
     public String generateWorkSummary(String workData) {
         logger.info("Generating work summary using Ollama model: {}", model);
         
         String prompt = buildWorkSummaryPrompt(workData);
-        return generateCompletion(prompt);
+        return generateCompletion(prompt, LlmCallType.WORK_SUMMARY);
+    }
+    
+    public Mono<String> generateWorkSummaryAsync(String workData) {
+        logger.info("Generating work summary using Ollama model: {}", model);
+        
+        String prompt = buildWorkSummaryPrompt(workData);
+        return requestCompletionAsync(buildGenerateRequest(prompt, false), LlmCallType.WORK_SUMMARY);
+    }
+    
+    public Mono<String> generateRollupSummaryAsync(String period, String periodSummaries) {
+        logger.info("Generating rollup summary for {} using Ollama model: {}", period, model);
+        
+        String prompt = buildRollupSummaryPrompt(period, periodSummaries);
+        return requestCompletionAsync(buildGenerateRequest(prompt, false), LlmCallType.ROLLUP_SUMMARY);
     }
     
     public String generateMeetingMinutes(String transcript) {
         logger.info("Generating meeting minutes using Ollama model: {}", model);
         
         String prompt = buildMeetingMinutesPrompt(transcript);
-        return generateCompletion(prompt);
+        return generateCompletion(prompt, LlmCallType.MEETING_MINUTES);
+    }
+    
+    public StructuredMeetingMinutes generateStructuredMeetingMinutes(String transcript, List<String> attendees) {
+        logger.info("Generating structured meeting minutes using Ollama model: {}", model);
+        
+        String prompt = buildStructuredMeetingMinutesPrompt(transcript, attendees);
+        return generateStructuredMinutes(prompt);
+    }
+    
+    public StructuredMeetingMinutes structureMeetingMinutes(String meetingMinutes) {
+        logger.info("Structuring meeting minutes using Ollama model: {}", model);
+        
+        String prompt = buildStructureMinutesPrompt(meetingMinutes);
+        return generateStructuredMinutes(prompt);
+    }
+    
+    public String summarizeTranscriptChunk(String chunk, int chunkNumber, int totalChunks) {
+        logger.info("Summarizing transcript chunk {}/{} using Ollama model: {}", chunkNumber, totalChunks, model);
+        
+        String prompt = buildTranscriptChunkPrompt(chunk, chunkNumber, totalChunks);
+        return requestCompletion(buildGenerateRequest(prompt, false), LlmCallType.TRANSCRIPT_CHUNK);
+    }
+    
+    public String condenseMeetingNotes(String notes) {
+        logger.info("Condensing meeting notes using Ollama model: {}", model);
+        
+        String prompt = buildCondenseNotesPrompt(notes);
+        return requestCompletion(buildGenerateRequest(prompt, false), LlmCallType.TRANSCRIPT_CHUNK);
+    }
+    
+    public StructuredMeetingMinutes generateStructuredMeetingMinutesFromNotes(String notes, List<String> attendees) {
+        logger.info("Generating structured meeting minutes from notes using Ollama model: {}", model);
+        
+        String prompt = buildMinutesFromNotesPrompt(notes, attendees);
+        return generateStructuredMinutes(prompt);
+    }
+    
+    public Flux<String> streamMeetingMinutesFromNotes(String notes) {
+        logger.info("Streaming meeting minutes from notes using Ollama model: {}", model);
+        
+        String prompt = buildMeetingMinutesPrompt(notes);
+        return streamCompletion(prompt, LlmCallType.MEETING_MINUTES);
+    }
+    
+    public Flux<String> streamWorkSummary(String workData) {
+        logger.info("Streaming work summary using Ollama model: {}", model);
+        
+        String prompt = buildWorkSummaryPrompt(workData);
+        return streamCompletion(prompt, LlmCallType.WORK_SUMMARY);
+    }
+    
+    public Flux<String> streamMeetingMinutes(String transcript) {
+        logger.info("Streaming meeting minutes using Ollama model: {}", model);
+        
+        String prompt = buildMeetingMinutesPrompt(transcript);
+        return streamCompletion(prompt, LlmCallType.MEETING_MINUTES);
     }
     
     public String extractActionItems(String meetingContent) {
         logger.info("Extracting action items using Ollama model: {}", model);
         
         String prompt = buildActionItemsPrompt(meetingContent);
-        return generateCompletion(prompt);
+        return generateCompletion(prompt, LlmCallType.ACTION_ITEMS);
     }
     
     public String summarizeCustomerIssues(String issueData) {
         logger.info("Summarizing customer issues using Ollama model: {}", model);
         
         String prompt = buildCustomerIssuePrompt(issueData);
-        return generateCompletion(prompt);
+        return generateCompletion(prompt, LlmCallType.CUSTOMER_ISSUES);
     }
     
     public String generateTeamSummary(String teamData) {
         logger.info("Generating team summary using Ollama model: {}", model);
         
         String prompt = buildTeamSummaryPrompt(teamData);
-        return generateCompletion(prompt);
+        return generateCompletion(prompt, LlmCallType.TEAM_SUMMARY);
+    }
+    
+    private String generateCompletion(String prompt, LlmCallType callType) {
+        // Failures propagate; callers decide on a fallback rather than persisting an error message as text
+        String generatedText = requestCompletion(buildGenerateRequest(prompt, false), callType);
+        
+        logger.debug("Successfully generated completion with {} characters", generatedText.length());
+        return generatedText;
     }
     
-    private String generateCompletion(String prompt) {
+    private StructuredMeetingMinutes generateStructuredMinutes(String prompt) {
+        // Failures propagate so callers can fall back to the free-form path instead of persisting an error string
+        Map<String, Object> requestBody = buildGenerateRequest(prompt, false);
+        requestBody.put("format", MEETING_MINUTES_SCHEMA);
+        
+        String generatedJson = requestCompletion(requestBody, LlmCallType.MEETING_MINUTES);
+        
+        try {
+            StructuredMeetingMinutes minutes = objectMapper.readValue(generatedJson, StructuredMeetingMinutes.class);
+            logger.debug("Successfully generated structured minutes with {} key points, {} action items, {} decisions",
+                        minutes.getKeyPoints().size(), minutes.getActionItems().size(), minutes.getDecisions().size());
+            return minutes;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Ollama returned minutes that do not match the schema: " + e.getOriginalMessage(), e);
+        }
+    }
+    
+    private String requestCompletion(Map<String, Object> requestBody, LlmCallType callType) {
+        return requestCompletionAsync(requestBody, callType).block();
+    }
+    
+    private Mono<String> requestCompletionAsync(Map<String, Object> requestBody, LlmCallType callType) {
+        return Mono.using(() -> nodeRouter.acquire(model),
+                    lease -> lease.client().post()
+                            .uri("/api/generate")
+                            .bodyValue(requestBody)
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .doOnError(lease::markFailed),
+                    OllamaNodeRouter.Lease::close)
+                .map(response -> parseCompletion(response, callType))
+                .doOnError(WebClientResponseException.class, e ->
+                    logger.error("Error calling Ollama API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString()));
+    }
+    
+    private String parseCompletion(String response, LlmCallType callType) {
         try {
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", model);
-            requestBody.put("prompt", prompt);
-            requestBody.put("stream", false);
-            requestBody.put("options", Map.of(
-                "temperature", 0.7,
-                "top_p", 0.9,
-                "max_tokens", 1000
-            ));
-            
-            String response = webClient.post()
-                    .uri("/api/generate")
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            
             JsonNode jsonResponse = objectMapper.readTree(response);
-            String generatedText = jsonResponse.get("response").asText();
-            
-            logger.debug("Successfully generated completion with {} characters", generatedText.length());
-            return generatedText;
-            
-        } catch (WebClientResponseException e) {
-            logger.error("Error calling Ollama API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            return "Error generating summary: " + e.getMessage();
-        } catch (Exception e) {
-            logger.error("Unexpected error calling Ollama API: {}", e.getMessage(), e);
-            return "Error generating summary: " + e.getMessage();
+            recordStats(jsonResponse, callType);
+            return jsonResponse.get("response").asText();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed response from Ollama: " + e.getOriginalMessage(), e);
+        }
+    }
+    
+    private Flux<String> streamCompletion(String prompt, LlmCallType callType) {
+        // Ollama streams one JSON object per line; the last one carries "done": true
+        return Flux.using(() -> nodeRouter.acquire(model),
+                    lease -> lease.client().post()
+                            .uri("/api/generate")
+                            .bodyValue(buildGenerateRequest(prompt, true))
+                            .retrieve()
+                            .bodyToFlux(String.class)
+                            .doOnError(lease::markFailed),
+                    OllamaNodeRouter.Lease::close)
+                .filter(line -> !line.isBlank())
+                .map(this::parseStreamChunk)
+                .takeUntil(chunk -> chunk.path("done").asBoolean(false))
+                .doOnNext(chunk -> recordStats(chunk, callType))
+                .map(chunk -> chunk.path("response").asText(""))
+                .filter(token -> !token.isEmpty())
+                .doOnComplete(() -> logger.debug("Completed streaming completion from Ollama"))
+                .doOnError(e -> logger.error("Error streaming from Ollama API: {}", e.getMessage()));
+    }
+    
+    private JsonNode parseStreamChunk(String line) {
+        try {
+            JsonNode chunk = objectMapper.readTree(line);
+            if (chunk.hasNonNull("error")) {
+                throw new IllegalStateException("Ollama returned an error: " + chunk.get("error").asText());
+            }
+            return chunk;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed stream chunk from Ollama: " + e.getOriginalMessage(), e);
         }
     }
     
+    private void recordStats(JsonNode response, LlmCallType callType) {
+        // Only the final object of a response carries timings
+        if (!response.has("total_duration")) {
+            return;
+        }
+        
+        // Ollama omits prompt_eval_count when the whole prompt was served from its cache
+        Duration totalDuration = Duration.ofNanos(response.get("total_duration").asLong());
+        telemetry.recordCompletion(model, callType,
+            response.path("prompt_eval_count").asLong(0),
+            response.path("eval_count").asLong(0),
+            totalDuration,
+            Duration.ofNanos(response.path("prompt_eval_duration").asLong(0)),
+            Duration.ofNanos(response.path("eval_duration").asLong(0)));
+        
+        Duration loadDuration = Duration.ofNanos(response.path("load_duration").asLong(0));
+        if (loadDuration.compareTo(COLD_LOAD_THRESHOLD) > 0) {
+            telemetry.recordModelLoad(model, "request", loadDuration);
+            telemetry.recordColdStart(model, totalDuration);
+        }
+    }
+    
+    private Map<String, Object> buildGenerateRequest(String prompt, boolean stream) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("prompt", prompt);
+        requestBody.put("stream", stream);
+        requestBody.put("keep_alive", keepAlive);
+        requestBody.put("options", Map.of(
+            "temperature", 0.7,
+            "top_p", 0.9,
+            "num_predict", 1000
+        ));
+        return requestBody;
+    }
+    
     private String buildWorkSummaryPrompt(String workData) {
         return """
             Please analyze the following engineer work data and provide a concise, professional summary:
@@ -120,6 +335,26 @@ public class OllamaIntegrationService {
             """.formatted(workData);
     }
     
+    private String buildRollupSummaryPrompt(String period, String periodSummaries) {
+        return """
+            Below are the daily work summaries of one engineer for %s.
+            Combine them into a single summary of the whole period. Identify themes and progress
+            across days rather than repeating each day.
+            
+            Daily Summaries:
+            %s
+            
+            Please provide:
+            1. Key accomplishments and contributions
+            2. Collaboration highlights
+            3. Technical achievements
+            4. Areas of focus
+            5. Overall productivity assessment
+            
+            Format the response as a clear, structured summary suitable for management review.
+            """.formatted(period, periodSummaries);
+    }
+    
     private String buildMeetingMinutesPrompt(String transcript) {
         return """
             Please analyze the following meeting transcript and generate professional meeting minutes:
@@ -138,6 +373,88 @@ public class OllamaIntegrationService {
             """.formatted(transcript);
     }
     
+    private String buildStructuredMeetingMinutesPrompt(String transcript, List<String> attendees) {
+        return """
+            Please analyze the following meeting transcript and generate professional meeting minutes.
+            
+            Meeting Attendees: %s
+            
+            Transcript:
+            %s
+            
+            Respond with a JSON object containing:
+            - "summary": a concise summary of the meeting suitable for distribution to stakeholders
+            - "keyPoints": the key discussion points, one per entry
+            - "actionItems": action items with responsible parties and deadlines where mentioned, one per entry
+            - "decisions": decisions made during the meeting, one per entry
+            
+            Use an empty list when a section has no entries.
+            """.formatted(String.join(", ", attendees), transcript);
+    }
+    
+    private String buildStructureMinutesPrompt(String meetingMinutes) {
+        return """
+            Please organize the following meeting minutes into sections:
+            
+            Meeting Minutes:
+            %s
+            
+            Respond with a JSON object containing:
+            - "summary": a concise summary of the meeting
+            - "keyPoints": the key discussion points, one per entry
+            - "actionItems": action items with responsible parties and deadlines where mentioned, one per entry
+            - "decisions": decisions made during the meeting, one per entry
+            
+            Use an empty list when a section has no entries.
+            """.formatted(meetingMinutes);
+    }
+    
+    private String buildTranscriptChunkPrompt(String chunk, int chunkNumber, int totalChunks) {
+        return """
+            The following is part %d of %d of a meeting transcript.
+            
+            Transcript Excerpt:
+            %s
+            
+            Write concise notes for this part only, covering:
+            1. Topics discussed and key points
+            2. Decisions made
+            3. Action items with owners and deadlines (if mentioned)
+            
+            Keep speaker names where they matter. Do not add an introduction or conclusion.
+            """.formatted(chunkNumber, totalChunks, chunk);
+    }
+    
+    private String buildCondenseNotesPrompt(String notes) {
+        return """
+            Please merge the following consecutive meeting notes into one shorter set of notes:
+            
+            Notes:
+            %s
+            
+            Keep every decision and action item with its owner; drop repetition and small talk.
+            """.formatted(notes);
+    }
+    
+    private String buildMinutesFromNotesPrompt(String notes, List<String> attendees) {
+        return """
+            The following notes were taken in order over the course of one meeting.
+            
+            Meeting Attendees: %s
+            
+            Notes:
+            %s
+            
+            Respond with a JSON object containing:
+            - "summary": a concise summary of the whole meeting suitable for distribution to stakeholders
+            - "keyPoints": the key discussion points, one per entry
+            - "actionItems": action items with responsible parties and deadlines where mentioned, one per entry
+            - "decisions": decisions made during the meeting, one per entry
+            
+            Merge duplicates across parts. Use an empty list when a section has no entries.
+            """.formatted(String.join(", ", attendees), notes);
+    }
+    
     private String buildActionItemsPrompt(String meetingContent) {
         return """
             Please extract action items from the following meeting content:
@@ -193,16 +510,30 @@ public class OllamaIntegrationService {
     }
     
     public boolean isServiceAvailable() {
-        try {
-            webClient.get()
-                    .uri("/api/tags")
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            return true;
-        } catch (Exception e) {
-            logger.warn("Ollama service is not available: {}", e.getMessage());
+        if (nodeRouter.availableNodeCount(model) == 0) {
+            logger.warn("Ollama service is not available: no healthy node serves model {}", model);
             return false;
         }
+        return true;
+    }
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class StructuredMeetingMinutes {
+        private String summary;
+        private List<String> keyPoints = new ArrayList<>();
+        private List<String> actionItems = new ArrayList<>();
+        private List<String> decisions = new ArrayList<>();
+        
+        public String getSummary() { return summary; }
+        public void setSummary(String summary) { this.summary = summary; }
+        
+        public List<String> getKeyPoints() { return keyPoints; }
+        public void setKeyPoints(List<String> keyPoints) { this.keyPoints = keyPoints != null ? keyPoints : new ArrayList<>(); }
+        
+        public List<String> getActionItems() { return actionItems; }
+        public void setActionItems(List<String> actionItems) { this.actionItems = actionItems != null ? actionItems : new ArrayList<>(); }
+        
+        public List<String> getDecisions() { return decisions; }
+        public void setDecisions(List<String> decisions) { this.decisions = decisions != null ? decisions : new ArrayList<>(); }
     }
 }
@@ -0,0 +1,24 @@
+package com.engineerplatform.backend.llm;
+
+/**
+ * The feature a model call serves; used as the call_type tag on LLM metrics.
+ */
+public enum LlmCallType {
+    WORK_SUMMARY("work_summary"),
+    ROLLUP_SUMMARY("rollup_summary"),
+    MEETING_MINUTES("meeting_minutes"),
+    TRANSCRIPT_CHUNK("transcript_chunk"),
+    ACTION_ITEMS("action_items"),
+    CUSTOMER_ISSUES("customer_issues"),
+    TEAM_SUMMARY("team_summary");
+    
+    private final String tag;
+    
+    LlmCallType(String tag) {
+        this.tag = tag;
+    }
+    
+    public String tag() {
+        return tag;
+    }
+}
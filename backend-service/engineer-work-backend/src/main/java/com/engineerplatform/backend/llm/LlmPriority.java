@@ -0,0 +1,5 @@
+package com.engineerplatform.backend.llm;
+
+public enum LlmPriority {
+    INTERACTIVE, BATCH, BACKGROUND
+}
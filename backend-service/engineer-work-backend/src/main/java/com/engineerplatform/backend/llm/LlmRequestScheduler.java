@@ -0,0 +1,315 @@
+package com.engineerplatform.backend.llm;
+
+import com.engineerplatform.backend.exception.LlmCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for Ollama calls. Each model gets a bounded number of in-flight requests per
+ * available node; waiting requests are served strictly by lane (interactive before batch before
+ * background) and round-robin across requesters within a lane, so one user's bulk work cannot
+ * starve others.
+ */
+@Component
+public class LlmRequestScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LlmRequestScheduler.class);
+    
+    private static final double SERVICE_TIME_SMOOTHING = 0.2;
+    
+    private final MeterRegistry meterRegistry;
+    private final OllamaNodeRouter nodeRouter;
+    private final String defaultModel;
+    private final int defaultMaxInFlight;
+    private final Map<String, Integer> modelMaxInFlight;
+    private final Map<LlmPriority, Duration> laneDeadlines = new EnumMap<>(LlmPriority.class);
+    private final Map<String, ModelQueue> queues = new ConcurrentHashMap<>();
+    
+    public LlmRequestScheduler(MeterRegistry meterRegistry,
+                               OllamaNodeRouter nodeRouter,
+                               @Value("${app.ollama.model}") String defaultModel,
+                               @Value("${app.ollama.scheduler.default-max-in-flight:2}") int defaultMaxInFlight,
+                               @Value("${app.ollama.scheduler.model-max-in-flight:}") String modelMaxInFlight,
+                               @Value("${app.ollama.scheduler.interactive-deadline:30s}") Duration interactiveDeadline,
+                               @Value("${app.ollama.scheduler.batch-deadline:5m}") Duration batchDeadline,
+                               @Value("${app.ollama.scheduler.background-deadline:30m}") Duration backgroundDeadline) {
+        this.meterRegistry = meterRegistry;
+        this.nodeRouter = nodeRouter;
+        this.defaultModel = defaultModel;
+        this.defaultMaxInFlight = defaultMaxInFlight;
+        this.modelMaxInFlight = parseModelLimits(modelMaxInFlight);
+        this.laneDeadlines.put(LlmPriority.INTERACTIVE, interactiveDeadline);
+        this.laneDeadlines.put(LlmPriority.BATCH, batchDeadline);
+        this.laneDeadlines.put(LlmPriority.BACKGROUND, backgroundDeadline);
+    }
+    
+    public <T> T execute(LlmPriority priority, String requester, Supplier<T> call) {
+        return execute(priority, requester, laneDeadlines.get(priority), call);
+    }
+    
+    public <T> T execute(LlmPriority priority, String requester, Duration deadline, Supplier<T> call) {
+        try (Permit permit = acquire(priority, requester, deadline)) {
+            return call.get();
+        }
+    }
+    
+    public Permit acquire(LlmPriority priority, String requester) {
+        return acquire(priority, requester, laneDeadlines.get(priority));
+    }
+    
+    public Permit acquire(LlmPriority priority, String requester, Duration deadline) {
+        ModelQueue queue = queues.computeIfAbsent(defaultModel, this::createQueue);
+        String requesterKey = requester != null ? requester : "anonymous";
+        long enqueuedAt = System.nanoTime();
+        Ticket ticket = new Ticket(priority, requesterKey);
+        
+        synchronized (queue) {
+            long estimatedWaitMillis = queue.estimateWaitMillis(priority);
+            if (estimatedWaitMillis > deadline.toMillis()) {
+                queue.rejected.get(priority).increment();
+                throw new LlmCapacityExceededException(String.format(
+                    "AI generation is at capacity: estimated wait of %ds exceeds the %ds deadline for %s requests",
+                    TimeUnit.MILLISECONDS.toSeconds(estimatedWaitMillis), deadline.toSeconds(),
+                    priority.name().toLowerCase()));
+            }
+            queue.enqueue(ticket);
+            queue.dispatch();
+        }
+        
+        try {
+            ticket.granted.get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(queue, ticket);
+            queue.rejected.get(priority).increment();
+            throw new LlmCapacityExceededException(String.format(
+                "AI generation is at capacity: no slot became available within the %ds deadline", deadline.toSeconds()));
+        } catch (InterruptedException e) {
+            abandon(queue, ticket);
+            Thread.currentThread().interrupt();
+            throw new LlmCapacityExceededException("Interrupted while waiting for an AI generation slot", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unexpected failure waiting for an AI generation slot", e);
+        }
+        
+        long grantedAt = System.nanoTime();
+        queue.waitTimers.get(priority).record(grantedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+        logger.debug("Granted {} LLM slot for {} after {}ms", priority, requesterKey,
+                    TimeUnit.NANOSECONDS.toMillis(grantedAt - enqueuedAt));
+        
+        return new Permit(queue, priority, grantedAt);
+    }
+    
+    private void abandon(ModelQueue queue, Ticket ticket) {
+        synchronized (queue) {
+            if (!queue.remove(ticket)) {
+                // Granted between the timeout and the lock; hand the slot straight back
+                queue.release(ticket.priority, 0);
+            }
+        }
+    }
+    
+    private ModelQueue createQueue(String model) {
+        int maxInFlightPerNode = modelMaxInFlight.getOrDefault(model, defaultMaxInFlight);
+        logger.info("Creating LLM request queue for model {} with max {} in flight per node", model, maxInFlightPerNode);
+        return new ModelQueue(model, maxInFlightPerNode);
+    }
+    
+    private static Map<String, Integer> parseModelLimits(String spec) {
+        Map<String, Integer> limits = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return limits;
+        }
+        
+        for (String entry : spec.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator > 0) {
+                limits.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+            }
+        }
+        return limits;
+    }
+    
+    public final class Permit implements AutoCloseable {
+        
+        private final ModelQueue queue;
+        private final LlmPriority priority;
+        private final long grantedAt;
+        private boolean released;
+        
+        private Permit(ModelQueue queue, LlmPriority priority, long grantedAt) {
+            this.queue = queue;
+            this.priority = priority;
+            this.grantedAt = grantedAt;
+        }
+        
+        @Override
+        public void close() {
+            synchronized (queue) {
+                if (!released) {
+                    released = true;
+                    queue.release(priority, System.nanoTime() - grantedAt);
+                }
+            }
+        }
+    }
+    
+    private static final class Ticket {
+        
+        private final LlmPriority priority;
+        private final String requester;
+        private final CompletableFuture<Void> granted = new CompletableFuture<>();
+        
+        private Ticket(LlmPriority priority, String requester) {
+            this.priority = priority;
+            this.requester = requester;
+        }
+    }
+    
+    private final class ModelQueue {
+        
+        private final String model;
+        private final int maxInFlightPerNode;
+        private final Map<LlmPriority, LinkedHashMap<String, Deque<Ticket>>> lanes = new EnumMap<>(LlmPriority.class);
+        private final Map<LlmPriority, Integer> depth = new EnumMap<>(LlmPriority.class);
+        private final Map<LlmPriority, Timer> waitTimers = new EnumMap<>(LlmPriority.class);
+        private final Map<LlmPriority, Counter> completed = new EnumMap<>(LlmPriority.class);
+        private final Map<LlmPriority, Counter> rejected = new EnumMap<>(LlmPriority.class);
+        private int inFlight;
+        private double averageServiceMillis;
+        
+        private ModelQueue(String model, int maxInFlightPerNode) {
+            this.model = model;
+            this.maxInFlightPerNode = maxInFlightPerNode;
+            
+            Gauge.builder("llm.scheduler.in.flight", this, queue -> queue.inFlight)
+                .tag("model", model)
+                .register(meterRegistry);
+            
+            for (LlmPriority priority : LlmPriority.values()) {
+                String lane = priority.name().toLowerCase();
+                lanes.put(priority, new LinkedHashMap<>());
+                depth.put(priority, 0);
+                
+                Gauge.builder("llm.scheduler.queue.depth", this, queue -> queue.depth.get(priority))
+                    .tags("model", model, "lane", lane)
+                    .register(meterRegistry);
+                waitTimers.put(priority, Timer.builder("llm.scheduler.queue.wait")
+                    .tags("model", model, "lane", lane)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+                completed.put(priority, Counter.builder("llm.scheduler.completed")
+                    .tags("model", model, "lane", lane)
+                    .register(meterRegistry));
+                rejected.put(priority, Counter.builder("llm.scheduler.rejected")
+                    .tags("model", model, "lane", lane)
+                    .register(meterRegistry));
+            }
+        }
+        
+        private void enqueue(Ticket ticket) {
+            lanes.get(ticket.priority).computeIfAbsent(ticket.requester, key -> new ArrayDeque<>()).addLast(ticket);
+            depth.merge(ticket.priority, 1, Integer::sum);
+        }
+        
+        private boolean remove(Ticket ticket) {
+            LinkedHashMap<String, Deque<Ticket>> lane = lanes.get(ticket.priority);
+            Deque<Ticket> tickets = lane.get(ticket.requester);
+            if (tickets == null || !tickets.remove(ticket)) {
+                return false;
+            }
+            if (tickets.isEmpty()) {
+                lane.remove(ticket.requester);
+            }
+            depth.merge(ticket.priority, -1, Integer::sum);
+            return true;
+        }
+        
+        private int maxInFlight() {
+            // Keep one node's worth of slots while every node is ejected so requests still fail fast
+            return maxInFlightPerNode * Math.max(1, nodeRouter.availableNodeCount(model));
+        }
+        
+        private void dispatch() {
+            int maxInFlight = maxInFlight();
+            while (inFlight < maxInFlight) {
+                Ticket next = pollNext();
+                if (next == null) {
+                    return;
+                }
+                inFlight++;
+                next.granted.complete(null);
+            }
+        }
+        
+        private Ticket pollNext() {
+            for (LlmPriority priority : LlmPriority.values()) {
+                LinkedHashMap<String, Deque<Ticket>> lane = lanes.get(priority);
+                Iterator<Map.Entry<String, Deque<Ticket>>> requesters = lane.entrySet().iterator();
+                if (!requesters.hasNext()) {
+                    continue;
+                }
+                
+                // Take the head of the first requester, then rotate them to the back of the lane
+                Map.Entry<String, Deque<Ticket>> first = requesters.next();
+                Ticket ticket = first.getValue().pollFirst();
+                requesters.remove();
+                if (!first.getValue().isEmpty()) {
+                    lane.put(first.getKey(), first.getValue());
+                }
+                depth.merge(priority, -1, Integer::sum);
+                return ticket;
+            }
+            return null;
+        }
+        
+        private void release(LlmPriority priority, long serviceNanos) {
+            inFlight--;
+            if (serviceNanos > 0) {
+                double serviceMillis = TimeUnit.NANOSECONDS.toMillis(serviceNanos);
+                averageServiceMillis = averageServiceMillis == 0
+                    ? serviceMillis
+                    : averageServiceMillis + SERVICE_TIME_SMOOTHING * (serviceMillis - averageServiceMillis);
+                completed.get(priority).increment();
+            }
+            dispatch();
+        }
+        
+        private long estimateWaitMillis(LlmPriority priority) {
+            int ahead = 0;
+            for (LlmPriority lane : LlmPriority.values()) {
+                if (lane.ordinal() <= priority.ordinal()) {
+                    ahead += depth.get(lane);
+                }
+            }
+            
+            int maxInFlight = maxInFlight();
+            if (inFlight + ahead < maxInFlight) {
+                return 0;
+            }
+            // Every request ahead of us, plus the ones running now, drains maxInFlight at a time
+            int rounds = (inFlight + ahead - maxInFlight) / maxInFlight + 1;
+            return (long) (rounds * averageServiceMillis);
+        }
+    }
+}
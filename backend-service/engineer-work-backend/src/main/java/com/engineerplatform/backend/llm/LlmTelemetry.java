@@ -0,0 +1,113 @@
+package com.engineerplatform.backend.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class LlmTelemetry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LlmTelemetry.class);
+    
+    private final MeterRegistry meterRegistry;
+    
+    public LlmTelemetry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public void recordModelLoad(String model, String trigger, Duration loadDuration) {
+        logger.info("Ollama loaded model {} ({}) in {}ms", model, trigger, loadDuration.toMillis());
+        
+        Counter.builder("llm.model.loads")
+            .tags("model", model, "trigger", trigger)
+            .register(meterRegistry)
+            .increment();
+        Timer.builder("llm.model.load.duration")
+            .tags("model", model, "trigger", trigger)
+            .register(meterRegistry)
+            .record(loadDuration);
+    }
+    
+    public void recordColdStart(String model, Duration requestDuration) {
+        Timer.builder("llm.model.cold.start")
+            .tag("model", model)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry)
+            .record(requestDuration);
+    }
+    
+    /**
+     * Records the token counts and timings Ollama reports on the final object of a response.
+     * Prefill (prompt evaluation) and decode (generation) are timed separately because they
+     * scale with prompt size and output size respectively.
+     */
+    public void recordCompletion(String model, LlmCallType callType, long promptTokens, long outputTokens,
+                                 Duration totalDuration, Duration prefillDuration, Duration decodeDuration) {
+        String[] tags = {"model", model, "call_type", callType.tag()};
+        
+        Timer.builder("llm.request.duration")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(totalDuration);
+        Timer.builder("llm.prefill.duration")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(prefillDuration);
+        Timer.builder("llm.decode.duration")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(decodeDuration);
+        
+        DistributionSummary.builder("llm.prompt.tokens")
+            .tags(tags)
+            .baseUnit("tokens")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(promptTokens);
+        DistributionSummary.builder("llm.output.tokens")
+            .tags(tags)
+            .baseUnit("tokens")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(outputTokens);
+        
+        Counter.builder("llm.tokens")
+            .tags(tags)
+            .tag("phase", "prefill")
+            .register(meterRegistry)
+            .increment(promptTokens);
+        Counter.builder("llm.tokens")
+            .tags(tags)
+            .tag("phase", "decode")
+            .register(meterRegistry)
+            .increment(outputTokens);
+        
+        recordThroughput("llm.prefill.throughput", tags, promptTokens, prefillDuration);
+        recordThroughput("llm.decode.throughput", tags, outputTokens, decodeDuration);
+        
+        logger.debug("Ollama {} call on {}: {} prompt tokens in {}ms, {} output tokens in {}ms",
+                    callType.tag(), model, promptTokens, prefillDuration.toMillis(), outputTokens, decodeDuration.toMillis());
+    }
+    
+    private void recordThroughput(String name, String[] tags, long tokens, Duration duration) {
+        // A cached prompt reports no prefill at all; skip rather than record a bogus rate
+        if (tokens == 0 || duration.isZero()) {
+            return;
+        }
+        DistributionSummary.builder(name)
+            .tags(tags)
+            .baseUnit("tokens.per.second")
+            .publishPercentiles(0.5, 0.9, 0.99)
+            .register(meterRegistry)
+            .record(tokens / (duration.toNanos() / 1e9));
+    }
+}
@@ -0,0 +1,91 @@
+package com.engineerplatform.backend.llm;
+
+import com.engineerplatform.backend.integration.OllamaIntegrationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps the configured model resident in Ollama. The model is preloaded once the application
+ * is up, and while reports are expected (from the start of the working day until shortly after
+ * the daily and weekly report times) a periodic ping renews Ollama's keep-alive so the first
+ * dashboard request never pays the model-load cost.
+ */
+@Component
+public class OllamaModelLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OllamaModelLifecycle.class);
+    
+    private final OllamaIntegrationService ollamaService;
+    private final LlmTelemetry telemetry;
+    private final Executor llmBackgroundExecutor;
+    private final boolean enabled;
+    private final LocalTime activeFrom;
+    private final LocalTime activeUntil;
+    
+    public OllamaModelLifecycle(OllamaIntegrationService ollamaService,
+                                LlmTelemetry telemetry,
+                                @Qualifier("llmBackgroundExecutor") Executor llmBackgroundExecutor,
+                                @Value("${app.ollama.lifecycle.enabled:true}") boolean enabled,
+                                @Value("${app.ollama.lifecycle.active-from:07:00}") String activeFrom,
+                                @Value("${app.ollama.lifecycle.report-grace:1h}") Duration reportGrace,
+                                @Value("${app.scheduling.daily-report-time}") String dailyReportTime,
+                                @Value("${app.scheduling.weekly-report-time}") String weeklyReportTime) {
+        this.ollamaService = ollamaService;
+        this.telemetry = telemetry;
+        this.llmBackgroundExecutor = llmBackgroundExecutor;
+        this.enabled = enabled;
+        this.activeFrom = LocalTime.parse(activeFrom);
+        LocalTime dailyReport = LocalTime.parse(dailyReportTime);
+        LocalTime weeklyReport = LocalTime.parse(weeklyReportTime);
+        this.activeUntil = (dailyReport.isAfter(weeklyReport) ? dailyReport : weeklyReport).plus(reportGrace);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        
+        // Loading a 7B model takes seconds; do it off the startup thread
+        llmBackgroundExecutor.execute(() -> load("warmup"));
+    }
+    
+    @Scheduled(fixedDelayString = "${app.ollama.lifecycle.keep-alive-interval:PT4M}",
+               initialDelayString = "${app.ollama.lifecycle.keep-alive-interval:PT4M}")
+    public void keepAlive() {
+        if (enabled && isWithinActiveWindow(LocalTime.now())) {
+            load("keepalive");
+        }
+    }
+    
+    boolean isWithinActiveWindow(LocalTime time) {
+        if (activeFrom.isBefore(activeUntil)) {
+            return !time.isBefore(activeFrom) && time.isBefore(activeUntil);
+        }
+        // Window wraps past midnight
+        return !time.isBefore(activeFrom) || time.isBefore(activeUntil);
+    }
+    
+    private void load(String trigger) {
+        try {
+            Duration loadDuration = ollamaService.loadModel();
+            if (loadDuration.compareTo(OllamaIntegrationService.COLD_LOAD_THRESHOLD) > 0) {
+                telemetry.recordModelLoad(ollamaService.getModel(), trigger, loadDuration);
+            } else {
+                logger.debug("Ollama model {} already resident ({})", ollamaService.getModel(), trigger);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to {} Ollama model {}: {}", trigger, ollamaService.getModel(), e.getMessage());
+        }
+    }
+}
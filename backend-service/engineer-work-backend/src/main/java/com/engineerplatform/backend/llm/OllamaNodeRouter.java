@@ -0,0 +1,269 @@
+package com.engineerplatform.backend.llm;
+
+import com.engineerplatform.backend.exception.LlmCapacityExceededException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads Ollama calls over the configured inference nodes. Each call goes to the available node
+ * with the fewest outstanding requests, preferring nodes that already have the model in memory
+ * (per /api/ps) over nodes that merely have it installed (per /api/tags). Nodes that fail
+ * repeatedly are ejected and re-admitted once a health check succeeds again.
+ */
+@Component
+public class OllamaNodeRouter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OllamaNodeRouter.class);
+    
+    private static final double LATENCY_SMOOTHING = 0.2;
+    
+    private final List<OllamaNode> nodes = new ArrayList<>();
+    private final int ejectAfterFailures;
+    private final Duration healthCheckTimeout;
+    
+    public OllamaNodeRouter(MeterRegistry meterRegistry,
+                            @Value("${app.ollama.base-urls:${app.ollama.base-url}}") String[] baseUrls,
+                            @Value("${app.ollama.router.eject-after-failures:3}") int ejectAfterFailures,
+                            @Value("${app.ollama.router.health-check-timeout:3s}") Duration healthCheckTimeout) {
+        this.ejectAfterFailures = ejectAfterFailures;
+        this.healthCheckTimeout = healthCheckTimeout;
+        
+        for (String baseUrl : baseUrls) {
+            if (baseUrl.isBlank()) {
+                continue;
+            }
+            OllamaNode node = new OllamaNode(baseUrl.trim());
+            nodes.add(node);
+            
+            Gauge.builder("llm.node.outstanding", node, n -> n.outstanding)
+                .tag("node", node.baseUrl)
+                .register(meterRegistry);
+            Gauge.builder("llm.node.available", node, n -> n.ejected ? 0 : 1)
+                .tag("node", node.baseUrl)
+                .register(meterRegistry);
+            node.ejections = Counter.builder("llm.node.ejections")
+                .tag("node", node.baseUrl)
+                .register(meterRegistry);
+        }
+        
+        if (nodes.isEmpty()) {
+            throw new IllegalStateException("At least one Ollama base URL must be configured");
+        }
+        logger.info("Routing Ollama calls across {} node(s)", nodes.size());
+    }
+    
+    public Lease acquire(String model) {
+        synchronized (this) {
+            OllamaNode selected = null;
+            int selectedAffinity = -1;
+            for (OllamaNode node : nodes) {
+                if (node.ejected) {
+                    continue;
+                }
+                int affinity = node.affinity(model);
+                if (affinity < 0) {
+                    continue;
+                }
+                if (selected == null || isBetter(node, affinity, selected, selectedAffinity)) {
+                    selected = node;
+                    selectedAffinity = affinity;
+                }
+            }
+            
+            if (selected == null) {
+                throw new LlmCapacityExceededException("No available Ollama node serves model " + model);
+            }
+            selected.outstanding++;
+            return new Lease(selected);
+        }
+    }
+    
+    public List<Lease> acquireAll(String model) {
+        List<Lease> leases = new ArrayList<>();
+        synchronized (this) {
+            for (OllamaNode node : nodes) {
+                if (!node.ejected && node.affinity(model) >= 0) {
+                    node.outstanding++;
+                    leases.add(new Lease(node));
+                }
+            }
+        }
+        return leases;
+    }
+    
+    public synchronized int availableNodeCount(String model) {
+        int available = 0;
+        for (OllamaNode node : nodes) {
+            if (!node.ejected && node.affinity(model) >= 0) {
+                available++;
+            }
+        }
+        return available;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.ollama.router.health-check-interval:PT15S}")
+    public void checkHealth() {
+        for (OllamaNode node : nodes) {
+            try {
+                Set<String> installed = fetchModelNames(node, "/api/tags");
+                Set<String> loaded = fetchModelNames(node, "/api/ps");
+                synchronized (this) {
+                    node.installedModels = installed;
+                    node.loadedModels = loaded;
+                    node.consecutiveFailures = 0;
+                    if (node.ejected) {
+                        node.ejected = false;
+                        logger.info("Re-admitted Ollama node {}", node.baseUrl);
+                    }
+                }
+            } catch (Exception e) {
+                logger.debug("Health check failed for Ollama node {}: {}", node.baseUrl, e.getMessage());
+                recordFailure(node);
+            }
+        }
+    }
+    
+    private Set<String> fetchModelNames(OllamaNode node, String path) {
+        JsonNode response = node.client.get()
+                .uri(path)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block(healthCheckTimeout);
+        
+        Set<String> names = new HashSet<>();
+        if (response != null) {
+            for (JsonNode model : response.path("models")) {
+                names.add(normalizeModelName(model.path("name").asText()));
+            }
+        }
+        return names;
+    }
+    
+    private boolean isBetter(OllamaNode candidate, int candidateAffinity, OllamaNode current, int currentAffinity) {
+        if (candidateAffinity != currentAffinity) {
+            return candidateAffinity > currentAffinity;
+        }
+        if (candidate.outstanding != current.outstanding) {
+            return candidate.outstanding < current.outstanding;
+        }
+        return candidate.averageLatencyMillis < current.averageLatencyMillis;
+    }
+    
+    private void release(OllamaNode node, long elapsedNanos, Throwable failure) {
+        synchronized (this) {
+            node.outstanding--;
+            if (failure == null) {
+                double latencyMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+                node.averageLatencyMillis = node.averageLatencyMillis == 0
+                    ? latencyMillis
+                    : node.averageLatencyMillis + LATENCY_SMOOTHING * (latencyMillis - node.averageLatencyMillis);
+                node.consecutiveFailures = 0;
+                return;
+            }
+        }
+        
+        // A 4xx is the caller's fault, not the node's
+        if (failure instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is4xxClientError()) {
+            return;
+        }
+        recordFailure(node);
+    }
+    
+    private synchronized void recordFailure(OllamaNode node) {
+        node.consecutiveFailures++;
+        if (!node.ejected && node.consecutiveFailures >= ejectAfterFailures) {
+            node.ejected = true;
+            node.ejections.increment();
+            logger.warn("Ejected Ollama node {} after {} consecutive failures", node.baseUrl, node.consecutiveFailures);
+        }
+    }
+    
+    static String normalizeModelName(String model) {
+        return model.contains(":") ? model : model + ":latest";
+    }
+    
+    public final class Lease implements AutoCloseable {
+        
+        private final OllamaNode node;
+        private final long acquiredAt = System.nanoTime();
+        private Throwable failure;
+        private boolean released;
+        
+        private Lease(OllamaNode node) {
+            this.node = node;
+        }
+        
+        public WebClient client() {
+            return node.client;
+        }
+        
+        public String baseUrl() {
+            return node.baseUrl;
+        }
+        
+        public void markFailed(Throwable failure) {
+            this.failure = failure;
+        }
+        
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                release(node, System.nanoTime() - acquiredAt, failure);
+            }
+        }
+    }
+    
+    private static final class OllamaNode {
+        
+        private final String baseUrl;
+        private final WebClient client;
+        private Counter ejections;
+        // Unknown until the first health check; treated as "might have the model"
+        private Set<String> installedModels;
+        private Set<String> loadedModels;
+        private int outstanding;
+        private int consecutiveFailures;
+        private boolean ejected;
+        private double averageLatencyMillis;
+        
+        private OllamaNode(String baseUrl) {
+            this.baseUrl = baseUrl;
+            this.client = WebClient.builder()
+                    .baseUrl(baseUrl)
+                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .build();
+        }
+        
+        // 2 = model in memory, 1 = installed or not yet probed, -1 = node cannot serve it
+        private int affinity(String model) {
+            String name = normalizeModelName(model);
+            if (loadedModels != null && loadedModels.contains(name)) {
+                return 2;
+            }
+            if (installedModels == null || installedModels.contains(name)) {
+                return 1;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.engineerplatform.backend.llm;
+
+import com.engineerplatform.backend.model.WorkSummary;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic stand-in for the model's work summary, built from the activity data alone.
+ * It only counts and lists what is already stored, so it answers in microseconds and is
+ * used whenever the model misses its deadline or is unavailable.
+ */
+@Component
+public class TemplateSummarizer {
+    
+    private static final Pattern TICKET_KEY = Pattern.compile("\\b[A-Z][A-Z0-9]+-\\d+\\b");
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("EEEE, MMM d, yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+    private static final int LISTED_ITEMS = 3;
+    private static final int LISTED_TICKETS = 5;
+    
+    public String summarize(WorkSummary summary) {
+        StringBuilder sb = new StringBuilder(512);
+        appendTitle(sb, summary);
+        
+        sb.append("Key accomplishments:\n");
+        int before = sb.length();
+        appendListed(sb, "pull request", "pull requests", summary.getGithubPullRequests());
+        appendCommits(sb, summary.getGithubCommits());
+        appendCount(sb, "customer issue resolved", "customer issues resolved", summary.getCustomerIssuesResolved());
+        appendCount(sb, "Confluence document", "Confluence documents", summary.getConfluenceDocs());
+        if (sb.length() == before) {
+            sb.append("- No recorded code or documentation activity\n");
+        }
+        
+        sb.append("\nCollaboration highlights:\n");
+        before = sb.length();
+        appendCount(sb, "code review", "code reviews", summary.getGithubReviews());
+        appendListed(sb, "meeting", "meetings", summary.getMeetingsAttended());
+        appendCount(sb, "Slack message", "Slack messages", summary.getSlackMessages());
+        if (sb.length() == before) {
+            sb.append("- No recorded reviews, meetings or messages\n");
+        }
+        
+        appendTickets(sb, summary.getJiraTickets());
+        return sb.toString();
+    }
+    
+    private void appendTitle(StringBuilder sb, WorkSummary summary) {
+        WorkSummary.SummaryType type = summary.getSummaryType() != null ? summary.getSummaryType() : WorkSummary.SummaryType.DAILY;
+        switch (type) {
+            case WEEKLY -> sb.append("Weekly activity for the week of ").append(summary.getSummaryDate().format(DAY));
+            case MONTHLY -> sb.append("Monthly activity for ").append(summary.getSummaryDate().format(MONTH));
+            default -> sb.append("Daily activity for ").append(summary.getSummaryDate().format(DAY));
+        }
+        sb.append(" (generated from activity data; the AI summary will replace it when ready)\n\n");
+    }
+    
+    private void appendCount(StringBuilder sb, String singular, String plural, String content) {
+        int count = countItems(content);
+        if (count > 0) {
+            sb.append("- ").append(count).append(' ').append(count == 1 ? singular : plural).append('\n');
+        }
+    }
+    
+    private void appendListed(StringBuilder sb, String singular, String plural, String content) {
+        List<String> items = new ArrayList<>(LISTED_ITEMS);
+        int count = forEachItem(content, items);
+        if (count == 0) {
+            return;
+        }
+        
+        sb.append("- ").append(count).append(' ').append(count == 1 ? singular : plural).append(": ");
+        for (int i = 0; i < items.size(); i++) {
+            sb.append(i == 0 ? "" : "; ").append(items.get(i));
+        }
+        if (count > items.size()) {
+            sb.append("; and ").append(count - items.size()).append(" more");
+        }
+        sb.append('\n');
+    }
+    
+    private void appendCommits(StringBuilder sb, String commits) {
+        if (commits == null || commits.isBlank()) {
+            return;
+        }
+        
+        // Commit lines end with "(repository)"
+        Map<String, Integer> perRepository = new HashMap<>();
+        int count = 0;
+        int start = 0;
+        while (start < commits.length()) {
+            int end = lineEnd(commits, start);
+            if (isItem(commits, start, end)) {
+                count++;
+                int open = commits.lastIndexOf('(', end);
+                int close = lastNonBlank(commits, start, end);
+                if (open > start && close > open + 1 && commits.charAt(close) == ')' && commits.charAt(open + 1) != '#') {
+                    perRepository.merge(commits.substring(open + 1, close), 1, Integer::sum);
+                }
+            }
+            start = end + 1;
+        }
+        if (count == 0) {
+            return;
+        }
+        
+        sb.append("- ").append(count).append(count == 1 ? " commit" : " commits");
+        if (!perRepository.isEmpty()) {
+            List<Map.Entry<String, Integer>> repositories = new ArrayList<>(perRepository.entrySet());
+            repositories.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+            sb.append(" across ").append(repositories.size()).append(repositories.size() == 1 ? " repository: " : " repositories: ");
+            for (int i = 0; i < Math.min(LISTED_ITEMS, repositories.size()); i++) {
+                sb.append(i == 0 ? "" : ", ").append(repositories.get(i).getKey())
+                  .append(" (").append(repositories.get(i).getValue()).append(')');
+            }
+        }
+        sb.append('\n');
+    }
+    
+    private void appendTickets(StringBuilder sb, String jiraTickets) {
+        if (jiraTickets == null || jiraTickets.isBlank()) {
+            return;
+        }
+        
+        Set<String> tickets = new LinkedHashSet<>();
+        Matcher matcher = TICKET_KEY.matcher(jiraTickets);
+        while (matcher.find()) {
+            tickets.add(matcher.group());
+        }
+        if (tickets.isEmpty()) {
+            return;
+        }
+        
+        sb.append("\nJira tickets worked on: ");
+        int listed = 0;
+        for (String ticket : tickets) {
+            if (listed == LISTED_TICKETS) {
+                sb.append(" and ").append(tickets.size() - listed).append(" more");
+                break;
+            }
+            sb.append(listed == 0 ? "" : ", ").append(ticket);
+            listed++;
+        }
+        sb.append('\n');
+    }
+    
+    private int countItems(String content) {
+        return forEachItem(content, null);
+    }
+    
+    // Counts "- item" lines (or plain lines when the content is not a list), collecting the first few
+    private int forEachItem(String content, List<String> firstItems) {
+        if (content == null || content.isBlank()) {
+            return 0;
+        }
+        
+        int count = 0;
+        int start = 0;
+        while (start < content.length()) {
+            int end = lineEnd(content, start);
+            if (isItem(content, start, end)) {
+                count++;
+                if (firstItems != null && firstItems.size() < LISTED_ITEMS) {
+                    String line = content.substring(start, end).strip();
+                    firstItems.add(line.startsWith("- ") ? line.substring(2).strip() : line);
+                }
+            }
+            start = end + 1;
+        }
+        return count;
+    }
+    
+    private boolean isItem(String content, int start, int end) {
+        int first = start;
+        while (first < end && Character.isWhitespace(content.charAt(first))) {
+            first++;
+        }
+        if (first == end) {
+            return false;
+        }
+        // Empty-section markers written by the integrations
+        return !content.startsWith("No commits", first)
+            && !content.startsWith("No pull requests", first)
+            && !content.startsWith("No reviews", first);
+    }
+    
+    private int lineEnd(String content, int start) {
+        int end = content.indexOf('\n', start);
+        return end < 0 ? content.length() : end;
+    }
+    
+    private int lastNonBlank(String content, int start, int end) {
+        int last = end - 1;
+        while (last > start && Character.isWhitespace(content.charAt(last))) {
+            last--;
+        }
+        return last;
+    }
+}
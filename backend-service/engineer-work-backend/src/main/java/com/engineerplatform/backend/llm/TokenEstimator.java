@@ -0,0 +1,31 @@
+package com.engineerplatform.backend.llm;
+
+public final class TokenEstimator {
+    
+    // Llama-family tokenizers average roughly four characters of English text per token
+    private static final int CHARS_PER_TOKEN = 4;
+    
+    private TokenEstimator() {
+    }
+    
+    public static int estimate(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return 0;
+        }
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+    
+    public static String truncate(String text, int maxTokens) {
+        int maxChars = maxTokens * CHARS_PER_TOKEN;
+        if (text == null || text.length() <= maxChars) {
+            return text;
+        }
+        if (maxChars <= 3) {
+            return "";
+        }
+        
+        // Cut on a word boundary and leave room for the ellipsis
+        int end = text.lastIndexOf(' ', maxChars - 3);
+        return text.substring(0, end > 0 ? end : maxChars - 3).stripTrailing() + "...";
+    }
+}
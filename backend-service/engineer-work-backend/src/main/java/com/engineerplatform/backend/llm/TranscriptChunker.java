@@ -0,0 +1,78 @@
+package com.engineerplatform.backend.llm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public final class TranscriptChunker {
+    
+    private static final Pattern SPEAKER_TURN = Pattern.compile("(?m)^(?=[ \\t]*[\\p{L}][\\p{L}\\p{N} .'_-]{0,40}:\\s)");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?])\\s+");
+    
+    private TranscriptChunker() {
+    }
+    
+    public static List<String> split(String transcript, int maxTokens) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        
+        for (String segment : segments(transcript, maxTokens)) {
+            if (current.length() > 0
+                    && TokenEstimator.estimate(current) + TokenEstimator.estimate(segment) > maxTokens) {
+                addChunk(chunks, current);
+            }
+            current.append(segment);
+        }
+        addChunk(chunks, current);
+        
+        return chunks;
+    }
+    
+    private static List<String> segments(String transcript, int maxTokens) {
+        List<String> segments = new ArrayList<>();
+        
+        for (String turn : SPEAKER_TURN.split(transcript)) {
+            if (TokenEstimator.estimate(turn) <= maxTokens) {
+                segments.add(turn);
+                continue;
+            }
+            
+            // A single turn over budget falls back to sentence boundaries, then to word wrapping
+            for (String sentence : SENTENCE_END.split(turn)) {
+                if (TokenEstimator.estimate(sentence) < maxTokens) {
+                    segments.add(sentence + " ");
+                } else {
+                    segments.addAll(wrapWords(sentence, maxTokens));
+                }
+            }
+        }
+        
+        return segments;
+    }
+    
+    private static List<String> wrapWords(String text, int maxTokens) {
+        List<String> pieces = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        
+        for (String word : text.split("\\s+")) {
+            if (current.length() > 0 && TokenEstimator.estimate(current) + TokenEstimator.estimate(word) >= maxTokens) {
+                pieces.add(current.toString());
+                current.setLength(0);
+            }
+            current.append(word).append(' ');
+        }
+        if (current.length() > 0) {
+            pieces.add(current.toString());
+        }
+        
+        return pieces;
+    }
+    
+    private static void addChunk(List<String> chunks, StringBuilder current) {
+        String chunk = current.toString().trim();
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,285 @@
+package com.engineerplatform.backend.llm;
+
+import com.engineerplatform.backend.model.WorkSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the activity section of work summary prompts within a fixed token budget.
+ * Repeated and near-identical lines are collapsed, commits are grouped by repository and
+ * Jira lines by ticket, and sections are filled in a fixed priority order so the same
+ * input always yields the same prompt.
+ */
+@Component
+public class WorkPromptBuilder {
+    
+    private static final Pattern REPOSITORY_SUFFIX = Pattern.compile("^(.*\\S)\\s+\\(([^()#][^()]*)\\)$");
+    private static final Pattern TICKET_KEY = Pattern.compile("\\b([A-Z][A-Z0-9]+-\\d+)\\b");
+    private static final Pattern REFERENCE = Pattern.compile("#\\d+|\\b[0-9a-f]{7,40}\\b");
+    private static final Pattern NOT_WORD = Pattern.compile("[^\\p{L}\\p{N} ]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Set<String> EMPTY_MARKERS = Set.of("No commits", "No pull requests", "No reviews");
+    private static final int OMITTED_LINE_TOKENS = 8;
+    private static final DateTimeFormatter ROLLUP_DAY = DateTimeFormatter.ofPattern("EEEE, MMM d", Locale.ENGLISH);
+    
+    private final int tokenBudget;
+    private final int minItemsPerSection;
+    private final int rollupTokenBudget;
+    private final int teamTokenBudget;
+    
+    public WorkPromptBuilder(@Value("${app.ollama.prompt.work-data-token-budget:1500}") int tokenBudget,
+                             @Value("${app.ollama.prompt.min-items-per-section:3}") int minItemsPerSection,
+                             @Value("${app.ollama.prompt.rollup-token-budget:2000}") int rollupTokenBudget,
+                             @Value("${app.ollama.prompt.team-token-budget:3000}") int teamTokenBudget) {
+        this.tokenBudget = tokenBudget;
+        this.minItemsPerSection = minItemsPerSection;
+        this.rollupTokenBudget = rollupTokenBudget;
+        this.teamTokenBudget = teamTokenBudget;
+    }
+    
+    public String build(WorkSummary summary) {
+        return build(summary, tokenBudget);
+    }
+    
+    public String build(WorkSummary summary, int budget) {
+        List<Section> sections = new ArrayList<>();
+        addSection(sections, "GitHub Pull Requests", summary.getGithubPullRequests(), Grouping.NONE);
+        addSection(sections, "GitHub Commits", summary.getGithubCommits(), Grouping.REPOSITORY);
+        addSection(sections, "Jira Tickets", summary.getJiraTickets(), Grouping.TICKET);
+        addSection(sections, "GitHub Reviews", summary.getGithubReviews(), Grouping.NONE);
+        addSection(sections, "Meetings", summary.getMeetingsAttended(), Grouping.NONE);
+        addSection(sections, "Customer Issues Resolved", summary.getCustomerIssuesResolved(), Grouping.NONE);
+        addSection(sections, "Confluence Docs", summary.getConfluenceDocs(), Grouping.NONE);
+        addSection(sections, "Slack Activity", summary.getSlackMessages(), Grouping.NONE);
+        
+        int remaining = budget;
+        for (Section section : sections) {
+            remaining -= TokenEstimator.estimate(section.title) + 2 + OMITTED_LINE_TOKENS;
+        }
+        
+        // First give every section its leading entries, then spend what is left in priority order
+        for (Section section : sections) {
+            remaining = section.fill(Math.min(minItemsPerSection, section.entries.size()), remaining);
+        }
+        for (Section section : sections) {
+            remaining = section.fill(section.entries.size(), remaining);
+        }
+        
+        StringBuilder sb = new StringBuilder();
+        for (Section section : sections) {
+            section.render(sb);
+        }
+        return sb.toString();
+    }
+    
+    public String buildRollup(List<WorkSummary> summaries) {
+        return buildRollup(summaries, rollupTokenBudget);
+    }
+    
+    /**
+     * Lists the generated text of lower-level summaries (e.g. the dailies of a week) in date order.
+     * The budget is shared out so that short summaries are kept whole and only the longest ones
+     * are truncated.
+     */
+    public String buildRollup(List<WorkSummary> summaries, int budget) {
+        List<WorkSummary> withText = summaries.stream()
+            .filter(summary -> summary.getAiGeneratedSummary() != null && !summary.getAiGeneratedSummary().isBlank())
+            .sorted(Comparator.comparing(WorkSummary::getSummaryDate))
+            .toList();
+        if (withText.isEmpty()) {
+            return "";
+        }
+        
+        int remaining = budget;
+        for (WorkSummary summary : withText) {
+            remaining -= TokenEstimator.estimate(summary.getSummaryDate().format(ROLLUP_DAY)) + 2;
+        }
+        
+        // Keyed by identity: unsaved summaries all share a null id and would collide under equals()
+        Map<WorkSummary, Integer> allowance = new IdentityHashMap<>();
+        List<WorkSummary> shortestFirst = withText.stream()
+            .sorted(Comparator.comparingInt(summary -> TokenEstimator.estimate(summary.getAiGeneratedSummary())))
+            .toList();
+        int left = shortestFirst.size();
+        for (WorkSummary summary : shortestFirst) {
+            int share = Math.max(remaining, 0) / left;
+            int granted = Math.min(TokenEstimator.estimate(summary.getAiGeneratedSummary().trim()), share);
+            allowance.put(summary, granted);
+            remaining -= granted;
+            left--;
+        }
+        
+        StringBuilder sb = new StringBuilder();
+        for (WorkSummary summary : withText) {
+            sb.append(summary.getSummaryDate().format(ROLLUP_DAY)).append(":\n")
+              .append(TokenEstimator.truncate(summary.getAiGeneratedSummary().trim(), allowance.get(summary)))
+              .append("\n\n");
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Lists sub-team summaries first, then each member's dailies as a compact rollup. Every
+     * entry gets an equal share of the budget, so a large team shortens each member's section
+     * instead of dropping members.
+     */
+    public String buildTeam(Map<String, String> subTeamSummaries, Map<String, List<WorkSummary>> memberSummaries) {
+        int entries = subTeamSummaries.size() + memberSummaries.size();
+        if (entries == 0) {
+            return "";
+        }
+        int share = Math.max(teamTokenBudget / entries, 1);
+        
+        StringBuilder sb = new StringBuilder();
+        subTeamSummaries.forEach((lead, summary) -> {
+            int allowance = Math.max(share - TokenEstimator.estimate(lead) - 4, 1);
+            sb.append("Team led by ").append(lead).append(":\n")
+              .append(TokenEstimator.truncate(summary.trim(), allowance))
+              .append("\n\n");
+        });
+        memberSummaries.forEach((member, summaries) -> {
+            String rollup = buildRollup(summaries, Math.max(share - TokenEstimator.estimate(member) - 2, 1));
+            sb.append(member).append(":\n")
+              .append(rollup.isEmpty() ? "No summaries for this period.\n\n" : rollup);
+        });
+        return sb.toString();
+    }
+    
+    private void addSection(List<Section> sections, String title, String content, Grouping grouping) {
+        if (content == null || content.isBlank()) {
+            return;
+        }
+        
+        Map<String, Map<String, Entry>> groups = new LinkedHashMap<>();
+        for (String rawLine : content.split("\n")) {
+            String line = rawLine.trim();
+            if (line.startsWith("- ")) {
+                line = line.substring(2).trim();
+            }
+            if (line.isEmpty() || EMPTY_MARKERS.contains(line)) {
+                continue;
+            }
+            
+            String group = "";
+            String text = line;
+            if (grouping == Grouping.REPOSITORY) {
+                Matcher matcher = REPOSITORY_SUFFIX.matcher(line);
+                if (matcher.matches()) {
+                    text = matcher.group(1);
+                    group = matcher.group(2).trim();
+                }
+            } else if (grouping == Grouping.TICKET) {
+                Matcher matcher = TICKET_KEY.matcher(line);
+                if (matcher.find()) {
+                    group = matcher.group(1);
+                }
+            }
+            
+            String finalText = text;
+            groups.computeIfAbsent(group, key -> new LinkedHashMap<>())
+                  .computeIfAbsent(normalize(text), key -> new Entry(finalText))
+                  .count++;
+        }
+        
+        Section section = new Section(title);
+        groups.forEach((group, entries) -> entries.values().forEach(entry -> {
+            entry.group = group;
+            section.entries.add(entry);
+        }));
+        
+        if (!section.entries.isEmpty()) {
+            sections.add(section);
+        }
+    }
+    
+    private static String normalize(String text) {
+        // Issue numbers and commit hashes differ between otherwise identical "fix typo" style lines
+        String lower = REFERENCE.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        lower = NOT_WORD.matcher(lower).replaceAll(" ");
+        return WHITESPACE.matcher(lower).replaceAll(" ").trim();
+    }
+    
+    private enum Grouping {
+        NONE, REPOSITORY, TICKET
+    }
+    
+    private static final class Entry {
+        
+        private final String text;
+        private String group;
+        private int count;
+        
+        private Entry(String text) {
+            this.text = text;
+        }
+        
+        private String line() {
+            return count > 1 ? text + " (x" + count + ")" : text;
+        }
+    }
+    
+    private static final class Section {
+        
+        private final String title;
+        private final List<Entry> entries = new ArrayList<>();
+        private final List<String> openedGroups = new ArrayList<>();
+        private int selected;
+        
+        private Section(String title) {
+            this.title = title;
+        }
+        
+        private int fill(int upTo, int remaining) {
+            while (selected < upTo) {
+                Entry entry = entries.get(selected);
+                int cost = TokenEstimator.estimate(entry.line()) + 2;
+                boolean newGroup = !entry.group.isEmpty() && !openedGroups.contains(entry.group);
+                if (newGroup) {
+                    cost += TokenEstimator.estimate(entry.group) + 1;
+                }
+                if (cost > remaining) {
+                    break;
+                }
+                if (newGroup) {
+                    openedGroups.add(entry.group);
+                }
+                remaining -= cost;
+                selected++;
+            }
+            return remaining;
+        }
+        
+        private void render(StringBuilder sb) {
+            sb.append(title).append(":\n");
+            
+            String currentGroup = "";
+            for (Entry entry : entries.subList(0, selected)) {
+                if (!entry.group.equals(currentGroup)) {
+                    currentGroup = entry.group;
+                    if (!currentGroup.isEmpty()) {
+                        sb.append(currentGroup).append(":\n");
+                    }
+                }
+                sb.append(currentGroup.isEmpty() ? "- " : "  - ").append(entry.line()).append("\n");
+            }
+            
+            int omitted = entries.size() - selected;
+            if (omitted > 0) {
+                sb.append("- ... and ").append(omitted).append(" more\n");
+            }
+            sb.append("\n");
+        }
+    }
+}
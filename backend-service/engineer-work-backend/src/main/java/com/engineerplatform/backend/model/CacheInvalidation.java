@@ -0,0 +1,87 @@
+package com.engineerplatform.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "cache_invalidations",
+       indexes = @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at"))
+public class CacheInvalidation {
+    
+    // Identity rather than a pooled sequence, so ids from all nodes are close to insert order. They still
+    // do not follow commit order, which pollers cover by re-reading a window of ids below the highest seen
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type")
+    private EntityType entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    // Node that made the change; it skips its own rows
+    @Column(name = "origin_node")
+    private String originNode;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    public enum EntityType {
+        USER, TEAM
+    }
+    
+    public CacheInvalidation() {}
+    
+    public CacheInvalidation(EntityType entityType, Long entityId, String originNode) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.originNode = originNode;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public EntityType getEntityType() { return entityType; }
+    public void setEntityType(EntityType entityType) { this.entityType = entityType; }
+    
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+    
+    public String getOriginNode() { return originNode; }
+    public void setOriginNode(String originNode) { this.originNode = originNode; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CacheInvalidation)) return false;
+        CacheInvalidation that = (CacheInvalidation) o;
+        return Objects.equals(id, that.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+    
+    @Override
+    public String toString() {
+        return "CacheInvalidation{" +
+                "id=" + id +
+                ", entityType=" + entityType +
+                ", entityId=" + entityId +
+                ", originNode='" + originNode + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,139 @@
+package com.engineerplatform.backend.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "daily_batch_runs",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"run_date"}),
+       indexes = @Index(name = "idx_daily_batch_runs_status", columnList = "status"))
+public class DailyBatchRun {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_batch_runs_seq")
+    @SequenceGenerator(name = "daily_batch_runs_seq", sequenceName = "daily_batch_runs_seq", allocationSize = 50)
+    private Long id;
+    
+    @NotNull
+    @Column(name = "run_date")
+    private LocalDate runDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Status status = Status.RUNNING;
+    
+    @Column(name = "total_users")
+    private int totalUsers;
+    
+    @Column(name = "generated_users")
+    private int generatedUsers;
+    
+    @Column(name = "skipped_users")
+    private int skippedUsers;
+    
+    @Column(name = "failed_users")
+    private int failedUsers;
+    
+    @Column(name = "attempts")
+    private int attempts;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public int getProcessedUsers() {
+        return generatedUsers + skippedUsers + failedUsers;
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public LocalDate getRunDate() { return runDate; }
+    public void setRunDate(LocalDate runDate) { this.runDate = runDate; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public int getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(int totalUsers) { this.totalUsers = totalUsers; }
+    
+    public int getGeneratedUsers() { return generatedUsers; }
+    public void setGeneratedUsers(int generatedUsers) { this.generatedUsers = generatedUsers; }
+    
+    public int getSkippedUsers() { return skippedUsers; }
+    public void setSkippedUsers(int skippedUsers) { this.skippedUsers = skippedUsers; }
+    
+    public int getFailedUsers() { return failedUsers; }
+    public void setFailedUsers(int failedUsers) { this.failedUsers = failedUsers; }
+    
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DailyBatchRun)) return false;
+        DailyBatchRun that = (DailyBatchRun) o;
+        return Objects.equals(id, that.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+    
+    @Override
+    public String toString() {
+        return "DailyBatchRun{" +
+                "id=" + id +
+                ", runDate=" + runDate +
+                ", status=" + status +
+                ", processed=" + getProcessedUsers() + "/" + totalUsers +
+                '}';
+    }
+}
@@ -0,0 +1,148 @@
+package com.engineerplatform.backend.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "generation_jobs",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "idempotency_key"}),
+       indexes = {
+           @Index(name = "idx_generation_jobs_status", columnList = "status"),
+           @Index(name = "idx_generation_jobs_user_target", columnList = "user_id, target_date, summary_type")
+       })
+public class GenerationJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "generation_jobs_seq")
+    @SequenceGenerator(name = "generation_jobs_seq", sequenceName = "generation_jobs_seq", allocationSize = 50)
+    private Long id;
+    
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "summary_type")
+    private WorkSummary.SummaryType summaryType;
+    
+    @NotNull
+    @Column(name = "target_date")
+    private LocalDate targetDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Status status = Status.QUEUED;
+    
+    @Size(max = 100)
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+    
+    @Column(name = "result_summary_id")
+    private Long resultSummaryId;
+    
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    @Column(name = "attempts")
+    private int attempts;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isFinished() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+    
+    public WorkSummary.SummaryType getSummaryType() { return summaryType; }
+    public void setSummaryType(WorkSummary.SummaryType summaryType) { this.summaryType = summaryType; }
+    
+    public LocalDate getTargetDate() { return targetDate; }
+    public void setTargetDate(LocalDate targetDate) { this.targetDate = targetDate; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    
+    public Long getResultSummaryId() { return resultSummaryId; }
+    public void setResultSummaryId(Long resultSummaryId) { this.resultSummaryId = resultSummaryId; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GenerationJob)) return false;
+        GenerationJob that = (GenerationJob) o;
+        return Objects.equals(id, that.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+    
+    @Override
+    public String toString() {
+        return "GenerationJob{" +
+                "id=" + id +
+                ", summaryType=" + summaryType +
+                ", targetDate=" + targetDate +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.engineerplatform.backend.model;
 
+import com.engineerplatform.backend.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,11 +12,20 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "meeting_minutes")
+@Table(name = "meeting_minutes",
+       indexes = {
+           @Index(name = "idx_meeting_minutes_date", columnList = "meeting_date"),
+           @Index(name = "idx_meeting_minutes_meeting_platform", columnList = "meeting_id, meeting_platform")
+       })
+@NamedEntityGraph(name = "MeetingMinutes.participants",
+                  attributeNodes = @NamedAttributeNode(value = "participants", subgraph = "participant"),
+                  subgraphs = @NamedSubgraph(name = "participant", attributeNodes = @NamedAttributeNode("manager")))
+@EntityListeners(SearchIndexListener.class)
 public class MeetingMinutes {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meeting_minutes_seq")
+    @SequenceGenerator(name = "meeting_minutes_seq", sequenceName = "meeting_minutes_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -75,7 +85,8 @@ public class MeetingMinutes {
     @JoinTable(
         name = "meeting_participants",
         joinColumns = @JoinColumn(name = "meeting_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "idx_meeting_participants_user", columnList = "user_id, meeting_id")
     )
     private Set<User> participants = new HashSet<>();
     
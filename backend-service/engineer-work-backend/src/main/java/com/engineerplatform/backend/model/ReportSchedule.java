@@ -12,11 +12,17 @@ import java.time.LocalTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "report_schedules")
+@Table(name = "report_schedules",
+       indexes = {
+           @Index(name = "idx_report_schedules_due", columnList = "is_active, next_scheduled, id"),
+           @Index(name = "idx_report_schedules_user", columnList = "user_id"),
+           @Index(name = "idx_report_schedules_recipient", columnList = "recipient_email")
+       })
 public class ReportSchedule {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_schedules_seq")
+    @SequenceGenerator(name = "report_schedules_seq", sequenceName = "report_schedules_seq", allocationSize = 50)
     private Long id;
     
     @NotNull
@@ -66,6 +72,12 @@ public class ReportSchedule {
     @Column(name = "next_scheduled")
     private LocalDateTime nextScheduled;
     
+    @Column(name = "render_attempts", nullable = false)
+    private int renderAttempts = 0;
+    
+    @Column(name = "retry_slot")
+    private LocalDateTime retrySlot;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -130,6 +142,12 @@ public class ReportSchedule {
     public LocalDateTime getNextScheduled() { return nextScheduled; }
     public void setNextScheduled(LocalDateTime nextScheduled) { this.nextScheduled = nextScheduled; }
     
+    public int getRenderAttempts() { return renderAttempts; }
+    public void setRenderAttempts(int renderAttempts) { this.renderAttempts = renderAttempts; }
+    
+    public LocalDateTime getRetrySlot() { return retrySlot; }
+    public void setRetrySlot(LocalDateTime retrySlot) { this.retrySlot = retrySlot; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
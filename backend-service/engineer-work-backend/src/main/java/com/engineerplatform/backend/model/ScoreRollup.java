@@ -0,0 +1,160 @@
+package com.engineerplatform.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Objects;
+
+/**
+ * Score totals of the daily summaries in one day, ISO week or month, for a user or for a
+ * manager's direct reports. Rows are only written by ScoreRollupService's SQL upserts.
+ */
+@Entity
+@Immutable
+@Table(name = "score_rollups")
+public class ScoreRollup {
+    
+    @EmbeddedId
+    private Key key;
+    
+    @Column(name = "summary_count", nullable = false)
+    private long summaryCount;
+    
+    @Column(name = "productivity_sum", nullable = false)
+    private long productivitySum;
+    
+    @Column(name = "productivity_count", nullable = false)
+    private long productivityCount;
+    
+    @Column(name = "productivity_min")
+    private Integer productivityMin;
+    
+    @Column(name = "productivity_max")
+    private Integer productivityMax;
+    
+    @Column(name = "collaboration_sum", nullable = false)
+    private long collaborationSum;
+    
+    @Column(name = "collaboration_count", nullable = false)
+    private long collaborationCount;
+    
+    @Column(name = "collaboration_min")
+    private Integer collaborationMin;
+    
+    @Column(name = "collaboration_max")
+    private Integer collaborationMax;
+    
+    // SUBTREE is not stored: it sums the USER rows of everyone below a manager at any depth
+    public enum Scope {
+        USER, TEAM, SUBTREE
+    }
+    
+    public enum Period {
+        DAY, WEEK, MONTH;
+        
+        public LocalDate startOf(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+    }
+    
+    @Embeddable
+    public static class Key implements Serializable {
+        
+        @Enumerated(EnumType.STRING)
+        @Column(name = "scope", length = 8)
+        private Scope scope;
+        
+        // The user for USER rows, the manager for TEAM rows
+        @Column(name = "owner_id")
+        private Long ownerId;
+        
+        @Enumerated(EnumType.STRING)
+        @Column(name = "period", length = 8)
+        private Period period;
+        
+        @Column(name = "period_start")
+        private LocalDate periodStart;
+        
+        public Key() {}
+        
+        public Key(Scope scope, Long ownerId, Period period, LocalDate periodStart) {
+            this.scope = scope;
+            this.ownerId = ownerId;
+            this.period = period;
+            this.periodStart = periodStart;
+        }
+        
+        public Scope getScope() { return scope; }
+        public Long getOwnerId() { return ownerId; }
+        public Period getPeriod() { return period; }
+        public LocalDate getPeriodStart() { return periodStart; }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return scope == that.scope && Objects.equals(ownerId, that.ownerId)
+                && period == that.period && Objects.equals(periodStart, that.periodStart);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, ownerId, period, periodStart);
+        }
+    }
+    
+    public ScoreRollup() {}
+    
+    public Key getKey() { return key; }
+    
+    public long getSummaryCount() { return summaryCount; }
+    
+    public long getProductivitySum() { return productivitySum; }
+    
+    public long getProductivityCount() { return productivityCount; }
+    
+    public Integer getProductivityMin() { return productivityMin; }
+    
+    public Integer getProductivityMax() { return productivityMax; }
+    
+    public long getCollaborationSum() { return collaborationSum; }
+    
+    public long getCollaborationCount() { return collaborationCount; }
+    
+    public Integer getCollaborationMin() { return collaborationMin; }
+    
+    public Integer getCollaborationMax() { return collaborationMax; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ScoreRollup)) return false;
+        ScoreRollup that = (ScoreRollup) o;
+        return Objects.equals(key, that.key);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(key);
+    }
+    
+    @Override
+    public String toString() {
+        return "ScoreRollup{" +
+                "scope=" + key.getScope() +
+                ", ownerId=" + key.getOwnerId() +
+                ", period=" + key.getPeriod() +
+                ", periodStart=" + key.getPeriodStart() +
+                ", summaryCount=" + summaryCount +
+                '}';
+    }
+}
@@ -0,0 +1,84 @@
+package com.engineerplatform.backend.model;
+
+import com.engineerplatform.backend.search.WorkspaceSearchIndex;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "search_index_changes",
+       indexes = @Index(name = "idx_search_index_changes_created_at", columnList = "created_at"))
+public class SearchIndexChange {
+    
+    // Identity rather than a pooled sequence, so ids from all nodes are close to insert order. They still
+    // do not follow commit order, which pollers cover by re-reading a window of ids below the highest seen
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type")
+    private WorkspaceSearchIndex.DocumentType documentType;
+    
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+    
+    // Node that made the change; it skips its own rows
+    @Column(name = "origin_node")
+    private String originNode;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    public SearchIndexChange() {}
+    
+    public SearchIndexChange(WorkspaceSearchIndex.DocumentType documentType, Long documentId, String originNode) {
+        this.documentType = documentType;
+        this.documentId = documentId;
+        this.originNode = originNode;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public WorkspaceSearchIndex.DocumentType getDocumentType() { return documentType; }
+    public void setDocumentType(WorkspaceSearchIndex.DocumentType documentType) { this.documentType = documentType; }
+    
+    public Long getDocumentId() { return documentId; }
+    public void setDocumentId(Long documentId) { this.documentId = documentId; }
+    
+    public String getOriginNode() { return originNode; }
+    public void setOriginNode(String originNode) { this.originNode = originNode; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SearchIndexChange)) return false;
+        SearchIndexChange that = (SearchIndexChange) o;
+        return Objects.equals(id, that.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+    
+    @Override
+    public String toString() {
+        return "SearchIndexChange{" +
+                "id=" + id +
+                ", documentType=" + documentType +
+                ", documentId=" + documentId +
+                ", originNode='" + originNode + '\'' +
+                '}';
+    }
+}
@@ -1,8 +1,11 @@
 package com.engineerplatform.backend.model;
 
+import com.engineerplatform.backend.cache.CacheInvalidationListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -10,11 +13,15 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "teams")
+@Table(name = "teams",
+       indexes = @Index(name = "idx_teams_team_lead", columnList = "team_lead_id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teams")
+@EntityListeners(CacheInvalidationListener.class)
 public class Team {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teams_seq")
+    @SequenceGenerator(name = "teams_seq", sequenceName = "teams_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -33,8 +40,10 @@ public class Team {
     @JoinTable(
         name = "team_members",
         joinColumns = @JoinColumn(name = "team_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "idx_team_members_user", columnList = "user_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teams-members")
     private Set<User> members = new HashSet<>();
     
     @Column(name = "created_at")
@@ -0,0 +1,145 @@
+package com.engineerplatform.backend.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "team_summaries",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"manager_id", "period_start", "period_end"}))
+public class TeamSummary {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_summaries_seq")
+    @SequenceGenerator(name = "team_summaries_seq", sequenceName = "team_summaries_seq", allocationSize = 50)
+    private Long id;
+    
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "manager_id", nullable = false)
+    private User manager;
+    
+    @NotNull
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+    
+    @NotNull
+    @Column(name = "period_end")
+    private LocalDate periodEnd;
+    
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+    
+    @Column(name = "member_count")
+    private int memberCount;
+    
+    @Column(name = "sub_team_count")
+    private int subTeamCount;
+    
+    @Column(name = "generated_at")
+    private LocalDateTime generatedAt;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.READY;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum Status {
+        GENERATING, READY, FAILED
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public User getManager() { return manager; }
+    public void setManager(User manager) { this.manager = manager; }
+    
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+    
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(LocalDate periodEnd) { this.periodEnd = periodEnd; }
+    
+    public String getSummary() { return summary; }
+    public void setSummary(String summary) { this.summary = summary; }
+    
+    public int getMemberCount() { return memberCount; }
+    public void setMemberCount(int memberCount) { this.memberCount = memberCount; }
+    
+    public int getSubTeamCount() { return subTeamCount; }
+    public void setSubTeamCount(int subTeamCount) { this.subTeamCount = subTeamCount; }
+    
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+    
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TeamSummary)) return false;
+        TeamSummary that = (TeamSummary) o;
+        return Objects.equals(id, that.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+    
+    @Override
+    public String toString() {
+        return "TeamSummary{" +
+                "id=" + id +
+                ", periodStart=" + periodStart +
+                ", periodEnd=" + periodEnd +
+                ", status=" + status +
+                ", memberCount=" + memberCount +
+                ", subTeamCount=" + subTeamCount +
+                '}';
+    }
+}
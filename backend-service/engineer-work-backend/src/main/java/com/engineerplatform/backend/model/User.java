@@ -1,9 +1,12 @@
 package com.engineerplatform.backend.model;
 
+import com.engineerplatform.backend.cache.CacheInvalidationListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,11 +15,23 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+       indexes = {
+           @Index(name = "idx_users_manager", columnList = "manager_id"),
+           @Index(name = "idx_users_github_username", columnList = "github_username"),
+           @Index(name = "idx_users_slack_user_id", columnList = "slack_user_id"),
+           @Index(name = "idx_users_jira_username", columnList = "jira_username"),
+           @Index(name = "idx_users_google_email", columnList = "google_email"),
+           @Index(name = "idx_users_microsoft_email", columnList = "microsoft_email")
+       })
+@NamedEntityGraph(name = "User.manager", attributeNodes = @NamedAttributeNode("manager"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@EntityListeners(CacheInvalidationListener.class)
 public class User implements UserDetails {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -93,10 +108,13 @@ public class User implements UserDetails {
     @JoinColumn(name = "manager_id")
     private User manager;
     
+    // Inverse side: UserService evicts it when a manager changes
     @OneToMany(mappedBy = "manager", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users-direct-reports")
     private Set<User> directReports = new HashSet<>();
     
     @ManyToMany(mappedBy = "members", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users-teams")
     private Set<Team> teams = new HashSet<>();
     
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
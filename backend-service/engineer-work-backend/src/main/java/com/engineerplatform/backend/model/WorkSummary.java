@@ -1,5 +1,6 @@
 package com.engineerplatform.backend.model;
 
+import com.engineerplatform.backend.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -10,11 +11,20 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "work_summaries")
+@Table(name = "work_summaries",
+       uniqueConstraints = @UniqueConstraint(name = "uk_work_summaries_user_date_type",
+                                             columnNames = {"user_id", "summary_date", "summary_type"}),
+       indexes = {
+           @Index(name = "idx_work_summaries_date_type", columnList = "summary_date, summary_type"),
+           @Index(name = "idx_work_summaries_backfill", columnList = "summary_source, backfill_attempts, id")
+       })
+@NamedEntityGraph(name = "WorkSummary.user", attributeNodes = @NamedAttributeNode("user"))
+@EntityListeners(SearchIndexListener.class)
 public class WorkSummary {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "work_summaries_seq")
+    @SequenceGenerator(name = "work_summaries_seq", sequenceName = "work_summaries_seq", allocationSize = 50)
     private Long id;
     
     @NotNull
@@ -57,6 +67,17 @@ public class WorkSummary {
     @Column(name = "ai_generated_summary", columnDefinition = "TEXT")
     private String aiGeneratedSummary;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "summary_source")
+    private SummarySource summarySource;
+    
+    // Failed attempts to replace a TEMPLATE summary with the model's text, and when to try again
+    @Column(name = "backfill_attempts", nullable = false)
+    private int backfillAttempts;
+    
+    @Column(name = "next_backfill_at")
+    private LocalDateTime nextBackfillAt;
+    
     @Column(name = "key_achievements", columnDefinition = "TEXT")
     private String keyAchievements;
     
@@ -76,6 +97,11 @@ public class WorkSummary {
         DAILY, WEEKLY, MONTHLY, YEARLY
     }
     
+    // TEMPLATE summaries were built locally from the activity data and still await the model's version
+    public enum SummarySource {
+        AI, TEMPLATE
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -126,6 +152,15 @@ public class WorkSummary {
     public String getAiGeneratedSummary() { return aiGeneratedSummary; }
     public void setAiGeneratedSummary(String aiGeneratedSummary) { this.aiGeneratedSummary = aiGeneratedSummary; }
     
+    public SummarySource getSummarySource() { return summarySource; }
+    public void setSummarySource(SummarySource summarySource) { this.summarySource = summarySource; }
+    
+    public int getBackfillAttempts() { return backfillAttempts; }
+    public void setBackfillAttempts(int backfillAttempts) { this.backfillAttempts = backfillAttempts; }
+    
+    public LocalDateTime getNextBackfillAt() { return nextBackfillAt; }
+    public void setNextBackfillAt(LocalDateTime nextBackfillAt) { this.nextBackfillAt = nextBackfillAt; }
+    
     public String getKeyAchievements() { return keyAchievements; }
     public void setKeyAchievements(String keyAchievements) { this.keyAchievements = keyAchievements; }
     
@@ -0,0 +1,29 @@
+package com.engineerplatform.backend.repository;
+
+import com.engineerplatform.backend.model.CacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+    
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM CacheInvalidation c")
+    long findMaxId();
+    
+    // Pollers pass an id below the highest they have seen and skip the rows they already applied
+    @Query("SELECT c FROM CacheInvalidation c WHERE c.id > :afterId AND c.originNode <> :node ORDER BY c.id")
+    List<CacheInvalidation> findFromOtherNodesAfter(@Param("afterId") long afterId,
+                                                    @Param("node") String node,
+                                                    Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,17 @@
+package com.engineerplatform.backend.repository;
+
+import com.engineerplatform.backend.model.DailyBatchRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyBatchRunRepository extends JpaRepository<DailyBatchRun, Long> {
+    
+    Optional<DailyBatchRun> findByRunDate(LocalDate runDate);
+    
+    List<DailyBatchRun> findByStatusOrderByRunDateAsc(DailyBatchRun.Status status);
+}
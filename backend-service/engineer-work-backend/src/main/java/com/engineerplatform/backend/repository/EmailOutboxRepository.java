@@ -0,0 +1,31 @@
+package com.engineerplatform.backend.repository;
+
+import com.engineerplatform.backend.model.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+    
+    // The lock timeout Hibernate turns into SKIP LOCKED; the value of the deprecated LockOptions.SKIP_LOCKED
+    String SKIP_LOCKED = "-2";
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT m FROM EmailOutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<EmailOutboxMessage> lockDueMessages(@Param("status") EmailOutboxMessage.Status status,
+                                             @Param("now") LocalDateTime now,
+                                             Pageable pageable);
+    
+    long countByStatus(EmailOutboxMessage.Status status);
+}
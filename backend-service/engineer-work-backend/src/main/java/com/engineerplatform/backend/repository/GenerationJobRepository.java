@@ -0,0 +1,67 @@
+package com.engineerplatform.backend.repository;
+
+import com.engineerplatform.backend.model.GenerationJob;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.model.WorkSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GenerationJobRepository extends JpaRepository<GenerationJob, Long> {
+    
+    Optional<GenerationJob> findByIdAndUser(Long id, User user);
+    
+    Optional<GenerationJob> findByUserAndIdempotencyKey(User user, String idempotencyKey);
+    
+    Optional<GenerationJob> findFirstByUserAndSummaryTypeAndTargetDateAndStatusIn(
+        User user, WorkSummary.SummaryType summaryType, LocalDate targetDate, Collection<GenerationJob.Status> statuses);
+    
+    @Query("SELECT j.id FROM GenerationJob j WHERE j.status = :status ORDER BY j.id")
+    List<Long> findIdsByStatus(@Param("status") GenerationJob.Status status);
+    
+    @Query("SELECT j.user.id FROM GenerationJob j WHERE j.id = :id")
+    Long findUserIdById(@Param("id") Long id);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE GenerationJob j SET j.status = :running, j.startedAt = :now, j.updatedAt = :now, " +
+           "j.attempts = j.attempts + 1 WHERE j.id = :id AND j.status = :queued")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now,
+              @Param("queued") GenerationJob.Status queued, @Param("running") GenerationJob.Status running);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE GenerationJob j SET j.status = :queued, j.updatedAt = :now " +
+           "WHERE j.status = :running AND j.startedAt < :staleBefore AND j.attempts < :maxAttempts")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now,
+                     @Param("maxAttempts") int maxAttempts,
+                     @Param("queued") GenerationJob.Status queued, @Param("running") GenerationJob.Status running);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE GenerationJob j SET j.status = :failed, j.errorMessage = :errorMessage, j.completedAt = :now, " +
+           "j.updatedAt = :now WHERE j.status = :running AND j.startedAt < :staleBefore AND j.attempts >= :maxAttempts")
+    int failStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now,
+                  @Param("maxAttempts") int maxAttempts, @Param("errorMessage") String errorMessage,
+                  @Param("running") GenerationJob.Status running, @Param("failed") GenerationJob.Status failed);
+    
+    // Only the worker holding the given attempt may finish the job; a requeue or a newer claim wins
+    @Modifying
+    @Transactional
+    @Query("UPDATE GenerationJob j SET j.status = :status, j.resultSummaryId = :resultSummaryId, " +
+           "j.errorMessage = :errorMessage, j.completedAt = :now, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = :running AND j.attempts = :attempt")
+    int finish(@Param("id") Long id, @Param("attempt") int attempt, @Param("status") GenerationJob.Status status,
+               @Param("resultSummaryId") Long resultSummaryId, @Param("errorMessage") String errorMessage,
+               @Param("now") LocalDateTime now, @Param("running") GenerationJob.Status running);
+}
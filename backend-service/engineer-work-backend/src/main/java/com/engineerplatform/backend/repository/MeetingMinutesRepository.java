@@ -1,19 +1,41 @@
 package com.engineerplatform.backend.repository;
 
+import com.engineerplatform.backend.dto.MeetingListItemDto;
 import com.engineerplatform.backend.model.MeetingMinutes;
 import com.engineerplatform.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MeetingMinutesRepository extends JpaRepository<MeetingMinutes, Long> {
     
+    @EntityGraph("MeetingMinutes.participants")
+    @Query("SELECT mm FROM MeetingMinutes mm WHERE mm.id = :id")
+    Optional<MeetingMinutes> findWithParticipantsById(@Param("id") Long id);
+    
+    @EntityGraph("MeetingMinutes.participants")
+    @Query("SELECT mm FROM MeetingMinutes mm WHERE mm.id IN :ids")
+    List<MeetingMinutes> findWithParticipantsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT mm.id FROM MeetingMinutes mm WHERE mm.id > :afterId AND mm.id <= :maxId ORDER BY mm.id")
+    List<Long> findIdsInRange(@Param("afterId") Long afterId, @Param("maxId") Long maxId, Pageable pageable);
+    
+    @Query("SELECT MAX(mm.id) FROM MeetingMinutes mm")
+    Long findMaxId();
+    
     List<MeetingMinutes> findByMeetingPlatform(MeetingMinutes.MeetingPlatform platform);
     
     Optional<MeetingMinutes> findByMeetingIdAndMeetingPlatform(String meetingId, MeetingMinutes.MeetingPlatform platform);
@@ -34,31 +56,64 @@ public interface MeetingMinutesRepository extends JpaRepository<MeetingMinutes,
         @Param("startDate") LocalDateTime startDate, 
         @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT mm FROM MeetingMinutes mm WHERE mm.meetingTitle LIKE %:keyword% OR mm.aiSummary LIKE %:keyword%")
-    List<MeetingMinutes> searchByKeyword(@Param("keyword") String keyword);
-    
     @Query("SELECT mm FROM MeetingMinutes mm JOIN mm.participants p WHERE p IN :users AND mm.meetingDate BETWEEN :startDate AND :endDate")
     List<MeetingMinutes> findByParticipantsAndDateRange(
         @Param("users") List<User> users, 
         @Param("startDate") LocalDateTime startDate, 
         @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT mm FROM MeetingMinutes mm JOIN mm.participants p WHERE p.id = :userId AND mm.meetingDate BETWEEN :startDate AND :endDate")
-    List<MeetingMinutes> findByParticipantIdAndDateRange(
+    // List rows carry the meeting's columns and a summary preview, never the participants; the transcript
+    // and minutes TEXT columns stay in the table
+    String LIST_ITEM_SELECT = "SELECT new com.engineerplatform.backend.dto.MeetingListItemDto(mm.id, mm.meetingTitle, mm.meetingDate, " +
+        "mm.meetingPlatform, mm.meetingId, mm.durationMinutes, SUBSTRING(mm.aiSummary, 1, " + MeetingListItemDto.PREVIEW_LENGTH + "), " +
+        "mm.attendees, mm.recordingUrl, mm.processed, mm.processedAt, mm.createdAt, mm.updatedAt) " +
+        "FROM MeetingMinutes mm ";
+    
+    String ATTENDED_BY_USER = "WHERE mm.id IN (SELECT m.id FROM MeetingMinutes m JOIN m.participants p WHERE p.id = :userId) ";
+    
+    // A subquery rather than a join, so a meeting attended by several reports is listed once
+    String ATTENDED_BY_REPORTS = "WHERE mm.id IN (SELECT m.id FROM MeetingMinutes m JOIN m.participants p WHERE p.manager.id = :managerId) ";
+    
+    String IN_RANGE = "AND mm.meetingDate BETWEEN :startDate AND :endDate ";
+    
+    // Rows strictly after the cursor in newest-first order
+    String BEFORE_CURSOR = "AND (mm.meetingDate < :beforeDate OR (mm.meetingDate = :beforeDate AND mm.id < :beforeId)) ";
+    
+    String NEWEST_FIRST = "ORDER BY mm.meetingDate DESC, mm.id DESC";
+    
+    @Query(LIST_ITEM_SELECT + "WHERE mm.id IN :ids")
+    List<MeetingListItemDto> findListItemsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query(LIST_ITEM_SELECT + ATTENDED_BY_USER + IN_RANGE + BEFORE_CURSOR + NEWEST_FIRST)
+    List<MeetingListItemDto> findListItemsByParticipantBefore(
+        @Param("userId") Long userId, 
+        @Param("startDate") LocalDateTime startDate, 
+        @Param("endDate") LocalDateTime endDate,
+        @Param("beforeDate") LocalDateTime beforeDate,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable);
+    
+    // Streams hold one fetch of rows at a time instead of the whole result
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LIST_ITEM_SELECT + ATTENDED_BY_USER + IN_RANGE + NEWEST_FIRST)
+    Stream<MeetingListItemDto> streamListItemsByParticipant(
         @Param("userId") Long userId, 
         @Param("startDate") LocalDateTime startDate, 
         @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT DISTINCT mm FROM MeetingMinutes mm JOIN mm.participants p WHERE p.manager.id = :managerId AND mm.meetingDate BETWEEN :startDate AND :endDate")
-    List<MeetingMinutes> findTeamMeetingsByManagerId(
+    @Query(LIST_ITEM_SELECT + ATTENDED_BY_REPORTS + IN_RANGE + BEFORE_CURSOR + NEWEST_FIRST)
+    List<MeetingListItemDto> findListItemsByManagerBefore(
         @Param("managerId") Long managerId, 
         @Param("startDate") LocalDateTime startDate, 
-        @Param("endDate") LocalDateTime endDate);
+        @Param("endDate") LocalDateTime endDate,
+        @Param("beforeDate") LocalDateTime beforeDate,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable);
     
-    @Query("SELECT mm FROM MeetingMinutes mm JOIN mm.participants p WHERE p.id = :userId AND (mm.meetingTitle LIKE %:query% OR mm.aiSummary LIKE %:query% OR mm.keyPoints LIKE %:query%) AND mm.meetingDate BETWEEN :startDate AND :endDate")
-    List<MeetingMinutes> searchByParticipantAndContent(
-        @Param("userId") Long userId, 
-        @Param("query") String query, 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LIST_ITEM_SELECT + ATTENDED_BY_REPORTS + IN_RANGE + NEWEST_FIRST)
+    Stream<MeetingListItemDto> streamListItemsByManager(
+        @Param("managerId") Long managerId, 
         @Param("startDate") LocalDateTime startDate, 
         @Param("endDate") LocalDateTime endDate);
 }
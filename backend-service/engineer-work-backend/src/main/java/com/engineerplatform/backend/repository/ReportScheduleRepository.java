@@ -2,8 +2,13 @@ package com.engineerplatform.backend.repository;
 
 import com.engineerplatform.backend.model.ReportSchedule;
 import com.engineerplatform.backend.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +18,9 @@ import java.util.List;
 @Repository
 public interface ReportScheduleRepository extends JpaRepository<ReportSchedule, Long> {
     
+    // The lock timeout Hibernate turns into SKIP LOCKED; the value of the deprecated LockOptions.SKIP_LOCKED
+    String SKIP_LOCKED = "-2";
+    
     List<ReportSchedule> findByUser(User user);
     
     List<ReportSchedule> findByUserAndActive(User user, boolean active);
@@ -26,6 +34,12 @@ public interface ReportScheduleRepository extends JpaRepository<ReportSchedule,
     @Query("SELECT rs FROM ReportSchedule rs WHERE rs.active = true AND rs.nextScheduled <= :currentTime")
     List<ReportSchedule> findSchedulesDueForExecution(@Param("currentTime") LocalDateTime currentTime);
     
+    // Each node locks its own slice of due schedules; rows another node holds are skipped, not waited on
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT rs FROM ReportSchedule rs WHERE rs.active = true AND rs.nextScheduled <= :currentTime ORDER BY rs.nextScheduled, rs.id")
+    List<ReportSchedule> lockSchedulesDueForExecution(@Param("currentTime") LocalDateTime currentTime, Pageable pageable);
+    
     @Query("SELECT rs FROM ReportSchedule rs WHERE rs.user = :user AND rs.reportType = :reportType AND rs.active = true")
     List<ReportSchedule> findActiveSchedulesByUserAndType(
         @Param("user") User user, 
@@ -0,0 +1,114 @@
+package com.engineerplatform.backend.repository;
+
+import com.engineerplatform.backend.dto.ScoreStatsDto;
+import com.engineerplatform.backend.model.ScoreRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ScoreRollupRepository extends JpaRepository<ScoreRollup, ScoreRollup.Key> {
+    
+    String STATS = "new com.engineerplatform.backend.dto.ScoreStatsDto(";
+    
+    @Query("SELECT " + STATS + "r.key.ownerId, r.key.periodStart, r.summaryCount, " +
+           "r.productivitySum, r.productivityCount, r.productivityMin, r.productivityMax, " +
+           "r.collaborationSum, r.collaborationCount, r.collaborationMin, r.collaborationMax) " +
+           "FROM ScoreRollup r WHERE r.key.scope = :scope AND r.key.ownerId = :ownerId AND r.key.period = :period " +
+           "AND r.key.periodStart BETWEEN :startDate AND :endDate ORDER BY r.key.periodStart")
+    List<ScoreStatsDto> findSeries(
+        @Param("scope") ScoreRollup.Scope scope,
+        @Param("ownerId") Long ownerId,
+        @Param("period") ScoreRollup.Period period,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+    
+    // Whole months from their MONTH rows and the days around them from DAY rows; a range
+    // without a whole month has monthsFrom after monthsTo and reads only DAY rows. Pass
+    // Period.MONTH and Period.DAY
+    @Query("SELECT " + STATS + "r.key.ownerId, MIN(r.key.periodStart), SUM(r.summaryCount), " +
+           "SUM(r.productivitySum), SUM(r.productivityCount), MIN(r.productivityMin), MAX(r.productivityMax), " +
+           "SUM(r.collaborationSum), SUM(r.collaborationCount), MIN(r.collaborationMin), MAX(r.collaborationMax)) " +
+           "FROM ScoreRollup r WHERE r.key.scope = :scope AND r.key.ownerId IN :ownerIds AND (" +
+           "(r.key.period = :month " +
+           "AND r.key.periodStart BETWEEN :monthsFrom AND :monthsTo) OR " +
+           "(r.key.period = :day " +
+           "AND r.key.periodStart BETWEEN :startDate AND :endDate " +
+           "AND r.key.periodStart NOT BETWEEN :monthsFrom AND :monthsEnd)) " +
+           "GROUP BY r.key.ownerId")
+    List<ScoreStatsDto> sumByOwner(
+        @Param("scope") ScoreRollup.Scope scope,
+        @Param("ownerIds") Collection<Long> ownerIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("monthsFrom") LocalDate monthsFrom,
+        @Param("monthsTo") LocalDate monthsTo,
+        @Param("monthsEnd") LocalDate monthsEnd,
+        @Param("month") ScoreRollup.Period month,
+        @Param("day") ScoreRollup.Period day);
+    
+    // findSeries and sumByOwner summed over several owners. The ownerId of the results is one of
+    // the owners; callers replace it with the owner the sum stands for
+    @Query("SELECT " + STATS + "MIN(r.key.ownerId), r.key.periodStart, SUM(r.summaryCount), " +
+           "SUM(r.productivitySum), SUM(r.productivityCount), MIN(r.productivityMin), MAX(r.productivityMax), " +
+           "SUM(r.collaborationSum), SUM(r.collaborationCount), MIN(r.collaborationMin), MAX(r.collaborationMax)) " +
+           "FROM ScoreRollup r WHERE r.key.scope = :scope AND r.key.ownerId IN :ownerIds AND r.key.period = :period " +
+           "AND r.key.periodStart BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.key.periodStart ORDER BY r.key.periodStart")
+    List<ScoreStatsDto> sumSeries(
+        @Param("scope") ScoreRollup.Scope scope,
+        @Param("ownerIds") Collection<Long> ownerIds,
+        @Param("period") ScoreRollup.Period period,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT " + STATS + "MIN(r.key.ownerId), MIN(r.key.periodStart), SUM(r.summaryCount), " +
+           "SUM(r.productivitySum), SUM(r.productivityCount), MIN(r.productivityMin), MAX(r.productivityMax), " +
+           "SUM(r.collaborationSum), SUM(r.collaborationCount), MIN(r.collaborationMin), MAX(r.collaborationMax)) " +
+           "FROM ScoreRollup r WHERE r.key.scope = :scope AND r.key.ownerId IN :ownerIds AND (" +
+           "(r.key.period = :month " +
+           "AND r.key.periodStart BETWEEN :monthsFrom AND :monthsTo) OR " +
+           "(r.key.period = :day " +
+           "AND r.key.periodStart BETWEEN :startDate AND :endDate " +
+           "AND r.key.periodStart NOT BETWEEN :monthsFrom AND :monthsEnd))")
+    ScoreStatsDto sumOverOwners(
+        @Param("scope") ScoreRollup.Scope scope,
+        @Param("ownerIds") Collection<Long> ownerIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("monthsFrom") LocalDate monthsFrom,
+        @Param("monthsTo") LocalDate monthsTo,
+        @Param("monthsEnd") LocalDate monthsEnd,
+        @Param("month") ScoreRollup.Period month,
+        @Param("day") ScoreRollup.Period day);
+    
+    // The spaces keep Hibernate from dropping every cached query; the users cache is not affected
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "score_rollups"))
+    @Query(value = "DELETE FROM score_rollups WHERE scope = 'TEAM' AND owner_id = :managerId", nativeQuery = true)
+    int deleteTeam(@Param("managerId") Long managerId);
+    
+    // Flushes first so pending manager changes are part of the join
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "score_rollups"))
+    @Query(value = "INSERT INTO score_rollups (scope, owner_id, period, period_start, summary_count, " +
+                   "productivity_sum, productivity_count, productivity_min, productivity_max, " +
+                   "collaboration_sum, collaboration_count, collaboration_min, collaboration_max) " +
+                   "SELECT 'TEAM', u.manager_id, r.period, r.period_start, SUM(r.summary_count), " +
+                   "SUM(r.productivity_sum), SUM(r.productivity_count), MIN(r.productivity_min), MAX(r.productivity_max), " +
+                   "SUM(r.collaboration_sum), SUM(r.collaboration_count), MIN(r.collaboration_min), MAX(r.collaboration_max) " +
+                   "FROM score_rollups r JOIN users u ON u.id = r.owner_id " +
+                   "WHERE r.scope = 'USER' AND u.manager_id = :managerId " +
+                   "GROUP BY u.manager_id, r.period, r.period_start",
+           nativeQuery = true)
+    int insertTeamFromMembers(@Param("managerId") Long managerId);
+}
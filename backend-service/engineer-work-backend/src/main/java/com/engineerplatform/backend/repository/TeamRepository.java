@@ -2,11 +2,15 @@ package com.engineerplatform.backend.repository;
 
 import com.engineerplatform.backend.model.Team;
 import com.engineerplatform.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,12 +23,18 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     
     List<Team> findByTeamLead(User teamLead);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT t FROM Team t JOIN t.members m WHERE m = :user")
     List<Team> findByMember(@Param("user") User user);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT t FROM Team t WHERE t.teamLead = :teamLead OR :teamLead MEMBER OF t.members")
     List<Team> findByTeamLeadOrMember(@Param("teamLead") User teamLead);
     
     @Query("SELECT COUNT(m) FROM Team t JOIN t.members m WHERE t.id = :teamId")
     Long countMembersByTeamId(@Param("teamId") Long teamId);
+    
+    // Rows of (member id, team name)
+    @Query("SELECT m.id, t.name FROM Team t JOIN t.members m WHERE m.id IN :userIds")
+    List<Object[]> findTeamNamesByMemberIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,33 @@
+package com.engineerplatform.backend.repository;
+
+import com.engineerplatform.backend.model.TeamSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface TeamSummaryRepository extends JpaRepository<TeamSummary, Long> {
+    
+    @Query("SELECT ts FROM TeamSummary ts WHERE ts.manager.id = :managerId AND ts.periodStart = :periodStart AND ts.periodEnd = :periodEnd")
+    Optional<TeamSummary> findByManagerAndPeriod(
+        @Param("managerId") Long managerId, 
+        @Param("periodStart") LocalDate periodStart, 
+        @Param("periodEnd") LocalDate periodEnd);
+    
+    // Claims a regeneration only if nobody touched the row since it was read
+    @Modifying
+    @Transactional
+    @Query("UPDATE TeamSummary ts SET ts.status = :generating, ts.updatedAt = :now " +
+           "WHERE ts.id = :id AND ts.updatedAt = :seenUpdatedAt")
+    int markGenerating(@Param("id") Long id,
+                       @Param("seenUpdatedAt") LocalDateTime seenUpdatedAt,
+                       @Param("now") LocalDateTime now,
+                       @Param("generating") TeamSummary.Status generating);
+}
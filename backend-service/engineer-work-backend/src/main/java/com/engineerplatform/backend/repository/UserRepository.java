@@ -1,17 +1,25 @@
 package com.engineerplatform.backend.repository;
 
 import com.engineerplatform.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Runs for every authenticated request; cached queries are dropped whenever the users table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
@@ -27,12 +35,52 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.manager = :manager")
     List<User> findDirectReports(@Param("manager") User manager);
     
+    @Query("SELECT DISTINCT u.manager.id FROM User u WHERE u.manager IN :managers")
+    Set<Long> findManagerIdsAmong(@Param("managers") Collection<User> managers);
+    
     @Query("SELECT u FROM User u JOIN u.teams t WHERE t.id = :teamId")
     List<User> findByTeamId(@Param("teamId") Long teamId);
     
+    @EntityGraph("User.manager")
+    @Query("SELECT u FROM User u")
+    List<User> findAllWithManager();
+    
+    @EntityGraph("User.manager")
     @Query("SELECT u FROM User u WHERE u.role IN ('MANAGER', 'LEADER', 'ADMIN')")
     List<User> findAllManagers();
     
+    @EntityGraph("User.manager")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findWithManagerById(@Param("id") Long id);
+    
+    // Walks the target's management chain upwards in one statement; depth-bounded in case of a cycle.
+    // Native queries name the tables they read so the query cache knows when to drop them
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users")})
+    @Query(value = "WITH RECURSIVE chain(id, manager_id, depth) AS (" +
+                   "SELECT id, manager_id, 0 FROM users WHERE id = :userId " +
+                   "UNION ALL " +
+                   "SELECT u.id, u.manager_id, c.depth + 1 FROM users u JOIN chain c ON u.id = c.manager_id WHERE c.depth < 32" +
+                   ") SELECT COUNT(*) FROM chain WHERE manager_id = :managerId",
+           nativeQuery = true)
+    long countManagerInChain(@Param("managerId") Long managerId, @Param("userId") Long userId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT u.id FROM User u WHERE u.manager.id = :managerId")
+    List<Long> findDirectReportIds(@Param("managerId") Long managerId);
+    
+    // Everyone below the manager at any depth, the same bound as countManagerInChain
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users")})
+    @Query(value = "WITH RECURSIVE reports(id, depth) AS (" +
+                   "SELECT id, 1 FROM users WHERE manager_id = :managerId " +
+                   "UNION ALL " +
+                   "SELECT u.id, r.depth + 1 FROM users u JOIN reports r ON u.manager_id = r.id WHERE r.depth < 32" +
+                   ") SELECT DISTINCT id FROM reports",
+           nativeQuery = true)
+    List<Long> findSubordinateIds(@Param("managerId") Long managerId);
+    
     @Query("SELECT u FROM User u WHERE u.enabled = true")
     List<User> findAllActiveUsers();
     
@@ -1,15 +1,27 @@
 package com.engineerplatform.backend.repository;
 
+import com.engineerplatform.backend.dto.WorkSummaryListItemDto;
 import com.engineerplatform.backend.model.User;
 import com.engineerplatform.backend.model.WorkSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface WorkSummaryRepository extends JpaRepository<WorkSummary, Long> {
@@ -18,20 +30,108 @@ public interface WorkSummaryRepository extends JpaRepository<WorkSummary, Long>
     
     List<WorkSummary> findByUserAndSummaryType(User user, WorkSummary.SummaryType summaryType);
     
+    // Fewest attempts first, so rows that keep failing do not hold back newer ones
+    @Query("SELECT ws FROM WorkSummary ws WHERE ws.summarySource = :source AND ws.backfillAttempts < :maxAttempts " +
+           "AND (ws.nextBackfillAt IS NULL OR ws.nextBackfillAt <= :now) ORDER BY ws.backfillAttempts, ws.id")
+    List<WorkSummary> findDueForBackfill(
+        @Param("source") WorkSummary.SummarySource source,
+        @Param("maxAttempts") int maxAttempts,
+        @Param("now") LocalDateTime now,
+        Pageable pageable);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE WorkSummary ws SET ws.backfillAttempts = ws.backfillAttempts + 1, ws.nextBackfillAt = :nextAttemptAt " +
+           "WHERE ws.id = :id")
+    int recordBackfillFailure(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+    
     Optional<WorkSummary> findByUserAndSummaryDateAndSummaryType(
         User user, LocalDate summaryDate, WorkSummary.SummaryType summaryType);
     
+    Optional<WorkSummary> findFirstByUserAndSummaryTypeAndSummaryDateBeforeOrderBySummaryDateDesc(
+        User user, WorkSummary.SummaryType summaryType, LocalDate summaryDate);
+    
+    @Query("SELECT ws.user.id FROM WorkSummary ws WHERE ws.summaryDate = :date AND ws.summaryType = :summaryType")
+    Set<Long> findUserIdsWithSummary(
+        @Param("date") LocalDate date, 
+        @Param("summaryType") WorkSummary.SummaryType summaryType);
+    
     @Query("SELECT ws FROM WorkSummary ws WHERE ws.user = :user AND ws.summaryDate BETWEEN :startDate AND :endDate")
     List<WorkSummary> findByUserAndDateRange(
         @Param("user") User user, 
         @Param("startDate") LocalDate startDate, 
         @Param("endDate") LocalDate endDate);
     
+    // List rows select only the DTO columns and a preview; the activity TEXT columns stay in the table
+    String LIST_ITEM_SELECT = "SELECT new com.engineerplatform.backend.dto.WorkSummaryListItemDto(ws.id, u.id, u.username, ws.summaryDate, " +
+        "ws.summaryType, ws.summarySource, SUBSTRING(ws.aiGeneratedSummary, 1, " + WorkSummaryListItemDto.PREVIEW_LENGTH + "), " +
+        "ws.productivityScore, ws.collaborationScore, ws.createdAt, ws.updatedAt) " +
+        "FROM WorkSummary ws JOIN ws.user u ";
+    
+    // Rows strictly after the cursor in newest-first order
+    String BEFORE_CURSOR = "AND (ws.summaryDate < :beforeDate OR (ws.summaryDate = :beforeDate AND ws.id < :beforeId)) ";
+    
+    String NEWEST_FIRST = "ORDER BY ws.summaryDate DESC, ws.id DESC";
+    
+    @Query(LIST_ITEM_SELECT + "WHERE u.id = :userId AND ws.summaryDate BETWEEN :startDate AND :endDate " + NEWEST_FIRST)
+    List<WorkSummaryListItemDto> findListItemsByUserAndDateRange(
+        @Param("userId") Long userId, 
+        @Param("startDate") LocalDate startDate, 
+        @Param("endDate") LocalDate endDate);
+    
+    @Query(LIST_ITEM_SELECT + "WHERE u.id = :userId AND ws.summaryDate BETWEEN :startDate AND :endDate " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<WorkSummaryListItemDto> findListItemsByUserBefore(
+        @Param("userId") Long userId, 
+        @Param("startDate") LocalDate startDate, 
+        @Param("endDate") LocalDate endDate,
+        @Param("beforeDate") LocalDate beforeDate,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable);
+    
+    // Streams hold one fetch of rows at a time instead of the whole result
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LIST_ITEM_SELECT + "WHERE u.id = :userId AND ws.summaryDate BETWEEN :startDate AND :endDate " + NEWEST_FIRST)
+    Stream<WorkSummaryListItemDto> streamListItemsByUserAndDateRange(
+        @Param("userId") Long userId, 
+        @Param("startDate") LocalDate startDate, 
+        @Param("endDate") LocalDate endDate);
+    
+    @Query(LIST_ITEM_SELECT + "WHERE u.manager.id = :managerId AND ws.summaryDate BETWEEN :startDate AND :endDate " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<WorkSummaryListItemDto> findListItemsByManagerBefore(
+        @Param("managerId") Long managerId, 
+        @Param("startDate") LocalDate startDate, 
+        @Param("endDate") LocalDate endDate,
+        @Param("beforeDate") LocalDate beforeDate,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LIST_ITEM_SELECT + "WHERE u.manager.id = :managerId AND ws.summaryDate BETWEEN :startDate AND :endDate " + NEWEST_FIRST)
+    Stream<WorkSummaryListItemDto> streamListItemsByManagerAndDateRange(
+        @Param("managerId") Long managerId, 
+        @Param("startDate") LocalDate startDate, 
+        @Param("endDate") LocalDate endDate);
+    
     @Query("SELECT ws FROM WorkSummary ws WHERE ws.user IN :users AND ws.summaryDate = :date")
     List<WorkSummary> findByUsersAndDate(
         @Param("users") List<User> users, 
         @Param("date") LocalDate date);
     
+    @EntityGraph("WorkSummary.user")
+    @Query("SELECT ws FROM WorkSummary ws WHERE ws.id = :id")
+    Optional<WorkSummary> findWithUserById(@Param("id") Long id);
+    
+    @EntityGraph("WorkSummary.user")
+    @Query("SELECT ws FROM WorkSummary ws WHERE ws.id IN :ids")
+    List<WorkSummary> findWithUserByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT ws.id FROM WorkSummary ws WHERE ws.id > :afterId AND ws.id <= :maxId ORDER BY ws.id")
+    List<Long> findIdsInRange(@Param("afterId") Long afterId, @Param("maxId") Long maxId, Pageable pageable);
+    
+    @Query("SELECT MAX(ws.id) FROM WorkSummary ws")
+    Long findMaxId();
+    
+    @EntityGraph("WorkSummary.user")
     @Query("SELECT ws FROM WorkSummary ws WHERE ws.user IN :users AND ws.summaryDate BETWEEN :startDate AND :endDate")
     List<WorkSummary> findByUsersAndDateRange(
         @Param("users") List<User> users, 
@@ -43,21 +143,11 @@ public interface WorkSummaryRepository extends JpaRepository<WorkSummary, Long>
         @Param("date") LocalDate date, 
         @Param("summaryType") WorkSummary.SummaryType summaryType);
     
+    @EntityGraph("WorkSummary.user")
     @Query("SELECT ws FROM WorkSummary ws WHERE ws.user.manager = :manager AND ws.summaryDate BETWEEN :startDate AND :endDate")
     List<WorkSummary> findByManagerAndDateRange(
         @Param("manager") User manager, 
         @Param("startDate") LocalDate startDate, 
         @Param("endDate") LocalDate endDate);
-    
-    @Query("SELECT AVG(ws.productivityScore) FROM WorkSummary ws WHERE ws.user = :user AND ws.summaryDate BETWEEN :startDate AND :endDate")
-    Double getAverageProductivityScore(
-        @Param("user") User user, 
-        @Param("startDate") LocalDate startDate, 
-        @Param("endDate") LocalDate endDate);
-    
-    @Query("SELECT AVG(ws.collaborationScore) FROM WorkSummary ws WHERE ws.user = :user AND ws.summaryDate BETWEEN :startDate AND :endDate")
-    Double getAverageCollaborationScore(
-        @Param("user") User user, 
-        @Param("startDate") LocalDate startDate, 
-        @Param("endDate") LocalDate endDate);
+
 }
@@ -0,0 +1,209 @@
+package com.engineerplatform.backend.search;
+
+import com.engineerplatform.backend.dto.MeetingSearchHitDto;
+import com.engineerplatform.backend.model.MeetingMinutes;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.repository.MeetingMinutesRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory Lucene index over meeting minutes for databases without native text search (H2 in
+ * development). Built from the database at startup and kept current as minutes are saved.
+ * Analysis ({@link LuceneText}) and field weights mirror the PostgreSQL search vector, so both
+ * backends match and rank the same way.
+ */
+@Component
+public class LuceneMeetingSearchBackend implements MeetingSearchBackend {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LuceneMeetingSearchBackend.class);
+    
+    private static final int REBUILD_BATCH_SIZE = 500;
+    
+    private static final String ID = "id";
+    private static final String PARTICIPANT = "participant";
+    private static final String MEETING_DATE = "meetingDate";
+    private static final String[] TEXT_FIELDS = {"meetingTitle", "keyPoints", "aiSummary"};
+    // The A, B and C weights PostgreSQL's ts_rank_cd applies to the same fields
+    private static final float[] FIELD_BOOSTS = {1.0f, 0.4f, 0.2f};
+    private static final int[] MAX_PASSAGES = {1, 2, 2};
+    
+    private final MeetingMinutesRepository meetingMinutesRepository;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    
+    @Autowired
+    public LuceneMeetingSearchBackend(MeetingMinutesRepository meetingMinutesRepository) {
+        this.meetingMinutesRepository = meetingMinutesRepository;
+    }
+    
+    @Override
+    public Page<MeetingSearchHitDto> search(Long participantId, SearchQuery query,
+                                            LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        Query match = LuceneText.toQuery(query, TEXT_FIELDS, FIELD_BOOSTS);
+        if (match == null) {
+            return Page.empty(pageable);
+        }
+        
+        Query filtered = new BooleanQuery.Builder()
+            .add(match, BooleanClause.Occur.MUST)
+            .add(new TermQuery(new Term(PARTICIPANT, participantId.toString())), BooleanClause.Occur.FILTER)
+            .add(LongPoint.newRangeQuery(MEETING_DATE, toMillis(startDate), toMillis(endDate)), BooleanClause.Occur.FILTER)
+            .build();
+        
+        try {
+            SearcherManager manager = searcherManager();
+            IndexSearcher searcher = manager.acquire();
+            try {
+                int offset = (int) pageable.getOffset();
+                TopDocs top = searcher.search(filtered, offset + pageable.getPageSize());
+                long total = searcher.count(filtered);
+                if (offset >= top.scoreDocs.length) {
+                    return new PageImpl<>(List.of(), pageable, total);
+                }
+                
+                ScoreDoc[] page = Arrays.copyOfRange(top.scoreDocs, offset, top.scoreDocs.length);
+                Map<String, String[]> highlights = LuceneText.highlighter(searcher)
+                    .highlightFields(TEXT_FIELDS, match, new TopDocs(top.totalHits, page), MAX_PASSAGES);
+                
+                StoredFields storedFields = searcher.storedFields();
+                List<MeetingSearchHitDto> hits = new ArrayList<>(page.length);
+                for (int i = 0; i < page.length; i++) {
+                    Document document = storedFields.document(page[i].doc, Set.of(ID));
+                    Map<String, String> fieldHighlights = new LinkedHashMap<>();
+                    for (String field : TEXT_FIELDS) {
+                        String highlight = highlights.get(field)[i];
+                        if (highlight != null) {
+                            fieldHighlights.put(field, highlight);
+                        }
+                    }
+                    hits.add(new MeetingSearchHitDto(Long.valueOf(document.get(ID)), page[i].score, fieldHighlights));
+                }
+                return new PageImpl<>(hits, pageable, total);
+            } finally {
+                manager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Meeting search failed", e);
+        }
+    }
+    
+    @Override
+    public void reindex(Long meetingId) {
+        Term id = new Term(ID, meetingId.toString());
+        try {
+            SearcherManager manager = searcherManager();
+            MeetingMinutes meeting = meetingMinutesRepository.findWithParticipantsById(meetingId).orElse(null);
+            if (meeting != null) {
+                writer.updateDocument(id, toDocument(meeting));
+            } else {
+                writer.deleteDocuments(id);
+            }
+            manager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index meeting " + meetingId, e);
+        }
+    }
+    
+    @Override
+    public void rebuild() {
+        try {
+            SearcherManager manager = searcherManager();
+            writer.deleteAll();
+            
+            int indexed = 0;
+            long lastId = 0;
+            List<Long> ids;
+            do {
+                ids = meetingMinutesRepository.findIdsInRange(lastId, Long.MAX_VALUE, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (MeetingMinutes meeting : meetingMinutesRepository.findWithParticipantsByIdIn(ids)) {
+                    writer.addDocument(toDocument(meeting));
+                }
+                indexed += ids.size();
+                if (!ids.isEmpty()) {
+                    lastId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == REBUILD_BATCH_SIZE);
+            
+            writer.commit();
+            manager.maybeRefreshBlocking();
+            logger.info("Indexed {} meetings for full-text search", indexed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build the meeting search index", e);
+        }
+    }
+    
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (searcherManager != null) {
+            searcherManager.close();
+            writer.close();
+        }
+    }
+    
+    // Opened on first use, so the index costs nothing when PostgreSQL does the searching
+    private synchronized SearcherManager searcherManager() throws IOException {
+        if (searcherManager == null) {
+            writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(LuceneText.ANALYZER));
+            searcherManager = new SearcherManager(writer, null);
+        }
+        return searcherManager;
+    }
+    
+    private Document toDocument(MeetingMinutes meeting) {
+        Document document = new Document();
+        document.add(new StringField(ID, meeting.getId().toString(), Field.Store.YES));
+        for (User participant : meeting.getParticipants()) {
+            document.add(new StringField(PARTICIPANT, participant.getId().toString(), Field.Store.NO));
+        }
+        document.add(new LongPoint(MEETING_DATE, toMillis(meeting.getMeetingDate())));
+        
+        String[] values = {meeting.getMeetingTitle(), meeting.getKeyPoints(), meeting.getAiSummary()};
+        for (int i = 0; i < TEXT_FIELDS.length; i++) {
+            if (values[i] != null) {
+                document.add(new TextField(TEXT_FIELDS[i], values[i], Field.Store.YES));
+            }
+        }
+        return document;
+    }
+    
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,118 @@
+package com.engineerplatform.backend.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.en.EnglishPossessiveFilter;
+import org.apache.lucene.analysis.snowball.SnowballFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.util.QueryBuilder;
+import org.tartarus.snowball.ext.EnglishStemmer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Text analysis and query translation shared by the Lucene indexes, so a query means the same
+ * thing against every index and against PostgreSQL's english configuration.
+ */
+final class LuceneText {
+    
+    static final Analyzer ANALYZER = new SnowballEnglishAnalyzer();
+    
+    private static final QueryBuilder QUERY_BUILDER = new QueryBuilder(ANALYZER);
+    
+    private LuceneText() {}
+    
+    /**
+     * Every clause of the query must match in at least one of the fields; a field's boost scales
+     * its contribution to the score. Returns null when nothing searchable is left.
+     */
+    static Query toQuery(SearchQuery query, String[] fields, float[] boosts) {
+        List<Query> clauses = new ArrayList<>();
+        query.getTerms().forEach(term -> clauses.add(anyField(fields, boosts, field -> QUERY_BUILDER.createBooleanQuery(field, term))));
+        query.getPhrases().forEach(phrase -> clauses.add(anyField(fields, boosts, field -> QUERY_BUILDER.createPhraseQuery(field, String.join(" ", phrase)))));
+        query.getPrefixes().forEach(prefix -> clauses.add(anyField(fields, boosts, field -> prefixQuery(field, prefix))));
+        
+        // Clauses made only of stop words match nothing; drop them as to_tsquery does
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        clauses.stream()
+            .filter(Objects::nonNull)
+            .forEach(clause -> builder.add(clause, BooleanClause.Occur.MUST));
+        BooleanQuery built = builder.build();
+        return built.clauses().isEmpty() ? null : built;
+    }
+    
+    static UnifiedHighlighter highlighter(IndexSearcher searcher) {
+        return UnifiedHighlighter.builder(searcher, ANALYZER)
+            .withHandleMultiTermQuery(true)
+            .withMaxNoHighlightPassages(0)
+            .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", " ... ", true))
+            .build();
+    }
+    
+    private static Query anyField(String[] fields, float[] boosts, Function<String, Query> perField) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        boolean any = false;
+        for (int i = 0; i < fields.length; i++) {
+            Query fieldQuery = perField.apply(fields[i]);
+            if (fieldQuery != null) {
+                builder.add(new BoostQuery(fieldQuery, boosts[i]), BooleanClause.Occur.SHOULD);
+                any = true;
+            }
+        }
+        return any ? builder.build() : null;
+    }
+    
+    // The prefix is stemmed like an indexed word, which is also how to_tsquery treats word:*
+    private static Query prefixQuery(String field, String prefix) {
+        try (TokenStream tokens = ANALYZER.tokenStream(field, prefix)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            String stemmed = tokens.incrementToken() ? term.toString() : null;
+            tokens.end();
+            return stemmed != null ? new PrefixQuery(new Term(field, stemmed)) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * The pipeline of PostgreSQL's english text search configuration: English stop words and the
+     * Snowball English stemmer. EnglishAnalyzer's Porter stemmer reduces words differently
+     * ("deploy" to "deploi"), which would make prefixes match differently on the two backends.
+     */
+    private static class SnowballEnglishAnalyzer extends Analyzer {
+        
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer source = new StandardTokenizer();
+            TokenStream result = new EnglishPossessiveFilter(source);
+            result = new LowerCaseFilter(result);
+            result = new StopFilter(result, EnglishAnalyzer.ENGLISH_STOP_WORDS_SET);
+            result = new SnowballFilter(result, new EnglishStemmer());
+            return new TokenStreamComponents(source, result);
+        }
+        
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new LowerCaseFilter(in);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.engineerplatform.backend.search;
+
+import com.engineerplatform.backend.dto.MeetingSearchHitDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A full-text index over meeting minutes, restricted to the meetings a user took part in.
+ */
+public interface MeetingSearchBackend {
+    
+    Page<MeetingSearchHitDto> search(Long participantId, SearchQuery query,
+                                     LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    
+    /**
+     * Brings one meeting up to date after it was saved. Backends indexed by the database itself
+     * have nothing to do.
+     */
+    default void reindex(Long meetingId) {}
+    
+    /**
+     * Builds the index from scratch at startup.
+     */
+    default void rebuild() {}
+}
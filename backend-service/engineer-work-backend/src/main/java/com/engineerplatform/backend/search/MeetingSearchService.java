@@ -0,0 +1,76 @@
+package com.engineerplatform.backend.search;
+
+import com.engineerplatform.backend.dto.MeetingSearchHitDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Full-text search over meeting minutes. PostgreSQL searches its own text search column; any
+ * other database (H2 in development) falls back to the embedded Lucene index. AUTO picks the
+ * backend from the connected database.
+ */
+@Service
+public class MeetingSearchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MeetingSearchService.class);
+    
+    public enum Engine {
+        AUTO, POSTGRES, LUCENE
+    }
+    
+    private final MeetingSearchBackend backend;
+    
+    @Autowired
+    public MeetingSearchService(PostgresMeetingSearchBackend postgresBackend,
+                                LuceneMeetingSearchBackend luceneBackend,
+                                DataSource dataSource,
+                                @Value("${app.search.engine:AUTO}") Engine engine) {
+        Engine resolved = engine == Engine.AUTO ? detect(dataSource) : engine;
+        this.backend = resolved == Engine.POSTGRES ? postgresBackend : luceneBackend;
+        logger.info("Meeting search uses the {} backend", resolved);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        backend.rebuild();
+    }
+    
+    public Page<MeetingSearchHitDto> search(Long participantId, String query,
+                                            LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        SearchQuery parsed = SearchQuery.parse(query);
+        if (parsed.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return backend.search(participantId, parsed, startDate, endDate, pageable);
+    }
+    
+    public void reindex(Long meetingId) {
+        try {
+            backend.reindex(meetingId);
+        } catch (Exception e) {
+            // The meeting is saved either way; it is picked up again by the next rebuild
+            logger.warn("Failed to update the search index for meeting {}: {}", meetingId, e.getMessage());
+        }
+    }
+    
+    private static Engine detect(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            return "PostgreSQL".equalsIgnoreCase(product) ? Engine.POSTGRES : Engine.LUCENE;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not determine the database for meeting search", e);
+        }
+    }
+}
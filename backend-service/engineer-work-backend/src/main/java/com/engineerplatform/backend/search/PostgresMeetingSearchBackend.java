@@ -0,0 +1,115 @@
+package com.engineerplatform.backend.search;
+
+import com.engineerplatform.backend.dto.MeetingSearchHitDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Searches the generated search_vector column (db/vendor/postgresql/V3) through its GIN
+ * index. Ranking and the total count only touch matching rows; headlines, which re-parse the
+ * text, are computed for the requested page alone.
+ */
+@Component
+@Transactional(readOnly = true)
+public class PostgresMeetingSearchBackend implements MeetingSearchBackend {
+    
+    private static final String HEADLINE_OPTIONS =
+        "StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2, FragmentDelimiter=\" ... \"";
+    
+    private static final String SEARCH_SQL = """
+        WITH q AS (SELECT to_tsquery('english', :tsquery) AS query),
+        hits AS (
+            SELECT mm.id, mm.meeting_title, mm.key_points, mm.ai_summary, mm.meeting_date,
+                   ts_rank_cd(mm.search_vector, q.query) AS rank,
+                   count(*) OVER () AS total
+            FROM meeting_minutes mm
+            JOIN meeting_participants p ON p.meeting_id = mm.id
+            CROSS JOIN q
+            WHERE p.user_id = :participantId
+              AND mm.meeting_date BETWEEN :startDate AND :endDate
+              AND mm.search_vector @@ q.query
+            ORDER BY rank DESC, mm.meeting_date DESC, mm.id DESC
+            LIMIT :limit OFFSET :offset
+        )
+        SELECT h.id, h.rank, h.total,
+               CASE WHEN to_tsvector('english', coalesce(h.meeting_title, '')) @@ q.query
+                    THEN ts_headline('english', h.meeting_title, q.query, :options) END,
+               CASE WHEN to_tsvector('english', coalesce(h.key_points, '')) @@ q.query
+                    THEN ts_headline('english', h.key_points, q.query, :options) END,
+               CASE WHEN to_tsvector('english', coalesce(h.ai_summary, '')) @@ q.query
+                    THEN ts_headline('english', h.ai_summary, q.query, :options) END
+        FROM hits h CROSS JOIN q
+        ORDER BY h.rank DESC, h.meeting_date DESC, h.id DESC
+        """;
+    
+    private static final String COUNT_SQL = """
+        SELECT count(*)
+        FROM meeting_minutes mm
+        JOIN meeting_participants p ON p.meeting_id = mm.id
+        WHERE p.user_id = :participantId
+          AND mm.meeting_date BETWEEN :startDate AND :endDate
+          AND mm.search_vector @@ to_tsquery('english', :tsquery)
+        """;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<MeetingSearchHitDto> search(Long participantId, SearchQuery query,
+                                            LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(SEARCH_SQL)
+            .setParameter("tsquery", query.toTsQuery())
+            .setParameter("participantId", participantId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .setParameter("limit", pageable.getPageSize())
+            .setParameter("offset", pageable.getOffset())
+            .setParameter("options", HEADLINE_OPTIONS)
+            .getResultList();
+        
+        if (rows.isEmpty()) {
+            // Past the last page the window count is not available
+            long total = pageable.getOffset() == 0 ? 0 : count(participantId, query, startDate, endDate);
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+        
+        List<MeetingSearchHitDto> hits = rows.stream().map(row -> {
+            Map<String, String> highlights = new LinkedHashMap<>();
+            putHighlight(highlights, "meetingTitle", row[3]);
+            putHighlight(highlights, "keyPoints", row[4]);
+            putHighlight(highlights, "aiSummary", row[5]);
+            return new MeetingSearchHitDto(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue(), highlights);
+        }).toList();
+        return new PageImpl<>(hits, pageable, ((Number) rows.get(0)[2]).longValue());
+    }
+    
+    private long count(Long participantId, SearchQuery query, LocalDateTime startDate, LocalDateTime endDate) {
+        return ((Number) entityManager.createNativeQuery(COUNT_SQL)
+            .setParameter("tsquery", query.toTsQuery())
+            .setParameter("participantId", participantId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .getSingleResult()).longValue();
+    }
+    
+    // ts_headline does not escape the document text, so escape it and restore only the match markers
+    private void putHighlight(Map<String, String> highlights, String field, Object headline) {
+        if (headline != null) {
+            highlights.put(field, HtmlUtils.htmlEscape((String) headline)
+                .replace("&lt;mark&gt;", "<mark>")
+                .replace("&lt;/mark&gt;", "</mark>"));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.engineerplatform.backend.search;
+
+import com.engineerplatform.backend.model.SearchIndexChange;
+import com.engineerplatform.backend.repository.SearchIndexChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Keeps the workspace search index of every node current. Each node's index is in memory and
+ * only hears about its own commits, so with app.search.workspace.cluster.enabled every committed
+ * summary and meeting change is also written to the search_index_changes table, and each node
+ * reindexes the documents the other nodes changed. Without it only a single node is supported.
+ * <p>
+ * Ids are taken when a row is inserted, not when it commits, so a row can become visible after
+ * rows with higher ids. Each poll therefore reads again from lookback-ids below the highest id
+ * seen and skips the rows it has already queued.
+ */
+@Component
+public class SearchIndexCoordinator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexCoordinator.class);
+    
+    private final SearchIndexChangeRepository changeRepository;
+    private final WorkspaceSearchIndex index;
+    private final TransactionTemplate publishTransaction;
+    private final TransactionTemplate pollTransaction;
+    private final boolean clusterEnabled;
+    private final String nodeId;
+    private final int batchSize;
+    private final Duration retention;
+    private final long lookbackIds;
+    private final NavigableSet<Long> seenIds = new TreeSet<>();
+    private long lastSeenId;
+    private LocalDateTime lastCleanup = LocalDateTime.now();
+    
+    @Autowired
+    public SearchIndexCoordinator(SearchIndexChangeRepository changeRepository,
+                                  WorkspaceSearchIndex index,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.search.workspace.cluster.enabled:false}") boolean clusterEnabled,
+                                  @Value("${app.search.workspace.cluster.node-id:}") String nodeId,
+                                  @Value("${app.search.workspace.cluster.batch-size:500}") int batchSize,
+                                  @Value("${app.search.workspace.cluster.retention:PT10M}") Duration retention,
+                                  @Value("${app.search.workspace.cluster.lookback-ids:1000}") long lookbackIds) {
+        this.changeRepository = changeRepository;
+        this.index = index;
+        // Changes are written after the change commits, outside its transaction
+        this.publishTransaction = new TransactionTemplate(transactionManager);
+        this.publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pollTransaction = new TransactionTemplate(transactionManager);
+        this.clusterEnabled = clusterEnabled;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.lookbackIds = lookbackIds;
+        
+        // The index is rebuilt from the database at startup, which covers earlier changes
+        if (clusterEnabled) {
+            this.lastSeenId = changeRepository.findMaxId();
+        }
+    }
+    
+    /**
+     * Records the documents a committed transaction changed for the other nodes. Does nothing
+     * unless the cluster hook is enabled.
+     */
+    public void publish(WorkspaceSearchIndex.DocumentType type, Collection<Long> ids) {
+        if (!clusterEnabled || ids.isEmpty()) {
+            return;
+        }
+        try {
+            publishTransaction.executeWithoutResult(status -> changeRepository.saveAll(ids.stream()
+                .map(id -> new SearchIndexChange(type, id, nodeId))
+                .toList()));
+        } catch (RuntimeException e) {
+            // The change itself is committed; other nodes pick it up with their next rebuild
+            logger.warn("Failed to publish search index changes for {} {}: {}", type, ids, e.getMessage());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.search.workspace.cluster.poll-interval:PT2S}",
+               initialDelayString = "${app.search.workspace.cluster.poll-interval:PT2S}")
+    public void applyRemoteChanges() {
+        if (!clusterEnabled) {
+            return;
+        }
+        List<SearchIndexChange> changes;
+        long afterId = lastSeenId - lookbackIds;
+        do {
+            long from = afterId;
+            changes = pollTransaction.execute(status ->
+                changeRepository.findFromOtherNodesAfter(from, nodeId, PageRequest.of(0, batchSize)));
+            if (changes == null || changes.isEmpty()) {
+                break;
+            }
+            int queued = 0;
+            for (SearchIndexChange change : changes) {
+                if (seenIds.add(change.getId())) {
+                    index.enqueue(change.getDocumentType(), change.getDocumentId());
+                    queued++;
+                }
+            }
+            afterId = changes.get(changes.size() - 1).getId();
+            lastSeenId = Math.max(lastSeenId, afterId);
+            if (queued > 0) {
+                logger.debug("Queued {} search index changes from other nodes", queued);
+            }
+        } while (changes.size() == batchSize);
+        seenIds.headSet(lastSeenId - lookbackIds, true).clear();
+        
+        if (lastCleanup.plus(retention).isBefore(LocalDateTime.now())) {
+            lastCleanup = LocalDateTime.now();
+            Integer deleted = pollTransaction.execute(status ->
+                changeRepository.deleteCreatedBefore(lastCleanup.minus(retention)));
+            logger.debug("Deleted {} expired search index changes", deleted);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.engineerplatform.backend.search;
+
+import com.engineerplatform.backend.model.MeetingMinutes;
+import com.engineerplatform.backend.model.WorkSummary;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JPA entity listener that queues changed summaries and meetings for the workspace index.
+ * The index only hears about a change once its transaction has committed, so rolled-back
+ * writes never become searchable. A transaction's changes are collected and published to the
+ * other nodes together.
+ */
+@Component
+public class SearchIndexListener {
+    
+    private static final Object CHANGES_KEY = new Object();
+    
+    private final ObjectProvider<WorkspaceSearchIndex> index;
+    private final ObjectProvider<SearchIndexCoordinator> coordinator;
+    
+    @Autowired
+    public SearchIndexListener(ObjectProvider<WorkspaceSearchIndex> index,
+                               ObjectProvider<SearchIndexCoordinator> coordinator) {
+        this.index = index;
+        this.coordinator = coordinator;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void entityChanged(Object entity) {
+        if (entity instanceof WorkSummary summary) {
+            afterCommit(WorkspaceSearchIndex.DocumentType.SUMMARY, summary.getId());
+        } else if (entity instanceof MeetingMinutes meeting) {
+            afterCommit(WorkspaceSearchIndex.DocumentType.MEETING, meeting.getId());
+        }
+    }
+    
+    private void afterCommit(WorkspaceSearchIndex.DocumentType type, Long id) {
+        if (id == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(Map.of(type, Set.of(id)));
+            return;
+        }
+        
+        @SuppressWarnings("unchecked")
+        Map<WorkspaceSearchIndex.DocumentType, Set<Long>> changes =
+            (Map<WorkspaceSearchIndex.DocumentType, Set<Long>>) TransactionSynchronizationManager.getResource(CHANGES_KEY);
+        if (changes == null) {
+            Map<WorkspaceSearchIndex.DocumentType, Set<Long>> collected = new EnumMap<>(WorkspaceSearchIndex.DocumentType.class);
+            changes = collected;
+            TransactionSynchronizationManager.bindResource(CHANGES_KEY, collected);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(collected);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CHANGES_KEY);
+                }
+            });
+        }
+        changes.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(id);
+    }
+    
+    private void apply(Map<WorkspaceSearchIndex.DocumentType, Set<Long>> changes) {
+        changes.forEach((type, ids) -> {
+            index.ifAvailable(i -> ids.forEach(id -> i.enqueue(type, id)));
+            coordinator.ifAvailable(c -> c.publish(type, ids));
+        });
+    }
+}
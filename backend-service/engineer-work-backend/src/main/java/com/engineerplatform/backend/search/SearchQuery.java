@@ -0,0 +1,91 @@
+package com.engineerplatform.backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A user's search input, parsed once and rendered for whichever search backend is active.
+ * Quoted text is a phrase, a word ending in * is a prefix and everything else is a plain term;
+ * all clauses must match. Words are reduced to letters and digits, so nothing the user types
+ * reaches a backend as query syntax.
+ */
+public final class SearchQuery {
+    
+    static final int MIN_PREFIX_LENGTH = 2;
+    
+    private static final Pattern CLAUSE = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    
+    private final String raw;
+    private final List<String> terms = new ArrayList<>();
+    private final List<String> prefixes = new ArrayList<>();
+    private final List<List<String>> phrases = new ArrayList<>();
+    
+    private SearchQuery(String raw) {
+        this.raw = raw;
+    }
+    
+    public static SearchQuery parse(String raw) {
+        SearchQuery query = new SearchQuery(raw);
+        if (raw == null) {
+            return query;
+        }
+        
+        Matcher clause = CLAUSE.matcher(raw);
+        while (clause.find()) {
+            if (clause.group(1) != null) {
+                query.addWords(words(clause.group(1)), false);
+            } else {
+                String token = clause.group(2);
+                query.addWords(words(token), token.endsWith("*"));
+            }
+        }
+        return query;
+    }
+    
+    // Several words in one clause ("sprint-planning" or a quoted phrase) must appear together
+    private void addWords(List<String> words, boolean prefix) {
+        if (words.isEmpty()) {
+            return;
+        }
+        if (prefix && words.size() == 1 && words.get(0).length() >= MIN_PREFIX_LENGTH) {
+            prefixes.add(words.get(0));
+        } else if (words.size() == 1) {
+            terms.add(words.get(0));
+        } else {
+            phrases.add(words);
+        }
+    }
+    
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        Matcher word = WORD.matcher(text.toLowerCase(Locale.ROOT));
+        while (word.find()) {
+            words.add(word.group());
+        }
+        return words;
+    }
+    
+    public boolean isEmpty() {
+        return terms.isEmpty() && prefixes.isEmpty() && phrases.isEmpty();
+    }
+    
+    /**
+     * Renders the query for PostgreSQL's to_tsquery: phrases joined with the followed-by
+     * operator, prefixes with :*, every clause combined with &amp;.
+     */
+    public String toTsQuery() {
+        List<String> clauses = new ArrayList<>(terms);
+        prefixes.forEach(prefix -> clauses.add(prefix + ":*"));
+        phrases.forEach(phrase -> clauses.add("(" + String.join(" <-> ", phrase) + ")"));
+        return String.join(" & ", clauses);
+    }
+    
+    public String getRaw() { return raw; }
+    public List<String> getTerms() { return terms; }
+    public List<String> getPrefixes() { return prefixes; }
+    public List<List<String>> getPhrases() { return phrases; }
+}
@@ -0,0 +1,564 @@
+package com.engineerplatform.backend.search;
+
+import com.engineerplatform.backend.dto.WorkspaceSearchHitDto;
+import com.engineerplatform.backend.model.MeetingMinutes;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.model.WorkSummary;
+import com.engineerplatform.backend.repository.MeetingMinutesRepository;
+import com.engineerplatform.backend.repository.TeamRepository;
+import com.engineerplatform.backend.repository.WorkSummaryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded Lucene index across work summaries (with their activity data) and meeting minutes.
+ * Entity lifecycle events queue changed rows once their transaction commits; a single worker
+ * applies them and refreshes the searcher, so results trail writes by milliseconds. Each
+ * document carries the ids of the users it belongs to (summary owner, meeting participants) as
+ * ACL terms, and callers pass the users they may see, so visibility follows the current org chart
+ * without reindexing when reporting lines change. The index lives in each node's memory; changes
+ * made on other nodes arrive through {@link SearchIndexCoordinator}.
+ */
+@Component
+public class WorkspaceSearchIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WorkspaceSearchIndex.class);
+    
+    public enum DocumentType {
+        SUMMARY, MEETING
+    }
+    
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final int FACET_LIMIT = 20;
+    
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String ACL = "acl";
+    private static final String DATE = "date";
+    private static final String USERS = "users";
+    private static final String TITLE = "title";
+    private static final String BODY = "body";
+    private static final String ACTIVITY = "activity";
+    private static final String[] TEXT_FIELDS = {TITLE, BODY, ACTIVITY};
+    private static final float[] FIELD_BOOSTS = {1.0f, 0.4f, 0.2f};
+    private static final String[] HIGHLIGHT_FIELDS = {TITLE, BODY};
+    private static final int[] MAX_PASSAGES = {1, 2};
+    
+    public static final String TYPE_FACET = "type";
+    public static final String USER_FACET = "user";
+    public static final String TEAM_FACET = "team";
+    public static final String MONTH_FACET = "month";
+    private static final String[] FACETS = {TYPE_FACET, USER_FACET, TEAM_FACET, MONTH_FACET};
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+    
+    private final WorkSummaryRepository workSummaryRepository;
+    private final MeetingMinutesRepository meetingMinutesRepository;
+    private final TeamRepository teamRepository;
+    private final Executor searchIndexExecutor;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int rebuildParallelism;
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile SortedSetDocValuesReaderState facetState;
+    
+    @Autowired
+    public WorkspaceSearchIndex(WorkSummaryRepository workSummaryRepository,
+                                MeetingMinutesRepository meetingMinutesRepository,
+                                TeamRepository teamRepository,
+                                @Qualifier("searchIndexExecutor") Executor searchIndexExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.search.workspace.enabled:true}") boolean enabled,
+                                @Value("${app.search.workspace.rebuild-parallelism:4}") int rebuildParallelism) throws IOException {
+        this.workSummaryRepository = workSummaryRepository;
+        this.meetingMinutesRepository = meetingMinutesRepository;
+        this.teamRepository = teamRepository;
+        this.searchIndexExecutor = searchIndexExecutor;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.rebuildParallelism = rebuildParallelism;
+        
+        facetsConfig.setMultiValued(USER_FACET, true);
+        facetsConfig.setMultiValued(TEAM_FACET, true);
+        writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(LuceneText.ANALYZER));
+        searcherManager = new SearcherManager(writer, null);
+        
+        Gauge.builder("search.index.documents", writer, w -> w.getDocStats().numDocs).register(meterRegistry);
+        Gauge.builder("search.index.pending", pending, Set::size).register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        requestRebuild();
+    }
+    
+    /**
+     * Queues a saved or deleted entity for indexing. Called after the change committed.
+     */
+    public void enqueue(DocumentType type, Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        pending.add(type.name() + ":" + id);
+        if (drainScheduled.compareAndSet(false, true)) {
+            searchIndexExecutor.execute(this::drainPending);
+        }
+    }
+    
+    /**
+     * Rebuilds the whole index from the database in the background. Returns false when a rebuild
+     * is already running. Searches keep using the current index until the new one is swapped in.
+     */
+    public boolean requestRebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        searchIndexExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("Search index rebuild failed: {}", e.getMessage(), e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+    
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+    
+    public Results search(SearchQuery query, Access access, Filters filters, Pageable pageable) {
+        Query text = LuceneText.toQuery(query, TEXT_FIELDS, FIELD_BOOSTS);
+        if (text == null) {
+            return new Results(Page.empty(pageable), Map.of());
+        }
+        
+        BooleanQuery.Builder base = new BooleanQuery.Builder().add(text, BooleanClause.Occur.MUST);
+        Query accessQuery = access.toQuery();
+        if (accessQuery != null) {
+            base.add(accessQuery, BooleanClause.Occur.FILTER);
+        }
+        if (!filters.getTypes().isEmpty()) {
+            base.add(new TermInSetQuery(TYPE, filters.getTypes().stream().map(type -> new BytesRef(type.name())).toList()),
+                     BooleanClause.Occur.FILTER);
+        }
+        if (filters.getStartDate() != null || filters.getEndDate() != null) {
+            long from = filters.getStartDate() != null ? filters.getStartDate().toEpochDay() : Long.MIN_VALUE;
+            long to = filters.getEndDate() != null ? filters.getEndDate().toEpochDay() : Long.MAX_VALUE;
+            base.add(LongPoint.newRangeQuery(DATE, from, to), BooleanClause.Occur.FILTER);
+        }
+        DrillDownQuery drillDown = new DrillDownQuery(facetsConfig, base.build());
+        if (filters.getUser() != null) {
+            drillDown.add(USER_FACET, filters.getUser());
+        }
+        if (filters.getTeam() != null) {
+            drillDown.add(TEAM_FACET, filters.getTeam());
+        }
+        
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                if (searcher.getIndexReader().numDocs() == 0) {
+                    return new Results(Page.empty(pageable), Map.of());
+                }
+                
+                int offset = (int) pageable.getOffset();
+                FacetsCollector facetsCollector = new FacetsCollector();
+                TopDocs top = FacetsCollector.search(searcher, drillDown, offset + pageable.getPageSize(), facetsCollector);
+                long total = facetsCollector.getMatchingDocs().stream().mapToLong(docs -> docs.totalHits).sum();
+                Map<String, Map<String, Integer>> facets = countFacets(searcher, facetsCollector);
+                if (offset >= top.scoreDocs.length) {
+                    return new Results(new PageImpl<>(List.of(), pageable, total), facets);
+                }
+                
+                ScoreDoc[] page = Arrays.copyOfRange(top.scoreDocs, offset, top.scoreDocs.length);
+                Map<String, String[]> highlights = LuceneText.highlighter(searcher)
+                    .highlightFields(HIGHLIGHT_FIELDS, text, new TopDocs(top.totalHits, page), MAX_PASSAGES);
+                
+                StoredFields storedFields = searcher.storedFields();
+                List<WorkspaceSearchHitDto> hits = new ArrayList<>(page.length);
+                for (int i = 0; i < page.length; i++) {
+                    Document document = storedFields.document(page[i].doc);
+                    Map<String, String> fieldHighlights = new LinkedHashMap<>();
+                    for (String field : HIGHLIGHT_FIELDS) {
+                        String highlight = highlights.get(field)[i];
+                        if (highlight != null) {
+                            fieldHighlights.put(field, highlight);
+                        }
+                    }
+                    hits.add(new WorkspaceSearchHitDto(
+                        document.get(TYPE),
+                        document.getField(ID).numericValue().longValue(),
+                        document.get(TITLE),
+                        LocalDate.ofEpochDay(document.getField(DATE).numericValue().longValue()),
+                        Arrays.asList(document.getValues(USERS)),
+                        page[i].score,
+                        fieldHighlights));
+                }
+                return new Results(new PageImpl<>(hits, pageable, total), facets);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed", e);
+        }
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        IOUtils.close(searcherManager, writer);
+    }
+    
+    private Map<String, Map<String, Integer>> countFacets(IndexSearcher searcher, FacetsCollector facetsCollector) throws IOException {
+        SortedSetDocValuesReaderState state = facetState;
+        if (state == null || state.getReader() != searcher.getIndexReader()) {
+            state = new DefaultSortedSetDocValuesReaderState(searcher.getIndexReader(), facetsConfig);
+            facetState = state;
+        }
+        
+        SortedSetDocValuesFacetCounts counts = new SortedSetDocValuesFacetCounts(state, facetsCollector);
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        for (String dimension : FACETS) {
+            // A dimension no document has a value for yet is unknown to the reader state
+            FacetResult result = state.getOrdRange(dimension) != null ? counts.getTopChildren(FACET_LIMIT, dimension) : null;
+            Map<String, Integer> values = new LinkedHashMap<>();
+            if (result != null) {
+                for (LabelAndValue labelAndValue : result.labelValues) {
+                    values.put(labelAndValue.label, labelAndValue.value.intValue());
+                }
+            }
+            facets.put(dimension, values);
+        }
+        return facets;
+    }
+    
+    private void drainPending() {
+        drainScheduled.set(false);
+        Map<DocumentType, List<Long>> idsByType = new HashMap<>();
+        for (String key : List.copyOf(pending)) {
+            pending.remove(key);
+            int separator = key.indexOf(':');
+            idsByType.computeIfAbsent(DocumentType.valueOf(key.substring(0, separator)), type -> new ArrayList<>())
+                .add(Long.valueOf(key.substring(separator + 1)));
+        }
+        if (idsByType.isEmpty()) {
+            return;
+        }
+        
+        try {
+            for (Map.Entry<DocumentType, List<Long>> entry : idsByType.entrySet()) {
+                DocumentType type = entry.getKey();
+                Map<Long, Document> documents = load(type, entry.getValue());
+                for (Long id : entry.getValue()) {
+                    Term key = new Term(KEY, type.name() + ":" + id);
+                    Document document = documents.get(id);
+                    if (document != null) {
+                        writer.updateDocument(key, facetsConfig.build(document));
+                    } else {
+                        writer.deleteDocuments(key);
+                    }
+                }
+            }
+            searcherManager.maybeRefresh();
+        } catch (Exception e) {
+            // The next rebuild picks these rows up again
+            logger.warn("Failed to apply search index updates {}: {}", idsByType, e.getMessage());
+        }
+    }
+    
+    private void rebuild() throws Exception {
+        logger.info("Rebuilding the search index with {} partitions per type", rebuildParallelism);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ForkJoinPool pool = new ForkJoinPool(rebuildParallelism);
+        List<CompletableFuture<Directory>> partitions = new ArrayList<>();
+        try {
+            // Each id range is indexed into its own directory in parallel, then merged in as a segment
+            for (DocumentType type : DocumentType.values()) {
+                Long maxId = type == DocumentType.SUMMARY ? workSummaryRepository.findMaxId() : meetingMinutesRepository.findMaxId();
+                if (maxId == null) {
+                    continue;
+                }
+                long step = Math.max(1, (maxId + rebuildParallelism - 1) / rebuildParallelism);
+                for (long afterId = 0; afterId < maxId; afterId += step) {
+                    long from = afterId;
+                    long to = Math.min(afterId + step, maxId);
+                    partitions.add(CompletableFuture.supplyAsync(() -> buildPartition(type, from, to), pool));
+                }
+            }
+            
+            List<Directory> directories = partitions.stream().map(CompletableFuture::join).toList();
+            try {
+                writer.deleteAll();
+                writer.addIndexes(directories.toArray(Directory[]::new));
+                writer.commit();
+            } finally {
+                IOUtils.close(directories);
+            }
+            searcherManager.maybeRefreshBlocking();
+            logger.info("Search index rebuilt with {} documents from {} partitions", writer.getDocStats().numDocs, directories.size());
+        } finally {
+            pool.shutdown();
+            sample.stop(Timer.builder("search.index.rebuild.duration").register(meterRegistry));
+        }
+    }
+    
+    private Directory buildPartition(DocumentType type, long afterId, long maxId) {
+        Directory directory = new ByteBuffersDirectory();
+        try (IndexWriter partitionWriter = new IndexWriter(directory, new IndexWriterConfig(LuceneText.ANALYZER))) {
+            long lastId = afterId;
+            List<Long> ids;
+            do {
+                PageRequest batch = PageRequest.of(0, LOAD_BATCH_SIZE);
+                ids = type == DocumentType.SUMMARY
+                    ? workSummaryRepository.findIdsInRange(lastId, maxId, batch)
+                    : meetingMinutesRepository.findIdsInRange(lastId, maxId, batch);
+                for (Document document : load(type, ids).values()) {
+                    partitionWriter.addDocument(facetsConfig.build(document));
+                }
+                if (!ids.isEmpty()) {
+                    lastId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == LOAD_BATCH_SIZE);
+            partitionWriter.forceMerge(1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index " + type + " ids " + afterId + "-" + maxId, e);
+        }
+        return directory;
+    }
+    
+    private Map<Long, Document> load(DocumentType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        
+        Map<Long, Document> documents = new HashMap<>();
+        if (type == DocumentType.SUMMARY) {
+            List<WorkSummary> summaries = workSummaryRepository.findWithUserByIdIn(ids);
+            Map<Long, List<String>> teams = teamsByUser(summaries.stream().map(summary -> summary.getUser().getId()).collect(Collectors.toSet()));
+            summaries.forEach(summary -> documents.put(summary.getId(), toDocument(summary, teams)));
+        } else {
+            List<MeetingMinutes> meetings = meetingMinutesRepository.findWithParticipantsByIdIn(ids);
+            Map<Long, List<String>> teams = teamsByUser(meetings.stream()
+                .flatMap(meeting -> meeting.getParticipants().stream())
+                .map(User::getId)
+                .collect(Collectors.toSet()));
+            meetings.forEach(meeting -> documents.put(meeting.getId(), toDocument(meeting, teams)));
+        }
+        return documents;
+    }
+    
+    private Map<Long, List<String>> teamsByUser(Set<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return teamRepository.findTeamNamesByMemberIds(userIds).stream()
+            .collect(Collectors.groupingBy(row -> (Long) row[0], Collectors.mapping(row -> (String) row[1], Collectors.toList())));
+    }
+    
+    private Document toDocument(WorkSummary summary, Map<Long, List<String>> teams) {
+        Document document = newDocument(DocumentType.SUMMARY, summary.getId(), summary.getSummaryDate());
+        String kind = summary.getSummaryType() != null ? summary.getSummaryType().name().charAt(0) + summary.getSummaryType().name().substring(1).toLowerCase() : "Work";
+        addText(document, TITLE, kind + " summary for " + summary.getUser().getFullName(), true);
+        addText(document, BODY, join(summary.getAiGeneratedSummary(), summary.getKeyAchievements()), true);
+        addText(document, ACTIVITY, join(summary.getGithubCommits(), summary.getGithubPullRequests(), summary.getGithubReviews(),
+            summary.getJiraTickets(), summary.getConfluenceDocs(), summary.getSlackMessages(),
+            summary.getMeetingsAttended(), summary.getCustomerIssuesResolved()), false);
+        addUsers(document, List.of(summary.getUser()), teams);
+        return document;
+    }
+    
+    private Document toDocument(MeetingMinutes meeting, Map<Long, List<String>> teams) {
+        Document document = newDocument(DocumentType.MEETING, meeting.getId(), meeting.getMeetingDate().toLocalDate());
+        addText(document, TITLE, meeting.getMeetingTitle() != null ? meeting.getMeetingTitle() : "Meeting", true);
+        addText(document, BODY, join(meeting.getAiSummary(), meeting.getKeyPoints(), meeting.getDecisionsMade(), meeting.getActionItems()), true);
+        addText(document, ACTIVITY, meeting.getAttendees(), false);
+        addUsers(document, meeting.getParticipants(), teams);
+        return document;
+    }
+    
+    private Document newDocument(DocumentType type, Long id, LocalDate date) {
+        Document document = new Document();
+        document.add(new StringField(KEY, type.name() + ":" + id, Field.Store.NO));
+        document.add(new StringField(TYPE, type.name(), Field.Store.YES));
+        document.add(new StoredField(ID, id));
+        document.add(new LongPoint(DATE, date.toEpochDay()));
+        document.add(new StoredField(DATE, date.toEpochDay()));
+        document.add(new SortedSetDocValuesFacetField(TYPE_FACET, type.name()));
+        document.add(new SortedSetDocValuesFacetField(MONTH_FACET, date.format(MONTH)));
+        return document;
+    }
+    
+    private void addUsers(Document document, Collection<User> users, Map<Long, List<String>> teams) {
+        Set<String> teamNames = new LinkedHashSet<>();
+        for (User user : users) {
+            document.add(new StringField(ACL, user.getId().toString(), Field.Store.NO));
+            document.add(new StoredField(USERS, user.getUsername()));
+            document.add(new SortedSetDocValuesFacetField(USER_FACET, user.getUsername()));
+            teamNames.addAll(teams.getOrDefault(user.getId(), List.of()));
+        }
+        teamNames.forEach(team -> document.add(new SortedSetDocValuesFacetField(TEAM_FACET, team)));
+    }
+    
+    private void addText(Document document, String field, String value, boolean stored) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, stored ? Field.Store.YES : Field.Store.NO));
+        }
+    }
+    
+    private static String join(String... parts) {
+        return Arrays.stream(parts)
+            .filter(Objects::nonNull)
+            .filter(part -> !part.isBlank())
+            .collect(Collectors.joining("\n"));
+    }
+    
+    /**
+     * Whose documents a caller may see: summaries owned by, and meetings attended by, the given
+     * users. A null set leaves that type unrestricted.
+     */
+    public static class Access {
+        
+        private final Set<Long> summaryOwners;
+        private final Set<Long> meetingParticipants;
+        
+        public Access(Set<Long> summaryOwners, Set<Long> meetingParticipants) {
+            this.summaryOwners = summaryOwners;
+            this.meetingParticipants = meetingParticipants;
+        }
+        
+        public static Access unrestricted() {
+            return new Access(null, null);
+        }
+        
+        Query toQuery() {
+            if (summaryOwners == null && meetingParticipants == null) {
+                return null;
+            }
+            return new BooleanQuery.Builder()
+                .add(typeVisibleTo(DocumentType.SUMMARY, summaryOwners), BooleanClause.Occur.SHOULD)
+                .add(typeVisibleTo(DocumentType.MEETING, meetingParticipants), BooleanClause.Occur.SHOULD)
+                .build();
+        }
+        
+        private static Query typeVisibleTo(DocumentType type, Set<Long> userIds) {
+            BooleanQuery.Builder builder = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER);
+            if (userIds != null) {
+                builder.add(new TermInSetQuery(ACL, userIds.stream().map(id -> new BytesRef(id.toString())).toList()),
+                            BooleanClause.Occur.FILTER);
+            }
+            return builder.build();
+        }
+    }
+    
+    public static class Filters {
+        
+        private final Set<DocumentType> types;
+        private final String user;
+        private final String team;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        
+        public Filters(Set<DocumentType> types, String user, String team, LocalDate startDate, LocalDate endDate) {
+            this.types = types != null ? types : Set.of();
+            this.user = user;
+            this.team = team;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+        
+        public Set<DocumentType> getTypes() { return types; }
+        public String getUser() { return user; }
+        public String getTeam() { return team; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+    }
+    
+    public static class Results {
+        
+        private final Page<WorkspaceSearchHitDto> hits;
+        private final Map<String, Map<String, Integer>> facets;
+        
+        public Results(Page<WorkspaceSearchHitDto> hits, Map<String, Map<String, Integer>> facets) {
+            this.hits = hits;
+            this.facets = facets;
+        }
+        
+        public Page<WorkspaceSearchHitDto> getHits() { return hits; }
+        public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    }
+}
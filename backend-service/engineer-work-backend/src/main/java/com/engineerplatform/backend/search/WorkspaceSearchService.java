@@ -0,0 +1,52 @@
+package com.engineerplatform.backend.search;
+
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Search across summaries and meetings with the same visibility as the rest of the API:
+ * summaries of the caller and anyone below them in the management chain, meetings the caller
+ * or one of their direct reports attended, and everything for admins.
+ */
+@Service
+public class WorkspaceSearchService {
+    
+    private final WorkspaceSearchIndex index;
+    private final UserRepository userRepository;
+    
+    @Autowired
+    public WorkspaceSearchService(WorkspaceSearchIndex index, UserRepository userRepository) {
+        this.index = index;
+        this.userRepository = userRepository;
+    }
+    
+    public WorkspaceSearchIndex.Results search(User user, String query, WorkspaceSearchIndex.Filters filters, Pageable pageable) {
+        return index.search(SearchQuery.parse(query), accessFor(user), filters, pageable);
+    }
+    
+    public boolean requestRebuild() {
+        return index.requestRebuild();
+    }
+    
+    private WorkspaceSearchIndex.Access accessFor(User user) {
+        if (user.getRole() == User.Role.ADMIN) {
+            return WorkspaceSearchIndex.Access.unrestricted();
+        }
+        
+        Set<Long> summaryOwners = new HashSet<>();
+        Set<Long> meetingParticipants = new HashSet<>();
+        summaryOwners.add(user.getId());
+        meetingParticipants.add(user.getId());
+        if (user.getRole() == User.Role.MANAGER || user.getRole() == User.Role.LEADER) {
+            summaryOwners.addAll(userRepository.findSubordinateIds(user.getId()));
+            meetingParticipants.addAll(userRepository.findDirectReportIds(user.getId()));
+        }
+        return new WorkspaceSearchIndex.Access(summaryOwners, meetingParticipants);
+    }
+}
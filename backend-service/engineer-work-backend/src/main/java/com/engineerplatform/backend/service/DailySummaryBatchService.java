@@ -0,0 +1,302 @@
+package com.engineerplatform.backend.service;
+
+import com.engineerplatform.backend.llm.LlmPriority;
+import com.engineerplatform.backend.model.DailyBatchRun;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.model.WorkSummary;
+import com.engineerplatform.backend.repository.DailyBatchRunRepository;
+import com.engineerplatform.backend.repository.UserRepository;
+import com.engineerplatform.backend.repository.WorkSummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pre-generates every active user's daily summary once the day's report time has passed, so
+ * dashboard reads find them in the database. Users are spread over a work-stealing pool with
+ * separate limits on concurrent integration fetches and model calls. A run is recorded in
+ * daily_batch_runs; the saved summaries are its checkpoint, so a run interrupted by a restart
+ * resumes with the users that are still missing. Finished summaries are inserted together every
+ * checkpoint-every users, just before the run's counters are saved. A run that has not finished
+ * after max-attempts is marked FAILED instead of being resumed again.
+ */
+@Service
+public class DailySummaryBatchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DailySummaryBatchService.class);
+    
+    private enum Outcome {
+        GENERATED, SKIPPED, FAILED
+    }
+    
+    private final DailyBatchRunRepository runRepository;
+    private final UserRepository userRepository;
+    private final WorkSummaryRepository workSummaryRepository;
+    private final WorkSummaryService workSummaryService;
+    private final MeterRegistry meterRegistry;
+    private final Executor batchExecutor;
+    private final boolean enabled;
+    private final LocalTime reportTime;
+    private final int integrationConcurrency;
+    private final int llmConcurrency;
+    private final int checkpointEvery;
+    private final int maxAttempts;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger totalUsers = new AtomicInteger();
+    private final AtomicInteger processedUsers = new AtomicInteger();
+    
+    @Autowired
+    public DailySummaryBatchService(DailyBatchRunRepository runRepository,
+                                    UserRepository userRepository,
+                                    WorkSummaryRepository workSummaryRepository,
+                                    WorkSummaryService workSummaryService,
+                                    MeterRegistry meterRegistry,
+                                    @Qualifier("dailyBatchExecutor") Executor batchExecutor,
+                                    @Value("${app.batch.daily.enabled:true}") boolean enabled,
+                                    @Value("${app.scheduling.daily-report-time}") String dailyReportTime,
+                                    @Value("${app.batch.daily.integration-concurrency:4}") int integrationConcurrency,
+                                    @Value("${app.batch.daily.llm-concurrency:2}") int llmConcurrency,
+                                    @Value("${app.batch.daily.checkpoint-every:25}") int checkpointEvery,
+                                    @Value("${app.batch.daily.max-attempts:3}") int maxAttempts) {
+        this.runRepository = runRepository;
+        this.userRepository = userRepository;
+        this.workSummaryRepository = workSummaryRepository;
+        this.workSummaryService = workSummaryService;
+        this.meterRegistry = meterRegistry;
+        this.batchExecutor = batchExecutor;
+        this.enabled = enabled;
+        this.reportTime = LocalTime.parse(dailyReportTime);
+        this.integrationConcurrency = integrationConcurrency;
+        this.llmConcurrency = llmConcurrency;
+        this.checkpointEvery = checkpointEvery;
+        this.maxAttempts = maxAttempts;
+        
+        Gauge.builder("batch.daily.run.users", totalUsers, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("batch.daily.run.processed", processedUsers, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("batch.daily.running", running, r -> r.get() ? 1 : 0).register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.batch.daily.poll-interval:PT1M}",
+               initialDelayString = "${app.batch.daily.poll-interval:PT1M}")
+    public void runIfDue() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        // The batch can take hours, so it runs on its own thread and this poll returns right away
+        try {
+            batchExecutor.execute(this::runDue);
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            logger.warn("Could not start the daily summary batch: {}", e.getMessage());
+        }
+    }
+    
+    private void runDue() {
+        try {
+            // Runs left RUNNING by a crash or restart are finished first
+            for (DailyBatchRun run : runRepository.findByStatusOrderByRunDateAsc(DailyBatchRun.Status.RUNNING)) {
+                // A crash mid-run leaves no error behind, only the attempt count
+                if (run.getAttempts() >= maxAttempts) {
+                    fail(run, "Did not finish in " + run.getAttempts() + " attempts");
+                    continue;
+                }
+                logger.info("Resuming daily summary batch for {} after {} processed users", run.getRunDate(), run.getProcessedUsers());
+                executeOrRecordFailure(run);
+            }
+            
+            LocalDate today = LocalDate.now();
+            if (LocalTime.now().isBefore(reportTime) || runRepository.findByRunDate(today).isPresent()) {
+                return;
+            }
+            
+            DailyBatchRun run = new DailyBatchRun();
+            run.setRunDate(today);
+            try {
+                run = runRepository.saveAndFlush(run);
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("Daily summary batch for {} was started elsewhere", today);
+                return;
+            }
+            executeOrRecordFailure(run);
+        
+        } catch (Exception e) {
+            logger.error("Daily summary batch failed: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    private void executeOrRecordFailure(DailyBatchRun run) {
+        try {
+            execute(run);
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            if (run.getAttempts() >= maxAttempts) {
+                fail(run, "Gave up after " + run.getAttempts() + " attempts: " + error);
+                return;
+            }
+            // Stays RUNNING and is resumed on the next poll
+            logger.error("Daily summary batch for {} failed on attempt {}: {}", run.getRunDate(), run.getAttempts(), error, e);
+            synchronized (run) {
+                run.setLastError(error);
+                runRepository.save(run);
+            }
+        }
+    }
+    
+    private void fail(DailyBatchRun run, String error) {
+        logger.error("Daily summary batch for {} failed: {}", run.getRunDate(), error);
+        synchronized (run) {
+            run.setStatus(DailyBatchRun.Status.FAILED);
+            run.setLastError(error);
+            run.setCompletedAt(LocalDateTime.now());
+            runRepository.save(run);
+        }
+    }
+    
+    private void execute(DailyBatchRun run) {
+        LocalDate date = run.getRunDate();
+        List<User> users = userRepository.findAllActiveUsers();
+        Set<Long> alreadyGenerated = workSummaryRepository.findUserIdsWithSummary(date, WorkSummary.SummaryType.DAILY);
+        
+        run.setTotalUsers(users.size());
+        run.setGeneratedUsers(0);
+        run.setSkippedUsers(0);
+        run.setFailedUsers(0);
+        run.setAttempts(run.getAttempts() + 1);
+        if (run.getStartedAt() == null) {
+            run.setStartedAt(LocalDateTime.now());
+        }
+        runRepository.save(run);
+        
+        totalUsers.set(users.size());
+        processedUsers.set(0);
+        logger.info("Generating daily summaries for {} on {} users ({} already done)", date, users.size(), alreadyGenerated.size());
+        
+        Semaphore integrationPermits = new Semaphore(integrationConcurrency);
+        Semaphore llmPermits = new Semaphore(llmConcurrency);
+        // One thread per permit of either kind keeps both stages busy while the other waits
+        ForkJoinPool pool = new ForkJoinPool(integrationConcurrency + llmConcurrency);
+        // Guarded by the run's lock like its counters
+        List<WorkSummary> unsaved = new ArrayList<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            CompletableFuture.allOf(users.stream()
+                .map(user -> CompletableFuture.runAsync(() -> {
+                    if (alreadyGenerated.contains(user.getId())) {
+                        record(run, Outcome.SKIPPED, null, unsaved);
+                        return;
+                    }
+                    WorkSummary summary = generate(user, date, integrationPermits, llmPermits);
+                    record(run, summary != null ? Outcome.GENERATED : Outcome.FAILED, summary, unsaved);
+                }, pool))
+                .toArray(CompletableFuture[]::new))
+                .join();
+        } finally {
+            pool.shutdown();
+            sample.stop(Timer.builder("batch.daily.duration").register(meterRegistry));
+        }
+        
+        synchronized (run) {
+            saveSummaries(unsaved);
+            run.setStatus(DailyBatchRun.Status.COMPLETED);
+            run.setCompletedAt(LocalDateTime.now());
+            runRepository.save(run);
+        }
+        logger.info("Daily summary batch for {} completed: {} generated, {} skipped, {} failed",
+                   date, run.getGeneratedUsers(), run.getSkippedUsers(), run.getFailedUsers());
+    }
+    
+    private WorkSummary generate(User user, LocalDate date, Semaphore integrationPermits, Semaphore llmPermits) {
+        try {
+            WorkSummary summary;
+            integrationPermits.acquire();
+            try {
+                summary = workSummaryService.collectDailySummary(user, date);
+            } finally {
+                integrationPermits.release();
+            }
+            
+            llmPermits.acquire();
+            try {
+                return workSummaryService.summarizeDailySummary(summary, LlmPriority.BATCH);
+            } finally {
+                llmPermits.release();
+            }
+        
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            logger.warn("Nightly daily summary for user {} on {} failed: {}", user.getUsername(), date, e.getMessage());
+            return null;
+        }
+    }
+    
+    private void record(DailyBatchRun run, Outcome outcome, WorkSummary summary, List<WorkSummary> unsaved) {
+        Counter.builder("batch.daily.users")
+            .tag("outcome", outcome.name().toLowerCase())
+            .register(meterRegistry)
+            .increment();
+        
+        synchronized (run) {
+            switch (outcome) {
+                case GENERATED -> run.setGeneratedUsers(run.getGeneratedUsers() + 1);
+                case SKIPPED -> run.setSkippedUsers(run.getSkippedUsers() + 1);
+                case FAILED -> run.setFailedUsers(run.getFailedUsers() + 1);
+            }
+            if (summary != null) {
+                unsaved.add(summary);
+            }
+            processedUsers.set(run.getProcessedUsers());
+            if (run.getProcessedUsers() % checkpointEvery == 0) {
+                saveSummaries(unsaved);
+                runRepository.save(run);
+            }
+        }
+    }
+    
+    private void saveSummaries(List<WorkSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+        try {
+            workSummaryService.saveSummaries(summaries);
+        } catch (DataIntegrityViolationException e) {
+            // A summary generated on request in the meantime fails the whole batch; keep the others
+            logger.info("Batch insert of {} daily summaries hit an existing summary, saving them one by one", summaries.size());
+            for (WorkSummary summary : summaries) {
+                summary.setId(null);
+                try {
+                    workSummaryService.saveSummaries(List.of(summary));
+                } catch (DataIntegrityViolationException duplicate) {
+                    logger.debug("Daily summary for user {} on {} already exists", summary.getUser().getUsername(), summary.getSummaryDate());
+                }
+            }
+        }
+        summaries.clear();
+    }
+}
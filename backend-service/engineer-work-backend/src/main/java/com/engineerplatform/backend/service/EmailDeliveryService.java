@@ -0,0 +1,212 @@
+package com.engineerplatform.backend.service;
+
+import com.engineerplatform.backend.model.EmailOutboxMessage;
+import com.engineerplatform.backend.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional email outbox. Callers write messages in their own transaction with
+ * {@link #enqueue}, so mail is recorded exactly when the work that produced it commits. A
+ * worker drains due messages in batches, sending each batch over a single SMTP session, and
+ * retries failures with exponential backoff until max-attempts.
+ */
+@Service
+public class EmailDeliveryService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmailDeliveryService.class);
+    
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxRecipientsPerMessage;
+    private final int maxAttempts;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+    private final String fromAddress;
+    private final AtomicLong pendingMessages = new AtomicLong();
+    
+    @Autowired
+    public EmailDeliveryService(EmailOutboxRepository outboxRepository,
+                                JavaMailSender mailSender,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.mail.outbox.batch-size:20}") int batchSize,
+                                @Value("${app.mail.outbox.max-recipients-per-message:50}") int maxRecipientsPerMessage,
+                                @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+                                @Value("${app.mail.outbox.retry-base-delay:1m}") Duration retryBaseDelay,
+                                @Value("${app.mail.outbox.retry-max-delay:1h}") Duration retryMaxDelay,
+                                @Value("${app.mail.from:${spring.mail.username}}") String fromAddress) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxRecipientsPerMessage = maxRecipientsPerMessage;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseDelay = retryBaseDelay;
+        this.retryMaxDelay = retryMaxDelay;
+        this.fromAddress = fromAddress;
+        
+        Gauge.builder("email.outbox.depth", pendingMessages, AtomicLong::get).register(meterRegistry);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EmailOutboxMessage enqueue(Long reportScheduleId, List<String> recipients, String subject, String body) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setReportScheduleId(reportScheduleId);
+        message.setRecipients(String.join(",", recipients));
+        message.setSubject(subject);
+        message.setBody(body);
+        return outboxRepository.save(message);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT5S}", initialDelayString = "${app.mail.outbox.poll-interval:PT5S}")
+    public void deliverPending() {
+        try {
+            int claimed;
+            do {
+                Integer batch = transactionTemplate.execute(status -> deliverBatch());
+                claimed = batch != null ? batch : 0;
+            } while (claimed == batchSize);
+        } finally {
+            pendingMessages.set(outboxRepository.countByStatus(EmailOutboxMessage.Status.PENDING));
+        }
+    }
+    
+    private int deliverBatch() {
+        List<EmailOutboxMessage> due = outboxRepository.lockDueMessages(
+            EmailOutboxMessage.Status.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        
+        // MimeMessage keeps identity equality, so a linked map keeps send order without merging entries
+        Map<MimeMessage, EmailOutboxMessage> owners = new LinkedHashMap<>();
+        Map<EmailOutboxMessage, Exception> failures = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : due) {
+            try {
+                for (MimeMessage mimeMessage : toMimeMessages(message)) {
+                    owners.put(mimeMessage, message);
+                }
+            } catch (MessagingException e) {
+                // A malformed address will not get better with retries
+                fail(message, e, true);
+                failures.put(message, e);
+            }
+        }
+        
+        if (!owners.isEmpty()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                // JavaMailSenderImpl sends the whole array over one connection
+                mailSender.send(owners.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    owners.values().forEach(message -> failures.put(message, e));
+                } else {
+                    e.getFailedMessages().forEach((failed, cause) -> failures.put(owners.get(failed), cause));
+                }
+            } catch (MailException e) {
+                owners.values().forEach(message -> failures.put(message, e));
+            } finally {
+                sample.stop(Timer.builder("email.smtp.session.duration").register(meterRegistry));
+            }
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutboxMessage message : due) {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                message.setStatus(EmailOutboxMessage.Status.SENT);
+                message.setSentAt(now);
+                message.setAttempts(message.getAttempts() + 1);
+                outcome("sent").increment();
+                Timer.builder("email.delivery.latency")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(Duration.between(message.getCreatedAt(), now));
+            } else if (message.getStatus() == EmailOutboxMessage.Status.PENDING) {
+                fail(message, failure, false);
+            }
+        }
+        
+        logger.debug("Delivered {} of {} outbox messages", due.size() - failures.size(), due.size());
+        return due.size();
+    }
+    
+    private List<MimeMessage> toMimeMessages(EmailOutboxMessage message) throws MessagingException {
+        String[] recipients = message.getRecipients().split(",");
+        List<MimeMessage> mimeMessages = new ArrayList<>();
+        for (int start = 0; start < recipients.length; start += maxRecipientsPerMessage) {
+            String[] batch = Arrays.copyOfRange(recipients, start, Math.min(start + maxRecipientsPerMessage, recipients.length));
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+            helper.setFrom(fromAddress);
+            helper.setTo(batch);
+            helper.setSubject(message.getSubject());
+            helper.setText(message.getBody() != null ? message.getBody() : "", false);
+            mimeMessages.add(mimeMessage);
+        }
+        return mimeMessages;
+    }
+    
+    private void fail(EmailOutboxMessage message, Exception failure, boolean permanent) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(failure.getMessage());
+        
+        if (permanent || attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.Status.FAILED);
+            outcome("failed").increment();
+            logger.error("Giving up on outbox message {} after {} attempts: {}", message.getId(), attempts, failure.getMessage());
+            return;
+        }
+        
+        // Exponential backoff with jitter so a recovering SMTP server is not hit by every message at once
+        long delayMillis = Math.min(retryBaseDelay.toMillis() << Math.min(attempts - 1, 20), retryMaxDelay.toMillis());
+        delayMillis += ThreadLocalRandom.current().nextLong(delayMillis / 5 + 1);
+        message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delayMillis)));
+        outcome("retried").increment();
+        logger.warn("Outbox message {} failed (attempt {}), retrying in {}s: {}",
+                   message.getId(), attempts, delayMillis / 1000, failure.getMessage());
+    }
+    
+    private Counter outcome(String outcome) {
+        return Counter.builder("email.outbox.messages")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
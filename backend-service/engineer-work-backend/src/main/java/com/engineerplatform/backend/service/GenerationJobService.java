@@ -0,0 +1,197 @@
+package com.engineerplatform.backend.service;
+
+import com.engineerplatform.backend.datasource.ReplicaRoutingDataSource;
+import com.engineerplatform.backend.dto.GenerationJobDto;
+import com.engineerplatform.backend.exception.ResourceNotFoundException;
+import com.engineerplatform.backend.model.GenerationJob;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.model.WorkSummary;
+import com.engineerplatform.backend.repository.GenerationJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs summary generation outside the request thread. Jobs are persisted before they are handed
+ * to the worker pool, claimed with a conditional update so each runs once, and swept back onto
+ * the pool after a restart or when the pool was full at submission time.
+ */
+@Service
+public class GenerationJobService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GenerationJobService.class);
+    
+    private static final Set<GenerationJob.Status> ACTIVE_STATUSES =
+        EnumSet.of(GenerationJob.Status.QUEUED, GenerationJob.Status.RUNNING);
+    
+    private final GenerationJobRepository jobRepository;
+    private final WorkSummaryService workSummaryService;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final Executor jobExecutor;
+    private final Duration staleAfter;
+    private final int maxAttempts;
+    private final Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+    
+    @Autowired
+    public GenerationJobService(GenerationJobRepository jobRepository,
+                                WorkSummaryService workSummaryService,
+                                ReplicaRoutingDataSource routingDataSource,
+                                @Qualifier("generationJobExecutor") Executor jobExecutor,
+                                @Value("${app.jobs.stale-after:15m}") Duration staleAfter,
+                                @Value("${app.jobs.max-attempts:3}") int maxAttempts) {
+        this.jobRepository = jobRepository;
+        this.workSummaryService = workSummaryService;
+        this.routingDataSource = routingDataSource;
+        this.jobExecutor = jobExecutor;
+        this.staleAfter = staleAfter;
+        this.maxAttempts = maxAttempts;
+    }
+    
+    public GenerationJob submit(User user, WorkSummary.SummaryType summaryType, LocalDate targetDate, String idempotencyKey) {
+        boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+        
+        // Without a key, a second click while the first job is still pending joins that job
+        Optional<GenerationJob> existing = keyed
+            ? jobRepository.findByUserAndIdempotencyKey(user, idempotencyKey)
+            : jobRepository.findFirstByUserAndSummaryTypeAndTargetDateAndStatusIn(user, summaryType, targetDate, ACTIVE_STATUSES);
+        if (existing.isPresent()) {
+            logger.debug("Reusing generation job {} for user {}", existing.get().getId(), user.getUsername());
+            return existing.get();
+        }
+        
+        GenerationJob job = new GenerationJob();
+        job.setUser(user);
+        job.setSummaryType(summaryType);
+        job.setTargetDate(targetDate);
+        job.setIdempotencyKey(keyed ? idempotencyKey : null);
+        
+        try {
+            job = jobRepository.saveAndFlush(job);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent request carrying the same key
+            return jobRepository.findByUserAndIdempotencyKey(user, idempotencyKey)
+                .orElseThrow(() -> e);
+        }
+        
+        logger.info("Queued {} generation job {} for user {} on {}", summaryType, job.getId(), user.getUsername(), targetDate);
+        dispatch(job.getId());
+        return job;
+    }
+    
+    public GenerationJob getJobForUser(Long jobId, User user) {
+        // Other users' jobs look the same as missing ones so ids cannot be probed
+        return jobRepository.findByIdAndUser(jobId, user)
+            .orElseThrow(() -> new ResourceNotFoundException("Generation job not found with id: " + jobId));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jobs.sweep-interval:PT1M}", initialDelayString = "${app.jobs.sweep-interval:PT1M}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        // A job that keeps killing or hanging its worker stops being retried
+        int failed = jobRepository.failStale(now.minus(staleAfter), now, maxAttempts,
+            "Gave up after " + maxAttempts + " attempts that did not finish within " + staleAfter,
+            GenerationJob.Status.RUNNING, GenerationJob.Status.FAILED);
+        if (failed > 0) {
+            logger.error("Failed {} generation jobs that did not finish in {} attempts", failed, maxAttempts);
+        }
+        int requeued = jobRepository.requeueStale(now.minus(staleAfter), now, maxAttempts,
+            GenerationJob.Status.QUEUED, GenerationJob.Status.RUNNING);
+        if (requeued > 0) {
+            logger.warn("Requeued {} generation jobs that were running for more than {}", requeued, staleAfter);
+        }
+        
+        for (Long jobId : jobRepository.findIdsByStatus(GenerationJob.Status.QUEUED)) {
+            dispatch(jobId);
+        }
+    }
+    
+    private void dispatch(Long jobId) {
+        if (!dispatched.add(jobId)) {
+            return;
+        }
+        try {
+            jobExecutor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    dispatched.remove(jobId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Left QUEUED; the next sweep picks it up
+            dispatched.remove(jobId);
+            logger.warn("Generation worker pool is full, job {} will be retried by the next sweep", jobId);
+        }
+    }
+    
+    private void run(Long jobId) {
+        if (jobRepository.claim(jobId, LocalDateTime.now(), GenerationJob.Status.QUEUED, GenerationJob.Status.RUNNING) == 0) {
+            return;
+        }
+        
+        GenerationJob job = jobRepository.findById(jobId).orElseThrow();
+        Long userId = jobRepository.findUserIdById(jobId);
+        int attempt = job.getAttempts();
+        logger.info("Running {} generation job {} for user {} on {} (attempt {})",
+                    job.getSummaryType(), jobId, userId, job.getTargetDate(), attempt);
+        
+        GenerationJob.Status status;
+        Long resultSummaryId = null;
+        String errorMessage = null;
+        try {
+            WorkSummary summary = switch (job.getSummaryType()) {
+                case DAILY -> workSummaryService.generateDailySummary(userId, job.getTargetDate());
+                case WEEKLY -> workSummaryService.generateWeeklySummary(userId, job.getTargetDate());
+                case MONTHLY -> workSummaryService.generateMonthlySummary(userId, job.getTargetDate());
+                default -> throw new IllegalArgumentException("Unsupported summary type: " + job.getSummaryType());
+            };
+            resultSummaryId = summary.getId();
+            status = GenerationJob.Status.SUCCEEDED;
+            // The worker has no request user, so the owner's follow-up reads are pinned to the primary here
+            routingDataSource.recordWrite(summary.getUser().getUsername());
+        } catch (Exception e) {
+            logger.error("Generation job {} failed: {}", jobId, e.getMessage(), e);
+            errorMessage = e.getCause() != null ? e.getMessage() + ": " + e.getCause().getMessage() : e.getMessage();
+            status = GenerationJob.Status.FAILED;
+        }
+        
+        // The job row is updated in place rather than saved from the copy loaded minutes ago
+        if (jobRepository.finish(jobId, attempt, status, resultSummaryId, errorMessage, LocalDateTime.now(),
+                                 GenerationJob.Status.RUNNING) == 0) {
+            logger.warn("Generation job {} was requeued or claimed again while attempt {} ran, keeping the newer state",
+                        jobId, attempt);
+        }
+    }
+    
+    public GenerationJobDto convertToDto(GenerationJob job) {
+        GenerationJobDto dto = new GenerationJobDto();
+        dto.setId(job.getId());
+        dto.setSummaryType(job.getSummaryType().name());
+        dto.setTargetDate(job.getTargetDate());
+        dto.setStatus(job.getStatus().name());
+        dto.setResultSummaryId(job.getResultSummaryId());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setCompletedAt(job.getCompletedAt());
+        return dto;
+    }
+}
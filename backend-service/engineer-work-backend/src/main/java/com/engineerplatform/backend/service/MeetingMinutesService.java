@@ -1,18 +1,47 @@
 package com.engineerplatform.backend.service;
 
+import com.engineerplatform.backend.dto.KeysetPage;
+import com.engineerplatform.backend.dto.MeetingListItemDto;
+import com.engineerplatform.backend.dto.MeetingSearchHitDto;
+import com.engineerplatform.backend.exception.LlmCapacityExceededException;
 import com.engineerplatform.backend.integration.OllamaIntegrationService;
+import com.engineerplatform.backend.integration.OllamaIntegrationService.StructuredMeetingMinutes;
 import com.engineerplatform.backend.integration.TeamsIntegrationService;
+import com.engineerplatform.backend.llm.LlmPriority;
+import com.engineerplatform.backend.llm.LlmRequestScheduler;
+import com.engineerplatform.backend.llm.TokenEstimator;
+import com.engineerplatform.backend.llm.TranscriptChunker;
 import com.engineerplatform.backend.model.MeetingMinutes;
 import com.engineerplatform.backend.model.User;
 import com.engineerplatform.backend.repository.MeetingMinutesRepository;
+import com.engineerplatform.backend.search.MeetingSearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class MeetingMinutesService {
@@ -22,50 +51,108 @@ public class MeetingMinutesService {
     private final MeetingMinutesRepository meetingMinutesRepository;
     private final OllamaIntegrationService ollamaService;
     private final TeamsIntegrationService teamsService;
+    private final LlmRequestScheduler llmScheduler;
+    private final MeetingSearchService meetingSearchService;
+    private final Executor llmTaskExecutor;
+    
+    @Value("${app.ollama.map-reduce.transcript-token-threshold:3000}")
+    private int transcriptTokenThreshold;
+    
+    @Value("${app.ollama.map-reduce.chunk-tokens:1500}")
+    private int chunkTokens;
     
     @Autowired
     public MeetingMinutesService(MeetingMinutesRepository meetingMinutesRepository,
                                 OllamaIntegrationService ollamaService,
-                                TeamsIntegrationService teamsService) {
+                                TeamsIntegrationService teamsService,
+                                LlmRequestScheduler llmScheduler,
+                                MeetingSearchService meetingSearchService,
+                                @Qualifier("llmTaskExecutor") Executor llmTaskExecutor) {
         this.meetingMinutesRepository = meetingMinutesRepository;
         this.ollamaService = ollamaService;
         this.teamsService = teamsService;
+        this.llmScheduler = llmScheduler;
+        this.meetingSearchService = meetingSearchService;
+        this.llmTaskExecutor = llmTaskExecutor;
     }
     
-    public List<MeetingMinutes> getUserMeetings(Long userId, LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public KeysetPage<MeetingListItemDto> getUserMeetingPage(Long userId, LocalDate startDate, LocalDate endDate,
+                                                             String cursor, int limit) {
         logger.debug("Fetching meetings for user {} from {} to {}", userId, startDate, endDate);
         
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-        
-        return meetingMinutesRepository.findByParticipantIdAndDateRange(userId, startDateTime, endDateTime);
+        KeysetPage.Cursor position = cursor != null ? KeysetPage.Cursor.decode(cursor) : null;
+        List<MeetingListItemDto> rows = meetingMinutesRepository.findListItemsByParticipantBefore(
+            userId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59),
+            position != null ? position.dateTime() : endDate.plusDays(1).atStartOfDay(),
+            position != null ? position.getId() : Long.MAX_VALUE,
+            PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, MeetingMinutesService::cursorOf);
     }
     
-    public List<MeetingMinutes> getTeamMeetings(Long managerId, LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public KeysetPage<MeetingListItemDto> getTeamMeetingPage(Long managerId, LocalDate startDate, LocalDate endDate,
+                                                             String cursor, int limit) {
         logger.debug("Fetching team meetings for manager {} from {} to {}", managerId, startDate, endDate);
         
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-        
-        return meetingMinutesRepository.findTeamMeetingsByManagerId(managerId, startDateTime, endDateTime);
+        KeysetPage.Cursor position = cursor != null ? KeysetPage.Cursor.decode(cursor) : null;
+        List<MeetingListItemDto> rows = meetingMinutesRepository.findListItemsByManagerBefore(
+            managerId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59),
+            position != null ? position.dateTime() : endDate.plusDays(1).atStartOfDay(),
+            position != null ? position.getId() : Long.MAX_VALUE,
+            PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, MeetingMinutesService::cursorOf);
+    }
+    
+    // Rows are handed over as they are read; the transaction stays open until the last one is consumed
+    @Transactional(readOnly = true)
+    public void streamUserMeetings(Long userId, LocalDate startDate, LocalDate endDate,
+                                   Consumer<? super MeetingListItemDto> consumer) {
+        try (Stream<MeetingListItemDto> rows = meetingMinutesRepository.streamListItemsByParticipant(
+                userId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))) {
+            rows.forEach(consumer);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamTeamMeetings(Long managerId, LocalDate startDate, LocalDate endDate,
+                                   Consumer<? super MeetingListItemDto> consumer) {
+        try (Stream<MeetingListItemDto> rows = meetingMinutesRepository.streamListItemsByManager(
+                managerId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))) {
+            rows.forEach(consumer);
+        }
     }
     
+    @Transactional(readOnly = true)
     public MeetingMinutes getMeetingById(Long meetingId) {
         logger.debug("Fetching meeting by ID: {}", meetingId);
         
-        return meetingMinutesRepository.findById(meetingId)
+        return meetingMinutesRepository.findWithParticipantsById(meetingId)
             .orElseThrow(() -> new RuntimeException("Meeting not found with ID: " + meetingId));
     }
     
-    public List<MeetingMinutes> searchUserMeetings(Long userId, String query, LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public Page<MeetingSearchHitDto> searchUserMeetings(Long userId, String query, LocalDate startDate, LocalDate endDate,
+                                                        Pageable pageable) {
         logger.debug("Searching meetings for user {} with query: {}", userId, query);
         
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
         
-        return meetingMinutesRepository.searchByParticipantAndContent(userId, query, startDateTime, endDateTime);
+        return meetingSearchService.search(userId, query, startDateTime, endDateTime, pageable);
     }
     
+    @Transactional(readOnly = true)
+    public List<MeetingListItemDto> getListItemsInOrder(List<Long> meetingIds) {
+        if (meetingIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, MeetingListItemDto> byId = meetingMinutesRepository.findListItemsByIds(meetingIds).stream()
+            .collect(Collectors.toMap(MeetingListItemDto::getId, Function.identity()));
+        return meetingIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+    
+    @Transactional(readOnly = true)
     public boolean canUserAccessMeeting(User user, MeetingMinutes meeting) {
         if (user.getRole() == User.Role.ADMIN) {
             return true;
@@ -92,31 +179,40 @@ public class MeetingMinutesService {
         logger.info("Generating meeting minutes for meeting: {}", meetingId);
         
         try {
-            String prompt = buildMeetingMinutesPrompt(transcript, attendees);
-            String generatedMinutes = ollamaService.generateMeetingMinutes(transcript);
-            
             MeetingMinutes meetingMinutes = new MeetingMinutes();
             meetingMinutes.setMeetingId(meetingId);
             meetingMinutes.setMeetingDate(meetingDate);
             meetingMinutes.setAttendees(String.join(", ", attendees));
             meetingMinutes.setTranscript(transcript);
-            meetingMinutes.setAiSummary(generatedMinutes);
-            meetingMinutes.setKeyPoints(extractKeyPoints(generatedMinutes));
-            meetingMinutes.setActionItems(extractActionItems(generatedMinutes));
-            meetingMinutes.setDecisionsMade(extractDecisions(generatedMinutes));
+            applyGeneratedMinutes(meetingMinutes, transcript, attendees, LlmPriority.BATCH, "meeting:" + meetingId);
             
             MeetingMinutes savedMeeting = meetingMinutesRepository.save(meetingMinutes);
+            meetingSearchService.reindex(savedMeeting.getId());
             logger.info("Successfully generated and saved meeting minutes for meeting: {}", meetingId);
             
             return savedMeeting;
             
+        } catch (LlmCapacityExceededException e) {
+            logger.warn("Rejected meeting minutes generation for meeting {}: {}", meetingId, e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("Error generating meeting minutes for meeting {}: {}", meetingId, e.getMessage(), e);
             throw new RuntimeException("Failed to generate meeting minutes", e);
         }
     }
     
-    public MeetingMinutes regenerateMeetingMinutes(Long meetingId) {
+    /**
+     * Stores already generated meetings, such as a platform import, in one transaction. Meetings
+     * and their participant rows are inserted in JDBC batches rather than a statement per row.
+     */
+    public List<MeetingMinutes> saveMeetings(List<MeetingMinutes> meetings) {
+        logger.info("Saving {} meetings", meetings.size());
+        List<MeetingMinutes> savedMeetings = meetingMinutesRepository.saveAll(meetings);
+        savedMeetings.forEach(meeting -> meetingSearchService.reindex(meeting.getId()));
+        return savedMeetings;
+    }
+    
+    public MeetingMinutes regenerateMeetingMinutes(Long meetingId, String requester) {
         logger.info("Regenerating meeting minutes for meeting ID: {}", meetingId);
         
         MeetingMinutes existingMeeting = getMeetingById(meetingId);
@@ -125,67 +221,195 @@ public class MeetingMinutesService {
             throw new RuntimeException("Cannot regenerate meeting minutes: No transcript available");
         }
         
-        String prompt = buildMeetingMinutesPrompt(existingMeeting.getTranscript(), 
-                                                List.of(existingMeeting.getAttendees().split(", ")));
-        String regeneratedMinutes = ollamaService.generateMeetingMinutes(existingMeeting.getTranscript());
-        
-        existingMeeting.setAiSummary(regeneratedMinutes);
-        existingMeeting.setKeyPoints(extractKeyPoints(regeneratedMinutes));
-        existingMeeting.setActionItems(extractActionItems(regeneratedMinutes));
-        existingMeeting.setDecisionsMade(extractDecisions(regeneratedMinutes));
+        applyGeneratedMinutes(existingMeeting, existingMeeting.getTranscript(), parseAttendees(existingMeeting),
+                              LlmPriority.BATCH, requester);
         existingMeeting.setUpdatedAt(LocalDateTime.now());
         
-        return meetingMinutesRepository.save(existingMeeting);
+        MeetingMinutes savedMeeting = meetingMinutesRepository.save(existingMeeting);
+        meetingSearchService.reindex(meetingId);
+        return savedMeeting;
     }
     
-    private String buildMeetingMinutesPrompt(String transcript, List<String> attendees) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("Please analyze the following meeting transcript and generate comprehensive meeting minutes.\n\n");
-        prompt.append("Meeting Attendees: ").append(String.join(", ", attendees)).append("\n\n");
-        prompt.append("Transcript:\n").append(transcript).append("\n\n");
-        prompt.append("Please provide:\n");
-        prompt.append("1. A summary of key discussion points\n");
-        prompt.append("2. Important decisions made\n");
-        prompt.append("3. Action items with responsible parties (if mentioned)\n");
-        prompt.append("4. Next steps or follow-up items\n\n");
-        prompt.append("Format the response in a clear, professional manner suitable for distribution to stakeholders.");
+    public Flux<String> streamRegeneratedMeetingMinutes(Long meetingId, String requester) {
+        logger.info("Streaming regenerated meeting minutes for meeting ID: {}", meetingId);
+        
+        MeetingMinutes existingMeeting = getMeetingById(meetingId);
+        
+        if (existingMeeting.getTranscript() == null || existingMeeting.getTranscript().isEmpty()) {
+            throw new RuntimeException("Cannot regenerate meeting minutes: No transcript available");
+        }
         
-        return prompt.toString();
+        String transcript = existingMeeting.getTranscript();
+        StringBuilder generated = new StringBuilder();
+        
+        Flux<String> tokens;
+        if (isLongTranscript(transcript)) {
+            // Map the chunks first, then stream only the reduce pass
+            tokens = Mono.fromCallable(() -> summarizeInChunks(transcript, LlmPriority.INTERACTIVE, requester))
+                .flatMapMany(notes -> Flux.using(
+                    () -> llmScheduler.acquire(LlmPriority.INTERACTIVE, requester),
+                    permit -> ollamaService.streamMeetingMinutesFromNotes(notes),
+                    LlmRequestScheduler.Permit::close));
+        } else {
+            tokens = Flux.using(
+                () -> llmScheduler.acquire(LlmPriority.INTERACTIVE, requester),
+                permit -> ollamaService.streamMeetingMinutes(transcript),
+                LlmRequestScheduler.Permit::close);
+        }
+        
+        // Sectioning and persistence run off the I/O thread once the full text is in
+        return tokens
+            .subscribeOn(Schedulers.boundedElastic())
+            .doOnNext(generated::append)
+            .publishOn(Schedulers.boundedElastic())
+            .doOnComplete(() -> {
+                String regeneratedMinutes = generated.toString();
+                applySections(existingMeeting, regeneratedMinutes, requester);
+                existingMeeting.setAiSummary(regeneratedMinutes);
+                existingMeeting.setUpdatedAt(LocalDateTime.now());
+                meetingMinutesRepository.save(existingMeeting);
+                meetingSearchService.reindex(meetingId);
+                logger.info("Successfully streamed and saved meeting minutes for meeting ID: {}", meetingId);
+            });
     }
     
-    private String extractKeyPoints(String generatedMinutes) {
+    private void applyGeneratedMinutes(MeetingMinutes meeting, String transcript, List<String> attendees,
+                                       LlmPriority priority, String requester) {
+        boolean longTranscript = isLongTranscript(transcript);
+        String source = longTranscript ? summarizeInChunks(transcript, priority, requester) : transcript;
+        
         try {
-            String keyPointsPrompt = "Extract only the key discussion points from the following meeting minutes:\n\n" + 
-                                   generatedMinutes + "\n\nProvide a bulleted list of key points discussed.";
-            return ollamaService.extractActionItems(keyPointsPrompt);
+            StructuredMeetingMinutes structured = llmScheduler.execute(priority, requester,
+                () -> longTranscript
+                    ? ollamaService.generateStructuredMeetingMinutesFromNotes(source, attendees)
+                    : ollamaService.generateStructuredMeetingMinutes(source, attendees));
+            applyStructuredMinutes(meeting, structured);
+        } catch (LlmCapacityExceededException e) {
+            throw e;
         } catch (Exception e) {
-            logger.warn("Failed to extract key points, using fallback method: {}", e.getMessage());
-            return extractSectionByKeyword(generatedMinutes, "key", "discussion", "points");
+            logger.warn("Structured minutes generation failed, using free-form fallback: {}", e.getMessage());
+            String generatedMinutes = llmScheduler.execute(priority, requester,
+                () -> ollamaService.generateMeetingMinutes(source));
+            meeting.setAiSummary(generatedMinutes);
+            applyKeywordSections(meeting, generatedMinutes);
         }
     }
     
-    private String extractActionItems(String generatedMinutes) {
+    private boolean isLongTranscript(String transcript) {
+        return TokenEstimator.estimate(transcript) > transcriptTokenThreshold;
+    }
+    
+    private String summarizeInChunks(String transcript, LlmPriority priority, String requester) {
+        List<String> chunks = TranscriptChunker.split(transcript, chunkTokens);
+        logger.info("Summarizing long transcript (~{} tokens) in {} chunks", 
+                   TokenEstimator.estimate(transcript), chunks.size());
+        
+        List<CompletableFuture<String>> chunkNotes = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            String chunk = chunks.get(i);
+            int chunkNumber = i + 1;
+            chunkNotes.add(CompletableFuture.supplyAsync(() -> llmScheduler.execute(priority, requester,
+                () -> ollamaService.summarizeTranscriptChunk(chunk, chunkNumber, chunks.size())), llmTaskExecutor));
+        }
+        
+        List<String> notes = joinAll(chunkNotes);
+        
+        // Collapse further only if the chunk notes together still overflow the reduce prompt
+        while (notes.size() > 1 && TokenEstimator.estimate(String.join("\n\n", notes)) > transcriptTokenThreshold) {
+            List<String> groups = groupWithinBudget(notes);
+            if (groups.size() == notes.size()) {
+                break;
+            }
+            
+            List<CompletableFuture<String>> condensed = new ArrayList<>();
+            for (String group : groups) {
+                condensed.add(CompletableFuture.supplyAsync(() -> llmScheduler.execute(priority, requester,
+                    () -> ollamaService.condenseMeetingNotes(group)), llmTaskExecutor));
+            }
+            notes = joinAll(condensed);
+        }
+        
+        StringBuilder combined = new StringBuilder();
+        for (int i = 0; i < notes.size(); i++) {
+            combined.append("Part ").append(i + 1).append(":\n").append(notes.get(i).trim()).append("\n\n");
+        }
+        return combined.toString();
+    }
+    
+    private List<String> groupWithinBudget(List<String> notes) {
+        List<String> groups = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        
+        for (String note : notes) {
+            if (current.length() > 0 && TokenEstimator.estimate(current) + TokenEstimator.estimate(note) > chunkTokens) {
+                groups.add(current.toString());
+                current.setLength(0);
+            }
+            current.append(note.trim()).append("\n\n");
+        }
+        if (current.length() > 0) {
+            groups.add(current.toString());
+        }
+        
+        return groups;
+    }
+    
+    private List<String> joinAll(List<CompletableFuture<String>> futures) {
         try {
-            String actionItemsPrompt = "Extract only the action items from the following meeting minutes:\n\n" + 
-                                     generatedMinutes + "\n\nProvide a bulleted list of action items with responsible parties if mentioned.";
-            return ollamaService.extractActionItems(actionItemsPrompt);
-        } catch (Exception e) {
-            logger.warn("Failed to extract action items, using fallback method: {}", e.getMessage());
-            return extractSectionByKeyword(generatedMinutes, "action", "items", "todo");
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
     }
     
-    private String extractDecisions(String generatedMinutes) {
+    private void applySections(MeetingMinutes meeting, String generatedMinutes, String requester) {
         try {
-            String decisionsPrompt = "Extract only the decisions made from the following meeting minutes:\n\n" + 
-                                   generatedMinutes + "\n\nProvide a bulleted list of decisions made during the meeting.";
-            return ollamaService.extractActionItems(decisionsPrompt);
+            StructuredMeetingMinutes structured = llmScheduler.execute(LlmPriority.INTERACTIVE, requester,
+                () -> ollamaService.structureMeetingMinutes(generatedMinutes));
+            meeting.setKeyPoints(formatItems(structured.getKeyPoints()));
+            meeting.setActionItems(formatItems(structured.getActionItems()));
+            meeting.setDecisionsMade(formatItems(structured.getDecisions()));
         } catch (Exception e) {
-            logger.warn("Failed to extract decisions, using fallback method: {}", e.getMessage());
-            return extractSectionByKeyword(generatedMinutes, "decision", "decided", "agreed");
+            logger.warn("Failed to structure meeting minutes, using fallback method: {}", e.getMessage());
+            applyKeywordSections(meeting, generatedMinutes);
         }
     }
     
+    private void applyStructuredMinutes(MeetingMinutes meeting, StructuredMeetingMinutes structured) {
+        meeting.setAiSummary(structured.getSummary());
+        meeting.setKeyPoints(formatItems(structured.getKeyPoints()));
+        meeting.setActionItems(formatItems(structured.getActionItems()));
+        meeting.setDecisionsMade(formatItems(structured.getDecisions()));
+    }
+    
+    private void applyKeywordSections(MeetingMinutes meeting, String generatedMinutes) {
+        meeting.setKeyPoints(extractSectionByKeyword(generatedMinutes, "key", "discussion", "points"));
+        meeting.setActionItems(extractSectionByKeyword(generatedMinutes, "action", "items", "todo"));
+        meeting.setDecisionsMade(extractSectionByKeyword(generatedMinutes, "decision", "decided", "agreed"));
+    }
+    
+    private List<String> parseAttendees(MeetingMinutes meeting) {
+        if (meeting.getAttendees() == null || meeting.getAttendees().isBlank()) {
+            return List.of();
+        }
+        return List.of(meeting.getAttendees().split(", "));
+    }
+    
+    private String formatItems(List<String> items) {
+        StringBuilder result = new StringBuilder();
+        
+        for (String item : items) {
+            if (item != null && !item.isBlank()) {
+                result.append("- ").append(item.trim()).append("\n");
+            }
+        }
+        
+        return result.length() > 0 ? result.toString() : "No specific items found.";
+    }
+    
     private String extractSectionByKeyword(String text, String... keywords) {
         StringBuilder result = new StringBuilder();
         String[] lines = text.split("\n");
@@ -202,4 +426,8 @@ public class MeetingMinutesService {
         
         return result.length() > 0 ? result.toString() : "No specific items found.";
     }
+    
+    private static KeysetPage.Cursor cursorOf(MeetingListItemDto meeting) {
+        return new KeysetPage.Cursor(meeting.getMeetingDate(), meeting.getId());
+    }
 }
@@ -0,0 +1,190 @@
+package com.engineerplatform.backend.service;
+
+import com.engineerplatform.backend.model.ReportSchedule;
+import com.engineerplatform.backend.repository.ReportScheduleRepository;
+import com.engineerplatform.backend.service.ReportRenderingService.RenderedReport;
+import com.engineerplatform.backend.service.ReportRenderingService.ReportRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes due report schedules. Each poll locks a batch of due rows with SKIP LOCKED, so nodes
+ * polling at the same time take disjoint batches instead of queueing on each other's locks;
+ * renders the batch in parallel; and writes the outgoing mail to the outbox and advances
+ * nextScheduled and lastSent in the same transaction, so a slot is sent once or not at all.
+ * A failed render keeps its slot and is retried with exponential backoff until max-render-attempts
+ * or until the schedule's next regular slot comes round, whichever is first.
+ */
+@Service
+public class ReportExecutionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReportExecutionService.class);
+    
+    private static final LocalTime DEFAULT_DELIVERY_TIME = LocalTime.of(9, 0);
+    
+    private final ReportScheduleRepository scheduleRepository;
+    private final ReportRenderingService renderingService;
+    private final EmailDeliveryService emailDeliveryService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor reportExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration renderTimeout;
+    private final int maxRenderAttempts;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+    
+    @Autowired
+    public ReportExecutionService(ReportScheduleRepository scheduleRepository,
+                                  ReportRenderingService renderingService,
+                                  EmailDeliveryService emailDeliveryService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("reportExecutor") Executor reportExecutor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.reports.batch-size:50}") int batchSize,
+                                  @Value("${app.reports.render-timeout:2m}") Duration renderTimeout,
+                                  @Value("${app.reports.max-render-attempts:5}") int maxRenderAttempts,
+                                  @Value("${app.reports.retry-base-delay:2m}") Duration retryBaseDelay,
+                                  @Value("${app.reports.retry-max-delay:1h}") Duration retryMaxDelay) {
+        this.scheduleRepository = scheduleRepository;
+        this.renderingService = renderingService;
+        this.emailDeliveryService = emailDeliveryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reportExecutor = reportExecutor;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.renderTimeout = renderTimeout;
+        this.maxRenderAttempts = maxRenderAttempts;
+        this.retryBaseDelay = retryBaseDelay;
+        this.retryMaxDelay = retryMaxDelay;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.reports.poll-interval:PT30S}", initialDelayString = "${app.reports.poll-interval:PT30S}")
+    public void executeDueSchedules() {
+        // Drain in batches so a top-of-the-hour spike is spread over bounded transactions
+        int claimed;
+        do {
+            Integer batch = transactionTemplate.execute(status -> executeBatch());
+            claimed = batch != null ? batch : 0;
+        } while (claimed == batchSize);
+    }
+    
+    private int executeBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReportSchedule> due = scheduleRepository.lockSchedulesDueForExecution(now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        
+        logger.info("Executing {} due report schedules", due.size());
+        List<CompletableFuture<RenderedReport>> renders = new ArrayList<>(due.size());
+        for (ReportSchedule schedule : due) {
+            ReportRequest request = new ReportRequest(schedule, slotOf(schedule, now).toLocalDate());
+            renders.add(CompletableFuture.supplyAsync(() -> renderingService.render(request), reportExecutor));
+        }
+        
+        long deadline = System.nanoTime() + renderTimeout.toNanos();
+        for (int i = 0; i < due.size(); i++) {
+            ReportSchedule schedule = due.get(i);
+            try {
+                RenderedReport report = renders.get(i).get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                emailDeliveryService.enqueue(report.getScheduleId(), report.getRecipients(), report.getSubject(), report.getBody());
+                schedule.setLastSent(now);
+                outcome("rendered").increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while rendering reports", e);
+            } catch (Exception e) {
+                scheduleRetry(schedule, now, e);
+                continue;
+            }
+            schedule.setRenderAttempts(0);
+            schedule.setRetrySlot(null);
+            schedule.setNextScheduled(nextRun(schedule, now));
+        }
+        return due.size();
+    }
+    
+    // The slot a render is for: the one being retried, or the one firing now
+    private static LocalDateTime slotOf(ReportSchedule schedule, LocalDateTime now) {
+        return schedule.getRetrySlot() != null ? schedule.getRetrySlot() : now;
+    }
+    
+    private void scheduleRetry(ReportSchedule schedule, LocalDateTime now, Exception failure) {
+        LocalDateTime slot = slotOf(schedule, now);
+        int attempts = schedule.getRenderAttempts() + 1;
+        
+        // Exponential backoff with jitter, as for outbox mail
+        long delayMillis = Math.min(retryBaseDelay.toMillis() << Math.min(attempts - 1, 20), retryMaxDelay.toMillis());
+        delayMillis += ThreadLocalRandom.current().nextLong(delayMillis / 5 + 1);
+        LocalDateTime retryAt = now.plus(Duration.ofMillis(delayMillis));
+        
+        // Never retry into the next regular slot; that one renders afresh
+        if (attempts >= maxRenderAttempts || !retryAt.isBefore(nextRun(schedule, slot))) {
+            logger.error("Giving up on report schedule {} slot {} after {} attempts: {}",
+                        schedule.getId(), slot, attempts, failure.getMessage(), failure);
+            outcome("failed").increment();
+            schedule.setRenderAttempts(0);
+            schedule.setRetrySlot(null);
+            schedule.setNextScheduled(nextRun(schedule, now));
+            return;
+        }
+        
+        logger.warn("Report schedule {} failed to render (attempt {}), retrying in {}s: {}",
+                   schedule.getId(), attempts, delayMillis / 1000, failure.getMessage());
+        outcome("retried").increment();
+        schedule.setRenderAttempts(attempts);
+        schedule.setRetrySlot(slot);
+        schedule.setNextScheduled(retryAt);
+    }
+    
+    private Counter outcome(String outcome) {
+        return Counter.builder("reports.executions")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+    
+    // The first slot strictly after now, so a node that was down fires once instead of replaying missed slots
+    static LocalDateTime nextRun(ReportSchedule schedule, LocalDateTime now) {
+        LocalTime time = schedule.getDeliveryTime() != null ? schedule.getDeliveryTime() : DEFAULT_DELIVERY_TIME;
+        ReportSchedule.Frequency frequency = schedule.getFrequency() != null ? schedule.getFrequency() : ReportSchedule.Frequency.DAILY;
+        
+        return switch (frequency) {
+            case DAILY -> {
+                LocalDateTime next = now.toLocalDate().atTime(time);
+                yield next.isAfter(now) ? next : next.plusDays(1);
+            }
+            case WEEKLY -> {
+                DayOfWeek day = schedule.getDeliveryDay() != null ? schedule.getDeliveryDay() : DayOfWeek.MONDAY;
+                LocalDateTime next = now.toLocalDate().with(TemporalAdjusters.nextOrSame(day)).atTime(time);
+                yield next.isAfter(now) ? next : next.plusWeeks(1);
+            }
+            case MONTHLY -> {
+                LocalDateTime next = now.toLocalDate().withDayOfMonth(1).atTime(time);
+                yield next.isAfter(now) ? next : next.plusMonths(1);
+            }
+        };
+    }
+}
@@ -0,0 +1,215 @@
+package com.engineerplatform.backend.service;
+
+import com.engineerplatform.backend.dto.ScoreStatsDto;
+import com.engineerplatform.backend.exception.ResourceNotFoundException;
+import com.engineerplatform.backend.model.ReportSchedule;
+import com.engineerplatform.backend.model.ScoreRollup;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.model.WorkSummary;
+import com.engineerplatform.backend.repository.UserRepository;
+import com.engineerplatform.backend.repository.WorkSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Renders scheduled reports from stored summaries. Runs on the report worker threads, so it
+ * takes plain values rather than entities loaded by the scheduling transaction.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReportRenderingService {
+    
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.ENGLISH);
+    
+    private final UserRepository userRepository;
+    private final WorkSummaryRepository workSummaryRepository;
+    private final ScoreRollupService scoreRollupService;
+    
+    @Autowired
+    public ReportRenderingService(UserRepository userRepository, WorkSummaryRepository workSummaryRepository,
+                                  ScoreRollupService scoreRollupService) {
+        this.userRepository = userRepository;
+        this.workSummaryRepository = workSummaryRepository;
+        this.scoreRollupService = scoreRollupService;
+    }
+    
+    public RenderedReport render(ReportRequest request) {
+        User owner = userRepository.findById(request.getUserId())
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.getUserId()));
+        
+        LocalDate endDate = request.getReportDate();
+        LocalDate startDate = switch (request.getFrequency()) {
+            case DAILY -> endDate.minusDays(1);
+            case WEEKLY -> endDate.minusDays(6);
+            case MONTHLY -> endDate.minusMonths(1).plusDays(1);
+        };
+        
+        StringBuilder body = new StringBuilder(2048);
+        body.append("Period: ").append(startDate.format(DAY)).append(" - ").append(endDate.format(DAY)).append("\n\n");
+        
+        switch (request.getReportType()) {
+            case INDIVIDUAL_SUMMARY -> {
+                appendIndividual(body, owner, startDate, endDate);
+                if (request.isIncludeTeamSummary()) {
+                    appendTeam(body, owner, startDate, endDate);
+                }
+            }
+            case TEAM_SUMMARY -> appendTeam(body, owner, startDate, endDate);
+            case MANAGER_OVERVIEW -> appendOverview(body, owner, startDate, endDate);
+        }
+        
+        String subject = String.format("%s: %s report for %s", request.getScheduleName(),
+            request.getFrequency().name().toLowerCase(), endDate.format(DAY));
+        return new RenderedReport(request.getScheduleId(), request.getRecipients(), subject, body.toString());
+    }
+    
+    private void appendIndividual(StringBuilder body, User user, LocalDate startDate, LocalDate endDate) {
+        body.append("Work summary for ").append(user.getFullName()).append("\n\n");
+        
+        List<WorkSummary> summaries = workSummaryRepository.findByUserAndDateRange(user, startDate, endDate).stream()
+            .filter(summary -> summary.getSummaryType() == WorkSummary.SummaryType.DAILY)
+            .sorted(Comparator.comparing(WorkSummary::getSummaryDate))
+            .toList();
+        if (summaries.isEmpty()) {
+            body.append("No summaries were generated for this period.\n\n");
+            return;
+        }
+        
+        for (WorkSummary summary : summaries) {
+            body.append(summary.getSummaryDate().format(DAY)).append('\n')
+                .append(summary.getAiGeneratedSummary() != null ? summary.getAiGeneratedSummary().strip() : "")
+                .append("\n\n");
+        }
+    }
+    
+    private void appendTeam(StringBuilder body, User manager, LocalDate startDate, LocalDate endDate) {
+        body.append("Team summary for ").append(manager.getFullName()).append("'s team\n\n");
+        
+        Map<User, List<WorkSummary>> byMember = groupByMember(manager, startDate, endDate);
+        if (byMember.isEmpty()) {
+            body.append("No team summaries were generated for this period.\n\n");
+            return;
+        }
+        
+        for (Map.Entry<User, List<WorkSummary>> entry : byMember.entrySet()) {
+            // The latest daily summary stands in for each member; the overview report carries the numbers
+            WorkSummary latest = entry.getValue().get(entry.getValue().size() - 1);
+            body.append(entry.getKey().getFullName()).append(" (").append(latest.getSummaryDate().format(DAY)).append(")\n")
+                .append(latest.getAiGeneratedSummary() != null ? latest.getAiGeneratedSummary().strip() : "")
+                .append("\n\n");
+        }
+    }
+    
+    private void appendOverview(StringBuilder body, User manager, LocalDate startDate, LocalDate endDate) {
+        body.append("Team overview for ").append(manager.getFullName()).append("\n\n");
+        
+        List<User> reports = userRepository.findDirectReports(manager);
+        if (reports.isEmpty()) {
+            body.append("No direct reports.\n");
+            return;
+        }
+        
+        Map<Long, ScoreStatsDto> scores = scoreRollupService.getTotals(ScoreRollup.Scope.USER,
+            reports.stream().map(User::getId).toList(), startDate, endDate);
+        for (User member : reports) {
+            ScoreStatsDto stats = scores.get(member.getId());
+            body.append("- ").append(member.getFullName()).append(": ")
+                .append(stats.getSummaryCount()).append(stats.getSummaryCount() == 1 ? " day reported" : " days reported");
+            if (stats.getSummaryCount() > 0) {
+                body.append(String.format(", productivity %.1f, collaboration %.1f",
+                    orZero(stats.getAverageProductivityScore()), orZero(stats.getAverageCollaborationScore())));
+            }
+            body.append('\n');
+        }
+    }
+    
+    private Map<User, List<WorkSummary>> groupByMember(User manager, LocalDate startDate, LocalDate endDate) {
+        return workSummaryRepository.findByManagerAndDateRange(manager, startDate, endDate).stream()
+            .filter(summary -> summary.getSummaryType() == WorkSummary.SummaryType.DAILY)
+            .sorted(Comparator.comparing(WorkSummary::getSummaryDate))
+            .collect(Collectors.groupingBy(WorkSummary::getUser, LinkedHashMap::new, Collectors.toList()));
+    }
+    
+    private static double orZero(Double average) {
+        return average != null ? average : 0;
+    }
+    
+    /**
+     * What the engine needs to render one schedule, copied out of the locked entity.
+     */
+    public static class ReportRequest {
+        
+        private final Long scheduleId;
+        private final Long userId;
+        private final String scheduleName;
+        private final ReportSchedule.ReportType reportType;
+        private final ReportSchedule.Frequency frequency;
+        private final boolean includeTeamSummary;
+        private final List<String> recipients;
+        private final LocalDate reportDate;
+        
+        public ReportRequest(ReportSchedule schedule, LocalDate reportDate) {
+            this.scheduleId = schedule.getId();
+            this.userId = schedule.getUser().getId();
+            this.scheduleName = schedule.getScheduleName();
+            this.reportType = schedule.getReportType() != null ? schedule.getReportType() : ReportSchedule.ReportType.INDIVIDUAL_SUMMARY;
+            this.frequency = schedule.getFrequency() != null ? schedule.getFrequency() : ReportSchedule.Frequency.DAILY;
+            this.includeTeamSummary = schedule.isIncludeTeamSummary();
+            this.recipients = parseRecipients(schedule.getRecipientEmail(), schedule.getAdditionalRecipients());
+            this.reportDate = reportDate;
+        }
+        
+        private static List<String> parseRecipients(String primary, String additional) {
+            List<String> recipients = new ArrayList<>();
+            recipients.add(primary);
+            if (additional != null) {
+                for (String address : additional.split("[,;\\s]+")) {
+                    if (!address.isBlank() && !recipients.contains(address)) {
+                        recipients.add(address);
+                    }
+                }
+            }
+            return recipients;
+        }
+        
+        public Long getScheduleId() { return scheduleId; }
+        public Long getUserId() { return userId; }
+        public String getScheduleName() { return scheduleName; }
+        public ReportSchedule.ReportType getReportType() { return reportType; }
+        public ReportSchedule.Frequency getFrequency() { return frequency; }
+        public boolean isIncludeTeamSummary() { return includeTeamSummary; }
+        public List<String> getRecipients() { return recipients; }
+        public LocalDate getReportDate() { return reportDate; }
+    }
+    
+    public static class RenderedReport {
+        
+        private final Long scheduleId;
+        private final List<String> recipients;
+        private final String subject;
+        private final String body;
+        
+        public RenderedReport(Long scheduleId, List<String> recipients, String subject, String body) {
+            this.scheduleId = scheduleId;
+            this.recipients = recipients;
+            this.subject = subject;
+            this.body = body;
+        }
+        
+        public Long getScheduleId() { return scheduleId; }
+        public List<String> getRecipients() { return recipients; }
+        public String getSubject() { return subject; }
+        public String getBody() { return body; }
+    }
+}
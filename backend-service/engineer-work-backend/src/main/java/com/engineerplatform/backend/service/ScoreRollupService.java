@@ -0,0 +1,306 @@
+package com.engineerplatform.backend.service;
+
+import com.engineerplatform.backend.dto.ScoreStatsDto;
+import com.engineerplatform.backend.dto.ScoreTrendDto;
+import com.engineerplatform.backend.model.ScoreRollup;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.model.WorkSummary;
+import com.engineerplatform.backend.repository.ScoreRollupRepository;
+import com.engineerplatform.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains and reads the score_rollups aggregates, which answer score averages and trends
+ * without reading work_summaries. Daily summaries are added in the transaction that inserts them;
+ * weekly and monthly summaries only repeat the dailies' scores and are left out.
+ * <p>
+ * A team here is a manager's direct reports, as everywhere else in the application; the teams
+ * table has no part in it. Everyone below a manager at any depth is read as the SUBTREE scope,
+ * summed from the members' USER rows, so it needs no upkeep when the reporting line changes.
+ */
+@Service
+@Transactional
+public class ScoreRollupService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ScoreRollupService.class);
+    
+    private static final String COLUMNS = "scope, owner_id, period, period_start, summary_count, " +
+        "productivity_sum, productivity_count, productivity_min, productivity_max, " +
+        "collaboration_sum, collaboration_count, collaboration_min, collaboration_max";
+    
+    // %1$s is the stored row, %2$s the values being added; LEAST and GREATEST skip nulls
+    private static final String ADD_TO_ROW = "summary_count = %1$s.summary_count + %2$s.summary_count, " +
+        "productivity_sum = %1$s.productivity_sum + %2$s.productivity_sum, " +
+        "productivity_count = %1$s.productivity_count + %2$s.productivity_count, " +
+        "productivity_min = LEAST(%1$s.productivity_min, %2$s.productivity_min), " +
+        "productivity_max = GREATEST(%1$s.productivity_max, %2$s.productivity_max), " +
+        "collaboration_sum = %1$s.collaboration_sum + %2$s.collaboration_sum, " +
+        "collaboration_count = %1$s.collaboration_count + %2$s.collaboration_count, " +
+        "collaboration_min = LEAST(%1$s.collaboration_min, %2$s.collaboration_min), " +
+        "collaboration_max = GREATEST(%1$s.collaboration_max, %2$s.collaboration_max)";
+    
+    private static final String POSTGRES_UPSERT = "INSERT INTO score_rollups (" + COLUMNS + ") " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (scope, owner_id, period, period_start) DO UPDATE SET " +
+        String.format(ADD_TO_ROW, "score_rollups", "EXCLUDED");
+    
+    // Standard MERGE for H2 in development
+    private static final String MERGE_UPSERT = "MERGE INTO score_rollups r USING (VALUES (" +
+        "CAST(? AS VARCHAR(8)), CAST(? AS BIGINT), CAST(? AS VARCHAR(8)), CAST(? AS DATE), CAST(? AS BIGINT), " +
+        "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS INTEGER), " +
+        "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS INTEGER))) AS s (" + COLUMNS + ") " +
+        "ON r.scope = s.scope AND r.owner_id = s.owner_id AND r.period = s.period AND r.period_start = s.period_start " +
+        "WHEN MATCHED THEN UPDATE SET " + String.format(ADD_TO_ROW, "r", "s") + " " +
+        "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (s." + COLUMNS.replace(", ", ", s.") + ")";
+    
+    // Adding summaries holds the team's manager row shared and rebuilding a team holds it
+    // exclusively, so a rebuild neither misses nor collides with summaries added meanwhile.
+    // H2 has no shared row locks, so there additions to one team take turns
+    private static final String POSTGRES_TEAM_SHARED_LOCK = "SELECT id FROM users WHERE id = ? FOR KEY SHARE";
+    private static final String TEAM_EXCLUSIVE_LOCK = "SELECT id FROM users WHERE id = ? FOR UPDATE";
+    
+    // Rows are always locked in this order, so concurrent writers to the same team cannot deadlock
+    private static final Comparator<ScoreRollup.Key> KEY_ORDER = Comparator
+        .comparing(ScoreRollup.Key::getScope)
+        .thenComparing(ScoreRollup.Key::getOwnerId)
+        .thenComparing(ScoreRollup.Key::getPeriod)
+        .thenComparing(ScoreRollup.Key::getPeriodStart);
+    
+    private final ScoreRollupRepository scoreRollupRepository;
+    private final UserRepository userRepository;
+    private final String upsertSql;
+    private final String teamSharedLockSql;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    public ScoreRollupService(ScoreRollupRepository scoreRollupRepository, UserRepository userRepository,
+                              DataSource dataSource) {
+        this.scoreRollupRepository = scoreRollupRepository;
+        this.userRepository = userRepository;
+        boolean postgres = isPostgres(dataSource);
+        this.upsertSql = postgres ? POSTGRES_UPSERT : MERGE_UPSERT;
+        this.teamSharedLockSql = postgres ? POSTGRES_TEAM_SHARED_LOCK : TEAM_EXCLUSIVE_LOCK;
+    }
+    
+    /**
+     * Adds newly inserted summaries to their user's and their manager's rollups. Must run in the
+     * transaction that inserts them, and only once per summary.
+     */
+    public void addSummaries(Collection<WorkSummary> inserted) {
+        Map<ScoreRollup.Key, Totals> changes = new TreeMap<>(KEY_ORDER);
+        Set<Long> managerIds = new TreeSet<>();
+        for (WorkSummary summary : inserted) {
+            if (summary.getSummaryType() != WorkSummary.SummaryType.DAILY) {
+                continue;
+            }
+            User user = summary.getUser();
+            Long managerId = user.getManager() != null ? user.getManager().getId() : null;
+            if (managerId != null) {
+                managerIds.add(managerId);
+            }
+            for (ScoreRollup.Period period : ScoreRollup.Period.values()) {
+                LocalDate periodStart = period.startOf(summary.getSummaryDate());
+                changes.computeIfAbsent(new ScoreRollup.Key(ScoreRollup.Scope.USER, user.getId(), period, periodStart),
+                                        key -> new Totals()).add(summary);
+                if (managerId != null) {
+                    changes.computeIfAbsent(new ScoreRollup.Key(ScoreRollup.Scope.TEAM, managerId, period, periodStart),
+                                            key -> new Totals()).add(summary);
+                }
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            lockTeams(connection, managerIds, teamSharedLockSql);
+            try (PreparedStatement statement = connection.prepareStatement(upsertSql)) {
+                for (Map.Entry<ScoreRollup.Key, Totals> change : changes.entrySet()) {
+                    bind(statement, change.getKey(), change.getValue());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+    
+    /**
+     * Recomputes the team rollups of the given managers from their current direct reports' rows.
+     * Called when a user changes manager; their history moves with them.
+     */
+    public void rebuildTeams(Long... managerIds) {
+        Set<Long> teams = new TreeSet<>();
+        for (Long managerId : managerIds) {
+            if (managerId != null) {
+                teams.add(managerId);
+            }
+        }
+        if (teams.isEmpty()) {
+            return;
+        }
+        
+        // Each statement after the lock sees the summaries committed while waiting for it
+        entityManager.unwrap(Session.class).doWork(connection -> lockTeams(connection, teams, TEAM_EXCLUSIVE_LOCK));
+        for (Long managerId : teams) {
+            scoreRollupRepository.deleteTeam(managerId);
+            int rows = scoreRollupRepository.insertTeamFromMembers(managerId);
+            logger.debug("Rebuilt {} team score rollups for manager {}", rows, managerId);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public ScoreTrendDto getTrend(ScoreRollup.Scope scope, Long ownerId, ScoreRollup.Period period,
+                                  LocalDate startDate, LocalDate endDate) {
+        ScoreTrendDto trend = new ScoreTrendDto();
+        trend.setScope(scope.name());
+        trend.setOwnerId(ownerId);
+        trend.setPeriod(period.name());
+        trend.setStartDate(startDate);
+        trend.setEndDate(endDate);
+        trend.setTotals(getTotals(scope, List.of(ownerId), startDate, endDate).get(ownerId));
+        if (scope != ScoreRollup.Scope.SUBTREE) {
+            trend.setPoints(scoreRollupRepository.findSeries(scope, ownerId, period, period.startOf(startDate), endDate));
+            return trend;
+        }
+        
+        List<Long> members = userRepository.findSubordinateIds(ownerId);
+        List<ScoreStatsDto> points = members.isEmpty() ? List.of() : scoreRollupRepository.sumSeries(
+            ScoreRollup.Scope.USER, members, period, period.startOf(startDate), endDate);
+        points.forEach(point -> point.setOwnerId(ownerId));
+        trend.setPoints(points);
+        return trend;
+    }
+    
+    /**
+     * Totals over the date range per owner; owners without summaries get empty totals.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ScoreStatsDto> getTotals(ScoreRollup.Scope scope, Collection<Long> ownerIds,
+                                              LocalDate startDate, LocalDate endDate) {
+        // The whole months inside the range: [monthsFrom, monthsEnd], the last one starting at monthsTo
+        LocalDate monthsFrom = startDate.getDayOfMonth() == 1 ? startDate : startDate.withDayOfMonth(1).plusMonths(1);
+        LocalDate monthsEnd = ScoreRollup.Period.MONTH.startOf(endDate.plusDays(1)).minusDays(1);
+        LocalDate monthsTo = ScoreRollup.Period.MONTH.startOf(monthsEnd);
+        Map<Long, ScoreStatsDto> totals;
+        if (scope == ScoreRollup.Scope.SUBTREE) {
+            totals = new HashMap<>();
+            for (Long ownerId : ownerIds) {
+                List<Long> members = userRepository.findSubordinateIds(ownerId);
+                if (!members.isEmpty()) {
+                    ScoreStatsDto stats = scoreRollupRepository.sumOverOwners(
+                        ScoreRollup.Scope.USER, members, startDate, endDate, monthsFrom, monthsTo, monthsEnd,
+                        ScoreRollup.Period.MONTH, ScoreRollup.Period.DAY);
+                    stats.setOwnerId(ownerId);
+                    totals.put(ownerId, stats);
+                }
+            }
+        } else {
+            totals = scoreRollupRepository
+                .sumByOwner(scope, ownerIds, startDate, endDate, monthsFrom, monthsTo, monthsEnd,
+                            ScoreRollup.Period.MONTH, ScoreRollup.Period.DAY).stream()
+                .collect(Collectors.toMap(ScoreStatsDto::getOwnerId, Function.identity()));
+        }
+        for (Long ownerId : ownerIds) {
+            totals.computeIfAbsent(ownerId, ScoreStatsDto::empty);
+        }
+        return totals;
+    }
+    
+    // In id order, like the rollup rows, so two transactions never wait on each other's managers
+    private static void lockTeams(Connection connection, Set<Long> managerIds, String lockSql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(lockSql)) {
+            for (Long managerId : managerIds) {
+                statement.setLong(1, managerId);
+                statement.executeQuery().close();
+            }
+        }
+    }
+    
+    private static void bind(PreparedStatement statement, ScoreRollup.Key key, Totals totals) throws SQLException {
+        statement.setString(1, key.getScope().name());
+        statement.setLong(2, key.getOwnerId());
+        statement.setString(3, key.getPeriod().name());
+        statement.setDate(4, Date.valueOf(key.getPeriodStart()));
+        statement.setLong(5, totals.summaryCount);
+        statement.setLong(6, totals.productivity.sum);
+        statement.setLong(7, totals.productivity.count);
+        setNullableInt(statement, 8, totals.productivity.min);
+        setNullableInt(statement, 9, totals.productivity.max);
+        statement.setLong(10, totals.collaboration.sum);
+        statement.setLong(11, totals.collaboration.count);
+        setNullableInt(statement, 12, totals.collaboration.min);
+        setNullableInt(statement, 13, totals.collaboration.max);
+    }
+    
+    private static void setNullableInt(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value != null) {
+            statement.setInt(index, value);
+        } else {
+            statement.setNull(index, Types.INTEGER);
+        }
+    }
+    
+    private static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not determine the database for score rollups", e);
+        }
+    }
+    
+    private static class Totals {
+        private long summaryCount;
+        private final Score productivity = new Score();
+        private final Score collaboration = new Score();
+        
+        void add(WorkSummary summary) {
+            summaryCount++;
+            productivity.add(summary.getProductivityScore());
+            collaboration.add(summary.getCollaborationScore());
+        }
+    }
+    
+    private static class Score {
+        private long sum;
+        private long count;
+        private Integer min;
+        private Integer max;
+        
+        void add(Integer score) {
+            if (score == null) {
+                return;
+            }
+            sum += score;
+            count++;
+            min = min == null ? score : Math.min(min, score);
+            max = max == null ? score : Math.max(max, score);
+        }
+    }
+}
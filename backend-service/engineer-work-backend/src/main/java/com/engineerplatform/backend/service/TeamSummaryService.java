@@ -0,0 +1,381 @@
+package com.engineerplatform.backend.service;
+
+import com.engineerplatform.backend.dto.TeamSummaryDto;
+import com.engineerplatform.backend.integration.OllamaIntegrationService;
+import com.engineerplatform.backend.llm.LlmPriority;
+import com.engineerplatform.backend.llm.LlmRequestScheduler;
+import com.engineerplatform.backend.llm.WorkPromptBuilder;
+import com.engineerplatform.backend.model.TeamSummary;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.model.WorkSummary;
+import com.engineerplatform.backend.repository.TeamSummaryRepository;
+import com.engineerplatform.backend.repository.UserRepository;
+import com.engineerplatform.backend.repository.WorkSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Team summaries per (manager, period). Member dailies are read in one query and missing ones
+ * are generated in parallel, at most max-pending-fill-ins at a time across all teams; managers among the reports are summarized recursively, also in
+ * parallel, and only their team summaries enter the parent prompt, so a leader's prompt stays
+ * the size of one team however deep the hierarchy is. Results are stored in team_summaries and
+ * concurrent requests for the same team share one generation.
+ * <p>
+ * The requested row also carries the generation state: GENERATING while the tree is summarized
+ * on the batch LLM executor, READY with the result, or FAILED with the last error until a
+ * backoff has passed, so a poller on any node gets the outcome and a failing team is not
+ * regenerated on every poll.
+ */
+@Service
+public class TeamSummaryService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TeamSummaryService.class);
+    
+    private final TeamSummaryRepository teamSummaryRepository;
+    private final UserRepository userRepository;
+    private final WorkSummaryRepository workSummaryRepository;
+    private final WorkSummaryService workSummaryService;
+    private final OllamaIntegrationService ollamaService;
+    private final LlmRequestScheduler llmScheduler;
+    private final WorkPromptBuilder promptBuilder;
+    private final Executor llmBatchExecutor;
+    private final Duration cacheTtl;
+    private final int maxFillInDays;
+    private final Semaphore fillInPermits;
+    private final Duration generationTimeout;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+    private final Map<String, CompletableFuture<TeamSummary>> inFlight = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public TeamSummaryService(TeamSummaryRepository teamSummaryRepository,
+                              UserRepository userRepository,
+                              WorkSummaryRepository workSummaryRepository,
+                              WorkSummaryService workSummaryService,
+                              OllamaIntegrationService ollamaService,
+                              LlmRequestScheduler llmScheduler,
+                              WorkPromptBuilder promptBuilder,
+                              @Qualifier("llmBatchExecutor") Executor llmBatchExecutor,
+                              @Value("${app.team-summaries.cache-ttl:1h}") Duration cacheTtl,
+                              @Value("${app.team-summaries.max-fill-in-days:7}") int maxFillInDays,
+                              @Value("${app.team-summaries.max-pending-fill-ins:50}") int maxPendingFillIns,
+                              @Value("${app.team-summaries.generation-timeout:15m}") Duration generationTimeout,
+                              @Value("${app.team-summaries.retry-base-delay:1m}") Duration retryBaseDelay,
+                              @Value("${app.team-summaries.retry-max-delay:1h}") Duration retryMaxDelay) {
+        this.teamSummaryRepository = teamSummaryRepository;
+        this.userRepository = userRepository;
+        this.workSummaryRepository = workSummaryRepository;
+        this.workSummaryService = workSummaryService;
+        this.ollamaService = ollamaService;
+        this.llmScheduler = llmScheduler;
+        this.promptBuilder = promptBuilder;
+        this.llmBatchExecutor = llmBatchExecutor;
+        this.cacheTtl = cacheTtl;
+        this.maxFillInDays = maxFillInDays;
+        this.fillInPermits = new Semaphore(maxPendingFillIns);
+        this.generationTimeout = generationTimeout;
+        this.retryBaseDelay = retryBaseDelay;
+        this.retryMaxDelay = retryMaxDelay;
+    }
+    
+    /**
+     * The team summary row for the period, starting a generation first when there is no current
+     * result, the last failure's backoff has passed, or a generation has been stuck for longer
+     * than the generation timeout. Only the row is read and written here; the reporting tree is
+     * walked on the batch LLM executor.
+     */
+    public TeamSummary request(User manager, LocalDate startDate, LocalDate endDate) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<TeamSummary> stored = teamSummaryRepository.findByManagerAndPeriod(manager.getId(), startDate, endDate);
+        if (stored.isPresent() && !needsGeneration(stored.get(), now)) {
+            return stored.get();
+        }
+        
+        TeamSummary claimed;
+        if (stored.isPresent()) {
+            if (teamSummaryRepository.markGenerating(stored.get().getId(), stored.get().getUpdatedAt(), now,
+                                                     TeamSummary.Status.GENERATING) == 0) {
+                // Another request claimed it first
+                return teamSummaryRepository.findByManagerAndPeriod(manager.getId(), startDate, endDate).orElseThrow();
+            }
+            claimed = teamSummaryRepository.findById(stored.get().getId()).orElseThrow();
+        } else {
+            TeamSummary summary = new TeamSummary();
+            summary.setManager(manager);
+            summary.setPeriodStart(startDate);
+            summary.setPeriodEnd(endDate);
+            summary.setStatus(TeamSummary.Status.GENERATING);
+            try {
+                claimed = teamSummaryRepository.saveAndFlush(summary);
+            } catch (DataIntegrityViolationException e) {
+                return teamSummaryRepository.findByManagerAndPeriod(manager.getId(), startDate, endDate).orElseThrow(() -> e);
+            }
+        }
+        
+        logger.info("Generating team summary for manager {} from {} to {}", manager.getUsername(), startDate, endDate);
+        try {
+            CompletableFuture.supplyAsync(() -> summarize(manager, startDate, endDate, Set.of()), llmBatchExecutor)
+                .thenCompose(generation -> generation)
+                .whenComplete((summary, error) -> {
+                    if (error != null) {
+                        recordFailure(manager, startDate, endDate, error);
+                    }
+                });
+        } catch (RejectedExecutionException e) {
+            recordFailure(manager, startDate, endDate, e);
+            return teamSummaryRepository.findById(claimed.getId()).orElse(claimed);
+        }
+        return claimed;
+    }
+    
+    // Summaries of closed periods stay valid; summaries that include today expire after the cache TTL
+    private Optional<TeamSummary> getCachedSummary(User manager, LocalDate startDate, LocalDate endDate) {
+        return teamSummaryRepository.findByManagerAndPeriod(manager.getId(), startDate, endDate)
+            .filter(this::isFresh);
+    }
+    
+    private CompletableFuture<TeamSummary> summarize(User manager, LocalDate startDate, LocalDate endDate, Set<Long> ancestors) {
+        Optional<TeamSummary> cached = getCachedSummary(manager, startDate, endDate);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        
+        String key = key(manager, startDate, endDate);
+        CompletableFuture<TeamSummary> result = new CompletableFuture<>();
+        CompletableFuture<TeamSummary> existing = inFlight.putIfAbsent(key, result);
+        if (existing != null) {
+            return existing;
+        }
+        
+        CompletableFuture<TeamSummary> generation;
+        try {
+            generation = generate(manager, startDate, endDate, ancestors);
+        } catch (Exception e) {
+            generation = CompletableFuture.failedFuture(e);
+        }
+        generation.whenComplete((summary, error) -> {
+            inFlight.remove(key, result);
+            if (error != null) {
+                logger.error("Team summary for manager {} from {} to {} failed: {}",
+                            manager.getUsername(), startDate, endDate, error.getMessage());
+                result.completeExceptionally(error);
+            } else {
+                result.complete(summary);
+            }
+        });
+        return result;
+    }
+    
+    private CompletableFuture<TeamSummary> generate(User manager, LocalDate startDate, LocalDate endDate, Set<Long> ancestors) {
+        List<User> reports = userRepository.findDirectReports(manager);
+        Set<Long> managerIds = reports.isEmpty() ? Set.of() : userRepository.findManagerIdsAmong(reports);
+        
+        Set<Long> path = new HashSet<>(ancestors);
+        path.add(manager.getId());
+        
+        // A report with reports of their own is covered by their team summary; the path guards against cycles
+        Map<User, CompletableFuture<TeamSummary>> subTeams = new LinkedHashMap<>();
+        List<User> members = new ArrayList<>();
+        for (User report : reports) {
+            if (managerIds.contains(report.getId()) && !path.contains(report.getId())) {
+                subTeams.put(report, summarize(report, startDate, endDate, path));
+            } else {
+                members.add(report);
+            }
+        }
+        
+        CompletableFuture<Map<User, List<WorkSummary>>> dailies = memberDailies(members, startDate, endDate);
+        
+        List<CompletableFuture<?>> parts = new ArrayList<>(subTeams.values());
+        parts.add(dailies);
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+            .thenApplyAsync(ignored -> {
+                Map<String, String> subTeamText = new LinkedHashMap<>();
+                subTeams.forEach((lead, summary) -> subTeamText.put(lead.getFullName(), summary.join().getSummary()));
+                Map<String, List<WorkSummary>> memberText = new LinkedHashMap<>();
+                dailies.join().forEach((member, summaries) -> memberText.put(member.getFullName(), summaries));
+                
+                return save(manager, startDate, endDate, members.size(), subTeams.size(),
+                            summaryText(manager, subTeamText, memberText));
+            }, llmBatchExecutor);
+    }
+    
+    private CompletableFuture<Map<User, List<WorkSummary>>> memberDailies(List<User> members, LocalDate startDate, LocalDate endDate) {
+        if (members.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        
+        Map<Long, List<WorkSummary>> stored = workSummaryRepository.findByUsersAndDateRange(members, startDate, endDate).stream()
+            .filter(summary -> summary.getSummaryType() == WorkSummary.SummaryType.DAILY)
+            .collect(Collectors.groupingBy(summary -> summary.getUser().getId()));
+        
+        // Only recent past weekdays are filled in, so a long range does not turn into hundreds of model calls
+        LocalDate lastDay = endDate.isBefore(LocalDate.now()) ? endDate : LocalDate.now().minusDays(1);
+        List<LocalDate> fillInDays = new ArrayList<>();
+        for (LocalDate day = lastDay; !day.isBefore(startDate) && fillInDays.size() < maxFillInDays; day = day.minusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                fillInDays.add(day);
+            }
+        }
+        
+        Map<User, List<CompletableFuture<WorkSummary>>> pending = new LinkedHashMap<>();
+        int skipped = 0;
+        for (User member : members) {
+            List<CompletableFuture<WorkSummary>> futures = new ArrayList<>();
+            List<WorkSummary> existing = stored.getOrDefault(member.getId(), List.of());
+            existing.forEach(summary -> futures.add(CompletableFuture.completedFuture(summary)));
+            Set<LocalDate> covered = existing.stream().map(WorkSummary::getSummaryDate).collect(Collectors.toSet());
+            
+            for (LocalDate day : fillInDays) {
+                if (covered.contains(day)) {
+                    continue;
+                }
+                // Days beyond the limit are summarized without their daily; the daily batch fills them in later
+                if (!fillInPermits.tryAcquire()) {
+                    skipped++;
+                    continue;
+                }
+                CompletableFuture<WorkSummary> fillIn;
+                try {
+                    fillIn = CompletableFuture.supplyAsync(
+                        () -> workSummaryService.generateDailySummary(member.getId(), day, LlmPriority.BATCH), llmBatchExecutor);
+                } catch (RejectedExecutionException e) {
+                    fillInPermits.release();
+                    skipped++;
+                    continue;
+                }
+                futures.add(fillIn
+                    .whenComplete((summary, error) -> fillInPermits.release())
+                    .exceptionally(e -> {
+                        logger.warn("Could not fill in daily summary for {} on {}: {}", member.getUsername(), day, e.getMessage());
+                        return null;
+                    }));
+            }
+            pending.put(member, futures);
+        }
+        if (skipped > 0) {
+            logger.warn("Skipped filling in {} member dailies from {} to {}: too many fill-ins pending", skipped, startDate, endDate);
+        }
+        
+        return CompletableFuture.allOf(pending.values().stream().flatMap(List::stream).toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> {
+                Map<User, List<WorkSummary>> byMember = new LinkedHashMap<>();
+                pending.forEach((member, futures) -> byMember.put(member, futures.stream()
+                    .map(CompletableFuture::join)
+                    .filter(summary -> summary != null)
+                    .sorted(Comparator.comparing(WorkSummary::getSummaryDate))
+                    .toList()));
+                return byMember;
+            });
+    }
+    
+    private String summaryText(User manager, Map<String, String> subTeamText, Map<String, List<WorkSummary>> memberText) {
+        String teamData = promptBuilder.buildTeam(subTeamText, memberText);
+        if (teamData.isEmpty()) {
+            return "No team members reported work in this period.";
+        }
+        return llmScheduler.execute(LlmPriority.BATCH, manager.getUsername(), () -> ollamaService.generateTeamSummary(teamData));
+    }
+    
+    private TeamSummary save(User manager, LocalDate startDate, LocalDate endDate, int memberCount, int subTeamCount, String text) {
+        TeamSummary summary = teamSummaryRepository.findByManagerAndPeriod(manager.getId(), startDate, endDate)
+            .orElseGet(TeamSummary::new);
+        summary.setManager(manager);
+        summary.setPeriodStart(startDate);
+        summary.setPeriodEnd(endDate);
+        summary.setSummary(text);
+        summary.setMemberCount(memberCount);
+        summary.setSubTeamCount(subTeamCount);
+        summary.setGeneratedAt(LocalDateTime.now());
+        summary.setStatus(TeamSummary.Status.READY);
+        summary.setAttempts(0);
+        summary.setLastError(null);
+        summary.setNextAttemptAt(null);
+        
+        try {
+            return teamSummaryRepository.save(summary);
+        } catch (DataIntegrityViolationException e) {
+            // Another node stored the same period first; its result is as good as ours
+            return teamSummaryRepository.findByManagerAndPeriod(manager.getId(), startDate, endDate).orElseThrow(() -> e);
+        }
+    }
+    
+    private void recordFailure(User manager, LocalDate startDate, LocalDate endDate, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        try {
+            TeamSummary summary = teamSummaryRepository.findByManagerAndPeriod(manager.getId(), startDate, endDate)
+                .orElseThrow();
+            int attempts = summary.getAttempts() + 1;
+            long delayMillis = Math.min(retryBaseDelay.toMillis() << Math.min(attempts - 1, 20), retryMaxDelay.toMillis());
+            summary.setStatus(TeamSummary.Status.FAILED);
+            summary.setAttempts(attempts);
+            summary.setLastError(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+            summary.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delayMillis)));
+            teamSummaryRepository.save(summary);
+        } catch (Exception e) {
+            logger.error("Could not record team summary failure for manager {} from {} to {}: {}",
+                        manager.getUsername(), startDate, endDate, e.getMessage());
+        }
+    }
+    
+    private boolean needsGeneration(TeamSummary summary, LocalDateTime now) {
+        return switch (summary.getStatus()) {
+            case READY -> !isFresh(summary);
+            case FAILED -> summary.getNextAttemptAt() == null || !summary.getNextAttemptAt().isAfter(now);
+            // A node that died mid-generation leaves the row behind; take it over after the timeout
+            case GENERATING -> summary.getUpdatedAt() == null || summary.getUpdatedAt().isBefore(now.minus(generationTimeout));
+        };
+    }
+    
+    private boolean isFresh(TeamSummary summary) {
+        if (summary.getStatus() != TeamSummary.Status.READY || summary.getGeneratedAt() == null) {
+            return false;
+        }
+        if (summary.getGeneratedAt().toLocalDate().isAfter(summary.getPeriodEnd())) {
+            return true;
+        }
+        return summary.getGeneratedAt().isAfter(LocalDateTime.now().minus(cacheTtl));
+    }
+    
+    private static String key(User manager, LocalDate startDate, LocalDate endDate) {
+        return manager.getId() + ":" + startDate + ":" + endDate;
+    }
+    
+    public TeamSummaryDto convertToDto(TeamSummary summary, User manager) {
+        TeamSummaryDto dto = new TeamSummaryDto();
+        dto.setManagerId(manager.getId());
+        dto.setManagerName(manager.getFullName());
+        dto.setPeriodStart(summary.getPeriodStart());
+        dto.setPeriodEnd(summary.getPeriodEnd());
+        dto.setSummary(summary.getSummary());
+        dto.setMemberCount(summary.getMemberCount());
+        dto.setSubTeamCount(summary.getSubTeamCount());
+        dto.setGeneratedAt(summary.getGeneratedAt());
+        return dto;
+    }
+}
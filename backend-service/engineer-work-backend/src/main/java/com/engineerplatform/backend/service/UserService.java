@@ -1,5 +1,6 @@
 package com.engineerplatform.backend.service;
 
+import com.engineerplatform.backend.cache.EntityCacheCoordinator;
 import com.engineerplatform.backend.dto.UserRegistrationDto;
 import com.engineerplatform.backend.dto.UserUpdateDto;
 import com.engineerplatform.backend.exception.ResourceNotFoundException;
@@ -29,13 +30,19 @@ public class UserService implements UserDetailsService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EntityCacheCoordinator cacheCoordinator;
+    private final ScoreRollupService scoreRollupService;
     
     @Autowired
-    public UserService(UserRepository userRepository, @Lazy PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, @Lazy PasswordEncoder passwordEncoder,
+                       EntityCacheCoordinator cacheCoordinator, ScoreRollupService scoreRollupService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.cacheCoordinator = cacheCoordinator;
+        this.scoreRollupService = scoreRollupService;
     }
     
+    @Transactional(readOnly = true)
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.debug("Loading user by username: {}", username);
@@ -105,44 +112,59 @@ public class UserService implements UserDetailsService {
         return updatedUser;
     }
     
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         logger.debug("Fetching user by ID: {}", id);
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
     }
     
+    @Transactional(readOnly = true)
+    public User getUserWithManagerById(Long id) {
+        logger.debug("Fetching user with manager by ID: {}", id);
+        return userRepository.findWithManagerById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+    }
+    
+    @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
         logger.debug("Fetching user by username: {}", username);
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
     }
     
+    @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         logger.debug("Fetching user by email: {}", email);
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
     
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         logger.debug("Fetching all users");
-        return userRepository.findAll();
+        return userRepository.findAllWithManager();
     }
     
+    @Transactional(readOnly = true)
     public List<User> getActiveUsers() {
         logger.debug("Fetching all active users");
         return userRepository.findAllActiveUsers();
     }
     
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(User.Role role) {
         logger.debug("Fetching users by role: {}", role);
         return userRepository.findByRole(role);
     }
     
+    @Transactional(readOnly = true)
     public List<User> getDirectReports(User manager) {
         logger.debug("Fetching direct reports for manager: {}", manager.getUsername());
         return userRepository.findDirectReports(manager);
     }
     
+    @Transactional(readOnly = true)
     public List<User> getAllManagers() {
         logger.debug("Fetching all managers");
         return userRepository.findAllManagers();
@@ -158,8 +180,13 @@ public class UserService implements UserDetailsService {
             throw new IllegalArgumentException("Assigned manager must have manager role");
         }
         
+        Long previousManagerId = user.getManager() != null ? user.getManager().getId() : null;
         user.setManager(manager);
         User updatedUser = userRepository.save(user);
+        cacheCoordinator.evictDirectReports(previousManagerId, managerId);
+        if (!managerId.equals(previousManagerId)) {
+            scoreRollupService.rebuildTeams(previousManagerId, managerId);
+        }
         logger.info("Successfully assigned manager to user with ID: {}", updatedUser.getId());
         return updatedUser;
     }
@@ -191,34 +218,42 @@ public class UserService implements UserDetailsService {
         logger.info("Successfully activated user with ID: {}", userId);
     }
     
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
     
+    @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
         return userRepository.existsByUsername(username);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findByGithubUsername(String githubUsername) {
         return userRepository.findByGithubUsername(githubUsername);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findBySlackUserId(String slackUserId) {
         return userRepository.findBySlackUserId(slackUserId);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findByJiraUsername(String jiraUsername) {
         return userRepository.findByJiraUsername(jiraUsername);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findByGoogleEmail(String googleEmail) {
         return userRepository.findByGoogleEmail(googleEmail);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> findByMicrosoftEmail(String microsoftEmail) {
         return userRepository.findByMicrosoftEmail(microsoftEmail);
     }
     
+    @Transactional(readOnly = true)
     public boolean canManagerAccessUser(User manager, User targetUser) {
         logger.debug("Checking if manager {} can access user {}", manager.getUsername(), targetUser.getUsername());
         
@@ -231,15 +266,7 @@ public class UserService implements UserDetailsService {
                 return true;
             }
             
-            List<User> directReports = getDirectReports(manager);
-            for (User report : directReports) {
-                if (report.getId().equals(targetUser.getId())) {
-                    return true;
-                }
-                if (canManagerAccessUser(manager, report)) {
-                    return true;
-                }
-            }
+            return userRepository.countManagerInChain(manager.getId(), targetUser.getId()) > 0;
         }
         
         return false;
@@ -1,23 +1,60 @@
 package com.engineerplatform.backend.service;
 
+import com.engineerplatform.backend.dto.KeysetPage;
 import com.engineerplatform.backend.dto.WorkSummaryDto;
+import com.engineerplatform.backend.dto.WorkSummaryListItemDto;
+import com.engineerplatform.backend.exception.LlmCapacityExceededException;
 import com.engineerplatform.backend.exception.ResourceNotFoundException;
 import com.engineerplatform.backend.integration.GitHubIntegrationService;
 import com.engineerplatform.backend.integration.OllamaIntegrationService;
+import com.engineerplatform.backend.llm.LlmPriority;
+import com.engineerplatform.backend.llm.LlmRequestScheduler;
+import com.engineerplatform.backend.llm.TemplateSummarizer;
+import com.engineerplatform.backend.llm.WorkPromptBuilder;
 import com.engineerplatform.backend.model.User;
 import com.engineerplatform.backend.model.WorkSummary;
 import com.engineerplatform.backend.repository.WorkSummaryRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -25,23 +62,72 @@ public class WorkSummaryService {
     
     private static final Logger logger = LoggerFactory.getLogger(WorkSummaryService.class);
     
+    private static final DateTimeFormatter PERIOD_DAY = DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter PERIOD_MONTH = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+    
+    /**
+     * How weekly and monthly summaries are produced: HIERARCHICAL condenses the stored daily
+     * summaries, RAW re-sends the period's combined activity data to the model.
+     */
+    public enum RollupMode {
+        HIERARCHICAL, RAW
+    }
+    
     private final WorkSummaryRepository workSummaryRepository;
     private final UserService userService;
     private final GitHubIntegrationService gitHubService;
     private final OllamaIntegrationService ollamaService;
+    private final LlmRequestScheduler llmScheduler;
+    private final WorkPromptBuilder promptBuilder;
+    private final Executor llmBatchExecutor;
+    private final Executor llmBackgroundExecutor;
+    private final RollupMode rollupMode;
+    private final TemplateSummarizer templateSummarizer;
+    private final Duration interactiveDeadline;
+    private final ScoreRollupService scoreRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillMaxAttempts;
+    private final Duration backfillBackoff;
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
     
     @Autowired
     public WorkSummaryService(WorkSummaryRepository workSummaryRepository,
                              UserService userService,
                              GitHubIntegrationService gitHubService,
-                             OllamaIntegrationService ollamaService) {
+                             OllamaIntegrationService ollamaService,
+                             LlmRequestScheduler llmScheduler,
+                             WorkPromptBuilder promptBuilder,
+                             @Qualifier("llmBatchExecutor") Executor llmBatchExecutor,
+                             @Qualifier("llmBackgroundExecutor") Executor llmBackgroundExecutor,
+                             @Value("${app.summaries.rollup-mode:HIERARCHICAL}") RollupMode rollupMode,
+                             TemplateSummarizer templateSummarizer,
+                             @Value("${app.summaries.fallback.interactive-deadline:20s}") Duration interactiveDeadline,
+                             ScoreRollupService scoreRollupService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.summaries.fallback.backfill-max-attempts:5}") int backfillMaxAttempts,
+                             @Value("${app.summaries.fallback.backfill-backoff:PT30M}") Duration backfillBackoff) {
         this.workSummaryRepository = workSummaryRepository;
         this.userService = userService;
         this.gitHubService = gitHubService;
         this.ollamaService = ollamaService;
+        this.llmScheduler = llmScheduler;
+        this.promptBuilder = promptBuilder;
+        this.llmBatchExecutor = llmBatchExecutor;
+        this.llmBackgroundExecutor = llmBackgroundExecutor;
+        this.rollupMode = rollupMode;
+        this.templateSummarizer = templateSummarizer;
+        this.interactiveDeadline = interactiveDeadline;
+        this.scoreRollupService = scoreRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillMaxAttempts = backfillMaxAttempts;
+        this.backfillBackoff = backfillBackoff;
     }
     
     public WorkSummary generateDailySummary(Long userId, LocalDate date) {
+        return generateDailySummary(userId, date, LlmPriority.INTERACTIVE);
+    }
+    
+    public WorkSummary generateDailySummary(Long userId, LocalDate date, LlmPriority priority) {
         logger.info("Generating daily summary for user {} on date {}", userId, date);
         
         User user = userService.getUserById(userId);
@@ -54,42 +140,96 @@ public class WorkSummaryService {
             return existingSummary.get();
         }
         
-        WorkSummary summary = new WorkSummary();
-        summary.setUser(user);
-        summary.setSummaryDate(date);
-        summary.setSummaryType(WorkSummary.SummaryType.DAILY);
-        
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(23, 59, 59);
-        
         try {
-            if (user.getGithubUsername() != null) {
-                var commits = gitHubService.getUserCommits(user.getGithubUsername(), startOfDay, endOfDay);
-                var pullRequests = gitHubService.getUserPullRequests(user.getGithubUsername(), startOfDay, endOfDay);
-                var reviews = gitHubService.getUserReviews(user.getGithubUsername(), startOfDay, endOfDay);
-                
-                summary.setGithubCommits(formatGitHubCommits(commits));
-                summary.setGithubPullRequests(formatGitHubPullRequests(pullRequests));
-                summary.setGithubReviews(formatGitHubReviews(reviews));
-            }
+            WorkSummary summary = collectDailyActivity(user, date);
+            applyScores(summary);
             
-            String workData = buildWorkDataString(summary);
-            String aiSummary = ollamaService.generateWorkSummary(workData);
-            summary.setAiGeneratedSummary(aiSummary);
-            
-            summary.setProductivityScore(calculateProductivityScore(summary));
-            summary.setCollaborationScore(calculateCollaborationScore(summary));
-            
-            WorkSummary savedSummary = workSummaryRepository.save(summary);
+            WorkSummary savedSummary = summarizeAndSave(summary, priority, user.getUsername());
             logger.info("Successfully generated daily summary for user {} on date {}", userId, date);
             return savedSummary;
-            
+        
         } catch (Exception e) {
             logger.error("Error generating daily summary for user {} on date {}: {}", userId, date, e.getMessage(), e);
             throw new RuntimeException("Failed to generate daily summary", e);
         }
     }
     
+    /**
+     * First half of daily generation for callers that bound integration and model work
+     * separately: fetches and scores the day's activity without calling the model.
+     */
+    public WorkSummary collectDailySummary(User user, LocalDate date) {
+        WorkSummary summary = collectDailyActivity(user, date);
+        applyScores(summary);
+        return summary;
+    }
+    
+    /**
+     * Second half for batch callers: adds the model's text, or the template text when the model
+     * fails, without saving, so finished summaries can be written together with
+     * {@link #saveSummaries}.
+     */
+    public WorkSummary summarizeDailySummary(WorkSummary summary, LlmPriority priority) {
+        String requester = summary.getUser().getUsername();
+        try {
+            String text = llmScheduler.execute(priority, requester, () -> requestAiSummary(summary).block());
+            summary.setAiGeneratedSummary(text);
+            summary.setSummarySource(WorkSummary.SummarySource.AI);
+        } catch (Exception e) {
+            logger.warn("Model failed for daily summary of {} on {}, using template summary: {}",
+                       requester, summary.getSummaryDate(), e.getMessage());
+            applyTemplateSummary(summary);
+        }
+        return summary;
+    }
+    
+    /**
+     * Inserts or updates the summaries in one transaction; new rows go out in JDBC batches of
+     * hibernate.jdbc.batch_size.
+     */
+    public List<WorkSummary> saveSummaries(List<WorkSummary> summaries) {
+        List<WorkSummary> inserted = summaries.stream().filter(summary -> summary.getId() == null).toList();
+        List<WorkSummary> saved = workSummaryRepository.saveAll(summaries);
+        scoreRollupService.addSummaries(inserted);
+        return saved;
+    }
+    
+    public Flux<String> streamDailySummary(Long userId, LocalDate date) {
+        logger.info("Streaming daily summary for user {} on date {}", userId, date);
+        
+        User user = userService.getUserById(userId);
+        
+        Optional<WorkSummary> existingSummary = workSummaryRepository
+            .findByUserAndSummaryDateAndSummaryType(user, date, WorkSummary.SummaryType.DAILY);
+        
+        if (existingSummary.isPresent()) {
+            logger.info("Daily summary already exists for user {} on date {}", userId, date);
+            String existingText = existingSummary.get().getAiGeneratedSummary();
+            return existingText != null ? Flux.just(existingText) : Flux.empty();
+        }
+        
+        WorkSummary summary = collectDailyActivity(user, date);
+        String workData = promptBuilder.build(summary);
+        StringBuilder generated = new StringBuilder();
+        
+        // Persist only once the model has finished; a cancelled or failed stream leaves nothing behind
+        return Flux.using(
+                () -> llmScheduler.acquire(LlmPriority.INTERACTIVE, user.getUsername()),
+                permit -> ollamaService.streamWorkSummary(workData),
+                LlmRequestScheduler.Permit::close)
+            .subscribeOn(Schedulers.boundedElastic())
+            .doOnNext(generated::append)
+            .publishOn(Schedulers.boundedElastic())
+            .doOnComplete(() -> {
+                summary.setAiGeneratedSummary(generated.toString());
+                summary.setSummarySource(WorkSummary.SummarySource.AI);
+                applyScores(summary);
+                // Runs on a Reactor thread, outside the caller's transaction
+                transactionTemplate.executeWithoutResult(status -> insertSummary(summary));
+                logger.info("Successfully streamed and saved daily summary for user {} on date {}", userId, date);
+            });
+    }
+    
     public WorkSummary generateWeeklySummary(Long userId, LocalDate weekStartDate) {
         logger.info("Generating weekly summary for user {} starting from {}", userId, weekStartDate);
         
@@ -104,16 +244,40 @@ public class WorkSummaryService {
             return existingSummary.get();
         }
         
-        List<WorkSummary> dailySummaries = workSummaryRepository
-            .findByUserAndDateRange(user, weekStartDate, weekEndDate);
+        List<WorkSummary> dailySummaries = collectDailySummaries(user, weekStartDate, weekEndDate);
         
-        WorkSummary weeklySummary = aggregateWeeklySummary(user, weekStartDate, dailySummaries);
+        WorkSummary weeklySummary = aggregateSummary(user, WorkSummary.SummaryType.WEEKLY, weekStartDate, dailySummaries);
         
-        WorkSummary savedSummary = workSummaryRepository.save(weeklySummary);
+        WorkSummary savedSummary = summarizeAndSave(weeklySummary, LlmPriority.BATCH, user.getUsername());
         logger.info("Successfully generated weekly summary for user {} for week starting {}", userId, weekStartDate);
         return savedSummary;
     }
     
+    public WorkSummary generateMonthlySummary(Long userId, LocalDate month) {
+        LocalDate monthStartDate = month.withDayOfMonth(1);
+        LocalDate monthEndDate = month.with(TemporalAdjusters.lastDayOfMonth());
+        logger.info("Generating monthly summary for user {} for month starting {}", userId, monthStartDate);
+        
+        User user = userService.getUserById(userId);
+        
+        Optional<WorkSummary> existingSummary = workSummaryRepository
+            .findByUserAndSummaryDateAndSummaryType(user, monthStartDate, WorkSummary.SummaryType.MONTHLY);
+        
+        if (existingSummary.isPresent()) {
+            logger.info("Monthly summary already exists for user {} for month starting {}", userId, monthStartDate);
+            return existingSummary.get();
+        }
+        
+        List<WorkSummary> dailySummaries = collectDailySummaries(user, monthStartDate, monthEndDate);
+        
+        WorkSummary monthlySummary = aggregateSummary(user, WorkSummary.SummaryType.MONTHLY, monthStartDate, dailySummaries);
+        
+        WorkSummary savedSummary = summarizeAndSave(monthlySummary, LlmPriority.BATCH, user.getUsername());
+        logger.info("Successfully generated monthly summary for user {} for month starting {}", userId, monthStartDate);
+        return savedSummary;
+    }
+    
+    @Transactional(readOnly = true)
     public List<WorkSummary> getUserSummaries(Long userId, LocalDate startDate, LocalDate endDate) {
         logger.debug("Fetching work summaries for user {} from {} to {}", userId, startDate, endDate);
         
@@ -121,13 +285,56 @@ public class WorkSummaryService {
         return workSummaryRepository.findByUserAndDateRange(user, startDate, endDate);
     }
     
-    public List<WorkSummary> getTeamSummaries(Long managerId, LocalDate startDate, LocalDate endDate) {
-        logger.debug("Fetching team summaries for manager {} from {} to {}", managerId, startDate, endDate);
-        
-        User manager = userService.getUserById(managerId);
-        List<User> teamMembers = userService.getDirectReports(manager);
-        
-        return workSummaryRepository.findByUsersAndDateRange(teamMembers, startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<WorkSummaryListItemDto> getUserSummaryList(Long userId, LocalDate startDate, LocalDate endDate) {
+        return workSummaryRepository.findListItemsByUserAndDateRange(userId, startDate, endDate);
+    }
+    
+    @Transactional(readOnly = true)
+    public KeysetPage<WorkSummaryListItemDto> getUserSummaryPage(Long userId, LocalDate startDate, LocalDate endDate,
+                                                                 String cursor, int limit) {
+        KeysetPage.Cursor position = cursor != null ? KeysetPage.Cursor.decode(cursor) : null;
+        List<WorkSummaryListItemDto> rows = workSummaryRepository.findListItemsByUserBefore(userId, startDate, endDate,
+            position != null ? position.date() : endDate.plusDays(1), position != null ? position.getId() : Long.MAX_VALUE,
+            PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, WorkSummaryService::cursorOf);
+    }
+    
+    @Transactional(readOnly = true)
+    public KeysetPage<WorkSummaryListItemDto> getTeamSummaryPage(Long managerId, LocalDate startDate, LocalDate endDate,
+                                                                 String cursor, int limit) {
+        KeysetPage.Cursor position = cursor != null ? KeysetPage.Cursor.decode(cursor) : null;
+        List<WorkSummaryListItemDto> rows = workSummaryRepository.findListItemsByManagerBefore(managerId, startDate, endDate,
+            position != null ? position.date() : endDate.plusDays(1), position != null ? position.getId() : Long.MAX_VALUE,
+            PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, WorkSummaryService::cursorOf);
+    }
+    
+    // Rows are handed over as they are read; the transaction stays open until the last one is consumed
+    @Transactional(readOnly = true)
+    public void streamUserSummaryList(Long userId, LocalDate startDate, LocalDate endDate,
+                                      Consumer<? super WorkSummaryListItemDto> consumer) {
+        try (Stream<WorkSummaryListItemDto> rows = workSummaryRepository.streamListItemsByUserAndDateRange(userId, startDate, endDate)) {
+            rows.forEach(consumer);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamTeamSummaryList(Long managerId, LocalDate startDate, LocalDate endDate,
+                                      Consumer<? super WorkSummaryListItemDto> consumer) {
+        try (Stream<WorkSummaryListItemDto> rows = workSummaryRepository.streamListItemsByManagerAndDateRange(managerId, startDate, endDate)) {
+            rows.forEach(consumer);
+        }
+    }
+    
+    private static KeysetPage.Cursor cursorOf(WorkSummaryListItemDto summary) {
+        return new KeysetPage.Cursor(summary.getSummaryDate(), summary.getId());
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<WorkSummary> getLatestDailySummary(User user, LocalDate before) {
+        return workSummaryRepository.findFirstByUserAndSummaryTypeAndSummaryDateBeforeOrderBySummaryDateDesc(
+            user, WorkSummary.SummaryType.DAILY, before);
     }
     
     public WorkSummaryDto convertToDto(WorkSummary summary) {
@@ -138,6 +345,8 @@ public class WorkSummaryService {
         dto.setSummaryDate(summary.getSummaryDate());
         dto.setSummaryType(summary.getSummaryType().name());
         dto.setAiGeneratedSummary(summary.getAiGeneratedSummary());
+        // Rows written before the template fallback existed were all model output
+        dto.setSummarySource(summary.getSummarySource() != null ? summary.getSummarySource().name() : WorkSummary.SummarySource.AI.name());
         dto.setKeyAchievements(summary.getKeyAchievements());
         dto.setProductivityScore(summary.getProductivityScore());
         dto.setCollaborationScore(summary.getCollaborationScore());
@@ -152,10 +361,11 @@ public class WorkSummaryService {
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public WorkSummary getSummaryById(Long summaryId) {
         logger.debug("Fetching work summary by ID: {}", summaryId);
         
-        Optional<WorkSummary> summary = workSummaryRepository.findById(summaryId);
+        Optional<WorkSummary> summary = workSummaryRepository.findWithUserById(summaryId);
         if (summary.isEmpty()) {
             throw new ResourceNotFoundException("Work summary not found with ID: " + summaryId);
         }
@@ -163,6 +373,259 @@ public class WorkSummaryService {
         return summary.get();
     }
     
+    private List<WorkSummary> collectDailySummaries(User user, LocalDate startDate, LocalDate endDate) {
+        List<WorkSummary> dailySummaries = workSummaryRepository.findByUserAndDateRange(user, startDate, endDate).stream()
+            .filter(summary -> summary.getSummaryType() == WorkSummary.SummaryType.DAILY)
+            .collect(Collectors.toCollection(ArrayList::new));
+        
+        if (rollupMode == RollupMode.RAW) {
+            return dailySummaries;
+        }
+        
+        // Fill in past working days that have no daily yet; today is skipped as it is still in progress
+        Set<LocalDate> covered = dailySummaries.stream().map(WorkSummary::getSummaryDate).collect(Collectors.toSet());
+        LocalDate lastDate = endDate.isBefore(LocalDate.now()) ? endDate : LocalDate.now().minusDays(1);
+        List<CompletableFuture<WorkSummary>> missing = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            if (covered.contains(date) || date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            LocalDate day = date;
+            // A direct call on the pool thread would bypass the proxy, and with it the transaction
+            // that keeps the summary and its score rollups together
+            Supplier<WorkSummary> generate = () -> transactionTemplate.execute(
+                status -> generateDailySummary(user.getId(), day, LlmPriority.BATCH));
+            CompletableFuture<WorkSummary> daily;
+            try {
+                daily = CompletableFuture.supplyAsync(generate, llmBatchExecutor);
+            } catch (RejectedExecutionException e) {
+                // The batch queue is full, so this caller generates the day itself and slows down
+                daily = CompletableFuture.completedFuture(day).thenApply(ignored -> generate.get());
+            }
+            missing.add(daily
+                .exceptionally(e -> {
+                    logger.warn("Could not generate missing daily summary for user {} on {}: {}",
+                               user.getId(), day, e.getMessage());
+                    return null;
+                }));
+        }
+        
+        if (!missing.isEmpty()) {
+            logger.info("Generating {} missing daily summaries for user {} between {} and {}",
+                       missing.size(), user.getId(), startDate, endDate);
+            for (CompletableFuture<WorkSummary> future : missing) {
+                WorkSummary daily = future.join();
+                if (daily != null) {
+                    dailySummaries.add(daily);
+                }
+            }
+        }
+        
+        dailySummaries.sort(Comparator.comparing(WorkSummary::getSummaryDate));
+        return dailySummaries;
+    }
+    
+    private WorkSummary collectDailyActivity(User user, LocalDate date) {
+        WorkSummary summary = new WorkSummary();
+        summary.setUser(user);
+        summary.setSummaryDate(date);
+        summary.setSummaryType(WorkSummary.SummaryType.DAILY);
+        
+        LocalDateTime startOfDay = date.atStartOfDay();
+        LocalDateTime endOfDay = date.atTime(23, 59, 59);
+        
+        if (user.getGithubUsername() != null) {
+            var commits = gitHubService.getUserCommits(user.getGithubUsername(), startOfDay, endOfDay);
+            var pullRequests = gitHubService.getUserPullRequests(user.getGithubUsername(), startOfDay, endOfDay);
+            var reviews = gitHubService.getUserReviews(user.getGithubUsername(), startOfDay, endOfDay);
+            
+            summary.setGithubCommits(formatGitHubCommits(commits));
+            summary.setGithubPullRequests(formatGitHubPullRequests(pullRequests));
+            summary.setGithubReviews(formatGitHubReviews(reviews));
+        }
+        
+        return summary;
+    }
+    
+    private void applyScores(WorkSummary summary) {
+        summary.setProductivityScore(calculateProductivityScore(summary));
+        summary.setCollaborationScore(calculateCollaborationScore(summary));
+    }
+    
+    /**
+     * Saves the summary with the model's text when it answers in time, otherwise with the template
+     * text. Interactive requests wait at most the fallback deadline; if the model answers after that,
+     * its text replaces the template once this transaction has committed. Template summaries whose
+     * model call failed outright are picked up by {@link #backfillTemplateSummaries()}.
+     */
+    private WorkSummary summarizeAndSave(WorkSummary summary, LlmPriority priority, String requester) {
+        long startedAt = System.nanoTime();
+        Duration deadline = priority == LlmPriority.INTERACTIVE ? interactiveDeadline : null;
+        
+        CompletableFuture<String> aiSummary;
+        try {
+            LlmRequestScheduler.Permit permit = deadline != null
+                ? llmScheduler.acquire(priority, requester, deadline)
+                : llmScheduler.acquire(priority, requester);
+            aiSummary = requestAiSummary(summary).toFuture();
+            aiSummary.whenComplete((text, error) -> permit.close());
+        } catch (LlmCapacityExceededException e) {
+            logger.warn("No model capacity for {} summary of {} on {}, saving template summary: {}",
+                       summary.getSummaryType(), requester, summary.getSummaryDate(), e.getMessage());
+            return saveTemplateSummary(summary);
+        }
+        
+        try {
+            String text = deadline != null
+                ? aiSummary.get(Math.max(deadline.toNanos() - (System.nanoTime() - startedAt), 0), TimeUnit.NANOSECONDS)
+                : aiSummary.get();
+            summary.setAiGeneratedSummary(text);
+            summary.setSummarySource(WorkSummary.SummarySource.AI);
+            return insertSummary(summary);
+        
+        } catch (TimeoutException e) {
+            logger.info("Model missed the {}ms deadline for {} summary of {} on {}, saving template summary",
+                       deadline.toMillis(), summary.getSummaryType(), requester, summary.getSummaryDate());
+            WorkSummary saved = saveTemplateSummary(summary);
+            Long summaryId = saved.getId();
+            // Rejected when the background queue is full; the backfill then picks the summary up
+            runAfterCommit(() -> aiSummary.thenAcceptAsync(text -> fillInAiSummary(summaryId, text), llmBackgroundExecutor));
+            return saved;
+        } catch (ExecutionException e) {
+            logger.warn("Model failed for {} summary of {} on {}, saving template summary: {}",
+                       summary.getSummaryType(), requester, summary.getSummaryDate(), e.getCause().getMessage());
+            return saveTemplateSummary(summary);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return saveTemplateSummary(summary);
+        }
+    }
+    
+    private Mono<String> requestAiSummary(WorkSummary summary) {
+        if (summary.getSummaryType() == WorkSummary.SummaryType.DAILY) {
+            return ollamaService.generateWorkSummaryAsync(promptBuilder.build(summary));
+        }
+        
+        // One small prompt over the dailies' generated text; raw activity only when there is none
+        String dailyNotes = rollupMode == RollupMode.HIERARCHICAL ? promptBuilder.buildRollup(dailySummariesFor(summary)) : "";
+        if (!dailyNotes.isEmpty()) {
+            return ollamaService.generateRollupSummaryAsync(periodLabel(summary), dailyNotes);
+        }
+        return ollamaService.generateWorkSummaryAsync(promptBuilder.build(summary));
+    }
+    
+    private WorkSummary saveTemplateSummary(WorkSummary summary) {
+        applyTemplateSummary(summary);
+        return insertSummary(summary);
+    }
+    
+    // New summaries are saved here so their scores reach the rollups in the same transaction
+    private WorkSummary insertSummary(WorkSummary summary) {
+        WorkSummary saved = workSummaryRepository.save(summary);
+        scoreRollupService.addSummaries(List.of(saved));
+        return saved;
+    }
+    
+    private void applyTemplateSummary(WorkSummary summary) {
+        summary.setAiGeneratedSummary(templateSummarizer.summarize(summary));
+        summary.setSummarySource(WorkSummary.SummarySource.TEMPLATE);
+    }
+    
+    private void fillInAiSummary(Long summaryId, String text) {
+        workSummaryRepository.findById(summaryId)
+            .filter(summary -> summary.getSummarySource() == WorkSummary.SummarySource.TEMPLATE)
+            .ifPresent(summary -> {
+                summary.setAiGeneratedSummary(text);
+                summary.setSummarySource(WorkSummary.SummarySource.AI);
+                workSummaryRepository.save(summary);
+                logger.info("Replaced template summary {} with the model's summary", summaryId);
+            });
+    }
+    
+    @Scheduled(fixedDelayString = "${app.summaries.fallback.backfill-interval:PT10M}",
+               initialDelayString = "${app.summaries.fallback.backfill-interval:PT10M}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillTemplateSummaries() {
+        // The model calls run on the background pool so the scheduler thread is free for the other pollers
+        if (backfillRunning.compareAndSet(false, true)) {
+            try {
+                llmBackgroundExecutor.execute(() -> {
+                    try {
+                        runBackfill();
+                    } finally {
+                        backfillRunning.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                backfillRunning.set(false);
+                logger.warn("Background model queue is full, skipping this template backfill run");
+            }
+        }
+    }
+    
+    private void runBackfill() {
+        List<WorkSummary> pending = workSummaryRepository.findDueForBackfill(WorkSummary.SummarySource.TEMPLATE,
+            backfillMaxAttempts, LocalDateTime.now(), PageRequest.of(0, 20));
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        logger.info("Backfilling model summaries for {} template summaries", pending.size());
+        for (WorkSummary summary : pending) {
+            try {
+                String text = llmScheduler.execute(LlmPriority.BACKGROUND, "summary-backfill",
+                    () -> requestAiSummary(summary).block());
+                fillInAiSummary(summary.getId(), text);
+            } catch (LlmCapacityExceededException e) {
+                logger.info("Stopping summary backfill, no model capacity: {}", e.getMessage());
+                return;
+            } catch (Exception e) {
+                int attempts = summary.getBackfillAttempts() + 1;
+                // Doubles after each failure: backoff, 2 x backoff, 4 x backoff, ...
+                LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backfillBackoff.multipliedBy(1L << Math.min(attempts - 1, 16)));
+                workSummaryRepository.recordBackfillFailure(summary.getId(), nextAttemptAt);
+                if (attempts >= backfillMaxAttempts) {
+                    logger.warn("Backfill of summary {} failed {} times, keeping the template summary: {}",
+                               summary.getId(), attempts, e.getMessage());
+                } else {
+                    logger.warn("Backfill of summary {} failed (attempt {}), retrying after {}: {}",
+                               summary.getId(), attempts, nextAttemptAt, e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private List<WorkSummary> dailySummariesFor(WorkSummary periodSummary) {
+        LocalDate startDate = periodSummary.getSummaryDate();
+        LocalDate endDate = periodSummary.getSummaryType() == WorkSummary.SummaryType.MONTHLY
+            ? startDate.with(TemporalAdjusters.lastDayOfMonth())
+            : startDate.plusDays(6);
+        return workSummaryRepository.findByUserAndDateRange(periodSummary.getUser(), startDate, endDate).stream()
+            .filter(summary -> summary.getSummaryType() == WorkSummary.SummaryType.DAILY)
+            .toList();
+    }
+    
+    private String periodLabel(WorkSummary summary) {
+        return switch (summary.getSummaryType()) {
+            case WEEKLY -> "the week of " + summary.getSummaryDate().format(PERIOD_DAY);
+            case MONTHLY -> summary.getSummaryDate().format(PERIOD_MONTH);
+            default -> summary.getSummaryDate().format(PERIOD_DAY);
+        };
+    }
+    
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
     private String formatGitHubCommits(List<GitHubIntegrationService.GitHubCommit> commits) {
         if (commits.isEmpty()) return "No commits";
         
@@ -193,25 +656,6 @@ public class WorkSummaryService {
         return sb.toString();
     }
     
-    private String buildWorkDataString(WorkSummary summary) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("GitHub Commits:\n").append(summary.getGithubCommits()).append("\n\n");
-        sb.append("GitHub Pull Requests:\n").append(summary.getGithubPullRequests()).append("\n\n");
-        sb.append("GitHub Reviews:\n").append(summary.getGithubReviews()).append("\n\n");
-        
-        if (summary.getJiraTickets() != null) {
-            sb.append("Jira Tickets:\n").append(summary.getJiraTickets()).append("\n\n");
-        }
-        if (summary.getSlackMessages() != null) {
-            sb.append("Slack Activity:\n").append(summary.getSlackMessages()).append("\n\n");
-        }
-        if (summary.getMeetingsAttended() != null) {
-            sb.append("Meetings:\n").append(summary.getMeetingsAttended()).append("\n\n");
-        }
-        
-        return sb.toString();
-    }
-    
     private Integer calculateProductivityScore(WorkSummary summary) {
         int score = 0;
         
@@ -253,11 +697,12 @@ public class WorkSummaryService {
         return Math.min(score, 100);
     }
     
-    private WorkSummary aggregateWeeklySummary(User user, LocalDate weekStartDate, List<WorkSummary> dailySummaries) {
-        WorkSummary weeklySummary = new WorkSummary();
-        weeklySummary.setUser(user);
-        weeklySummary.setSummaryDate(weekStartDate);
-        weeklySummary.setSummaryType(WorkSummary.SummaryType.WEEKLY);
+    private WorkSummary aggregateSummary(User user, WorkSummary.SummaryType summaryType, LocalDate startDate,
+                                         List<WorkSummary> dailySummaries) {
+        WorkSummary periodSummary = new WorkSummary();
+        periodSummary.setUser(user);
+        periodSummary.setSummaryDate(startDate);
+        periodSummary.setSummaryType(summaryType);
         
         StringBuilder commits = new StringBuilder();
         StringBuilder prs = new StringBuilder();
@@ -285,21 +730,17 @@ public class WorkSummaryService {
             }
         }
         
-        weeklySummary.setGithubCommits(commits.toString());
-        weeklySummary.setGithubPullRequests(prs.toString());
-        weeklySummary.setGithubReviews(reviews.toString());
-        weeklySummary.setJiraTickets(jiraTickets.toString());
-        weeklySummary.setMeetingsAttended(meetings.toString());
+        periodSummary.setGithubCommits(commits.toString());
+        periodSummary.setGithubPullRequests(prs.toString());
+        periodSummary.setGithubReviews(reviews.toString());
+        periodSummary.setJiraTickets(jiraTickets.toString());
+        periodSummary.setMeetingsAttended(meetings.toString());
         
         if (summaryCount > 0) {
-            weeklySummary.setProductivityScore(totalProductivityScore / summaryCount);
-            weeklySummary.setCollaborationScore(totalCollaborationScore / summaryCount);
+            periodSummary.setProductivityScore(totalProductivityScore / summaryCount);
+            periodSummary.setCollaborationScore(totalCollaborationScore / summaryCount);
         }
         
-        String weeklyData = buildWorkDataString(weeklySummary);
-        String aiSummary = ollamaService.generateWorkSummary(weeklyData);
-        weeklySummary.setAiGeneratedSummary(aiSummary);
-        
-        return weeklySummary;
+        return periodSummary;
     }
 }
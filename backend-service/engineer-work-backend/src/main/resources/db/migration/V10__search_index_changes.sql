@@ -0,0 +1,13 @@
+-- Workspace search index changes shared between nodes; each node reindexes the documents other
+-- nodes changed and rows are deleted once every node has had time to read them.
+
+CREATE TABLE search_index_changes (
+    id bigint generated by default as identity,
+    document_id bigint not null,
+    created_at timestamp(6),
+    document_type varchar(255) check (document_type in ('SUMMARY','MEETING')),
+    origin_node varchar(255),
+    primary key (id)
+);
+
+CREATE INDEX idx_search_index_changes_created_at ON search_index_changes (created_at);
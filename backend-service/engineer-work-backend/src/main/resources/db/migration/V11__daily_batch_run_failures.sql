@@ -0,0 +1,33 @@
+-- Daily batch runs that keep failing are marked FAILED after app.batch.daily.max-attempts
+-- instead of being resumed every poll. The status check was created inline without a name, so
+-- the table (one row per day) is copied into a new one that also allows FAILED.
+
+CREATE TABLE daily_batch_runs_v10 AS SELECT * FROM daily_batch_runs;
+DROP TABLE daily_batch_runs;
+
+CREATE TABLE daily_batch_runs (
+    id bigint not null,
+    attempts integer,
+    failed_users integer,
+    generated_users integer,
+    run_date date not null,
+    skipped_users integer,
+    total_users integer,
+    completed_at timestamp(6),
+    created_at timestamp(6),
+    started_at timestamp(6),
+    updated_at timestamp(6),
+    status varchar(255) check (status in ('RUNNING','COMPLETED','FAILED')),
+    last_error TEXT,
+    primary key (id),
+    constraint uk_daily_batch_runs_run_date unique (run_date)
+);
+
+INSERT INTO daily_batch_runs (id, attempts, failed_users, generated_users, run_date, skipped_users, total_users,
+                              completed_at, created_at, started_at, updated_at, status)
+SELECT id, attempts, failed_users, generated_users, run_date, skipped_users, total_users,
+       completed_at, created_at, started_at, updated_at, status
+FROM daily_batch_runs_v10;
+DROP TABLE daily_batch_runs_v10;
+
+CREATE INDEX idx_daily_batch_runs_status ON daily_batch_runs (status);
@@ -0,0 +1,24 @@
+-- Persisted background summary generation jobs.
+-- Databases that ran this code before Flyway already have it from Hibernate, hence IF NOT EXISTS.
+
+CREATE TABLE IF NOT EXISTS generation_jobs (
+    id bigint generated by default as identity,
+    attempts integer,
+    target_date date not null,
+    completed_at timestamp(6),
+    created_at timestamp(6),
+    result_summary_id bigint,
+    started_at timestamp(6),
+    updated_at timestamp(6),
+    user_id bigint not null,
+    idempotency_key varchar(100),
+    error_message TEXT,
+    status varchar(255) check (status in ('QUEUED','RUNNING','SUCCEEDED','FAILED')),
+    summary_type varchar(255) not null check (summary_type in ('DAILY','WEEKLY','MONTHLY','YEARLY')),
+    primary key (id),
+    constraint uk_generation_jobs_user_id_idempotency_key unique (user_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_generation_jobs_status ON generation_jobs (status);
+
+ALTER TABLE generation_jobs ADD CONSTRAINT fk_generation_jobs_user_id FOREIGN KEY (user_id) REFERENCES users;
@@ -0,0 +1,4 @@
+-- Whether a summary came from the model or the local template fallback.
+-- Databases that ran this code before Flyway already have it from Hibernate, hence IF NOT EXISTS.
+
+ALTER TABLE work_summaries ADD COLUMN IF NOT EXISTS summary_source varchar(255) check (summary_source in ('AI','TEMPLATE'));
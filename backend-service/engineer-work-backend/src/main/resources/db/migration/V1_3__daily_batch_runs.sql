@@ -0,0 +1,21 @@
+-- One row per nightly daily-summary batch run.
+-- Databases that ran this code before Flyway already have it from Hibernate, hence IF NOT EXISTS.
+
+CREATE TABLE IF NOT EXISTS daily_batch_runs (
+    id bigint generated by default as identity,
+    attempts integer,
+    failed_users integer,
+    generated_users integer,
+    run_date date not null,
+    skipped_users integer,
+    total_users integer,
+    completed_at timestamp(6),
+    created_at timestamp(6),
+    started_at timestamp(6),
+    updated_at timestamp(6),
+    status varchar(255) check (status in ('RUNNING','COMPLETED')),
+    primary key (id),
+    constraint uk_daily_batch_runs_run_date unique (run_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_daily_batch_runs_status ON daily_batch_runs (status);
@@ -0,0 +1,20 @@
+-- Transactional outbox for report mail.
+-- Databases that ran this code before Flyway already have it from Hibernate, hence IF NOT EXISTS.
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id bigint generated by default as identity,
+    attempts integer,
+    created_at timestamp(6),
+    next_attempt_at timestamp(6),
+    report_schedule_id bigint,
+    sent_at timestamp(6),
+    updated_at timestamp(6),
+    body TEXT,
+    last_error TEXT,
+    recipients TEXT,
+    status varchar(255) check (status in ('PENDING','SENT','FAILED')),
+    subject varchar(255),
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,19 @@
+-- Stored team summaries per manager and period.
+-- Databases that ran this code before Flyway already have it from Hibernate, hence IF NOT EXISTS.
+
+CREATE TABLE IF NOT EXISTS team_summaries (
+    id bigint generated by default as identity,
+    member_count integer,
+    period_end date not null,
+    period_start date not null,
+    sub_team_count integer,
+    created_at timestamp(6),
+    generated_at timestamp(6),
+    manager_id bigint not null,
+    updated_at timestamp(6),
+    summary TEXT,
+    primary key (id),
+    constraint uk_team_summaries_manager_id_period_start_period_end unique (manager_id, period_start, period_end)
+);
+
+ALTER TABLE team_summaries ADD CONSTRAINT fk_team_summaries_manager_id FOREIGN KEY (manager_id) REFERENCES users;
@@ -0,0 +1,121 @@
+-- Schema as previously created by Hibernate (ddl-auto: update). Databases that already have
+-- these tables are baselined at version 1 and receive everything from V1_1 on; tables added
+-- since then have their own migrations.
+
+CREATE TABLE meeting_minutes (
+    id bigint generated by default as identity,
+    duration_minutes integer,
+    is_processed boolean,
+    created_at timestamp(6),
+    meeting_date timestamp(6) not null,
+    processed_at timestamp(6),
+    updated_at timestamp(6),
+    meeting_id varchar(100),
+    meeting_title varchar(200),
+    action_items TEXT,
+    ai_summary TEXT,
+    attendees TEXT,
+    decisions_made TEXT,
+    key_points TEXT,
+    meeting_platform varchar(255) check (meeting_platform in ('ZOOM','MICROSOFT_TEAMS','GOOGLE_MEET','SLACK_HUDDLE','OTHER')),
+    recording_url varchar(255),
+    transcript TEXT,
+    primary key (id)
+);
+
+CREATE TABLE meeting_participants (
+    meeting_id bigint not null,
+    user_id bigint not null,
+    primary key (meeting_id, user_id)
+);
+
+CREATE TABLE report_schedules (
+    id bigint generated by default as identity,
+    delivery_time time(6),
+    include_team_summary boolean,
+    is_active boolean,
+    created_at timestamp(6),
+    last_sent timestamp(6),
+    next_scheduled timestamp(6),
+    updated_at timestamp(6),
+    user_id bigint not null,
+    schedule_name varchar(100),
+    recipient_email varchar(150),
+    additional_recipients TEXT,
+    delivery_day varchar(255) check (delivery_day in ('MONDAY','TUESDAY','WEDNESDAY','THURSDAY','FRIDAY','SATURDAY','SUNDAY')),
+    frequency varchar(255) check (frequency in ('DAILY','WEEKLY','MONTHLY')),
+    report_type varchar(255) check (report_type in ('INDIVIDUAL_SUMMARY','TEAM_SUMMARY','MANAGER_OVERVIEW')),
+    primary key (id)
+);
+
+CREATE TABLE team_members (
+    team_id bigint not null,
+    user_id bigint not null,
+    primary key (team_id, user_id)
+);
+
+CREATE TABLE teams (
+    id bigint generated by default as identity,
+    created_at timestamp(6),
+    team_lead_id bigint,
+    updated_at timestamp(6),
+    name varchar(100) unique,
+    description varchar(500),
+    primary key (id)
+);
+
+CREATE TABLE users (
+    id bigint generated by default as identity,
+    is_account_non_expired boolean,
+    is_account_non_locked boolean,
+    is_credentials_non_expired boolean,
+    is_enabled boolean,
+    created_at timestamp(6),
+    last_login timestamp(6),
+    manager_id bigint,
+    updated_at timestamp(6),
+    github_username varchar(50),
+    jira_username varchar(50),
+    slack_user_id varchar(50),
+    confluence_username varchar(100),
+    first_name varchar(100),
+    google_email varchar(100),
+    last_name varchar(100),
+    microsoft_email varchar(100),
+    username varchar(100) unique,
+    email varchar(150) unique,
+    password varchar(255),
+    role varchar(255) check (role in ('ENGINEER','MANAGER','LEADER','ADMIN')),
+    primary key (id)
+);
+
+CREATE TABLE work_summaries (
+    id bigint generated by default as identity,
+    collaboration_score integer,
+    productivity_score integer,
+    summary_date date not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    user_id bigint not null,
+    ai_generated_summary TEXT,
+    confluence_docs TEXT,
+    customer_issues_resolved TEXT,
+    github_commits TEXT,
+    github_prs TEXT,
+    github_reviews TEXT,
+    jira_tickets TEXT,
+    key_achievements TEXT,
+    meetings_attended TEXT,
+    slack_messages TEXT,
+    summary_type varchar(255) check (summary_type in ('DAILY','WEEKLY','MONTHLY','YEARLY')),
+    primary key (id)
+);
+
+ALTER TABLE meeting_participants ADD CONSTRAINT fk_meeting_participants_user_id FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE meeting_participants ADD CONSTRAINT fk_meeting_participants_meeting_id FOREIGN KEY (meeting_id) REFERENCES meeting_minutes;
+ALTER TABLE report_schedules ADD CONSTRAINT fk_report_schedules_user_id FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE team_members ADD CONSTRAINT fk_team_members_user_id FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE team_members ADD CONSTRAINT fk_team_members_team_id FOREIGN KEY (team_id) REFERENCES teams;
+ALTER TABLE teams ADD CONSTRAINT fk_teams_team_lead_id FOREIGN KEY (team_lead_id) REFERENCES users;
+ALTER TABLE users ADD CONSTRAINT fk_users_manager_id FOREIGN KEY (manager_id) REFERENCES users;
+ALTER TABLE work_summaries ADD CONSTRAINT fk_work_summaries_user_id FOREIGN KEY (user_id) REFERENCES users;
@@ -0,0 +1,46 @@
+-- Indexes for the repository queries on the dashboard, report and integration paths.
+
+-- Keep the newest row of any duplicate (user, date, type) before making the triple unique
+DELETE FROM work_summaries
+WHERE EXISTS (
+    SELECT 1 FROM work_summaries newer
+    WHERE newer.user_id = work_summaries.user_id
+      AND newer.summary_date = work_summaries.summary_date
+      AND newer.summary_type = work_summaries.summary_type
+      AND newer.id > work_summaries.id
+);
+
+-- findByUserAndSummaryDateAndSummaryType, findByUserAndDateRange, findByUsersAndDateRange,
+-- the list projections and findFirst...SummaryDateBefore all lead with user_id then summary_date
+ALTER TABLE work_summaries ADD CONSTRAINT uk_work_summaries_user_date_type UNIQUE (user_id, summary_date, summary_type);
+-- findUserIdsWithSummary and findBySummaryDateAndType (nightly batch)
+CREATE INDEX idx_work_summaries_date_type ON work_summaries (summary_date, summary_type);
+-- Template backfill: findTop20BySummarySourceOrderByIdAsc
+CREATE INDEX idx_work_summaries_source_id ON work_summaries (summary_source, id);
+
+-- findDirectReports, findManagerIdsAmong, the management-chain CTE and manager joins
+CREATE INDEX idx_users_manager ON users (manager_id);
+-- Integration lookups by external identity
+CREATE INDEX idx_users_github_username ON users (github_username);
+CREATE INDEX idx_users_slack_user_id ON users (slack_user_id);
+CREATE INDEX idx_users_jira_username ON users (jira_username);
+CREATE INDEX idx_users_google_email ON users (google_email);
+CREATE INDEX idx_users_microsoft_email ON users (microsoft_email);
+
+-- findByMeetingDateBetween and the date filter of the participant queries
+CREATE INDEX idx_meeting_minutes_date ON meeting_minutes (meeting_date);
+-- findByMeetingIdAndMeetingPlatform (integration upserts)
+CREATE INDEX idx_meeting_minutes_meeting_platform ON meeting_minutes (meeting_id, meeting_platform);
+-- The primary key leads with meeting_id; participant-to-meeting lookups need user_id first
+CREATE INDEX idx_meeting_participants_user ON meeting_participants (user_id, meeting_id);
+
+CREATE INDEX idx_team_members_user ON team_members (user_id);
+CREATE INDEX idx_teams_team_lead ON teams (team_lead_id);
+
+-- lockSchedulesDueForExecution: active = true AND next_scheduled <= ? ORDER BY next_scheduled, id
+CREATE INDEX idx_report_schedules_due ON report_schedules (is_active, next_scheduled, id);
+CREATE INDEX idx_report_schedules_user ON report_schedules (user_id);
+CREATE INDEX idx_report_schedules_recipient ON report_schedules (recipient_email);
+
+-- findFirstByUserAndSummaryTypeAndTargetDateAndStatusIn (job de-duplication on submit)
+CREATE INDEX idx_generation_jobs_user_target ON generation_jobs (user_id, target_date, summary_type);
@@ -0,0 +1,13 @@
+-- Second-level cache invalidations shared between nodes; each node evicts the entries other nodes
+-- wrote and rows are deleted once every node has had time to read them.
+
+CREATE TABLE cache_invalidations (
+    id bigint generated by default as identity,
+    entity_id bigint not null,
+    created_at timestamp(6),
+    entity_type varchar(255) check (entity_type in ('USER','TEAM')),
+    origin_node varchar(255),
+    primary key (id)
+);
+
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations (created_at);
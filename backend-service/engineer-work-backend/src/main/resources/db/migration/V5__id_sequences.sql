@@ -0,0 +1,17 @@
+-- Sequences for pooled-lo id generation (hibernate.id.optimizer.pooled.preferred), so Hibernate
+-- assigns ids without an INSERT and can batch inserts. The increment matches the entities'
+-- allocationSize. The identity defaults on the id columns are no longer used by the application;
+-- on PostgreSQL db/vendor/postgresql/V5_1 moves each sequence past the existing ids.
+-- cache_invalidations keeps its identity column so ids from all nodes stay close to insert order.
+-- Ids are still taken at insert rather than at commit, so pollers re-read a window below the
+-- highest id they have seen.
+
+CREATE SEQUENCE daily_batch_runs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE email_outbox_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE generation_jobs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE meeting_minutes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE report_schedules_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE team_summaries_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE teams_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE work_summaries_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,23 @@
+-- Score aggregates over daily summaries per user and per team (a manager's direct reports), by
+-- day, ISO week (period_start is the Monday) and month. The application adds each summary in the
+-- transaction that inserts it and rebuilds a team's rows from its members' rows when someone
+-- changes manager. On PostgreSQL db/vendor/postgresql/V6_1 fills in the existing summaries.
+
+CREATE TABLE score_rollups (
+    scope varchar(8) not null check (scope in ('USER','TEAM')),
+    owner_id bigint not null,
+    period varchar(8) not null check (period in ('DAY','WEEK','MONTH')),
+    period_start date not null,
+    summary_count bigint not null,
+    productivity_sum bigint not null,
+    productivity_count bigint not null,
+    productivity_min integer,
+    productivity_max integer,
+    collaboration_sum bigint not null,
+    collaboration_count bigint not null,
+    collaboration_min integer,
+    collaboration_max integer,
+    primary key (scope, owner_id, period, period_start)
+);
+
+ALTER TABLE score_rollups ADD CONSTRAINT fk_score_rollups_owner_id FOREIGN KEY (owner_id) REFERENCES users;
@@ -0,0 +1,9 @@
+-- Template summaries whose model backfill keeps failing are retried with backoff and given up on
+-- after app.summaries.fallback.backfill-max-attempts, so they no longer hold the head of the queue.
+
+ALTER TABLE work_summaries ADD COLUMN backfill_attempts integer DEFAULT 0 NOT NULL;
+ALTER TABLE work_summaries ADD COLUMN next_backfill_at timestamp(6);
+
+-- findDueForBackfill: summary_source = 'TEMPLATE' AND backfill_attempts < ? ORDER BY backfill_attempts, id
+DROP INDEX idx_work_summaries_source_id;
+CREATE INDEX idx_work_summaries_backfill ON work_summaries (summary_source, backfill_attempts, id);
@@ -0,0 +1,5 @@
+-- A schedule whose render fails keeps its slot and is retried with backoff up to
+-- app.reports.max-render-attempts; retry_slot is the slot being retried, null when none is.
+
+ALTER TABLE report_schedules ADD COLUMN render_attempts integer DEFAULT 0 NOT NULL;
+ALTER TABLE report_schedules ADD COLUMN retry_slot timestamp(6);
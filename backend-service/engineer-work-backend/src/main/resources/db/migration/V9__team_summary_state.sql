@@ -0,0 +1,8 @@
+-- Team summary generation state, so a poller on any node sees GENERATING or the last failure,
+-- and failed generations are retried only after next_attempt_at.
+
+ALTER TABLE team_summaries ADD COLUMN status varchar(255) DEFAULT 'READY' NOT NULL;
+ALTER TABLE team_summaries ADD CONSTRAINT ck_team_summaries_status check (status in ('GENERATING','READY','FAILED'));
+ALTER TABLE team_summaries ADD COLUMN attempts integer DEFAULT 0 NOT NULL;
+ALTER TABLE team_summaries ADD COLUMN last_error TEXT;
+ALTER TABLE team_summaries ADD COLUMN next_attempt_at timestamp(6);
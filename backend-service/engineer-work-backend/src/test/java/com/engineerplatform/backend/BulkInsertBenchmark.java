@@ -0,0 +1,147 @@
+package com.engineerplatform.backend;
+
+import com.engineerplatform.backend.model.MeetingMinutes;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.model.WorkSummary;
+import com.engineerplatform.backend.repository.MeetingMinutesRepository;
+import com.engineerplatform.backend.repository.UserRepository;
+import com.engineerplatform.backend.service.WorkSummaryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Rows per second for the bulk summary and meeting inserts, one statement per row against JDBC
+ * batches. Both passes take their ids from the sequences; the statement-per-row pass only sets
+ * the JDBC batch size to 1. It approximates the round trips of the old identity columns, which
+ * Hibernate cannot batch, but is not a measurement of an identity mapping. Not part of the test
+ * run; start it on its own:
+ *
+ *   mvn test -Dtest=BulkInsertBenchmark -Dbenchmark.rows=20000
+ *
+ * The in-memory H2 database has no network round trip, so the gap there is much smaller than
+ * against PostgreSQL; point spring.datasource.* at a scratch PostgreSQL database for real numbers.
+ */
+@SpringBootTest(properties = {
+    "app.jwt.secret=bulk-insert-benchmark-secret-bulk-insert-benchmark-secret-bulk-insert-benchmark",
+    "spring.jpa.show-sql=false",
+    "app.batch.daily.enabled=false",
+    "app.search.workspace.enabled=false"
+})
+public class BulkInsertBenchmark {
+    
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5000);
+    private static final int USERS = 50;
+    private static final int PARTICIPANTS_PER_MEETING = 4;
+    
+    @Autowired
+    private WorkSummaryService workSummaryService;
+    
+    @Autowired
+    private MeetingMinutesRepository meetingMinutesRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private LocalDate nextDate = LocalDate.of(2000, 1, 1);
+    
+    @Test
+    public void bulkInserts() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("bench-" + i);
+            user.setEmail("bench-" + i + "@example.com");
+            user.setFirstName("Bench");
+            user.setLastName("User " + i);
+            user.setRole(User.Role.ENGINEER);
+            users.add(userRepository.save(user));
+        }
+        
+        // The first pass warms up the JIT and the connection pool
+        for (int pass = 0; pass < 2; pass++) {
+            boolean report = pass == 1;
+            
+            measure(report, "summaries, statement per row", ROWS, 1,
+                    count -> workSummaryService.saveSummaries(summaries(users, count)));
+            measure(report, "summaries, JDBC batches", ROWS, null,
+                    count -> workSummaryService.saveSummaries(summaries(users, count)));
+            
+            // Each meeting is one row plus a join row per participant
+            measure(report, "meetings with participants, statement per row", ROWS, 1,
+                    count -> meetingMinutesRepository.saveAll(meetings(users, count / (1 + PARTICIPANTS_PER_MEETING))));
+            measure(report, "meetings with participants, JDBC batches", ROWS, null,
+                    count -> meetingMinutesRepository.saveAll(meetings(users, count / (1 + PARTICIPANTS_PER_MEETING))));
+        }
+    }
+    
+    private void measure(boolean report, String label, int rows, Integer jdbcBatchSize, Consumer<Integer> insert) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long startedAt = System.nanoTime();
+        transaction.executeWithoutResult(status -> {
+            // null falls back to hibernate.jdbc.batch_size
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            insert.accept(rows);
+        });
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        if (report) {
+            System.out.printf("%-48s %7d rows %8.2f s %10.0f rows/s%n", label, rows, seconds, rows / seconds);
+        }
+    }
+    
+    // Distinct dates per user keep clear of the (user, date, type) unique constraint across runs
+    private List<WorkSummary> summaries(List<User> users, int count) {
+        List<WorkSummary> summaries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i % users.size() == 0) {
+                nextDate = nextDate.plusDays(1);
+            }
+            WorkSummary summary = new WorkSummary();
+            summary.setUser(users.get(i % users.size()));
+            summary.setSummaryDate(nextDate);
+            summary.setSummaryType(WorkSummary.SummaryType.DAILY);
+            summary.setSummarySource(WorkSummary.SummarySource.AI);
+            summary.setAiGeneratedSummary("Reviewed pull requests and closed tickets. ".repeat(8));
+            summary.setGithubCommits("- Fix flaky test (backend)\n".repeat(6));
+            summary.setProductivityScore(7);
+            summary.setCollaborationScore(6);
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+    
+    private List<MeetingMinutes> meetings(List<User> users, int count) {
+        List<MeetingMinutes> meetings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MeetingMinutes meeting = new MeetingMinutes();
+            meeting.setMeetingTitle("Benchmark sync " + i);
+            meeting.setMeetingDate(LocalDateTime.of(2000, 1, 1, 10, 0).plusMinutes(i));
+            meeting.setMeetingPlatform(MeetingMinutes.MeetingPlatform.ZOOM);
+            meeting.setAiSummary("Discussed the release plan and the open incidents. ".repeat(6));
+            meeting.setParticipants(new HashSet<>());
+            for (int p = 0; p < PARTICIPANTS_PER_MEETING; p++) {
+                meeting.addParticipant(users.get((i + p) % users.size()));
+            }
+            meetings.add(meeting);
+        }
+        return meetings;
+    }
+}
@@ -0,0 +1,178 @@
+package com.engineerplatform.backend;
+
+import com.engineerplatform.backend.model.MeetingMinutes;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.model.WorkSummary;
+import com.engineerplatform.backend.repository.MeetingMinutesRepository;
+import com.engineerplatform.backend.repository.UserRepository;
+import com.engineerplatform.backend.repository.WorkSummaryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the number of SQL statements the hot read endpoints issue, counted with Hibernate
+ * statistics. A lazy association touched in a loop shows up here as a budget overrun.
+ */
+@SpringBootTest(properties = {
+    "app.jwt.secret=query-budget-test-secret-query-budget-test-secret-query-budget-test-secret",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false",
+    // Background pollers share the statistics, so keep them out of the measured window
+    "app.batch.daily.enabled=false",
+    "app.batch.daily.poll-interval=PT1H",
+    "app.jobs.sweep-interval=PT1H",
+    "app.mail.outbox.poll-interval=PT1H",
+    "app.reports.poll-interval=PT1H",
+    "app.summaries.fallback.backfill-interval=PT1H",
+    "app.search.workspace.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EndpointQueryBudgetTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private WorkSummaryRepository workSummaryRepository;
+    
+    @Autowired
+    private MeetingMinutesRepository meetingMinutesRepository;
+    
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private User engineer;
+    private WorkSummary engineerSummary;
+    private MeetingMinutes meeting;
+    
+    @BeforeAll
+    public void createOrganization() {
+        User leader = createUser("budget-lead", User.Role.LEADER, null);
+        createUser("budget-admin", User.Role.ADMIN, null);
+        User firstManager = createUser("budget-mgr1", User.Role.MANAGER, leader);
+        User secondManager = createUser("budget-mgr2", User.Role.MANAGER, leader);
+        
+        engineer = createUser("budget-eng1", User.Role.ENGINEER, firstManager);
+        User peer = createUser("budget-eng2", User.Role.ENGINEER, firstManager);
+        createUser("budget-eng3", User.Role.ENGINEER, secondManager);
+        
+        for (User member : Set.of(engineer, peer)) {
+            for (int day = 1; day <= 5; day++) {
+                WorkSummary summary = new WorkSummary();
+                summary.setUser(member);
+                summary.setSummaryDate(LocalDate.of(2024, 3, day));
+                summary.setSummaryType(WorkSummary.SummaryType.DAILY);
+                summary.setAiGeneratedSummary("Worked on the budget fixtures");
+                summary = workSummaryRepository.save(summary);
+                if (member == engineer) {
+                    engineerSummary = summary;
+                }
+            }
+        }
+        
+        meeting = new MeetingMinutes();
+        meeting.setMeetingTitle("Sprint planning");
+        meeting.setMeetingDate(LocalDateTime.of(2024, 3, 4, 10, 0));
+        meeting.setParticipants(Set.of(engineer, peer));
+        meeting = meetingMinutesRepository.save(meeting);
+        
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+    }
+    
+    @BeforeEach
+    public void resetStatistics() {
+        // Entities cached by an earlier request would hide the statements a cold request issues
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+    
+    @Test
+    @WithMockUser(username = "budget-lead", roles = "LEADER")
+    public void summaryDetailForSkipLevelReport() throws Exception {
+        // Caller, summary with its user, one recursive management-chain query
+        assertStatementBudget(3, get("/api/work-summary/summary/{id}", engineerSummary.getId()), status().isOk());
+    }
+    
+    @Test
+    @WithMockUser(username = "budget-lead", roles = "LEADER")
+    public void summaryListForSkipLevelReport() throws Exception {
+        assertStatementBudget(4, get("/api/work-summary/user/{id}/summaries", engineer.getId())
+            .param("startDate", "2024-03-01")
+            .param("endDate", "2024-03-31"), status().isOk());
+    }
+    
+    @Test
+    @WithMockUser(username = "budget-mgr1", roles = "MANAGER")
+    public void teamSummaryList() throws Exception {
+        assertStatementBudget(2, get("/api/work-summary/team-summaries")
+            .param("startDate", "2024-03-01")
+            .param("endDate", "2024-03-31"), status().isOk());
+    }
+    
+    @Test
+    @WithMockUser(username = "budget-mgr2", roles = "MANAGER")
+    public void meetingAccessCheckWalksParticipantsWithoutLoading() throws Exception {
+        // budget-mgr2 manages none of the participants, so every participant's manager is inspected
+        assertStatementBudget(2, get("/api/meetings/{id}", meeting.getId()), status().isForbidden());
+    }
+    
+    @Test
+    @WithMockUser(username = "budget-lead", roles = "LEADER")
+    public void userProfileWithManager() throws Exception {
+        assertStatementBudget(3, get("/api/users/{id}", engineer.getId()), status().isOk());
+    }
+    
+    @Test
+    @WithMockUser(username = "budget-admin", roles = "ADMIN")
+    public void allUsersWithManagers() throws Exception {
+        assertStatementBudget(1, get("/api/users/all"), status().isOk());
+    }
+    
+    private void assertStatementBudget(long budget, RequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        mockMvc.perform(request).andExpect(expectedStatus);
+        
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= budget,
+            () -> "Expected at most " + budget + " SQL statements but the endpoint issued " + statements
+                + " (" + statistics.getEntityLoadCount() + " entity loads, "
+                + statistics.getCollectionFetchCount() + " collection fetches)");
+    }
+    
+    private User createUser(String username, User.Role role, User manager) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setFirstName(username);
+        user.setLastName("Budget");
+        user.setRole(role);
+        user.setManager(manager);
+        return userRepository.save(user);
+    }
+}
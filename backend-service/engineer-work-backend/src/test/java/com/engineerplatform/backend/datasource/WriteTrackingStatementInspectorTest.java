@@ -0,0 +1,125 @@
+package com.engineerplatform.backend.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Which statements count as writes, and that only committed writes keep a user's reads on the
+ * primary.
+ */
+public class WriteTrackingStatementInspectorTest {
+    
+    private ReplicaRoutingDataSource routingDataSource;
+    private WriteTrackingStatementInspector inspector;
+    
+    @BeforeEach
+    public void createDataSource() {
+        // The replica's lag query answers 0, so it is usable
+        routingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class), mock(DataSource.class, RETURNS_DEEP_STUBS),
+                                                         Duration.ofMinutes(1), "SELECT 0", new SimpleMeterRegistry());
+        routingDataSource.afterPropertiesSet();
+        inspector = new WriteTrackingStatementInspector(routingDataSource);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+    }
+    
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    public void detectsInsertsUpdatesAndDeletes() {
+        assertTrue(WriteTrackingStatementInspector.isWrite("insert into users (id, username) values (?, ?)"));
+        assertTrue(WriteTrackingStatementInspector.isWrite("UPDATE users SET email=? WHERE id=?"));
+        assertTrue(WriteTrackingStatementInspector.isWrite("  \n\tdelete from team_members where team_id=?"));
+    }
+    
+    @Test
+    public void detectsMerges() {
+        assertTrue(WriteTrackingStatementInspector.isWrite("merge into score_rollups key (scope, owner_id) values (?, ?)"));
+        assertTrue(WriteTrackingStatementInspector.isWrite("MERGE INTO score_rollups AS t USING (VALUES (?)) AS s ON t.id = s.id"));
+    }
+    
+    @Test
+    public void looksPastLeadingComments() {
+        assertTrue(WriteTrackingStatementInspector.isWrite("/* insert com.engineerplatform.backend.model.User */ insert into users (id) values (?)"));
+        assertTrue(WriteTrackingStatementInspector.isWrite("/* one */ /* two */\nupdate users set email=?"));
+        assertFalse(WriteTrackingStatementInspector.isWrite("/* update stale rows later */ select * from users"));
+        assertFalse(WriteTrackingStatementInspector.isWrite("/* unterminated insert into users"));
+    }
+    
+    @Test
+    public void ignoresReadsThatMentionWrites() {
+        assertFalse(WriteTrackingStatementInspector.isWrite("select u.id, u.updated_at from users u where u.id=?"));
+        assertFalse(WriteTrackingStatementInspector.isWrite("select * from updates"));
+        assertFalse(WriteTrackingStatementInspector.isWrite("with deleted as (select id from users) select * from deleted"));
+        assertFalse(WriteTrackingStatementInspector.isWrite("updated_at"));
+        assertFalse(WriteTrackingStatementInspector.isWrite(""));
+    }
+    
+    @Test
+    public void readsFromTheReplicaAfterReadOnlyTransactions() {
+        runTransaction("select * from users where id=?", TransactionSynchronization.STATUS_COMMITTED);
+        
+        assertEquals(ReplicaRoutingDataSource.Target.REPLICA, routeReadOnlyTransaction());
+    }
+    
+    @Test
+    public void readsFromThePrimaryAfterACommittedWrite() {
+        runTransaction("update users set email=? where id=?", TransactionSynchronization.STATUS_COMMITTED);
+        
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routeReadOnlyTransaction());
+    }
+    
+    @Test
+    public void keepsReadingFromTheReplicaAfterARolledBackWrite() {
+        runTransaction("update users set email=? where id=?", TransactionSynchronization.STATUS_ROLLED_BACK);
+        
+        assertEquals(ReplicaRoutingDataSource.Target.REPLICA, routeReadOnlyTransaction());
+        
+        // The rolled-back transaction does not leave its marker behind for the next one
+        runTransaction("insert into users (id) values (?)", TransactionSynchronization.STATUS_COMMITTED);
+        
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routeReadOnlyTransaction());
+    }
+    
+    private void runTransaction(String sql, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inspector.inspect(sql);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    private Object routeReadOnlyTransaction() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return routingDataSource.determineCurrentLookupKey();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+}
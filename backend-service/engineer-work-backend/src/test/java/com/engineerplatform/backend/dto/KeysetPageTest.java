@@ -0,0 +1,104 @@
+package com.engineerplatform.backend.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cursor encoding round trips and rejection of cursors a client has altered.
+ */
+public class KeysetPageTest {
+    
+    @Test
+    public void roundTripsDateCursors() {
+        String encoded = new KeysetPage.Cursor(LocalDate.of(2024, 2, 29), 42L).encode();
+        KeysetPage.Cursor decoded = KeysetPage.Cursor.decode(encoded);
+        
+        assertEquals(LocalDate.of(2024, 2, 29), decoded.date());
+        assertEquals(42L, decoded.getId());
+    }
+    
+    @Test
+    public void roundTripsDateTimeCursorsWithFractionalSeconds() {
+        LocalDateTime position = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123456000);
+        KeysetPage.Cursor decoded = KeysetPage.Cursor.decode(new KeysetPage.Cursor(position, Long.MAX_VALUE).encode());
+        
+        assertEquals(position, decoded.dateTime());
+        assertEquals(Long.MAX_VALUE, decoded.getId());
+    }
+    
+    @Test
+    public void encodesUrlSafely() {
+        String encoded = new KeysetPage.Cursor(LocalDateTime.of(2024, 3, 1, 23, 59, 59), 1L).encode();
+        
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+    
+    @Test
+    public void rejectsCursorsThatAreNotBase64() {
+        assertInvalid(() -> KeysetPage.Cursor.decode("not a cursor!"));
+    }
+    
+    @Test
+    public void rejectsCursorsWithoutSeparator() {
+        assertInvalid(() -> KeysetPage.Cursor.decode(encode("2024-03-01")));
+    }
+    
+    @Test
+    public void rejectsCursorsWithNonNumericId() {
+        assertInvalid(() -> KeysetPage.Cursor.decode(encode("2024-03-01|1 OR 1=1")));
+        assertInvalid(() -> KeysetPage.Cursor.decode(encode("2024-03-01|")));
+    }
+    
+    @Test
+    public void rejectsPositionsThatAreNotDates() {
+        KeysetPage.Cursor cursor = KeysetPage.Cursor.decode(encode("2024-13-01|7"));
+        
+        assertInvalid(cursor::date);
+        assertInvalid(cursor::dateTime);
+    }
+    
+    @Test
+    public void rejectsDateCursorsWhereDateTimesAreExpected() {
+        KeysetPage.Cursor cursor = KeysetPage.Cursor.decode(new KeysetPage.Cursor(LocalDate.of(2024, 3, 1), 7L).encode());
+        
+        assertInvalid(cursor::dateTime);
+    }
+    
+    @Test
+    public void pointsTheNextCursorAtTheLastReturnedRow() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(5L, 4L, 3L), 2, id -> new KeysetPage.Cursor(LocalDate.of(2024, 3, id.intValue()), id));
+        
+        assertEquals(List.of(5L, 4L), page.getItems());
+        assertTrue(page.hasMore());
+        assertEquals(4L, KeysetPage.Cursor.decode(page.getNextCursor()).getId());
+    }
+    
+    @Test
+    public void hasNoCursorOnTheLastPage() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(5L, 4L), 2, id -> new KeysetPage.Cursor(LocalDate.of(2024, 3, 1), id));
+        
+        assertEquals(List.of(5L, 4L), page.getItems());
+        assertFalse(page.hasMore());
+        assertNull(page.getNextCursor());
+    }
+    
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static void assertInvalid(Runnable action) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, action::run);
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+}
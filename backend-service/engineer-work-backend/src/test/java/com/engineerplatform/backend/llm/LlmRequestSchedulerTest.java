@@ -0,0 +1,181 @@
+package com.engineerplatform.backend.llm;
+
+import com.engineerplatform.backend.exception.LlmCapacityExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lane ordering, round-robin across requesters, rejection and permit release, with one slot so
+ * grants happen strictly one at a time.
+ */
+public class LlmRequestSchedulerTest {
+    
+    private static final String MODEL = "test-model";
+    private static final Duration DEADLINE = Duration.ofSeconds(10);
+    
+    private MeterRegistry meterRegistry;
+    private LlmRequestScheduler scheduler;
+    private final List<Waiter> waiters = new ArrayList<>();
+    
+    @BeforeEach
+    public void createScheduler() {
+        meterRegistry = new SimpleMeterRegistry();
+        OllamaNodeRouter nodeRouter = mock(OllamaNodeRouter.class);
+        when(nodeRouter.availableNodeCount(anyString())).thenReturn(1);
+        scheduler = new LlmRequestScheduler(meterRegistry, nodeRouter, MODEL, 1, "",
+                                            DEADLINE, DEADLINE, DEADLINE);
+    }
+    
+    @AfterEach
+    public void releaseWaiters() {
+        waiters.forEach(waiter -> waiter.release.countDown());
+    }
+    
+    @Test
+    public void servesLanesInPriorityOrder() throws Exception {
+        LlmRequestScheduler.Permit holder = scheduler.acquire(LlmPriority.INTERACTIVE, "holder");
+        Waiter background = enqueue(LlmPriority.BACKGROUND, "a");
+        Waiter batch = enqueue(LlmPriority.BATCH, "b");
+        Waiter interactive = enqueue(LlmPriority.INTERACTIVE, "c");
+        
+        holder.close();
+        assertGrantOrder(interactive, batch, background);
+    }
+    
+    @Test
+    public void rotatesRequestersWithinALane() throws Exception {
+        LlmRequestScheduler.Permit holder = scheduler.acquire(LlmPriority.BATCH, "holder");
+        Waiter first = enqueue(LlmPriority.BATCH, "bulk");
+        Waiter second = enqueue(LlmPriority.BATCH, "bulk");
+        Waiter third = enqueue(LlmPriority.BATCH, "bulk");
+        Waiter other = enqueue(LlmPriority.BATCH, "other");
+        
+        holder.close();
+        assertGrantOrder(first, other, second, third);
+    }
+    
+    @Test
+    public void rejectsWhenTheEstimatedWaitExceedsTheDeadline() throws Exception {
+        // Teach the queue a service time of about 200ms
+        try (LlmRequestScheduler.Permit permit = scheduler.acquire(LlmPriority.BATCH, "warmup")) {
+            Thread.sleep(200);
+        }
+        
+        try (LlmRequestScheduler.Permit permit = scheduler.acquire(LlmPriority.BATCH, "holder")) {
+            assertThrows(LlmCapacityExceededException.class,
+                () -> scheduler.acquire(LlmPriority.INTERACTIVE, "late", Duration.ofMillis(50)));
+            assertEquals(1.0, counter("llm.scheduler.rejected", "interactive"));
+            assertEquals(0.0, gauge("llm.scheduler.queue.depth", "interactive"));
+        }
+    }
+    
+    @Test
+    public void abandonsTheTicketWhenNoSlotFreesUpInTime() throws Exception {
+        try (LlmRequestScheduler.Permit permit = scheduler.acquire(LlmPriority.BATCH, "holder")) {
+            assertThrows(LlmCapacityExceededException.class,
+                () -> scheduler.acquire(LlmPriority.BATCH, "late", Duration.ofMillis(100)));
+            assertEquals(0.0, gauge("llm.scheduler.queue.depth", "batch"));
+        }
+        // The abandoned ticket must not hold on to the slot
+        scheduler.acquire(LlmPriority.BATCH, "next", Duration.ofMillis(100)).close();
+    }
+    
+    @Test
+    public void releasesPermitsOnFailureAndOnlyOnce() {
+        assertThrows(IllegalStateException.class, () -> scheduler.execute(LlmPriority.INTERACTIVE, "caller", () -> {
+            throw new IllegalStateException("model failed");
+        }));
+        assertEquals(0.0, gauge("llm.scheduler.in.flight", null));
+        
+        LlmRequestScheduler.Permit permit = scheduler.acquire(LlmPriority.INTERACTIVE, "caller");
+        permit.close();
+        permit.close();
+        assertEquals(0.0, gauge("llm.scheduler.in.flight", null));
+        
+        // With a double release the second slot would be granted on top of the first
+        LlmRequestScheduler.Permit held = scheduler.acquire(LlmPriority.BATCH, "first");
+        assertThrows(LlmCapacityExceededException.class,
+            () -> scheduler.acquire(LlmPriority.BATCH, "second", Duration.ofMillis(100)));
+        held.close();
+    }
+    
+    private Waiter enqueue(LlmPriority priority, String requester) throws Exception {
+        String lane = priority.name().toLowerCase();
+        double depth = gauge("llm.scheduler.queue.depth", lane);
+        Waiter waiter = new Waiter(priority, requester);
+        waiters.add(waiter);
+        waiter.start();
+        long giveUpAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge("llm.scheduler.queue.depth", lane) == depth) {
+            assertTrue(System.nanoTime() < giveUpAt, "request was never queued");
+            Thread.sleep(5);
+        }
+        return waiter;
+    }
+    
+    // Each waiter holds its slot until released, so the next grant only happens after that
+    private void assertGrantOrder(Waiter... expected) throws Exception {
+        for (Waiter waiter : expected) {
+            waiter.granted.get(5, TimeUnit.SECONDS);
+            for (Waiter other : waiters) {
+                if (other != waiter && !other.release.await(0, TimeUnit.MILLISECONDS)) {
+                    assertFalse(other.granted.isDone(), other.requester + " was granted out of order");
+                }
+            }
+            waiter.release.countDown();
+            waiter.join(5000);
+        }
+    }
+    
+    private double gauge(String name, String lane) {
+        return lane == null
+            ? meterRegistry.get(name).tag("model", MODEL).gauge().value()
+            : meterRegistry.get(name).tags("model", MODEL, "lane", lane).gauge().value();
+    }
+    
+    private double counter(String name, String lane) {
+        return meterRegistry.get(name).tags("model", MODEL, "lane", lane).counter().count();
+    }
+    
+    private class Waiter extends Thread {
+        
+        private final LlmPriority priority;
+        private final String requester;
+        private final CompletableFuture<Void> granted = new CompletableFuture<>();
+        private final CountDownLatch release = new CountDownLatch(1);
+        
+        private Waiter(LlmPriority priority, String requester) {
+            this.priority = priority;
+            this.requester = requester;
+            setDaemon(true);
+        }
+        
+        @Override
+        public void run() {
+            try (LlmRequestScheduler.Permit permit = scheduler.acquire(priority, requester)) {
+                granted.complete(null);
+                release.await();
+            } catch (Exception e) {
+                granted.completeExceptionally(e);
+            }
+        }
+    }
+}
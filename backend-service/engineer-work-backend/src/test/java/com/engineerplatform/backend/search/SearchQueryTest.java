@@ -0,0 +1,99 @@
+package com.engineerplatform.backend.search;
+
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parsing of search input into terms, prefixes and phrases, and how stop words drop out of
+ * the Lucene query the same way to_tsquery drops them.
+ */
+public class SearchQueryTest {
+    
+    private static final String[] FIELDS = {"title", "body"};
+    private static final float[] BOOSTS = {2.0f, 1.0f};
+    
+    @Test
+    public void parsesPlainTermsCaseInsensitively() {
+        SearchQuery query = SearchQuery.parse("Deploy  ROLLBACK");
+        
+        assertEquals(List.of("deploy", "rollback"), query.getTerms());
+        assertEquals("deploy & rollback", query.toTsQuery());
+    }
+    
+    @Test
+    public void parsesQuotedTextAsPhrase() {
+        SearchQuery query = SearchQuery.parse("\"sprint planning\" retro");
+        
+        assertEquals(List.of("retro"), query.getTerms());
+        assertEquals(List.of(List.of("sprint", "planning")), query.getPhrases());
+        assertEquals("retro & (sprint <-> planning)", query.toTsQuery());
+    }
+    
+    @Test
+    public void treatsHyphenatedWordsAsPhrase() {
+        SearchQuery query = SearchQuery.parse("on-call");
+        
+        assertTrue(query.getTerms().isEmpty());
+        assertEquals(List.of(List.of("on", "call")), query.getPhrases());
+    }
+    
+    @Test
+    public void parsesTrailingStarAsPrefix() {
+        SearchQuery query = SearchQuery.parse("deploy* \"incident\"");
+        
+        assertEquals(List.of("deploy"), query.getPrefixes());
+        assertEquals(List.of("incident"), query.getTerms());
+        assertEquals("incident & deploy:*", query.toTsQuery());
+    }
+    
+    @Test
+    public void treatsShortPrefixesAsTerms() {
+        SearchQuery query = SearchQuery.parse("a*");
+        
+        assertTrue(query.getPrefixes().isEmpty());
+        assertEquals(List.of("a"), query.getTerms());
+    }
+    
+    @Test
+    public void stripsQuerySyntax() {
+        SearchQuery query = SearchQuery.parse("deploy & !rollback | (prod:*)");
+        
+        assertEquals(List.of("deploy", "rollback", "prod"), query.getTerms());
+        assertEquals("deploy & rollback & prod", query.toTsQuery());
+    }
+    
+    @Test
+    public void isEmptyWithoutWords() {
+        assertTrue(SearchQuery.parse(null).isEmpty());
+        assertTrue(SearchQuery.parse("   ").isEmpty());
+        assertTrue(SearchQuery.parse("\"\" * -- !&").isEmpty());
+        assertEquals("", SearchQuery.parse("*").toTsQuery());
+    }
+    
+    @Test
+    public void stopWordOnlyInputMatchesNothing() {
+        SearchQuery query = SearchQuery.parse("the \"and of\" it*");
+        
+        // The parser keeps stop words; the analyzers drop them
+        assertFalse(query.isEmpty());
+        assertNull(LuceneText.toQuery(query, FIELDS, BOOSTS));
+    }
+    
+    @Test
+    public void dropsStopWordClausesAndKeepsTheRest() {
+        Query query = LuceneText.toQuery(SearchQuery.parse("the deployment"), FIELDS, BOOSTS);
+        
+        BooleanQuery clauses = assertInstanceOf(BooleanQuery.class, query);
+        assertEquals(1, clauses.clauses().size());
+        assertTrue(query.toString().contains("title:deploy"), query.toString());
+    }
+}
@@ -0,0 +1,210 @@
+package com.engineerplatform.backend.service;
+
+import com.engineerplatform.backend.model.ReportSchedule;
+import com.engineerplatform.backend.model.User;
+import com.engineerplatform.backend.repository.ReportScheduleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * When a schedule fires next, and how a failed render is retried within its slot or given up.
+ */
+public class ReportExecutionServiceTest {
+    
+    private static final Duration RETRY_BASE_DELAY = Duration.ofMinutes(2);
+    private static final Duration RETRY_MAX_DELAY = Duration.ofHours(1);
+    private static final int MAX_RENDER_ATTEMPTS = 5;
+    
+    private ReportScheduleRepository scheduleRepository;
+    private ReportRenderingService renderingService;
+    private EmailDeliveryService emailDeliveryService;
+    private MeterRegistry meterRegistry;
+    private ReportExecutionService service;
+    
+    @BeforeEach
+    public void createService() {
+        scheduleRepository = mock(ReportScheduleRepository.class);
+        renderingService = mock(ReportRenderingService.class);
+        emailDeliveryService = mock(EmailDeliveryService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ReportExecutionService(scheduleRepository, renderingService, emailDeliveryService,
+                                             mock(PlatformTransactionManager.class), Runnable::run, meterRegistry,
+                                             50, Duration.ofSeconds(5), MAX_RENDER_ATTEMPTS, RETRY_BASE_DELAY, RETRY_MAX_DELAY);
+        when(renderingService.render(any())).thenThrow(new IllegalStateException("Renderer unavailable"));
+    }
+    
+    @Test
+    public void firesDailySchedulesLaterTodayOrTomorrow() {
+        ReportSchedule schedule = schedule(ReportSchedule.Frequency.DAILY, LocalTime.of(9, 0));
+        
+        assertEquals(at(2024, 3, 5, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 3, 5, 8, 59)));
+        assertEquals(at(2024, 3, 6, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 3, 5, 9, 0)));
+        assertEquals(at(2024, 3, 6, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 3, 5, 17, 30)));
+        assertEquals(at(2025, 1, 1, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 12, 31, 10, 0)));
+        assertEquals(at(2024, 2, 29, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 2, 28, 9, 0)));
+    }
+    
+    @Test
+    public void defaultsToDailyAtNine() {
+        ReportSchedule schedule = schedule(null, null);
+        
+        assertEquals(at(2024, 3, 5, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 3, 5, 7, 0)));
+        assertEquals(at(2024, 3, 6, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 3, 5, 9, 30)));
+    }
+    
+    @Test
+    public void firesWeeklySchedulesOnTheirDay() {
+        ReportSchedule friday = schedule(ReportSchedule.Frequency.WEEKLY, LocalTime.of(16, 0));
+        friday.setDeliveryDay(DayOfWeek.FRIDAY);
+        
+        // 2024-03-06 is a Wednesday
+        assertEquals(at(2024, 3, 8, 16, 0), ReportExecutionService.nextRun(friday, at(2024, 3, 6, 12, 0)));
+        assertEquals(at(2024, 3, 8, 16, 0), ReportExecutionService.nextRun(friday, at(2024, 3, 8, 15, 59)));
+        assertEquals(at(2024, 3, 15, 16, 0), ReportExecutionService.nextRun(friday, at(2024, 3, 8, 16, 0)));
+        assertEquals(at(2024, 3, 15, 16, 0), ReportExecutionService.nextRun(friday, at(2024, 3, 9, 8, 0)));
+    }
+    
+    @Test
+    public void firesWeeklySchedulesOnMondaysByDefaultAcrossYearEnd() {
+        ReportSchedule schedule = schedule(ReportSchedule.Frequency.WEEKLY, LocalTime.of(9, 0));
+        
+        // 2024-12-30 is a Monday
+        assertEquals(at(2024, 12, 30, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 12, 28, 9, 0)));
+        assertEquals(at(2025, 1, 6, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 12, 30, 9, 0)));
+    }
+    
+    @Test
+    public void firesMonthlySchedulesOnTheFirst() {
+        ReportSchedule schedule = schedule(ReportSchedule.Frequency.MONTHLY, LocalTime.of(9, 0));
+        
+        assertEquals(at(2024, 3, 1, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 3, 1, 8, 0)));
+        assertEquals(at(2024, 4, 1, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 3, 1, 9, 0)));
+        assertEquals(at(2024, 3, 1, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 2, 29, 23, 59)));
+        assertEquals(at(2025, 1, 1, 9, 0), ReportExecutionService.nextRun(schedule, at(2024, 12, 15, 9, 0)));
+    }
+    
+    @Test
+    public void retriesAFailedRenderWithBackoffWithinItsSlot() {
+        ReportSchedule schedule = schedule(ReportSchedule.Frequency.WEEKLY, LocalTime.of(9, 0));
+        
+        LocalDateTime before = LocalDateTime.now();
+        execute(schedule);
+        LocalDateTime after = LocalDateTime.now();
+        
+        assertEquals(1, schedule.getRenderAttempts());
+        assertFalse(schedule.getRetrySlot().isBefore(before));
+        assertFalse(schedule.getRetrySlot().isAfter(after));
+        assertRetryDelay(schedule, RETRY_BASE_DELAY);
+        assertEquals(1.0, executions("retried"));
+        verify(emailDeliveryService, never()).enqueue(any(), any(), any(), any());
+    }
+    
+    @Test
+    public void doublesTheDelayAndKeepsTheSlotOnEachRetry() {
+        ReportSchedule schedule = schedule(ReportSchedule.Frequency.WEEKLY, LocalTime.of(9, 0));
+        LocalDateTime slot = LocalDateTime.now().minusMinutes(10);
+        schedule.setRetrySlot(slot);
+        schedule.setRenderAttempts(2);
+        
+        execute(schedule);
+        
+        assertEquals(3, schedule.getRenderAttempts());
+        assertEquals(slot, schedule.getRetrySlot());
+        assertRetryDelay(schedule, RETRY_BASE_DELAY.multipliedBy(4));
+    }
+    
+    @Test
+    public void neverRetriesIntoTheNextRegularSlot() {
+        // The next slot is a minute away, sooner than the first retry would be
+        LocalDateTime now = LocalDateTime.now();
+        ReportSchedule schedule = schedule(ReportSchedule.Frequency.DAILY, now.toLocalTime().plusMinutes(1));
+        
+        execute(schedule);
+        
+        assertGaveUp(schedule, now);
+    }
+    
+    @Test
+    public void givesUpOnASlotTheScheduleHasAlreadyMovedPast() {
+        LocalDateTime now = LocalDateTime.now();
+        ReportSchedule schedule = schedule(ReportSchedule.Frequency.DAILY, now.toLocalTime());
+        schedule.setRetrySlot(now.minusDays(1));
+        schedule.setRenderAttempts(1);
+        
+        execute(schedule);
+        
+        assertGaveUp(schedule, now);
+    }
+    
+    @Test
+    public void givesUpAfterMaxRenderAttempts() {
+        LocalDateTime now = LocalDateTime.now();
+        ReportSchedule schedule = schedule(ReportSchedule.Frequency.MONTHLY, LocalTime.of(9, 0));
+        schedule.setRetrySlot(now.minusMinutes(30));
+        schedule.setRenderAttempts(MAX_RENDER_ATTEMPTS - 1);
+        
+        execute(schedule);
+        
+        assertGaveUp(schedule, now);
+    }
+    
+    private void execute(ReportSchedule schedule) {
+        when(scheduleRepository.lockSchedulesDueForExecution(any(), any())).thenReturn(List.of(schedule));
+        service.executeDueSchedules();
+    }
+    
+    private void assertRetryDelay(ReportSchedule schedule, Duration delay) {
+        // Up to a fifth of jitter is added on top of the backoff
+        LocalDateTime now = LocalDateTime.now();
+        assertTrue(schedule.getNextScheduled().isAfter(now.plus(delay).minusSeconds(5)), schedule.getNextScheduled().toString());
+        assertTrue(schedule.getNextScheduled().isBefore(now.plus(delay.multipliedBy(6).dividedBy(5)).plusSeconds(1)),
+                   schedule.getNextScheduled().toString());
+    }
+    
+    private void assertGaveUp(ReportSchedule schedule, LocalDateTime before) {
+        assertEquals(0, schedule.getRenderAttempts());
+        assertNull(schedule.getRetrySlot());
+        assertTrue(schedule.getNextScheduled().isAfter(before));
+        assertEquals(ReportExecutionService.nextRun(schedule, schedule.getNextScheduled().minusNanos(1)), schedule.getNextScheduled());
+        assertEquals(1.0, executions("failed"));
+        assertEquals(0.0, executions("retried"));
+    }
+    
+    private double executions(String outcome) {
+        return meterRegistry.counter("reports.executions", "outcome", outcome).count();
+    }
+    
+    private static ReportSchedule schedule(ReportSchedule.Frequency frequency, LocalTime deliveryTime) {
+        ReportSchedule schedule = new ReportSchedule();
+        User user = new User();
+        user.setId(2L);
+        schedule.setId(1L);
+        schedule.setUser(user);
+        schedule.setFrequency(frequency);
+        schedule.setDeliveryTime(deliveryTime);
+        return schedule;
+    }
+    
+    private static LocalDateTime at(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+}
@@ -0,0 +1,204 @@
+package com.engineerplatform.backend.service;
+
+import com.engineerplatform.backend.dto.ScoreStatsDto;
+import com.engineerplatform.backend.model.ScoreRollup;
+import com.engineerplatform.backend.repository.ScoreRollupRepository;
+import com.engineerplatform.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * How getTotals splits a date range into whole months, read from MONTH rows, and the days
+ * around them, read from DAY rows. Every day of the range must be counted exactly once.
+ */
+public class ScoreRollupServiceTest {
+    
+    private ScoreRollupRepository scoreRollupRepository;
+    private UserRepository userRepository;
+    private ScoreRollupService service;
+    
+    @BeforeEach
+    public void createService() {
+        scoreRollupRepository = mock(ScoreRollupRepository.class);
+        userRepository = mock(UserRepository.class);
+        service = new ScoreRollupService(scoreRollupRepository, userRepository, mock(DataSource.class, RETURNS_DEEP_STUBS));
+    }
+    
+    @Test
+    public void readsOnlyDaysForRangesInsideOneMonth() {
+        Split split = split(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 20));
+        
+        assertTrue(split.monthsFrom.isAfter(split.monthsTo));
+        assertEquals(16, split.dayRows().size());
+        assertTrue(split.monthRows().isEmpty());
+    }
+    
+    @Test
+    public void readsOnlyDaysForMonthsCutShortAtEitherEnd() {
+        assertTrue(split(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 30)).monthRows().isEmpty());
+        assertTrue(split(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 31)).monthRows().isEmpty());
+    }
+    
+    @Test
+    public void readsOneMonthRowForExactlyOneMonth() {
+        Split split = split(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+        
+        assertEquals(LocalDate.of(2024, 2, 1), split.monthsFrom);
+        assertEquals(LocalDate.of(2024, 2, 1), split.monthsTo);
+        assertEquals(LocalDate.of(2024, 2, 29), split.monthsEnd);
+        assertEquals(List.of(LocalDate.of(2024, 2, 1)), split.monthRows());
+        assertTrue(split.dayRows().isEmpty());
+    }
+    
+    @Test
+    public void readsWholeMonthsAndTheDaysAroundThemAcrossMonths() {
+        Split split = split(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 4, 10));
+        
+        assertEquals(LocalDate.of(2024, 2, 1), split.monthsFrom);
+        assertEquals(LocalDate.of(2024, 3, 1), split.monthsTo);
+        assertEquals(LocalDate.of(2024, 3, 31), split.monthsEnd);
+        assertEquals(List.of(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1)), split.monthRows());
+        assertEquals(17 + 10, split.dayRows().size());
+    }
+    
+    @Test
+    public void handlesRangesStartingOrEndingOnMonthEnds() {
+        Split fromMonthEnd = split(LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 29));
+        assertEquals(List.of(LocalDate.of(2024, 2, 1)), fromMonthEnd.monthRows());
+        assertEquals(List.of(LocalDate.of(2024, 1, 31)), fromMonthEnd.dayRows());
+        
+        Split singleMonthEnd = split(LocalDate.of(2024, 4, 30), LocalDate.of(2024, 4, 30));
+        assertTrue(singleMonthEnd.monthRows().isEmpty());
+        assertEquals(List.of(LocalDate.of(2024, 4, 30)), singleMonthEnd.dayRows());
+        
+        Split acrossYearEnd = split(LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 31));
+        assertEquals(List.of(LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 1)), acrossYearEnd.monthRows());
+        assertTrue(acrossYearEnd.dayRows().isEmpty());
+    }
+    
+    @Test
+    public void countsEveryDayOfAnyRangeExactlyOnce() {
+        for (LocalDate start = LocalDate.of(2023, 12, 25); start.isBefore(LocalDate.of(2024, 3, 5)); start = start.plusDays(1)) {
+            for (int length = 0; length < 70; length++) {
+                LocalDate end = start.plusDays(length);
+                Split split = split(start, end);
+                
+                for (LocalDate day = start.minusDays(40); !day.isAfter(end.plusDays(40)); day = day.plusDays(1)) {
+                    int expected = day.isBefore(start) || day.isAfter(end) ? 0 : 1;
+                    assertEquals(expected, split.timesCounted(day), day + " in " + start + ".." + end);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void fillsInOwnersWithoutSummaries() {
+        when(scoreRollupRepository.sumByOwner(any(), anyCollection(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(new ScoreStatsDto(1L, LocalDate.of(2024, 3, 4), 2L, 14L, 2L, 6, 8, 10L, 2L, 4, 6)));
+        
+        Map<Long, ScoreStatsDto> totals = service.getTotals(ScoreRollup.Scope.USER, List.of(1L, 2L),
+                                                            LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+        
+        assertEquals(7.0, totals.get(1L).getAverageProductivityScore());
+        assertEquals(0, totals.get(2L).getSummaryCount());
+        assertEquals(2L, totals.get(2L).getOwnerId());
+    }
+    
+    @Test
+    public void sumsSubtreesFromTheMembersUserRows() {
+        when(userRepository.findSubordinateIds(7L)).thenReturn(List.of(11L, 12L));
+        when(userRepository.findSubordinateIds(8L)).thenReturn(List.of());
+        when(scoreRollupRepository.sumOverOwners(any(), anyCollection(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(new ScoreStatsDto(11L, LocalDate.of(2024, 3, 4), 3L, 21L, 3L, 6, 8, 15L, 3L, 4, 6));
+        
+        Map<Long, ScoreStatsDto> totals = service.getTotals(ScoreRollup.Scope.SUBTREE, List.of(7L, 8L),
+                                                            LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+        
+        verify(scoreRollupRepository).sumOverOwners(eq(ScoreRollup.Scope.USER), eq(List.of(11L, 12L)),
+                                                    any(), any(), any(), any(), any(), any(), any());
+        verify(scoreRollupRepository, never()).sumByOwner(any(), anyCollection(), any(), any(), any(), any(), any(), any(), any());
+        assertEquals(7L, totals.get(7L).getOwnerId());
+        assertEquals(3, totals.get(7L).getSummaryCount());
+        assertEquals(0, totals.get(8L).getSummaryCount());
+    }
+    
+    private Split split(LocalDate startDate, LocalDate endDate) {
+        clearInvocations(scoreRollupRepository);
+        service.getTotals(ScoreRollup.Scope.USER, List.of(1L), startDate, endDate);
+        
+        ArgumentCaptor<LocalDate> dates = ArgumentCaptor.forClass(LocalDate.class);
+        verify(scoreRollupRepository).sumByOwner(eq(ScoreRollup.Scope.USER), eq(List.of(1L)),
+                                                 dates.capture(), dates.capture(), dates.capture(), dates.capture(), dates.capture(),
+                                                 eq(ScoreRollup.Period.MONTH), eq(ScoreRollup.Period.DAY));
+        List<LocalDate> bounds = dates.getAllValues();
+        assertEquals(startDate, bounds.get(0));
+        assertEquals(endDate, bounds.get(1));
+        return new Split(startDate, endDate, bounds.get(2), bounds.get(3), bounds.get(4));
+    }
+    
+    /**
+     * The bounds passed to sumByOwner, and the rows its WHERE clause selects with them.
+     */
+    private static class Split {
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final LocalDate monthsFrom;
+        final LocalDate monthsTo;
+        final LocalDate monthsEnd;
+        
+        Split(LocalDate startDate, LocalDate endDate, LocalDate monthsFrom, LocalDate monthsTo, LocalDate monthsEnd) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.monthsFrom = monthsFrom;
+            this.monthsTo = monthsTo;
+            this.monthsEnd = monthsEnd;
+        }
+        
+        List<LocalDate> monthRows() {
+            return startDate.minusMonths(1).withDayOfMonth(1).datesUntil(endDate.plusMonths(1), java.time.Period.ofMonths(1))
+                .filter(this::readsMonthRow)
+                .toList();
+        }
+        
+        List<LocalDate> dayRows() {
+            return startDate.minusDays(31).datesUntil(endDate.plusDays(32))
+                .filter(this::readsDayRow)
+                .toList();
+        }
+        
+        int timesCounted(LocalDate day) {
+            return (readsMonthRow(day.withDayOfMonth(1)) ? 1 : 0) + (readsDayRow(day) ? 1 : 0);
+        }
+        
+        private boolean readsMonthRow(LocalDate periodStart) {
+            return between(periodStart, monthsFrom, monthsTo);
+        }
+        
+        private boolean readsDayRow(LocalDate periodStart) {
+            return between(periodStart, startDate, endDate) && !between(periodStart, monthsFrom, monthsEnd);
+        }
+        
+        // SQL BETWEEN: false whenever the lower bound is after the upper one
+        private static boolean between(LocalDate value, LocalDate low, LocalDate high) {
+            return !value.isBefore(low) && !value.isAfter(high);
+        }
+    }
+}
@@ -17,14 +17,14 @@ import {
   TrendingUp,
   Clock
 } from 'lucide-react'
-import { WorkSummary, MeetingMinutes, TimeFilter } from '../../types'
+import { WorkSummary, MeetingListItem, TimeFilter } from '../../types'
 import { apiClient } from '../../utils/api'
 import { toast } from 'sonner'
 
 const Dashboard: React.FC = () => {
   const { user } = useAuth()
   const [workSummaries, setWorkSummaries] = useState<WorkSummary[]>([])
-  const [recentMeetings, setRecentMeetings] = useState<MeetingMinutes[]>([])
+  const [recentMeetings, setRecentMeetings] = useState<MeetingListItem[]>([])
   const [loading, setLoading] = useState(true)
   const [selectedTimeFilter, setSelectedTimeFilter] = useState('week')
 
@@ -67,7 +67,7 @@ const Dashboard: React.FC = () => {
 
       const [summariesResponse, meetingsResponse] = await Promise.all([
         apiClient.get<{ summaries: WorkSummary[] }>(`/api/work-summaries/my-summaries?startDate=${filter.startDate.toISOString()}&endDate=${filter.endDate.toISOString()}`),
-        apiClient.get<{ meetings: MeetingMinutes[] }>(`/api/meetings/my-meetings?startDate=${filter.startDate.toISOString().split('T')[0]}&endDate=${filter.endDate.toISOString().split('T')[0]}`)
+        apiClient.get<{ meetings: MeetingListItem[] }>(`/api/meetings/my-meetings?startDate=${filter.startDate.toISOString().split('T')[0]}&endDate=${filter.endDate.toISOString().split('T')[0]}`)
       ])
 
       setWorkSummaries(summariesResponse.summaries || [])
@@ -18,13 +18,13 @@ import {
   Download,
   Filter
 } from 'lucide-react'
-import { MeetingMinutes as MeetingMinutesType, TimeFilter } from '../../types'
+import { MeetingListItem, MeetingMinutes as MeetingMinutesType, TimeFilter } from '../../types'
 import { apiClient } from '../../utils/api'
 import { toast } from 'sonner'
 
 const MeetingMinutes: React.FC = () => {
   const { user } = useAuth()
-  const [meetings, setMeetings] = useState<MeetingMinutesType[]>([])
+  const [meetings, setMeetings] = useState<MeetingListItem[]>([])
   const [selectedMeeting, setSelectedMeeting] = useState<MeetingMinutesType | null>(null)
   const [loading, setLoading] = useState(true)
   const [searchQuery, setSearchQuery] = useState('')
@@ -68,7 +68,7 @@ const MeetingMinutes: React.FC = () => {
       const filter = timeFilters.find(f => f.value === selectedTimeFilter)
       if (!filter) return
 
-      const response = await apiClient.get<{ meetings: MeetingMinutesType[] }>(
+      const response = await apiClient.get<{ meetings: MeetingListItem[] }>(
         `/api/meetings/my-meetings?startDate=${filter.startDate.toISOString().split('T')[0]}&endDate=${filter.endDate.toISOString().split('T')[0]}`
       )
       
@@ -92,7 +92,7 @@ const MeetingMinutes: React.FC = () => {
       const filter = timeFilters.find(f => f.value === selectedTimeFilter)
       if (!filter) return
 
-      const response = await apiClient.get<{ meetings: MeetingMinutesType[] }>(
+      const response = await apiClient.get<{ meetings: MeetingListItem[] }>(
         `/api/meetings/search?query=${encodeURIComponent(searchQuery)}&startDate=${filter.startDate.toISOString().split('T')[0]}&endDate=${filter.endDate.toISOString().split('T')[0]}`
       )
       
@@ -105,6 +105,16 @@ const MeetingMinutes: React.FC = () => {
     }
   }
 
+  const selectMeeting = async (meetingId: number) => {
+    try {
+      const meeting = await apiClient.get<MeetingMinutesType>(`/api/meetings/${meetingId}`)
+      setSelectedMeeting(meeting)
+    } catch (error) {
+      console.error('Failed to load meeting:', error)
+      toast.error('Failed to load meeting')
+    }
+  }
+
   const regenerateMeetingMinutes = async (meetingId: number) => {
     try {
       setRegenerating(meetingId)
@@ -245,7 +255,7 @@ ${meeting.transcript ? `\nFull Transcript:\n${meeting.transcript}` : ''}
                   className={`p-4 border rounded-lg cursor-pointer transition-colors ${
                     selectedMeeting?.id === meeting.id ? 'bg-blue-50 border-blue-200' : 'hover:bg-gray-50'
                   }`}
-                  onClick={() => setSelectedMeeting(meeting)}
+                  onClick={() => selectMeeting(meeting.id)}
                 >
                   <div className="flex justify-between items-start mb-2">
                     <h4 className="font-medium text-sm">{meeting.meetingTitle}</h4>
@@ -15,7 +15,7 @@ import {
   Activity,
   Download
 } from 'lucide-react'
-import { User, WorkSummary, MeetingMinutes, TimeFilter } from '../../types'
+import { User, WorkSummary, MeetingListItem, TimeFilter } from '../../types'
 import { apiClient } from '../../utils/api'
 import { toast } from 'sonner'
 
@@ -24,7 +24,7 @@ const TeamView: React.FC = () => {
   const [teamMembers, setTeamMembers] = useState<User[]>([])
   const [selectedMember, setSelectedMember] = useState<User | null>(null)
   const [memberSummaries, setMemberSummaries] = useState<WorkSummary[]>([])
-  const [teamMeetings, setTeamMeetings] = useState<MeetingMinutes[]>([])
+  const [teamMeetings, setTeamMeetings] = useState<MeetingListItem[]>([])
   const [loading, setLoading] = useState(true)
   const [selectedTimeFilter, setSelectedTimeFilter] = useState('week')
 
@@ -67,7 +67,7 @@ const TeamView: React.FC = () => {
 
       const [membersResponse, meetingsResponse] = await Promise.all([
         apiClient.get<{ users: User[] }>('/api/users/team-members'),
-        apiClient.get<{ meetings: MeetingMinutes[] }>(
+        apiClient.get<{ meetings: MeetingListItem[] }>(
           `/api/meetings/team-meetings?startDate=${filter.startDate.toISOString().split('T')[0]}&endDate=${filter.endDate.toISOString().split('T')[0]}`
         )
       ])
@@ -46,6 +46,22 @@ export interface MeetingMinutes {
   updatedAt: string
 }
 
+// Meeting list rows carry a summary preview; the full minutes come from /api/meetings/{id}
+export interface MeetingListItem {
+  id: number
+  meetingTitle: string
+  meetingDate: string
+  meetingPlatform: MeetingMinutes['meetingPlatform']
+  meetingId: string
+  durationMinutes: number
+  summaryPreview?: string
+  attendees: string
+  recordingUrl?: string
+  processed: boolean
+  createdAt: string
+  updatedAt: string
+}
+
 export interface Team {
   id: number
   name: string